@@ -97,6 +97,33 @@ public final class BusinessDayAdjustment
     return convention.adjust(date, calendar);
   }
 
+  /**
+   * Adjusts each date in the array as necessary if it is not a business day, updating the array in place.
+   * <p>
+   * This is equivalent to calling {@link #adjust(LocalDate)} for each element,
+   * but allows the calendar to process the whole array in a single pass.
+   * 
+   * @param dates  the dates to adjust, updated in place
+   */
+  public void adjustDates(LocalDate[] dates) {
+    ArgChecker.noNulls(dates, "dates");
+    convention.adjustDates(dates, calendar);
+  }
+
+  /**
+   * Adjusts each epoch-day in the array as necessary if it is not a business day, updating the array in place.
+   * <p>
+   * Each element is a date expressed as an epoch-day, as per {@link LocalDate#toEpochDay()}.
+   * This is equivalent to calling {@link #adjust(LocalDate)} for each element,
+   * but allows the calendar to process the whole array in a single pass.
+   * 
+   * @param epochDays  the epoch-days to adjust, updated in place
+   */
+  public void adjustEpochDays(int[] epochDays) {
+    ArgChecker.notNull(epochDays, "epochDays");
+    convention.adjustEpochDays(epochDays, calendar);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Returns a string describing the adjustment.
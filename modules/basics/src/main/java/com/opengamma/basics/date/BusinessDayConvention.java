@@ -69,6 +69,39 @@ public interface BusinessDayConvention
    */
   public LocalDate adjust(LocalDate date, HolidayCalendar calendar);
 
+  /**
+   * Adjusts each date in the array as necessary if it is not a business day, updating the array in place.
+   * <p>
+   * This is equivalent to calling {@link #adjust(LocalDate, HolidayCalendar)} for each element.
+   * The default implementation delegates to {@link HolidayCalendar#adjustDates(LocalDate[], BusinessDayConvention)}
+   * allowing the calendar to process the whole array in a single pass.
+   * 
+   * @param dates  the dates to adjust, updated in place
+   * @param calendar  the calendar that defines holidays and business days
+   */
+  public default void adjustDates(LocalDate[] dates, HolidayCalendar calendar) {
+    ArgChecker.noNulls(dates, "dates");
+    ArgChecker.notNull(calendar, "calendar");
+    calendar.adjustDates(dates, this);
+  }
+
+  /**
+   * Adjusts each epoch-day in the array as necessary if it is not a business day, updating the array in place.
+   * <p>
+   * Each element is a date expressed as an epoch-day, as per {@link LocalDate#toEpochDay()}.
+   * This is equivalent to calling {@link #adjust(LocalDate, HolidayCalendar)} for each element.
+   * The default implementation delegates to {@link HolidayCalendar#adjustEpochDays(int[], BusinessDayConvention)}
+   * allowing the calendar to process the whole array in a single pass.
+   * 
+   * @param epochDays  the epoch-days to adjust, updated in place
+   * @param calendar  the calendar that defines holidays and business days
+   */
+  public default void adjustEpochDays(int[] epochDays, HolidayCalendar calendar) {
+    ArgChecker.notNull(epochDays, "epochDays");
+    ArgChecker.notNull(calendar, "calendar");
+    calendar.adjustEpochDays(epochDays, this);
+  }
+
   /**
    * Gets the name that uniquely identifies this convention.
    * <p>
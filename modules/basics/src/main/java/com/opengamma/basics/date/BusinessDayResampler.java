@@ -0,0 +1,222 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.basics.date;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.collect.ArgChecker;
+import com.opengamma.collect.timeseries.GapFill;
+import com.opengamma.collect.timeseries.LocalDateDoubleTimeSeries;
+
+/**
+ * Resamples time-series onto the business days of a holiday calendar.
+ * <p>
+ * A resampler defines a grid of business days, such as every business day,
+ * the business day on or before a specific day of each week, or the last business day of each month.
+ * A time-series is resampled onto the grid using {@link #resample(LocalDateDoubleTimeSeries, GapFill)},
+ * with dates missing from the series filled as specified.
+ * <p>
+ * The grid is enumerated using the epoch-day methods of the calendar, which
+ * for {@link ImmutableHolidayCalendar} operate directly on its bitmap.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class BusinessDayResampler {
+
+  /**
+   * The type of grid.
+   */
+  private enum Grid {
+    DAILY, WEEKLY, MONTH_END
+  }
+
+  /**
+   * The calendar.
+   */
+  private final HolidayCalendar calendar;
+  /**
+   * The type of grid.
+   */
+  private final Grid grid;
+  /**
+   * The day-of-week of a weekly grid.
+   */
+  private final DayOfWeek dayOfWeek;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a resampler onto every business day.
+   *
+   * @param calendar  the holiday calendar
+   * @return the resampler
+   */
+  public static BusinessDayResampler daily(HolidayCalendar calendar) {
+    return new BusinessDayResampler(calendar, Grid.DAILY, null);
+  }
+
+  /**
+   * Obtains a resampler onto one business day each week.
+   * <p>
+   * The grid contains the specified day-of-week of each week, adjusted to the
+   * previous business day if it is a holiday.
+   *
+   * @param calendar  the holiday calendar
+   * @param dayOfWeek  the day-of-week
+   * @return the resampler
+   */
+  public static BusinessDayResampler weekly(HolidayCalendar calendar, DayOfWeek dayOfWeek) {
+    ArgChecker.notNull(dayOfWeek, "dayOfWeek");
+    return new BusinessDayResampler(calendar, Grid.WEEKLY, dayOfWeek);
+  }
+
+  /**
+   * Obtains a resampler onto the last business day of each month.
+   *
+   * @param calendar  the holiday calendar
+   * @return the resampler
+   */
+  public static BusinessDayResampler monthEnd(HolidayCalendar calendar) {
+    return new BusinessDayResampler(calendar, Grid.MONTH_END, null);
+  }
+
+  // restricted constructor
+  private BusinessDayResampler(HolidayCalendar calendar, Grid grid, DayOfWeek dayOfWeek) {
+    this.calendar = ArgChecker.notNull(calendar, "calendar");
+    this.grid = grid;
+    this.dayOfWeek = dayOfWeek;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the dates of the grid between two dates, inclusive.
+   * <p>
+   * The target day of the final week or month may be after the end date, yet adjust back into the range.
+   * If the end date is at the end of the range of the calendar, the target day is adjusted from the end date.
+   *
+   * @param startInclusive  the start date
+   * @param endInclusive  the end date
+   * @return the dates of the grid, in ascending order
+   * @throws IllegalArgumentException if the end is before the start, or the dates
+   *  are outside the range of the calendar
+   */
+  public ImmutableList<LocalDate> dates(LocalDate startInclusive, LocalDate endInclusive) {
+    ArgChecker.inOrderOrEqual(startInclusive, endInclusive, "startInclusive", "endInclusive");
+    int[] epochDays = epochDays(startInclusive, endInclusive);
+    ImmutableList.Builder<LocalDate> builder = ImmutableList.builder();
+    for (int epochDay : epochDays) {
+      builder.add(LocalDate.ofEpochDay(epochDay));
+    }
+    return builder.build();
+  }
+
+  // enumerates the grid as epoch days, the calendar is not queried beyond the end except as described below
+  private int[] epochDays(LocalDate startInclusive, LocalDate endInclusive) {
+    int start = Math.toIntExact(startInclusive.toEpochDay());
+    int end = Math.toIntExact(endInclusive.toEpochDay());
+    switch (grid) {
+      case DAILY: {
+        int[] result = new int[end - start + 1];
+        int size = 0;
+        for (int day = start; day <= end; day++) {
+          if (calendar.isBusinessDayEpochDay(day)) {
+            result[size++] = day;
+          }
+        }
+        return Arrays.copyOf(result, size);
+      }
+      case WEEKLY: {
+        int first = Math.toIntExact(startInclusive.with(TemporalAdjusters.nextOrSame(dayOfWeek)).toEpochDay());
+        int[] result = new int[(end - first) / 7 + 2];
+        int size = 0;
+        int day = first;
+        for (; day <= end; day += 7) {
+          size = addAdjusted(result, size, calendar.previousOrSameEpochDay(day), start, end);
+        }
+        size = addAdjusted(result, size, previousOrSameAfterEnd(day, end), start, end);
+        return Arrays.copyOf(result, size);
+      }
+      case MONTH_END:
+      default: {
+        LocalDate last = endInclusive.with(TemporalAdjusters.lastDayOfMonth());
+        int[] result = new int[(int) ChronoUnit.MONTHS.between(startInclusive.withDayOfMonth(1), last) + 1];
+        int size = 0;
+        for (LocalDate date = startInclusive; !date.isAfter(last); date = date.plusMonths(1)) {
+          int day = Math.toIntExact(date.with(TemporalAdjusters.lastDayOfMonth()).toEpochDay());
+          int adjusted = (day <= end ? calendar.previousOrSameEpochDay(day) : previousOrSameAfterEnd(day, end));
+          size = addAdjusted(result, size, adjusted, start, end);
+        }
+        return Arrays.copyOf(result, size);
+      }
+    }
+  }
+
+  // adjusts a target day after the end, which only adjusts back into the range if no day after the end
+  // is a business day, thus the days after the end are checked up to the first business day
+  // a day outside the range of the calendar cannot be checked, so the probe is clamped to the end
+  private int previousOrSameAfterEnd(int target, int end) {
+    for (int day = end + 1; day <= target; day++) {
+      try {
+        if (calendar.isBusinessDayEpochDay(day)) {
+          return day;
+        }
+      } catch (IllegalArgumentException ex) {
+        break;
+      }
+    }
+    return calendar.previousOrSameEpochDay(end);
+  }
+
+  // adds a business day, ignoring days that are out of range or not after the previous day
+  private static int addAdjusted(int[] result, int size, int day, int start, int end) {
+    if (day < start || day > end || (size > 0 && day <= result[size - 1])) {
+      return size;
+    }
+    result[size] = day;
+    return size + 1;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Resamples a time-series onto the grid.
+   * <p>
+   * The grid covers the period from the earliest to the latest date of the series.
+   * Grid dates that are not in the series are filled using the specified method.
+   * Dates in the series that are not on the grid are not included in the result,
+   * although they may be used to fill the grid dates.
+   *
+   * @param series  the time-series to resample
+   * @param fill  the method used to fill dates that are not in the series
+   * @return the resampled time-series
+   */
+  public LocalDateDoubleTimeSeries resample(LocalDateDoubleTimeSeries series, GapFill fill) {
+    ArgChecker.notNull(series, "series");
+    ArgChecker.notNull(fill, "fill");
+    if (series.isEmpty()) {
+      return series;
+    }
+    return series.resample(dates(series.getEarliestDate(), series.getLatestDate()), fill);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    switch (grid) {
+      case DAILY:
+        return "BusinessDayResampler[daily, " + calendar + "]";
+      case WEEKLY:
+        return "BusinessDayResampler[weekly " + dayOfWeek + ", " + calendar + "]";
+      case MONTH_END:
+      default:
+        return "BusinessDayResampler[monthEnd, " + calendar + "]";
+    }
+  }
+
+}
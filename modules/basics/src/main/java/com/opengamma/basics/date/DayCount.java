@@ -11,6 +11,8 @@ import org.joda.convert.FromString;
 import org.joda.convert.ToString;
 
 import com.opengamma.basics.schedule.Frequency;
+import com.opengamma.basics.schedule.Schedule;
+import com.opengamma.basics.schedule.SchedulePeriod;
 import com.opengamma.collect.ArgChecker;
 import com.opengamma.collect.named.ExtendedEnum;
 import com.opengamma.collect.named.Named;
@@ -137,6 +139,94 @@ public interface DayCount
     return yearFraction(firstDate, secondDate, scheduleInfo);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the year fraction of each period in the schedule.
+   * <p>
+   * The result contains one year fraction for each period, using the adjusted dates,
+   * with the schedule providing the schedule information.
+   * The result is the same as calling {@link SchedulePeriod#yearFraction(DayCount, Schedule)} for each period.
+   * 
+   * @param schedule  the schedule
+   * @return the year fractions, one for each period
+   * @throws UnsupportedOperationException if the year fraction cannot be obtained
+   */
+  public default double[] yearFractions(Schedule schedule) {
+    ArgChecker.notNull(schedule, "schedule");
+    double[] result = new double[schedule.size()];
+    for (int i = 0; i < result.length; i++) {
+      SchedulePeriod period = schedule.getPeriod(i);
+      result[i] = yearFraction(period.getStartDate(), period.getEndDate(), schedule);
+    }
+    return result;
+  }
+
+  /**
+   * Gets the year fractions between pairs of dates held as epoch days.
+   * <p>
+   * The arrays hold the dates as per {@link LocalDate#toEpochDay()}, and must be the same length.
+   * Element {@code i} of the result is the year fraction from {@code firstEpochDays[i]}
+   * to {@code secondEpochDays[i]}, as per {@link #yearFraction(LocalDate, LocalDate, ScheduleInfo)}.
+   * <p>
+   * By default, this creates each date and calls the single date method.
+   * Implementations may override this to calculate directly from the epoch days.
+   * 
+   * @param firstEpochDays  the first dates, as epoch days
+   * @param secondEpochDays  the second dates, as epoch days, each on or after the matching first date
+   * @param scheduleInfo  the schedule information
+   * @return the year fractions, zero or greater
+   * @throws IllegalArgumentException if the arrays differ in length or the dates are not in order
+   * @throws UnsupportedOperationException if the year fraction cannot be obtained
+   */
+  public default double[] yearFractions(int[] firstEpochDays, int[] secondEpochDays, ScheduleInfo scheduleInfo) {
+    ArgChecker.notNull(firstEpochDays, "firstEpochDays");
+    ArgChecker.notNull(secondEpochDays, "secondEpochDays");
+    ArgChecker.notNull(scheduleInfo, "scheduleInfo");
+    ArgChecker.isTrue(firstEpochDays.length == secondEpochDays.length,
+        "Arrays must be the same length, but were {} and {}", firstEpochDays.length, secondEpochDays.length);
+    double[] result = new double[firstEpochDays.length];
+    for (int i = 0; i < result.length; i++) {
+      LocalDate firstDate = LocalDate.ofEpochDay(firstEpochDays[i]);
+      LocalDate secondDate = LocalDate.ofEpochDay(secondEpochDays[i]);
+      result[i] = yearFraction(firstDate, secondDate, scheduleInfo);
+    }
+    return result;
+  }
+
+  /**
+   * Gets the year fractions between consecutive boundary dates held as epoch days.
+   * <p>
+   * The array holds the dates as per {@link LocalDate#toEpochDay()}, such as the boundaries of
+   * the periods of a schedule, thus n + 1 dates define n periods.
+   * Element {@code i} of the result is the year fraction from {@code boundaryEpochDays[i]}
+   * to {@code boundaryEpochDays[i + 1]}, as per {@link #yearFraction(LocalDate, LocalDate, ScheduleInfo)}.
+   * The array is not altered, thus a caller may pass an array it shares.
+   * <p>
+   * By default, this creates each date once and calls the single date method.
+   * Implementations may override this to calculate directly from the epoch days.
+   * 
+   * @param boundaryEpochDays  the boundary dates, as epoch days, in time-line order
+   * @param scheduleInfo  the schedule information
+   * @return the year fractions, one fewer than the number of dates
+   * @throws IllegalArgumentException if the dates are not in order
+   * @throws UnsupportedOperationException if the year fraction cannot be obtained
+   */
+  public default double[] yearFractions(int[] boundaryEpochDays, ScheduleInfo scheduleInfo) {
+    ArgChecker.notNull(boundaryEpochDays, "boundaryEpochDays");
+    ArgChecker.notNull(scheduleInfo, "scheduleInfo");
+    double[] result = new double[Math.max(boundaryEpochDays.length - 1, 0)];
+    if (result.length == 0) {
+      return result;
+    }
+    LocalDate firstDate = LocalDate.ofEpochDay(boundaryEpochDays[0]);
+    for (int i = 0; i < result.length; i++) {
+      LocalDate secondDate = LocalDate.ofEpochDay(boundaryEpochDays[i + 1]);
+      result[i] = yearFraction(firstDate, secondDate, scheduleInfo);
+      firstDate = secondDate;
+    }
+    return result;
+  }
+
   /**
    * Gets the name that uniquely identifies this convention.
    * <p>
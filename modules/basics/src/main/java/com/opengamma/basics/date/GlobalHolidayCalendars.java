@@ -18,6 +18,9 @@ import static java.time.temporal.TemporalAdjusters.lastInMonth;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.ObjIntConsumer;
+
+import com.google.common.collect.ImmutableMap;
 
 /**
  * Implementation of some common global holiday calendars.
@@ -25,9 +28,19 @@ import java.util.List;
  * The data provided here has been identified through direct research and is not
  * derived from a vendor of holiday calendar data.
  * This data may or may not be sufficient for your production needs.
+ * <p>
+ * The calendars are normally loaded from a snapshot of the generated data, see {@link HolidayCalendarSnapshot}.
+ * The snapshot holds only the lookup tables, and the set of holiday dates of each calendar is only
+ * derived from its table if requested by {@link ImmutableHolidayCalendar#getHolidays()}.
+ * A calendar is only generated from its rules if it is not found in the snapshot.
  */
 final class GlobalHolidayCalendars {
 
+  /**
+   * The calendars loaded from the snapshot, keyed by name.
+   */
+  private static final ImmutableMap<String, ImmutableHolidayCalendar> SNAPSHOT = HolidayCalendarSnapshot.load();
+
   /**
    * The holiday calendar for London, United Kingdom, with code 'GBLO'.
    * <p>
@@ -36,7 +49,7 @@ final class GlobalHolidayCalendars {
    * The default implementation is based on original research and covers 1950 to 2099.
    * Future dates are an extrapolations of the latest known rules.
    */
-  public static final HolidayCalendar GBLO = generateLondon();
+  public static final HolidayCalendar GBLO = calendar("GBLO", 1950, 2099, GlobalHolidayCalendars::london);
   /**
    * The holiday calendar for Paris, France, with code 'FRPA'.
    * <p>
@@ -45,7 +58,7 @@ final class GlobalHolidayCalendars {
    * The default implementation is based on original research and covers 1950 to 2099.
    * Future and past dates are an extrapolations of the latest known rules.
    */
-  public static final HolidayCalendar FRPA = generateParis();
+  public static final HolidayCalendar FRPA = calendar("FRPA", 1950, 2099, GlobalHolidayCalendars::paris);
   /**
    * The holiday calendar for Zurich, Switzerland, with code 'EUTA'.
    * <p>
@@ -54,7 +67,7 @@ final class GlobalHolidayCalendars {
    * The default implementation is based on original research and covers 1950 to 2099.
    * Future and past dates are an extrapolations of the latest known rules.
    */
-  public static final HolidayCalendar CHZU = generateZurich();
+  public static final HolidayCalendar CHZU = calendar("CHZU", 1950, 2099, GlobalHolidayCalendars::zurich);
   /**
    * The holiday calendar for the European Union TARGET system, with code 'EUTA'.
    * <p>
@@ -65,7 +78,7 @@ final class GlobalHolidayCalendars {
    * <p>
    * Referenced by the 2006 ISDA definitions 1.8.
    */
-  public static final HolidayCalendar EUTA = generateEuropeanTarget();
+  public static final HolidayCalendar EUTA = calendar("EUTA", 1997, 2099, GlobalHolidayCalendars::europeanTarget);
   /**
    * The holiday calendar for United States Government Securities, with code 'USGS'.
    * <p>
@@ -76,7 +89,7 @@ final class GlobalHolidayCalendars {
    * <p>
    * Referenced by the 2006 ISDA definitions 1.11.
    */
-  public static final HolidayCalendar USGS = generateUsGovtSecurities();
+  public static final HolidayCalendar USGS = calendar("USGS", 1950, 2099, GlobalHolidayCalendars::usGovtSecurities);
   /**
    * The holiday calendar for New York, United States, with code 'USNY'.
    * <p>
@@ -85,7 +98,7 @@ final class GlobalHolidayCalendars {
    * The default implementation is based on original research and covers 1950 to 2099.
    * Future and past dates are an extrapolations of the latest known rules.
    */
-  public static final HolidayCalendar USNY = generateUsNewYork();
+  public static final HolidayCalendar USNY = calendar("USNY", 1950, 2099, GlobalHolidayCalendars::usNewYork);
   /**
    * The holiday calendar for the Federal Reserve Bank of New York, with code 'NYFD'.
    * <p>
@@ -96,7 +109,7 @@ final class GlobalHolidayCalendars {
    * <p>
    * Referenced by the 2006 ISDA definitions 1.9.
    */
-  public static final HolidayCalendar NYFD = generateNewYorkFed();
+  public static final HolidayCalendar NYFD = calendar("NYFD", 1950, 2099, GlobalHolidayCalendars::newYorkFed);
   /**
    * The holiday calendar for the New York Stock Exchange, with code 'NYSE'.
    * <p>
@@ -107,7 +120,7 @@ final class GlobalHolidayCalendars {
    * <p>
    * Referenced by the 2006 ISDA definitions 1.10.
    */
-  public static final HolidayCalendar NYSE = generateNewYorkStockExchange();
+  public static final HolidayCalendar NYSE = calendar("NYSE", 1950, 2099, GlobalHolidayCalendars::newYorkStockExchange);
   /**
    * The holiday calendar for Tokyo, Japan, with code 'JPTO'.
    * <p>
@@ -116,7 +129,7 @@ final class GlobalHolidayCalendars {
    * The default implementation is based on original research and covers 1950 to 2099.
    * Future and past dates are an extrapolations of the latest known rules.
    */
-  public static final HolidayCalendar JPTO = generateTokyo();
+  public static final HolidayCalendar JPTO = calendar("JPTO", 1950, 2099, GlobalHolidayCalendars::tokyo);
 
   //-------------------------------------------------------------------------
   /**
@@ -142,60 +155,60 @@ final class GlobalHolidayCalendars {
   // 1969, 26th May, 1st Sep - http://hansard.millbanksystems.com/written_answers/1967/mar/21/bank-holidays-1969-dates
   // 1970, 25th May, 31st Aug - http://hansard.millbanksystems.com/written_answers/1967/jul/28/bank-holidays
   static ImmutableHolidayCalendar generateLondon() {
-    List<LocalDate> holidays = new ArrayList<>(2000);
-    for (int year = 1950; year <= 2099; year++) {
-      // new year
-      if (year >= 1974) {
-        holidays.add(bumpToMon(first(year, 1)));
-      }
-      // easter
-      holidays.add(easter(year).minusDays(2));
-      holidays.add(easter(year).plusDays(1));
-      // early May
-      if (year == 1995) {
-        // ve day
-        holidays.add(date(1995, 5, 8));
-      } else if (year >= 1978) {
-        holidays.add(first(year, 5).with(firstInMonth(MONDAY)));
-      }
-      // spring
-      if (year == 2002) {
-        // golden jubilee
-        holidays.add(date(2002, 6, 3));
-        holidays.add(date(2002, 6, 4));
-      } else if (year == 2012) {
-        // diamond jubilee
-        holidays.add(date(2012, 6, 4));
-        holidays.add(date(2012, 6, 5));
-      } else if (year == 1967 || year == 1970) {
-        holidays.add(first(year, 5).with(lastInMonth(MONDAY)));
-      } else if (year < 1971) {
-        // whitsun
-        holidays.add(easter(year).plusDays(50));
-      } else {
-        holidays.add(first(year, 5).with(lastInMonth(MONDAY)));
-      }
-      // summer
-      if (year < 1965) {
-        holidays.add(first(year, 8).with(firstInMonth(MONDAY)));
-      } else if (year < 1971) {
-        holidays.add(first(year, 8).with(lastInMonth(SATURDAY)).plusDays(2));
-      } else {
-        holidays.add(first(year, 8).with(lastInMonth(MONDAY)));
-      }
-      // christmas
-      holidays.add(christmas(year));
-      holidays.add(boxingDay(year));
-      // royal wedding
-      if (year == 2011) {
-        holidays.add(date(2011, 4, 29));
-      }
-      // millenium
-      if (year == 1999) {
-        holidays.add(date(1999, 12, 31));
-      }
+    return generate("GBLO", 1950, 2099, GlobalHolidayCalendars::london);
+  }
+
+  static void london(List<LocalDate> holidays, int year) {
+    // new year
+    if (year >= 1974) {
+      holidays.add(bumpToMon(first(year, 1)));
+    }
+    // easter
+    holidays.add(easter(year).minusDays(2));
+    holidays.add(easter(year).plusDays(1));
+    // early May
+    if (year == 1995) {
+      // ve day
+      holidays.add(date(1995, 5, 8));
+    } else if (year >= 1978) {
+      holidays.add(first(year, 5).with(firstInMonth(MONDAY)));
+    }
+    // spring
+    if (year == 2002) {
+      // golden jubilee
+      holidays.add(date(2002, 6, 3));
+      holidays.add(date(2002, 6, 4));
+    } else if (year == 2012) {
+      // diamond jubilee
+      holidays.add(date(2012, 6, 4));
+      holidays.add(date(2012, 6, 5));
+    } else if (year == 1967 || year == 1970) {
+      holidays.add(first(year, 5).with(lastInMonth(MONDAY)));
+    } else if (year < 1971) {
+      // whitsun
+      holidays.add(easter(year).plusDays(50));
+    } else {
+      holidays.add(first(year, 5).with(lastInMonth(MONDAY)));
+    }
+    // summer
+    if (year < 1965) {
+      holidays.add(first(year, 8).with(firstInMonth(MONDAY)));
+    } else if (year < 1971) {
+      holidays.add(first(year, 8).with(lastInMonth(SATURDAY)).plusDays(2));
+    } else {
+      holidays.add(first(year, 8).with(lastInMonth(MONDAY)));
+    }
+    // christmas
+    holidays.add(christmas(year));
+    holidays.add(boxingDay(year));
+    // royal wedding
+    if (year == 2011) {
+      holidays.add(date(2011, 4, 29));
+    }
+    // millenium
+    if (year == 1999) {
+      holidays.add(date(1999, 12, 31));
     }
-    return ImmutableHolidayCalendar.of("GBLO", holidays, SATURDAY, SUNDAY);
   }
 
   //-------------------------------------------------------------------------
@@ -204,24 +217,23 @@ final class GlobalHolidayCalendars {
   // http://www.legifrance.gouv.fr/affichCodeArticle.do?idArticle=LEGIARTI000006902611&cidTexte=LEGITEXT000006072050
   // http://jollyday.sourceforge.net/data/fr.html
   static ImmutableHolidayCalendar generateParis() {
-    List<LocalDate> holidays = new ArrayList<>(2000);
-    for (int year = 1950; year <= 2099; year++) {
-      holidays.add(date(year, 1, 1));  // new year
-      holidays.add(easter(year).plusDays(1));  // easter monday
-      holidays.add(date(year, 5, 1));  // labour day
-      holidays.add(date(year, 5, 8));  // victory in europe
-      holidays.add(easter(year).plusDays(39));  // ascension day
-      if (year <= 2004 || year >= 2008) {
-        holidays.add(easter(year).plusDays(50));  // whit monday
-      }
-      holidays.add(date(year, 7, 14));  // bastille
-      holidays.add(date(year, 8, 15));  // assumption of mary
-      holidays.add(date(year, 11, 1));  // all saints
-      holidays.add(date(year, 11, 11));  // armistice day
-      holidays.add(date(year, 12, 25));  // christmas day
+    return generate("FRPA", 1950, 2099, GlobalHolidayCalendars::paris);
+  }
+
+  static void paris(List<LocalDate> holidays, int year) {
+    holidays.add(date(year, 1, 1));  // new year
+    holidays.add(easter(year).plusDays(1));  // easter monday
+    holidays.add(date(year, 5, 1));  // labour day
+    holidays.add(date(year, 5, 8));  // victory in europe
+    holidays.add(easter(year).plusDays(39));  // ascension day
+    if (year <= 2004 || year >= 2008) {
+      holidays.add(easter(year).plusDays(50));  // whit monday
     }
-    removeSatSun(holidays);
-    return ImmutableHolidayCalendar.of("FRPA", holidays, SATURDAY, SUNDAY);
+    holidays.add(date(year, 7, 14));  // bastille
+    holidays.add(date(year, 8, 15));  // assumption of mary
+    holidays.add(date(year, 11, 1));  // all saints
+    holidays.add(date(year, 11, 11));  // armistice day
+    holidays.add(date(year, 12, 25));  // christmas day
   }
 
   //-------------------------------------------------------------------------
@@ -231,21 +243,20 @@ final class GlobalHolidayCalendars {
   // https://github.com/lballabio/quantlib/blob/master/QuantLib/ql/time/calendars/switzerland.cpp
   // http://www.six-swiss-exchange.com/funds/trading/trading_and_settlement_calendar_en.html
   static ImmutableHolidayCalendar generateZurich() {
-    List<LocalDate> holidays = new ArrayList<>(2000);
-    for (int year = 1950; year <= 2099; year++) {
-      holidays.add(date(year, 1, 1));  // new year
-      holidays.add(date(year, 1, 2));  // saint berchtoldstag
-      holidays.add(easter(year).minusDays(2));  // good friday
-      holidays.add(easter(year).plusDays(1));  // easter monday
-      holidays.add(date(year, 5, 1));  // labour day
-      holidays.add(easter(year).plusDays(39));  // ascension day
-      holidays.add(easter(year).plusDays(50));  // whit monday
-      holidays.add(date(year, 8, 1));  // national day
-      holidays.add(date(year, 12, 25));  // christmas day
-      holidays.add(date(year, 12, 26));  // saint stephen
-    }
-    removeSatSun(holidays);
-    return ImmutableHolidayCalendar.of("CHZU", holidays, SATURDAY, SUNDAY);
+    return generate("CHZU", 1950, 2099, GlobalHolidayCalendars::zurich);
+  }
+
+  static void zurich(List<LocalDate> holidays, int year) {
+    holidays.add(date(year, 1, 1));  // new year
+    holidays.add(date(year, 1, 2));  // saint berchtoldstag
+    holidays.add(easter(year).minusDays(2));  // good friday
+    holidays.add(easter(year).plusDays(1));  // easter monday
+    holidays.add(date(year, 5, 1));  // labour day
+    holidays.add(easter(year).plusDays(39));  // ascension day
+    holidays.add(easter(year).plusDays(50));  // whit monday
+    holidays.add(date(year, 8, 1));  // national day
+    holidays.add(date(year, 12, 25));  // christmas day
+    holidays.add(date(year, 12, 26));  // saint stephen
   }
 
   //-------------------------------------------------------------------------
@@ -262,25 +273,24 @@ final class GlobalHolidayCalendars {
   // from 2002, Jan 1, good friday, easter monday, May 1, christmas day, Dec 26
   // http://www.ecb.europa.eu/press/pr/date/2000/html/pr001214_4.en.html
   static ImmutableHolidayCalendar generateEuropeanTarget() {
-    List<LocalDate> holidays = new ArrayList<>(2000);
-    for (int year = 1997; year <= 2099; year++) {
-      if (year >= 2000) {
-        holidays.add(date(year, 1, 1));
-        holidays.add(easter(year).minusDays(2));
-        holidays.add(easter(year).plusDays(1));
-        holidays.add(date(year, 5, 1));
-        holidays.add(date(year, 12, 25));
-        holidays.add(date(year, 12, 26));
-      } else {  // 1997 to 1999
-        holidays.add(date(year, 1, 1));
-        holidays.add(date(year, 12, 25));
-      }
-      if (year == 1999 || year == 2001) {
-        holidays.add(date(year, 12, 31));
-      }
+    return generate("EUTA", 1997, 2099, GlobalHolidayCalendars::europeanTarget);
+  }
+
+  static void europeanTarget(List<LocalDate> holidays, int year) {
+    if (year >= 2000) {
+      holidays.add(date(year, 1, 1));
+      holidays.add(easter(year).minusDays(2));
+      holidays.add(easter(year).plusDays(1));
+      holidays.add(date(year, 5, 1));
+      holidays.add(date(year, 12, 25));
+      holidays.add(date(year, 12, 26));
+    } else {  // 1997 to 1999
+      holidays.add(date(year, 1, 1));
+      holidays.add(date(year, 12, 25));
+    }
+    if (year == 1999 || year == 2001) {
+      holidays.add(date(year, 12, 31));
     }
-    removeSatSun(holidays);
-    return ImmutableHolidayCalendar.of("EUTA", holidays, SATURDAY, SUNDAY);
   }
 
   //-------------------------------------------------------------------------
@@ -337,18 +347,17 @@ final class GlobalHolidayCalendars {
   // generate USGS
   // http://www.sifma.org/services/holiday-schedule/
   static ImmutableHolidayCalendar generateUsGovtSecurities() {
-    List<LocalDate> holidays = new ArrayList<>(2000);
-    for (int year = 1950; year <= 2099; year++) {
-      usCommon(holidays, year, true, true);
-      // good friday, in 1999/2007 only a partial holiday
-      holidays.add(easter(year).minusDays(2));
-      // hurricane sandy
-      if (year == 2012) {
-        holidays.add(date(year, 10, 30));
-      }
+    return generate("USGS", 1950, 2099, GlobalHolidayCalendars::usGovtSecurities);
+  }
+
+  static void usGovtSecurities(List<LocalDate> holidays, int year) {
+    usCommon(holidays, year, true, true);
+    // good friday, in 1999/2007 only a partial holiday
+    holidays.add(easter(year).minusDays(2));
+    // hurricane sandy
+    if (year == 2012) {
+      holidays.add(date(year, 10, 30));
     }
-    removeSatSun(holidays);
-    return ImmutableHolidayCalendar.of("USGS", holidays, SATURDAY, SUNDAY);
   }
 
   //-------------------------------------------------------------------------
@@ -358,38 +367,35 @@ final class GlobalHolidayCalendars {
   // etc
   // ignore election day and lincoln day
   static ImmutableHolidayCalendar generateUsNewYork() {
-    List<LocalDate> holidays = new ArrayList<>(2000);
-    for (int year = 1950; year <= 2099; year++) {
-      usCommon(holidays, year, false, true);
-    }
-    removeSatSun(holidays);
-    return ImmutableHolidayCalendar.of("USNY", holidays, SATURDAY, SUNDAY);
+    return generate("USNY", 1950, 2099, GlobalHolidayCalendars::usNewYork);
+  }
+
+  static void usNewYork(List<LocalDate> holidays, int year) {
+    usCommon(holidays, year, false, true);
   }
 
   //-------------------------------------------------------------------------
   // generate NYFD
   // http://www.ny.frb.org/aboutthefed/holiday_schedule.html
   static ImmutableHolidayCalendar generateNewYorkFed() {
-    List<LocalDate> holidays = new ArrayList<>(2000);
-    for (int year = 1950; year <= 2099; year++) {
-      usCommon(holidays, year, false, true);
-    }
-    removeSatSun(holidays);
-    return ImmutableHolidayCalendar.of("NYFD", holidays, SATURDAY, SUNDAY);
+    return generate("NYFD", 1950, 2099, GlobalHolidayCalendars::newYorkFed);
+  }
+
+  static void newYorkFed(List<LocalDate> holidays, int year) {
+    usCommon(holidays, year, false, true);
   }
 
   //-------------------------------------------------------------------------
   // generate NYSE
   // https://www.nyse.com/markets/hours-calendars
   static ImmutableHolidayCalendar generateNewYorkStockExchange() {
-    List<LocalDate> holidays = new ArrayList<>(2000);
-    for (int year = 1950; year <= 2099; year++) {
-      usCommon(holidays, year, true, false);
-      // good friday
-      holidays.add(easter(year).minusDays(2));
-    }
-    removeSatSun(holidays);
-    return ImmutableHolidayCalendar.of("NYSE", holidays, SATURDAY, SUNDAY);
+    return generate("NYSE", 1950, 2099, GlobalHolidayCalendars::newYorkStockExchange);
+  }
+
+  static void newYorkStockExchange(List<LocalDate> holidays, int year) {
+    usCommon(holidays, year, true, false);
+    // good friday
+    holidays.add(easter(year).minusDays(2));
   }
 
   //-------------------------------------------------------------------------
@@ -402,95 +408,100 @@ final class GlobalHolidayCalendars {
   // http://www.nao.ac.jp/faq/a0301.html (equinox)
   // http://eco.mtk.nao.ac.jp/koyomi/faq/holiday.html.en
   static ImmutableHolidayCalendar generateTokyo() {
-    List<LocalDate> holidays = new ArrayList<>(2000);
-    for (int year = 1950; year <= 2099; year++) {
-      // new year
-      holidays.add(date(year, 1, 1));
-      holidays.add(date(year, 1, 2));
-      holidays.add(date(year, 1, 3));
-      // coming of age
-      if (year >= 2000) {
-        holidays.add(date(year, 1, 1).with(dayOfWeekInMonth(2, MONDAY)));
-      } else {
-        holidays.add(bumpSunToMon(date(year, 1, 15)));
-      }
-      // national foundation
-      if (year >= 1967) {
-        holidays.add(bumpSunToMon(date(year, 2, 11)));
-      }
-      // vernal equinox (from 1948), 20th or 21st (predictions/facts 2000 to 2030)
-      if (year == 2000 || year == 2001 || year == 2004 || year == 2005 || year == 2008 || year == 2009 ||
-          year == 2012 || year == 2013 || year == 2016 || year == 2017 ||
-          year == 2020 || year == 2021 || year == 2024 || year == 2025 || year == 2026 || year == 2028 ||
-          year == 2029 || year == 2030) {
-        holidays.add(bumpSunToMon(date(year, 3, 20)));
-      } else {
-        holidays.add(bumpSunToMon(date(year, 3, 21)));
-      }
-      // showa (from 2007 onwards), greenery (from 1989 to 2006), emperor (before 1989)
-      // http://news.bbc.co.uk/1/hi/world/asia-pacific/4543461.stm
-      holidays.add(bumpSunToMon(date(year, 4, 29)));
-      // constitution (from 1948)
-      // greenery (from 2007 onwards), holiday between two other holidays before that (from 1985)
-      // children (from 1948)
-      if (year >= 1985) {
-        holidays.add(bumpSunToMon(date(year, 5, 3)));
-        holidays.add(bumpSunToMon(date(year, 5, 4)));
-        holidays.add(bumpSunToMon(date(year, 5, 5)));
-        if (year >= 2007 && (date(year, 5, 3).getDayOfWeek() == SUNDAY || date(year, 5, 4).getDayOfWeek() == SUNDAY)) {
-          holidays.add(date(year, 5, 6));
-        }
-      } else {
-        holidays.add(bumpSunToMon(date(year, 5, 3)));
-        holidays.add(bumpSunToMon(date(year, 5, 5)));
-      }
-      // marine
-      if (year >= 2003) {
-        holidays.add(date(year, 7, 1).with(dayOfWeekInMonth(3, MONDAY)));
-      } else if (year >= 1996) {
-        holidays.add(bumpSunToMon(date(year, 7, 20)));
-      }
-      // mountain
-      if (year >= 2016) {
-        holidays.add(bumpSunToMon(date(year, 8, 11)));
-      }
-      // aged
-      if (year >= 2003) {
-        holidays.add(date(year, 9, 1).with(dayOfWeekInMonth(3, MONDAY)));
-      } else if (year >= 1966) {
-        holidays.add(bumpSunToMon(date(year, 9, 15)));
-      }
-      // autumn equinox (from 1948), 22nd or 23rd (predictions/facts 2000 to 2030)
-      if (year == 2012 || year == 2016 || year == 2020 || year == 2024 || year == 2028) {
-        holidays.add(bumpSunToMon(date(year, 9, 22)));
-      } else {
-        holidays.add(bumpSunToMon(date(year, 9, 23)));
-      }
-      citizensDay(holidays, date(year, 9, 20), date(year, 9, 22));
-      citizensDay(holidays, date(year, 9, 21), date(year, 9, 23));
-      // health-sports
-      if (year >= 2000) {
-        holidays.add(date(year, 10, 1).with(dayOfWeekInMonth(2, MONDAY)));
-      } else if (year >= 1966) {
-        holidays.add(bumpSunToMon(date(year, 10, 10)));
-      }
-      // culture (from 1948)
-      holidays.add(bumpSunToMon(date(year, 11, 3)));
-      // labor (from 1948)
-      holidays.add(bumpSunToMon(date(year, 11, 23)));
-      // emperor (current emporer)
-      if (year >= 1990) {
-        holidays.add(bumpSunToMon(date(year, 12, 23)));
+    return generate("JPTO", 1950, 2099, GlobalHolidayCalendars::tokyo);
+  }
+
+  static void tokyo(List<LocalDate> holidays, int year) {
+    // new year
+    holidays.add(date(year, 1, 1));
+    holidays.add(date(year, 1, 2));
+    holidays.add(date(year, 1, 3));
+    // coming of age
+    if (year >= 2000) {
+      holidays.add(date(year, 1, 1).with(dayOfWeekInMonth(2, MONDAY)));
+    } else {
+      holidays.add(bumpSunToMon(date(year, 1, 15)));
+    }
+    // national foundation
+    if (year >= 1967) {
+      holidays.add(bumpSunToMon(date(year, 2, 11)));
+    }
+    // vernal equinox (from 1948), 20th or 21st (predictions/facts 2000 to 2030)
+    if (year == 2000 || year == 2001 || year == 2004 || year == 2005 || year == 2008 || year == 2009 ||
+        year == 2012 || year == 2013 || year == 2016 || year == 2017 ||
+        year == 2020 || year == 2021 || year == 2024 || year == 2025 || year == 2026 || year == 2028 ||
+        year == 2029 || year == 2030) {
+      holidays.add(bumpSunToMon(date(year, 3, 20)));
+    } else {
+      holidays.add(bumpSunToMon(date(year, 3, 21)));
+    }
+    // showa (from 2007 onwards), greenery (from 1989 to 2006), emperor (before 1989)
+    // http://news.bbc.co.uk/1/hi/world/asia-pacific/4543461.stm
+    holidays.add(bumpSunToMon(date(year, 4, 29)));
+    // constitution (from 1948)
+    // greenery (from 2007 onwards), holiday between two other holidays before that (from 1985)
+    // children (from 1948)
+    if (year >= 1985) {
+      holidays.add(bumpSunToMon(date(year, 5, 3)));
+      holidays.add(bumpSunToMon(date(year, 5, 4)));
+      holidays.add(bumpSunToMon(date(year, 5, 5)));
+      if (year >= 2007 && (date(year, 5, 3).getDayOfWeek() == SUNDAY || date(year, 5, 4).getDayOfWeek() == SUNDAY)) {
+        holidays.add(date(year, 5, 6));
       }
-      // new years eve - bank of Japan, but not national holiday
-      holidays.add(bumpSunToMon(date(year, 12, 31)));
+    } else {
+      holidays.add(bumpSunToMon(date(year, 5, 3)));
+      holidays.add(bumpSunToMon(date(year, 5, 5)));
+    }
+    // marine
+    if (year >= 2003) {
+      holidays.add(date(year, 7, 1).with(dayOfWeekInMonth(3, MONDAY)));
+    } else if (year >= 1996) {
+      holidays.add(bumpSunToMon(date(year, 7, 20)));
+    }
+    // mountain
+    if (year >= 2016) {
+      holidays.add(bumpSunToMon(date(year, 8, 11)));
+    }
+    // aged
+    if (year >= 2003) {
+      holidays.add(date(year, 9, 1).with(dayOfWeekInMonth(3, MONDAY)));
+    } else if (year >= 1966) {
+      holidays.add(bumpSunToMon(date(year, 9, 15)));
+    }
+    // autumn equinox (from 1948), 22nd or 23rd (predictions/facts 2000 to 2030)
+    if (year == 2012 || year == 2016 || year == 2020 || year == 2024 || year == 2028) {
+      holidays.add(bumpSunToMon(date(year, 9, 22)));
+    } else {
+      holidays.add(bumpSunToMon(date(year, 9, 23)));
+    }
+    citizensDay(holidays, date(year, 9, 20), date(year, 9, 22));
+    citizensDay(holidays, date(year, 9, 21), date(year, 9, 23));
+    // health-sports
+    if (year >= 2000) {
+      holidays.add(date(year, 10, 1).with(dayOfWeekInMonth(2, MONDAY)));
+    } else if (year >= 1966) {
+      holidays.add(bumpSunToMon(date(year, 10, 10)));
+    }
+    // culture (from 1948)
+    holidays.add(bumpSunToMon(date(year, 11, 3)));
+    // labor (from 1948)
+    holidays.add(bumpSunToMon(date(year, 11, 23)));
+    // emperor (current emporer)
+    if (year >= 1990) {
+      holidays.add(bumpSunToMon(date(year, 12, 23)));
+    }
+    // new years eve - bank of Japan, but not national holiday
+    holidays.add(bumpSunToMon(date(year, 12, 31)));
+    // special days
+    if (year == 1959) {
+      holidays.add(date(1959, 4, 10));  // marriage akihito
+    } else if (year == 1989) {
+      holidays.add(date(1989, 2, 24));  // funeral showa
+    } else if (year == 1990) {
+      holidays.add(date(1990, 11, 12));  // enthrone akihito
+    } else if (year == 1993) {
+      holidays.add(date(1993, 6, 9));  // marriage naruhito
     }
-    holidays.add(date(1959, 4, 10));  // marriage akihito
-    holidays.add(date(1989, 2, 24));  // funeral showa
-    holidays.add(date(1990, 11, 12));  // enthrone akihito
-    holidays.add(date(1993, 6, 9));  // marriage naruhito
-    removeSatSun(holidays);
-    return ImmutableHolidayCalendar.of("JPTO", holidays, SATURDAY, SUNDAY);
   }
 
   // extra day between two other holidays, appears to exclude weekends
@@ -502,6 +513,28 @@ final class GlobalHolidayCalendars {
     }
   }
 
+  //-------------------------------------------------------------------------
+  // obtains the calendar from the snapshot, generating it using the rule if not found
+  private static HolidayCalendar calendar(
+      String name, int startYear, int endYear, ObjIntConsumer<List<LocalDate>> rule) {
+    ImmutableHolidayCalendar snapshot = SNAPSHOT.get(name);
+    if (snapshot != null) {
+      return snapshot;
+    }
+    return generate(name, startYear, endYear, rule);
+  }
+
+  // generates all years using the rule
+  private static ImmutableHolidayCalendar generate(
+      String name, int startYear, int endYear, ObjIntConsumer<List<LocalDate>> rule) {
+    List<LocalDate> holidays = new ArrayList<>(2000);
+    for (int year = startYear; year <= endYear; year++) {
+      rule.accept(holidays, year);
+    }
+    removeSatSun(holidays);
+    return ImmutableHolidayCalendar.of(name, holidays, SATURDAY, SUNDAY);
+  }
+
   //-------------------------------------------------------------------------
   // date
   private static LocalDate date(int year, int month, int day) {
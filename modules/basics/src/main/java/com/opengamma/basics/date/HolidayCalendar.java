@@ -258,6 +258,113 @@ public interface HolidayCalendar
     return previousOrSame(date.withDayOfMonth(date.lengthOfMonth()));
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if the specified epoch-day is a holiday.
+   * <p>
+   * The date is expressed as an epoch-day, as per {@link LocalDate#toEpochDay()}.
+   * This is equivalent to {@link #isHoliday(LocalDate)}, but allows an implementation
+   * to avoid creating a {@code LocalDate}.
+   * 
+   * @param epochDay  the epoch-day to check
+   * @return true if the specified date is a holiday
+   * @throws IllegalArgumentException if the date is outside the supported range
+   */
+  public default boolean isHolidayEpochDay(int epochDay) {
+    return isHoliday(LocalDate.ofEpochDay(epochDay));
+  }
+
+  /**
+   * Checks if the specified epoch-day is a business day.
+   * <p>
+   * The date is expressed as an epoch-day, as per {@link LocalDate#toEpochDay()}.
+   * This is equivalent to {@link #isBusinessDay(LocalDate)}, but allows an implementation
+   * to avoid creating a {@code LocalDate}.
+   * 
+   * @param epochDay  the epoch-day to check
+   * @return true if the specified date is a business day
+   * @throws IllegalArgumentException if the date is outside the supported range
+   */
+  public default boolean isBusinessDayEpochDay(int epochDay) {
+    return !isHolidayEpochDay(epochDay);
+  }
+
+  /**
+   * Shifts the epoch-day by a specified number of business days.
+   * <p>
+   * The date is expressed as an epoch-day, as per {@link LocalDate#toEpochDay()}.
+   * This is equivalent to {@link #shift(LocalDate, int)}, but allows an implementation
+   * to avoid creating a {@code LocalDate}.
+   * 
+   * @param epochDay  the epoch-day to shift
+   * @param amount  the number of business days to shift by
+   * @return the shifted epoch-day
+   * @throws IllegalArgumentException if the calculation is outside the supported range
+   */
+  public default int shiftEpochDay(int epochDay, int amount) {
+    return Math.toIntExact(shift(LocalDate.ofEpochDay(epochDay), amount).toEpochDay());
+  }
+
+  /**
+   * Finds the next business day as an epoch-day, always returning a later date.
+   * <p>
+   * The date is expressed as an epoch-day, as per {@link LocalDate#toEpochDay()}.
+   * This is equivalent to {@link #next(LocalDate)}, but allows an implementation
+   * to avoid creating a {@code LocalDate}.
+   * 
+   * @param epochDay  the epoch-day to adjust
+   * @return the first business day after the input date
+   * @throws IllegalArgumentException if the calculation is outside the supported range
+   */
+  public default int nextEpochDay(int epochDay) {
+    return Math.toIntExact(next(LocalDate.ofEpochDay(epochDay)).toEpochDay());
+  }
+
+  /**
+   * Finds the next business day as an epoch-day, returning the input date if it is a business day.
+   * <p>
+   * The date is expressed as an epoch-day, as per {@link LocalDate#toEpochDay()}.
+   * This is equivalent to {@link #nextOrSame(LocalDate)}, but allows an implementation
+   * to avoid creating a {@code LocalDate}.
+   * 
+   * @param epochDay  the epoch-day to adjust
+   * @return the input date if it is a business day, or the next business day
+   * @throws IllegalArgumentException if the calculation is outside the supported range
+   */
+  public default int nextOrSameEpochDay(int epochDay) {
+    return Math.toIntExact(nextOrSame(LocalDate.ofEpochDay(epochDay)).toEpochDay());
+  }
+
+  /**
+   * Finds the previous business day as an epoch-day, always returning an earlier date.
+   * <p>
+   * The date is expressed as an epoch-day, as per {@link LocalDate#toEpochDay()}.
+   * This is equivalent to {@link #previous(LocalDate)}, but allows an implementation
+   * to avoid creating a {@code LocalDate}.
+   * 
+   * @param epochDay  the epoch-day to adjust
+   * @return the first business day before the input date
+   * @throws IllegalArgumentException if the calculation is outside the supported range
+   */
+  public default int previousEpochDay(int epochDay) {
+    return Math.toIntExact(previous(LocalDate.ofEpochDay(epochDay)).toEpochDay());
+  }
+
+  /**
+   * Finds the previous business day as an epoch-day, returning the input date if it is a business day.
+   * <p>
+   * The date is expressed as an epoch-day, as per {@link LocalDate#toEpochDay()}.
+   * This is equivalent to {@link #previousOrSame(LocalDate)}, but allows an implementation
+   * to avoid creating a {@code LocalDate}.
+   * 
+   * @param epochDay  the epoch-day to adjust
+   * @return the input date if it is a business day, or the previous business day
+   * @throws IllegalArgumentException if the calculation is outside the supported range
+   */
+  public default int previousOrSameEpochDay(int epochDay) {
+    return Math.toIntExact(previousOrSame(LocalDate.ofEpochDay(epochDay)).toEpochDay());
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the number of business days between two dates.
@@ -291,6 +398,45 @@ public interface HolidayCalendar
         .count());
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Adjusts each date in the array using a business day convention, updating the array in place.
+   * <p>
+   * Each element is replaced by the result of {@link BusinessDayConvention#adjust(LocalDate, HolidayCalendar)}.
+   * Implementations may override this to process the whole array in a single pass.
+   * 
+   * @param dates  the dates to adjust, updated in place
+   * @param convention  the business day convention
+   * @throws IllegalArgumentException if a date is outside the supported range
+   */
+  public default void adjustDates(LocalDate[] dates, BusinessDayConvention convention) {
+    ArgChecker.noNulls(dates, "dates");
+    ArgChecker.notNull(convention, "convention");
+    for (int i = 0; i < dates.length; i++) {
+      dates[i] = convention.adjust(dates[i], this);
+    }
+  }
+
+  /**
+   * Adjusts each epoch-day in the array using a business day convention, updating the array in place.
+   * <p>
+   * Each element is a date expressed as an epoch-day, as per {@link LocalDate#toEpochDay()}.
+   * Each element is replaced by the epoch-day of the result of
+   * {@link BusinessDayConvention#adjust(LocalDate, HolidayCalendar)}.
+   * Implementations may override this to process the whole array in a single pass.
+   * 
+   * @param epochDays  the epoch-days to adjust, updated in place
+   * @param convention  the business day convention
+   * @throws IllegalArgumentException if a date is outside the supported range
+   */
+  public default void adjustEpochDays(int[] epochDays, BusinessDayConvention convention) {
+    ArgChecker.notNull(epochDays, "epochDays");
+    ArgChecker.notNull(convention, "convention");
+    for (int i = 0; i < epochDays.length; i++) {
+      epochDays[i] = Math.toIntExact(convention.adjust(LocalDate.ofEpochDay(epochDays[i]), this).toEpochDay());
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Combines this holiday calendar with another.
@@ -310,7 +456,7 @@ public interface HolidayCalendar
     if (other == HolidayCalendars.NO_HOLIDAYS) {
       return this;
     }
-    return new HolidayCalendars.Combined(this, other);
+    return HolidayCalendars.combine(this, other);
   }
 
   //-------------------------------------------------------------------------
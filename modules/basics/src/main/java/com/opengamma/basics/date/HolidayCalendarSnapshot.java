@@ -0,0 +1,185 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.basics.date;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.DayOfWeek;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.collect.ArgChecker;
+import com.opengamma.collect.io.ResourceLocator;
+
+/**
+ * Binary snapshot of the lookup tables of a set of holiday calendars.
+ * <p>
+ * The snapshot allows the global holiday calendars to be loaded by a single read
+ * of a classpath resource, rather than running the rules that generate them.
+ * The rules remain the source of truth, with the snapshot regenerated by running
+ * {@link #main(String[])} whenever the rules change.
+ * <p>
+ * The format is a header of magic number, version and calendar count, followed by
+ * the name, weekend days, start year, number of months and lookup table of each calendar.
+ */
+final class HolidayCalendarSnapshot {
+
+  /**
+   * The classpath resource containing the snapshot of the global holiday calendars.
+   */
+  static final String RESOURCE = "com/opengamma/basics/date/GlobalHolidayCalendars.bin";
+  /**
+   * The magic number at the start of the snapshot, 'OGHC'.
+   */
+  private static final int MAGIC = 0x4F474843;
+  /**
+   * The version of the format.
+   */
+  private static final int VERSION = 1;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes the snapshot of the global holiday calendars, generated from the rules.
+   *
+   * @param args  the file to write to
+   * @throws IOException if an IO error occurs
+   */
+  public static void main(String[] args) throws IOException {
+    ArgChecker.isTrue(args.length == 1, "Usage: HolidayCalendarSnapshot <file>");
+    Files.write(Paths.get(args[0]), write(generateGlobal()));
+  }
+
+  // generates the global holiday calendars from the rules
+  static ImmutableList<ImmutableHolidayCalendar> generateGlobal() {
+    return ImmutableList.of(
+        GlobalHolidayCalendars.generateLondon(),
+        GlobalHolidayCalendars.generateParis(),
+        GlobalHolidayCalendars.generateZurich(),
+        GlobalHolidayCalendars.generateEuropeanTarget(),
+        GlobalHolidayCalendars.generateUsGovtSecurities(),
+        GlobalHolidayCalendars.generateUsNewYork(),
+        GlobalHolidayCalendars.generateNewYorkFed(),
+        GlobalHolidayCalendars.generateNewYorkStockExchange(),
+        GlobalHolidayCalendars.generateTokyo());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Loads the snapshot of the global holiday calendars from the classpath.
+   * <p>
+   * If the resource cannot be found or read, an empty map is returned.
+   *
+   * @return the calendars keyed by name
+   */
+  static ImmutableMap<String, ImmutableHolidayCalendar> load() {
+    try {
+      Optional<ResourceLocator> resource = ResourceLocator.streamOfClasspathResources(RESOURCE).findFirst();
+      if (!resource.isPresent()) {
+        return ImmutableMap.of();
+      }
+      return read(resource.get().getByteSource().read());
+
+    } catch (IOException | RuntimeException ex) {
+      // logging used because this is loaded in a static variable
+      Logger logger = Logger.getLogger(HolidayCalendarSnapshot.class.getName());
+      logger.severe("Failed to load holiday calendar snapshot: " + Throwables.getStackTraceAsString(ex));
+      return ImmutableMap.of();
+    }
+  }
+
+  /**
+   * Reads calendars from the binary form.
+   *
+   * @param bytes  the binary form
+   * @return the calendars keyed by name
+   * @throws IllegalArgumentException if the binary form is invalid
+   */
+  static ImmutableMap<String, ImmutableHolidayCalendar> read(byte[] bytes) {
+    ByteBuffer buf = ByteBuffer.wrap(bytes);
+    ArgChecker.isTrue(bytes.length >= 12 && buf.getInt() == MAGIC, "Invalid holiday calendar snapshot");
+    ArgChecker.isTrue(buf.getInt() == VERSION, "Unsupported holiday calendar snapshot version");
+    int count = buf.getInt();
+    ImmutableMap.Builder<String, ImmutableHolidayCalendar> builder = ImmutableMap.builder();
+    for (int i = 0; i < count; i++) {
+      byte[] nameBytes = new byte[buf.getShort() & 0xFFFF];
+      buf.get(nameBytes);
+      String name = new String(nameBytes, StandardCharsets.UTF_8);
+      Set<DayOfWeek> weekendDays = EnumSet.noneOf(DayOfWeek.class);
+      int weekendMask = buf.getInt();
+      for (DayOfWeek dow : DayOfWeek.values()) {
+        if ((weekendMask & (1 << dow.ordinal())) != 0) {
+          weekendDays.add(dow);
+        }
+      }
+      int startYear = buf.getInt();
+      int[] lookup = new int[buf.getInt()];
+      // bulk read of the whole table
+      buf.asIntBuffer().get(lookup);
+      buf.position(buf.position() + lookup.length * 4);
+      builder.put(name, ImmutableHolidayCalendar.ofLookup(name, weekendDays, startYear, lookup));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Writes calendars to the binary form.
+   *
+   * @param calendars  the calendars to write, each with at least one holiday
+   * @return the binary form
+   */
+  static byte[] write(Iterable<ImmutableHolidayCalendar> calendars) {
+    ArgChecker.noNulls(calendars, "calendars");
+    ImmutableList<ImmutableHolidayCalendar> list = ImmutableList.copyOf(calendars);
+    try {
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      DataOutputStream out = new DataOutputStream(baos);
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(list.size());
+      for (ImmutableHolidayCalendar cal : list) {
+        ArgChecker.isTrue(cal.lookupStartYear() != 0, "Calendar must have holidays: {}", cal.getName());
+        int weekendMask = 0;
+        for (DayOfWeek dow : cal.getWeekendDays()) {
+          weekendMask |= (1 << dow.ordinal());
+        }
+        byte[] nameBytes = cal.getName().getBytes(StandardCharsets.UTF_8);
+        out.writeShort(nameBytes.length);
+        out.write(nameBytes);
+        out.writeInt(weekendMask);
+        out.writeInt(cal.lookupStartYear());
+        int[] lookup = cal.lookupTable();
+        out.writeInt(lookup.length);
+        for (int monthData : lookup) {
+          out.writeInt(monthData);
+        }
+      }
+      out.flush();
+      return baos.toByteArray();
+
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Restricted constructor.
+   */
+  private HolidayCalendarSnapshot() {
+  }
+
+}
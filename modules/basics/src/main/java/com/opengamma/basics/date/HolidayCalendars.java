@@ -7,10 +7,18 @@ package com.opengamma.basics.date;
 
 import java.io.Serializable;
 import java.time.LocalDate;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+import com.google.common.base.Joiner;
 import com.google.common.base.Splitter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Iterables;
 import com.opengamma.collect.ArgChecker;
 import com.opengamma.collect.named.ExtendedEnum;
+import com.opengamma.collect.tuple.Pair;
 
 /**
  * Constants and implementations for standard holiday calendars.
@@ -30,6 +38,22 @@ public final class HolidayCalendars {
    * The extended enum lookup from name to instance.
    */
   static final ExtendedEnum<HolidayCalendar> ENUM_LOOKUP = ExtendedEnum.of(HolidayCalendar.class);
+  /**
+   * The maximum number of combined calendars to cache.
+   */
+  private static final int COMBINED_CACHE_SIZE = 1000;
+  /**
+   * The cache of combined calendars, keyed by the generation and the normalized name.
+   * The generation is the value of {@link #COMBINED_GENERATION} when the components were resolved.
+   */
+  private static final Cache<Pair<Long, String>, HolidayCalendar> COMBINED_CACHE =
+      CacheBuilder.newBuilder().maximumSize(COMBINED_CACHE_SIZE).build();
+  /**
+   * The generation of the underlying calendars, incremented when they are replaced.
+   * A combined calendar built from replaced components is cached under an old generation,
+   * thus it is never returned once the generation has been incremented.
+   */
+  private static final AtomicLong COMBINED_GENERATION = new AtomicLong();
 
   /**
    * An instance declaring no holidays and no weekends.
@@ -160,6 +184,8 @@ public final class HolidayCalendars {
   //-------------------------------------------------------------------------
   /**
    * Obtains a {@code HolidayCalendar} from a unique name.
+   * <p>
+   * A name containing '+' is resolved to the shared combined calendar for the set of components.
    * 
    * @param uniqueName  the unique name of the calendar
    * @return the holiday calendar
@@ -167,13 +193,90 @@ public final class HolidayCalendars {
   static HolidayCalendar of(String uniqueName) {
     ArgChecker.notNull(uniqueName, "uniqueName");
     if (uniqueName.contains("+")) {
-      return Splitter.on('+').splitToList(uniqueName).stream()
-          .map(HolidayCalendars::of)
-          .reduce(NO_HOLIDAYS, HolidayCalendar::combineWith);
+      return ofCombined(Splitter.on('+').split(uniqueName));
     }
     return ENUM_LOOKUP.lookup(uniqueName);
   }
 
+  /**
+   * Combines two holiday calendars.
+   * <p>
+   * If both calendars are known by name, the shared combined calendar for the set of
+   * components is returned, with the components in name order.
+   * <p>
+   * If either calendar is an {@link ImmutableHolidayCalendar}, the result is also an
+   * {@code ImmutableHolidayCalendar}, retaining the optimized lookup table.
+   * 
+   * @param calendar1  the first calendar
+   * @param calendar2  the second calendar
+   * @return the combined calendar
+   * @throws IllegalArgumentException if unable to combine the calendars
+   */
+  static HolidayCalendar combine(HolidayCalendar calendar1, HolidayCalendar calendar2) {
+    if (isShared(calendar1) && isShared(calendar2)) {
+      return ofCombined(Iterables.concat(
+          Splitter.on('+').split(calendar1.getName()),
+          Splitter.on('+').split(calendar2.getName())));
+    }
+    return combineUncached(calendar1, calendar2);
+  }
+
+  // obtains the shared combined calendar from the component names
+  private static HolidayCalendar ofCombined(Iterable<String> componentNames) {
+    // capture the generation before the components are resolved
+    long generation = COMBINED_GENERATION.get();
+    // resolve and normalize the components, which also handles alternate names
+    SortedMap<String, HolidayCalendar> components = new TreeMap<>();
+    for (String componentName : componentNames) {
+      HolidayCalendar component = ENUM_LOOKUP.lookup(componentName);
+      if (component != NO_HOLIDAYS) {
+        components.put(component.getName(), component);
+      }
+    }
+    if (components.size() <= 1) {
+      return components.isEmpty() ? NO_HOLIDAYS : components.get(components.firstKey());
+    }
+    Pair<Long, String> key = Pair.of(generation, Joiner.on('+').join(components.keySet()));
+    HolidayCalendar cached = COMBINED_CACHE.getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+    HolidayCalendar combined = components.values().stream()
+        .reduce(HolidayCalendars::combineUncached)
+        .get();
+    cached = COMBINED_CACHE.asMap().putIfAbsent(key, combined);
+    return (cached != null ? cached : combined);
+  }
+
+  // clears the cache of combined calendars, called after the underlying calendars are replaced
+  // the generation is incremented first, so a combination built concurrently from the replaced
+  // calendars is either removed here or cached under the old generation, where it is never found
+  static void clearCombinedCache() {
+    COMBINED_GENERATION.incrementAndGet();
+    COMBINED_CACHE.invalidateAll();
+  }
+
+  // checks if the calendar is the shared instance for its name
+  private static boolean isShared(HolidayCalendar calendar) {
+    String name = calendar.getName();
+    if (name.contains("+")) {
+      return COMBINED_CACHE.getIfPresent(Pair.of(COMBINED_GENERATION.get(), name)) == calendar;
+    }
+    try {
+      return ENUM_LOOKUP.lookup(name) == calendar;
+    } catch (IllegalArgumentException ex) {
+      return false;
+    }
+  }
+
+  // combines two calendars without reference to the cache
+  private static HolidayCalendar combineUncached(HolidayCalendar calendar1, HolidayCalendar calendar2) {
+    if (calendar1 instanceof ImmutableHolidayCalendar || calendar2 instanceof ImmutableHolidayCalendar) {
+      return ImmutableHolidayCalendar.combined(calendar1, calendar2);
+    }
+    return new Combined(calendar1, calendar2);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Restricted constructor.
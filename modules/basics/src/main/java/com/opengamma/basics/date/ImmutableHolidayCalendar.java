@@ -5,14 +5,20 @@
  */
 package com.opengamma.basics.date;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.function.Supplier;
 
 import org.joda.beans.Bean;
 import org.joda.beans.BeanBuilder;
@@ -68,8 +74,9 @@ public final class ImmutableHolidayCalendar
    * The set of holiday dates.
    * <p>
    * Each date in this set is not a business day.
+   * This is null if the calendar was created from a lookup table, see {@link #getHolidays()}.
    */
-  @PropertyDefinition(validate = "notNull")
+  @PropertyDefinition(validate = "notNull", get = "manual")
   private final ImmutableSortedSet<LocalDate> holidays;
   /**
    * The set of weekend days.
@@ -93,6 +100,14 @@ public final class ImmutableHolidayCalendar
    * The supported range of dates.
    */
   private final LocalDateRange range;
+  /**
+   * The source of the holiday dates when created from a lookup table, null to derive them from the table.
+   */
+  private final transient Supplier<ImmutableSortedSet<LocalDate>> holidaySource;
+  /**
+   * The set of holiday dates derived from the lookup table, null until first requested.
+   */
+  private transient volatile ImmutableSortedSet<LocalDate> derivedHolidays;
 
   //-------------------------------------------------------------------------
   /**
@@ -142,6 +157,27 @@ public final class ImmutableHolidayCalendar
     return new ImmutableHolidayCalendar(name, ImmutableSortedSet.copyOf(holidays), Sets.immutableEnumSet(weekendDays));
   }
 
+  /**
+   * Obtains a {@code HolidayCalendar} from a pre-built lookup table.
+   * <p>
+   * The lookup table has one entry for each month from January of the start year,
+   * with the bit for each zero-based day-of-month set if the day is a business day.
+   * The table is not cloned, and must not be altered after calling this method.
+   * 
+   * @param name  the calendar name
+   * @param weekendDays  the days that define the weekend
+   * @param startYear  the first year of the lookup table
+   * @param lookup  the lookup table, length a multiple of twelve
+   * @return the holiday calendar
+   */
+  static ImmutableHolidayCalendar ofLookup(String name, Set<DayOfWeek> weekendDays, int startYear, int[] lookup) {
+    ArgChecker.notNull(name, "name");
+    ArgChecker.noNulls(weekendDays, "weekendDays");
+    ArgChecker.notNull(lookup, "lookup");
+    ArgChecker.isTrue(lookup.length > 0 && lookup.length % 12 == 0, "Lookup table must contain whole years");
+    return new ImmutableHolidayCalendar(name, weekendDays, startYear, lookup);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance calculating the supported range.
@@ -158,6 +194,7 @@ public final class ImmutableHolidayCalendar
     this.name = name;
     this.holidays = ImmutableSortedSet.copyOfSorted(holidays);
     this.weekendDays = Sets.immutableEnumSet(weekendDays);
+    this.holidaySource = null;
     if (holidays.isEmpty()) {
       // special case where no holiday dates are specified
       this.range = LocalDateRange.ALL;
@@ -174,6 +211,60 @@ public final class ImmutableHolidayCalendar
     }
   }
 
+  /**
+   * Creates an instance from a pre-built lookup table.
+   * <p>
+   * The set of holidays is derived from the lookup table, excluding weekends,
+   * when first requested by {@link #getHolidays()}.
+   * 
+   * @param name  the calendar name
+   * @param weekendDays  the set of weekend days
+   * @param startYear  the start year
+   * @param lookup  the lookup table, not cloned
+   */
+  private ImmutableHolidayCalendar(String name, Set<DayOfWeek> weekendDays, int startYear, int[] lookup) {
+    this(name, weekendDays, startYear, lookup, null);
+  }
+
+  /**
+   * Creates an instance from a pre-built lookup table and a source of the holidays.
+   * <p>
+   * The source is called when the holidays are first requested by {@link #getHolidays()}.
+   * 
+   * @param name  the calendar name
+   * @param weekendDays  the set of weekend days
+   * @param startYear  the start year
+   * @param lookup  the lookup table, not cloned
+   * @param holidaySource  the source of the holidays, null to derive them from the lookup table
+   */
+  private ImmutableHolidayCalendar(
+      String name,
+      Set<DayOfWeek> weekendDays,
+      int startYear,
+      int[] lookup,
+      Supplier<ImmutableSortedSet<LocalDate>> holidaySource) {
+
+    this.name = name;
+    this.weekendDays = Sets.immutableEnumSet(weekendDays);
+    this.startYear = startYear;
+    this.lookup = lookup;
+    this.range = LocalDateRange.of(LocalDate.of(startYear, 1, 1), LocalDate.of(startYear + lookup.length / 12, 1, 1));
+    this.holidays = null;
+    this.holidaySource = holidaySource;
+  }
+
+  // writes the holidays, deriving them if necessary, thus the serialized form always includes the holidays
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    ObjectOutputStream.PutField fields = out.putFields();
+    fields.put("name", name);
+    fields.put("holidays", getHolidays());
+    fields.put("weekendDays", weekendDays);
+    fields.put("startYear", startYear);
+    fields.put("lookup", lookup);
+    fields.put("range", range);
+    out.writeFields();
+  }
+
   // create and populate the int[] lookup
   // use 1 for business days and 0 for holidays
   private static int[] buildLookupArray(
@@ -186,19 +277,7 @@ public final class ImmutableHolidayCalendar
     // loop through all months to handle end-of-month and weekends
     LocalDate firstOfMonth = LocalDate.of(startYear, 1, 1);
     for (int i = 0; i < array.length; i++) {
-      int monthLen = firstOfMonth.lengthOfMonth();
-      // set each valid day-of-month to be a business day
-      // the bits for days beyond the end-of-month will be unset and thus treated as non-business days
-      // the minus one part converts a single set bit into each lower bit being set
-      array[i] = (1 << monthLen) - 1;
-      // unset the bits associated with a weekend
-      // can unset across whole month using repeating pattern of 7 bits
-      // just need to find the offset between the weekend and the day-of-week of the 1st of the month
-      for (DayOfWeek weekendDow : weekendDays) {
-        int daysDiff = weekendDow.getValue() - firstOfMonth.getDayOfWeek().getValue();
-        int offset = (daysDiff < 0 ? daysDiff + 7 : daysDiff);
-        array[i] &= ~(0b10000001000000100000010000001 << offset);
-      }
+      array[i] = weekdayMask(weekendDays, firstOfMonth);
       firstOfMonth = firstOfMonth.plusMonths(1);
     }
     // unset the bit associated with each holiday date
@@ -209,7 +288,64 @@ public final class ImmutableHolidayCalendar
     return array;
   }
 
+  // the lookup data for a month with no holidays, just weekends
+  private static int weekdayMask(Set<DayOfWeek> weekendDays, LocalDate firstOfMonth) {
+    // set each valid day-of-month to be a business day
+    // the bits for days beyond the end-of-month will be unset and thus treated as non-business days
+    // the minus one part converts a single set bit into each lower bit being set
+    int mask = (1 << firstOfMonth.lengthOfMonth()) - 1;
+    // unset the bits associated with a weekend
+    // can unset across whole month using repeating pattern of 7 bits
+    // just need to find the offset between the weekend and the day-of-week of the 1st of the month
+    for (DayOfWeek weekendDow : weekendDays) {
+      int daysDiff = weekendDow.getValue() - firstOfMonth.getDayOfWeek().getValue();
+      int offset = (daysDiff < 0 ? daysDiff + 7 : daysDiff);
+      mask &= ~(0b10000001000000100000010000001 << offset);
+    }
+    return mask;
+  }
+
+  // extract the holiday dates from the lookup table, which are the unset bits that are not weekends
+  // the dates are found in order, so the set can be built without a full sort
+  private static ImmutableSortedSet<LocalDate> extractHolidays(Set<DayOfWeek> weekendDays, int startYear, int[] lookup) {
+    List<LocalDate> dates = new ArrayList<>();
+    LocalDate firstOfMonth = LocalDate.of(startYear, 1, 1);
+    for (int i = 0; i < lookup.length; i++) {
+      int holidayBits = weekdayMask(weekendDays, firstOfMonth) & ~lookup[i];
+      while (holidayBits != 0) {
+        dates.add(firstOfMonth.withDayOfMonth(Integer.numberOfTrailingZeros(holidayBits) + 1));
+        // clear the least significant bit
+        holidayBits &= (holidayBits - 1);
+      }
+      firstOfMonth = firstOfMonth.plusMonths(1);
+    }
+    return ImmutableSortedSet.copyOf(dates);
+  }
+
   //-------------------------------------------------------------------------
+  /**
+   * Gets the set of holiday dates.
+   * <p>
+   * Each date in this set is not a business day.
+   * <p>
+   * If the calendar was created from a lookup table, such as a calendar loaded from a snapshot,
+   * the set is derived from the table when first requested, excluding weekends.
+   * Queries on the calendar only use the lookup table, and never require the set.
+   *
+   * @return the set of holiday dates, not null
+   */
+  public ImmutableSortedSet<LocalDate> getHolidays() {
+    if (holidays != null) {
+      return holidays;
+    }
+    ImmutableSortedSet<LocalDate> derived = derivedHolidays;
+    if (derived == null) {
+      derived = (holidaySource != null ? holidaySource.get() : extractHolidays(weekendDays, startYear, lookup));
+      derivedHolidays = derived;
+    }
+    return derived;
+  }
+
   /**
    * Gets the range of dates that may be queried.
    * <p>
@@ -249,12 +385,13 @@ public final class ImmutableHolidayCalendar
   public LocalDate shift(LocalDate date, int amount) {
     ArgChecker.notNull(date, "date");
     try {
+      int index = (date.getYear() - startYear) * 12 + date.getMonthValue() - 1;
       if (amount > 0) {
         // day-of-month: minus one for zero-based day-of-month, plus one to start from next day
-        return shiftNext(date.getYear(), date.getMonthValue(), date.getDayOfMonth(), amount);
+        return toDate(shiftNext(index, date.getDayOfMonth(), amount));
       } else if (amount < 0) {
         // day-of-month: minus one to start from previous day
-        return shiftPrev(date.getYear(), date.getMonthValue(), date.getDayOfMonth() - 1, amount);
+        return toDate(shiftPrev(index, date.getDayOfMonth() - 1, amount));
       }
       return date;
 
@@ -271,8 +408,9 @@ public final class ImmutableHolidayCalendar
   public LocalDate next(LocalDate date) {
     ArgChecker.notNull(date, "date");
     try {
+      int index = (date.getYear() - startYear) * 12 + date.getMonthValue() - 1;
       // day-of-month: minus one for zero-based day-of-month, plus one to start from next day
-      return shiftNext(date.getYear(), date.getMonthValue(), date.getDayOfMonth(), 1);
+      return toDate(shiftNext(index, date.getDayOfMonth(), 1));
 
     } catch (ArrayIndexOutOfBoundsException ex) {
       if (startYear == 0) {
@@ -283,10 +421,10 @@ public final class ImmutableHolidayCalendar
   }
 
   // shift to a later working day, following nextOrSame semantics
-  // input day-of-month is zero-based
-  private LocalDate shiftNext(int baseYear, int baseMonth, int baseDom0, int amount) {
+  // input is the index into the lookup array and a zero-based day-of-month
+  // output is the index and one-based day-of-month packed into an int
+  private int shiftNext(int index, int baseDom0, int amount) {
     // find data for month
-    int index = (baseYear - startYear) * 12 + baseMonth - 1;
     int monthData = lookup[index];
     // loop around amount, the number of days to shift by
     // use domOffset to keep track of day-of-month
@@ -296,13 +434,13 @@ public final class ImmutableHolidayCalendar
       int shifted = monthData >> domOffset;
       // recurse to next month if no more business days in the month
       if (shifted == 0) {
-        return baseMonth == 12 ? shiftNext(baseYear + 1, 1, 0, amt) : shiftNext(baseYear, baseMonth + 1, 0, amt);
+        return shiftNext(index + 1, 0, amt);
       }
       // find least significant bit, which is next business day
       // use JDK numberOfTrailingZeros() method which is mapped to a fast intrinsic
       domOffset += (Integer.numberOfTrailingZeros(shifted) + 1);
     }
-    return LocalDate.of(baseYear, baseMonth, domOffset);
+    return (index << 5) | domOffset;
   }
 
   //-------------------------------------------------------------------------
@@ -310,8 +448,9 @@ public final class ImmutableHolidayCalendar
   public LocalDate previous(LocalDate date) {
     ArgChecker.notNull(date, "date");
     try {
+      int index = (date.getYear() - startYear) * 12 + date.getMonthValue() - 1;
       // day-of-month: minus one to start from previous day
-      return shiftPrev(date.getYear(), date.getMonthValue(), date.getDayOfMonth() - 1, -1);
+      return toDate(shiftPrev(index, date.getDayOfMonth() - 1, -1));
 
     } catch (ArrayIndexOutOfBoundsException ex) {
       if (startYear == 0) {
@@ -322,10 +461,10 @@ public final class ImmutableHolidayCalendar
   }
 
   // shift to an earlier working day, following previousOrSame semantics
-  // input day-of-month is one-based and may be zero or negative
-  private LocalDate shiftPrev(int baseYear, int baseMonth, int baseDom, int amount) {
+  // input is the index into the lookup array and a one-based day-of-month that may be zero or negative
+  // output is the index and one-based day-of-month packed into an int
+  private int shiftPrev(int index, int baseDom, int amount) {
     // find data for month
-    int index = (baseYear - startYear) * 12 + baseMonth - 1;
     int monthData = lookup[index];
     // loop around amount, the number of days to shift by
     // use domOffset to keep track of day-of-month
@@ -335,13 +474,19 @@ public final class ImmutableHolidayCalendar
       int shifted = (monthData << (32 - domOffset));
       // recurse to previous month if no more business days in the month
       if (shifted == 0 || domOffset <= 0) {
-        return baseMonth == 1 ? shiftPrev(baseYear - 1, 12, 31, amt) : shiftPrev(baseYear, baseMonth - 1, 31, amt);
+        return shiftPrev(index - 1, 31, amt);
       }
       // find most significant bit, which is previous business day
       // use JDK numberOfLeadingZeros() method which is mapped to a fast intrinsic
       domOffset -= (Integer.numberOfLeadingZeros(shifted) + 1);
     }
-    return LocalDate.of(baseYear, baseMonth, domOffset + 1);
+    return (index << 5) | (domOffset + 1);
+  }
+
+  // converts the packed index and one-based day-of-month to a date
+  private LocalDate toDate(int packed) {
+    int index = packed >>> 5;
+    return LocalDate.of(startYear + index / 12, index % 12 + 1, packed & 31);
   }
 
   //-------------------------------------------------------------------------
@@ -420,6 +565,199 @@ public final class ImmutableHolidayCalendar
     }
   }
 
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean isHolidayEpochDay(int epochDay) {
+    try {
+      // find data for month, and check if bit is 1 at zero-based day-of-month
+      long monthDay = LocalDateUtils.toMonthDay(epochDay);
+      int index = epochIndex(monthDay);
+      return (lookup[index] & (1 << (monthDay & 31))) == 0;
+
+    } catch (ArrayIndexOutOfBoundsException ex) {
+      if (startYear == 0) {
+        return HolidayCalendar.super.isHolidayEpochDay(epochDay);
+      }
+      throw new IllegalArgumentException(rangeError(LocalDate.ofEpochDay(epochDay)));
+    }
+  }
+
+  @Override
+  public int shiftEpochDay(int epochDay, int amount) {
+    try {
+      long monthDay = LocalDateUtils.toMonthDay(epochDay);
+      int index = epochIndex(monthDay);
+      int dom0 = (int) (monthDay & 31);
+      if (amount > 0) {
+        // day-of-month: plus one to start from next day
+        return toEpochDay(shiftNext(index, dom0 + 1, amount));
+      } else if (amount < 0) {
+        // day-of-month: plus one for one-based day-of-month, minus one to start from previous day
+        return toEpochDay(shiftPrev(index, dom0, amount));
+      }
+      return epochDay;
+
+    } catch (ArrayIndexOutOfBoundsException ex) {
+      if (startYear == 0) {
+        return HolidayCalendar.super.shiftEpochDay(epochDay, amount);
+      }
+      throw new IllegalArgumentException(rangeError(LocalDate.ofEpochDay(epochDay)));
+    }
+  }
+
+  @Override
+  public int nextEpochDay(int epochDay) {
+    return shiftEpochDay(epochDay, 1);
+  }
+
+  @Override
+  public int nextOrSameEpochDay(int epochDay) {
+    try {
+      long monthDay = LocalDateUtils.toMonthDay(epochDay);
+      // day-of-month: zero-based to include the input date
+      return toEpochDay(shiftNext(epochIndex(monthDay), (int) (monthDay & 31), 1));
+
+    } catch (ArrayIndexOutOfBoundsException ex) {
+      if (startYear == 0) {
+        return HolidayCalendar.super.nextOrSameEpochDay(epochDay);
+      }
+      throw new IllegalArgumentException(rangeError(LocalDate.ofEpochDay(epochDay)));
+    }
+  }
+
+  @Override
+  public int previousEpochDay(int epochDay) {
+    return shiftEpochDay(epochDay, -1);
+  }
+
+  @Override
+  public int previousOrSameEpochDay(int epochDay) {
+    try {
+      long monthDay = LocalDateUtils.toMonthDay(epochDay);
+      // day-of-month: plus one for one-based to include the input date
+      return toEpochDay(shiftPrev(epochIndex(monthDay), (int) (monthDay & 31) + 1, -1));
+
+    } catch (ArrayIndexOutOfBoundsException ex) {
+      if (startYear == 0) {
+        return HolidayCalendar.super.previousOrSameEpochDay(epochDay);
+      }
+      throw new IllegalArgumentException(rangeError(LocalDate.ofEpochDay(epochDay)));
+    }
+  }
+
+  // finds the index into the lookup array from the packed month and day-of-month
+  // out of range values are returned as -1 to trigger an exception on lookup
+  private int epochIndex(long monthDay) {
+    long index = (monthDay >> 5) - startYear * 12L;
+    return (index > Integer.MAX_VALUE ? -1 : (int) index);
+  }
+
+  // converts the packed index and one-based day-of-month to an epoch-day
+  private int toEpochDay(int packed) {
+    int index = packed >>> 5;
+    return LocalDateUtils.toEpochDay(startYear + index / 12, index % 12 + 1, packed & 31);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int daysBetween(LocalDateRange dateRange) {
+    ArgChecker.notNull(dateRange, "dateRange");
+    if (startYear == 0) {
+      return HolidayCalendar.super.daysBetween(dateRange);
+    }
+    if (dateRange.isEmpty()) {
+      return 0;
+    }
+    LocalDate start = dateRange.getStart();
+    LocalDate end = dateRange.getEndExclusive();
+    if (!range.contains(start)) {
+      throw new IllegalArgumentException(rangeError(start));
+    }
+    if (end.isAfter(range.getEndExclusive())) {
+      throw new IllegalArgumentException(rangeError(dateRange.getEndInclusive()));
+    }
+    // find data for first and last month, using zero-based day-of-month
+    int startIndex = (start.getYear() - startYear) * 12 + start.getMonthValue() - 1;
+    int endIndex = (end.getYear() - startYear) * 12 + end.getMonthValue() - 1;
+    int startMask = -1 << (start.getDayOfMonth() - 1);
+    int endMask = (1 << (end.getDayOfMonth() - 1)) - 1;
+    if (startIndex == endIndex) {
+      return Integer.bitCount(lookup[startIndex] & startMask & endMask);
+    }
+    // count the partial first month, then each whole month, then the partial last month
+    // use JDK bitCount() method which is mapped to a fast intrinsic
+    int count = Integer.bitCount(lookup[startIndex] & startMask);
+    for (int i = startIndex + 1; i < endIndex; i++) {
+      count += Integer.bitCount(lookup[i]);
+    }
+    // end may be the first day after the supported range, which has no data
+    if (endMask != 0) {
+      count += Integer.bitCount(lookup[endIndex] & endMask);
+    }
+    return count;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void adjustDates(LocalDate[] dates, BusinessDayConvention convention) {
+    ArgChecker.noNulls(dates, "dates");
+    ArgChecker.notNull(convention, "convention");
+    if (startYear == 0) {
+      HolidayCalendar.super.adjustDates(dates, convention);
+      return;
+    }
+    // business days are never altered by a convention, thus only holidays need to be adjusted
+    // the month data is retained between dates, which is efficient when the dates are in order
+    int index = -1;
+    int monthData = 0;
+    for (int i = 0; i < dates.length; i++) {
+      LocalDate date = dates[i];
+      int dateIndex = (date.getYear() - startYear) * 12 + date.getMonthValue() - 1;
+      if (dateIndex != index) {
+        if (dateIndex < 0 || dateIndex >= lookup.length) {
+          throw new IllegalArgumentException(rangeError(date));
+        }
+        index = dateIndex;
+        monthData = lookup[index];
+      }
+      if ((monthData & (1 << (date.getDayOfMonth() - 1))) == 0) {
+        dates[i] = convention.adjust(date, this);
+      }
+    }
+  }
+
+  @Override
+  public void adjustEpochDays(int[] epochDays, BusinessDayConvention convention) {
+    ArgChecker.notNull(epochDays, "epochDays");
+    ArgChecker.notNull(convention, "convention");
+    if (startYear == 0) {
+      HolidayCalendar.super.adjustEpochDays(epochDays, convention);
+      return;
+    }
+    // business days are never altered by a convention, thus only holidays need to be adjusted
+    // the current month is retained as a range of epoch-days, thus when the dates
+    // are in order they only need to be converted to a LocalDate when the month changes
+    long monthStart = 0;
+    long monthEnd = 0;
+    int monthData = 0;
+    for (int i = 0; i < epochDays.length; i++) {
+      int epochDay = epochDays[i];
+      if (epochDay < monthStart || epochDay >= monthEnd) {
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        int index = (date.getYear() - startYear) * 12 + date.getMonthValue() - 1;
+        if (index < 0 || index >= lookup.length) {
+          throw new IllegalArgumentException(rangeError(date));
+        }
+        monthData = lookup[index];
+        monthStart = epochDay - date.getDayOfMonth() + 1;
+        monthEnd = monthStart + date.lengthOfMonth();
+      }
+      if ((monthData & (1 << (epochDay - monthStart))) == 0) {
+        epochDays[i] = Math.toIntExact(convention.adjust(LocalDate.ofEpochDay(epochDay), this).toEpochDay());
+      }
+    }
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public HolidayCalendar combineWith(HolidayCalendar other) {
@@ -430,17 +768,139 @@ public final class ImmutableHolidayCalendar
     if (other == HolidayCalendars.NO_HOLIDAYS) {
       return this;
     }
-    if (other instanceof ImmutableHolidayCalendar) {
-      ImmutableHolidayCalendar otherCal = (ImmutableHolidayCalendar) other;
-      LocalDateRange newRange = range.union(otherCal.range);  // exception if no overlap
-      ImmutableSortedSet<LocalDate> newHolidays =
-          ImmutableSortedSet.copyOf(Iterables.concat(holidays, otherCal.holidays))
-              .subSet(newRange.getStart(), newRange.getEndExclusive());
-      ImmutableSet<DayOfWeek> newWeekends = ImmutableSet.copyOf(Iterables.concat(weekendDays, otherCal.weekendDays));
-      String combinedName = name + "+" + otherCal.name;
-      return new ImmutableHolidayCalendar(combinedName, newHolidays, newWeekends);
+    return HolidayCalendars.combine(this, other);
+  }
+
+  /**
+   * Combines two holiday calendars, at least one of which is an instance of this class.
+   * <p>
+   * The lookup tables of the two calendars are combined using a bitwise AND.
+   * A calendar of a different type is first converted to a lookup table over
+   * the range of the other calendar. If there is no bounded range, the calendars
+   * are combined without conversion.
+   * <p>
+   * The holidays of the result are the union of the holidays of the two calendars,
+   * including those that fall on a weekend of the other calendar, and the range is
+   * derived from the holidays. The result thus matches the calendar that would be
+   * created from the combined holidays and weekend days.
+   * Only the lookup table and range are built here, the union of the holidays is
+   * derived when first requested, thus neither calendar has to derive its holidays.
+   * 
+   * @param calendar1  the first calendar
+   * @param calendar2  the second calendar
+   * @return the combined calendar
+   * @throws IllegalArgumentException if unable to combine the calendars
+   */
+  static HolidayCalendar combined(HolidayCalendar calendar1, HolidayCalendar calendar2) {
+    LocalDateRange bounded = boundedRange(calendar1);
+    if (bounded == null) {
+      bounded = boundedRange(calendar2);
+    }
+    if (bounded == null && !(calendar1 instanceof ImmutableHolidayCalendar && calendar2 instanceof ImmutableHolidayCalendar)) {
+      return new HolidayCalendars.Combined(calendar1, calendar2);
+    }
+    ImmutableHolidayCalendar cal1 = toImmutable(calendar1, bounded);
+    ImmutableHolidayCalendar cal2 = toImmutable(calendar2, bounded);
+    String combinedName = calendar1.getName() + "+" + calendar2.getName();
+    ImmutableSet<DayOfWeek> newWeekends = ImmutableSet.copyOf(Iterables.concat(cal1.weekendDays, cal2.weekendDays));
+    if (cal1.startYear != 0 && cal2.startYear != 0) {
+      cal1.range.union(cal2.range);  // exception if no overlap
+    }
+    // the range is derived from the years of the first and last holiday, as in the immutable constructor
+    int[] years1 = cal1.holidayYears();
+    int[] years2 = cal2.holidayYears();
+    if (years1 == null && years2 == null) {
+      // special case where neither calendar has any holiday dates
+      return new ImmutableHolidayCalendar(combinedName, ImmutableSortedSet.of(), newWeekends);
+    }
+    int newStartYear = (years1 == null ? years2[0] : years2 == null ? years1[0] : Math.min(years1[0], years2[0]));
+    int newEndYear = (years1 == null ? years2[1] : years2 == null ? years1[1] : Math.max(years1[1], years2[1]));
+    int[] array = new int[(newEndYear + 1 - newStartYear) * 12];
+    LocalDate firstOfMonth = LocalDate.of(newStartYear, 1, 1);
+    for (int i = 0; i < array.length; i++) {
+      array[i] = cal1.monthData(firstOfMonth) & cal2.monthData(firstOfMonth);
+      firstOfMonth = firstOfMonth.plusMonths(1);
+    }
+    Supplier<ImmutableSortedSet<LocalDate>> newHolidays = () -> ImmutableSortedSet.<LocalDate>naturalOrder()
+        .addAll(cal1.getHolidays())
+        .addAll(cal2.getHolidays())
+        .build();
+    return new ImmutableHolidayCalendar(combinedName, newWeekends, newStartYear, array, newHolidays);
+  }
+
+  // the years of the first and last holiday, found without deriving the holidays, null if there are none
+  private int[] holidayYears() {
+    if (holidays != null) {
+      return (holidays.isEmpty() ? null : new int[] {holidays.first().getYear(), holidays.last().getYear()});
+    }
+    int first = 0;
+    while (first < lookup.length && !hasHoliday(first)) {
+      first++;
+    }
+    if (first == lookup.length) {
+      return null;
+    }
+    int last = lookup.length - 1;
+    while (!hasHoliday(last)) {
+      last--;
+    }
+    return new int[] {startYear + first / 12, startYear + last / 12};
+  }
+
+  // checks if the month at the index in the lookup table has a holiday that is not a weekend
+  private boolean hasHoliday(int index) {
+    LocalDate firstOfMonth = LocalDate.of(startYear + index / 12, index % 12 + 1, 1);
+    return (weekdayMask(weekendDays, firstOfMonth) & ~lookup[index]) != 0;
+  }
+
+  // the supported range if the calendar is an instance of this class with holidays, null otherwise
+  private static LocalDateRange boundedRange(HolidayCalendar calendar) {
+    if (calendar instanceof ImmutableHolidayCalendar && ((ImmutableHolidayCalendar) calendar).startYear != 0) {
+      return ((ImmutableHolidayCalendar) calendar).range;
     }
-    return HolidayCalendar.super.combineWith(other);
+    return null;
+  }
+
+  // converts a calendar to an instance of this class, querying each date in the range if necessary
+  private static ImmutableHolidayCalendar toImmutable(HolidayCalendar calendar, LocalDateRange range) {
+    if (calendar instanceof ImmutableHolidayCalendar) {
+      return (ImmutableHolidayCalendar) calendar;
+    }
+    int startYear = range.getStart().getYear();
+    int[] array = new int[(range.getEndExclusive().getYear() - startYear) * 12];
+    // track the days-of-week that are a business day at least once, others are weekends
+    Set<DayOfWeek> weekendDays = EnumSet.allOf(DayOfWeek.class);
+    LocalDate date = LocalDate.of(startYear, 1, 1);
+    for (int i = 0; i < array.length; i++) {
+      int monthLen = date.lengthOfMonth();
+      for (int dom0 = 0; dom0 < monthLen; dom0++) {
+        if (calendar.isBusinessDay(date)) {
+          array[i] |= (1 << dom0);
+          weekendDays.remove(date.getDayOfWeek());
+        }
+        date = date.plusDays(1);
+      }
+    }
+    return new ImmutableHolidayCalendar(calendar.getName(), weekendDays, startYear, array);
+  }
+
+  // the first year of the lookup table, zero if there are no holidays
+  int lookupStartYear() {
+    return startYear;
+  }
+
+  // the lookup table, not cloned
+  int[] lookupTable() {
+    return lookup;
+  }
+
+  // the lookup data for a month, using the weekend pattern outside the supported range
+  private int monthData(LocalDate firstOfMonth) {
+    int index = (firstOfMonth.getYear() - startYear) * 12 + firstOfMonth.getMonthValue() - 1;
+    if (startYear == 0 || index < 0 || index >= lookup.length) {
+      return weekdayMask(weekendDays, firstOfMonth);
+    }
+    return lookup[index];
   }
 
   //-------------------------------------------------------------------------
@@ -515,17 +975,6 @@ public final class ImmutableHolidayCalendar
     return name;
   }
 
-  //-----------------------------------------------------------------------
-  /**
-   * Gets the set of holiday dates.
-   * <p>
-   * Each date in this set is not a business day.
-   * @return the value of the property, not null
-   */
-  public ImmutableSortedSet<LocalDate> getHolidays() {
-    return holidays;
-  }
-
   //-----------------------------------------------------------------------
   /**
    * Gets the set of weekend days.
@@ -0,0 +1,314 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.basics.date;
+
+import static java.time.DayOfWeek.SATURDAY;
+import static java.time.DayOfWeek.SUNDAY;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import com.google.common.base.Splitter;
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.CharSource;
+import com.opengamma.collect.ArgChecker;
+import com.opengamma.collect.Guavate;
+import com.opengamma.collect.io.IniFile;
+import com.opengamma.collect.io.PropertySet;
+import com.opengamma.collect.io.ResourceLocator;
+import com.opengamma.collect.named.NamedLookup;
+
+/**
+ * Holiday calendars loaded from data files, which may be reloaded while running.
+ * <p>
+ * This provider allows holiday calendars to be defined by data rather than code.
+ * It is registered in {@code HolidayCalendar.ini}, thus the loaded calendars are available
+ * using {@link HolidayCalendar#of(String)}. The calendars provided by code take precedence.
+ * <p>
+ * On startup, the data files on the classpath named {@code HolidayCalendarData.ini} and
+ * {@code HolidayCalendarData.csv} in this package are loaded.
+ * Alternative files may be specified using {@link #load(List)}.
+ * Calling {@link #refresh()} re-reads the files and replaces the calendars if they have changed.
+ * <p>
+ * The replacement is a single atomic swap, thus queries never block and always see a
+ * consistent set of calendars. Calendars obtained before a replacement are unaffected.
+ * <p>
+ * A file with the suffix '.csv' has a header row containing the columns 'Calendar' and 'Date'.
+ * Each row defines one holiday, and the calendar uses Saturday/Sunday weekends.
+ * <pre>
+ *  Calendar,Date
+ *  XXLO,2015-01-01
+ *  XXLO,2015-12-25
+ * </pre>
+ * Any other file is an {@link IniFile} with one section per calendar.
+ * The 'holiday' key may be repeated, and may contain a comma separated list of dates.
+ * The optional 'weekendDays' key is a comma separated list of days, defaulting to Saturday/Sunday.
+ * <pre>
+ *  [XXLO]
+ *  weekendDays = SATURDAY, SUNDAY
+ *  holiday = 2015-01-01, 2015-12-25
+ * </pre>
+ * A calendar may only be defined once across all files.
+ */
+public final class LoadedHolidayCalendars implements NamedLookup<HolidayCalendar> {
+
+  /**
+   * The classpath resource name of the default INI file.
+   */
+  static final String DEFAULT_INI_RESOURCE = "com/opengamma/basics/date/HolidayCalendarData.ini";
+  /**
+   * The classpath resource name of the default CSV file.
+   */
+  static final String DEFAULT_CSV_RESOURCE = "com/opengamma/basics/date/HolidayCalendarData.csv";
+  /**
+   * The current state, replaced atomically.
+   */
+  private static final AtomicReference<State> STATE = new AtomicReference<>(loadDefault());
+
+  /**
+   * Creates an instance.
+   * <p>
+   * This is invoked when the providers of {@link HolidayCalendar} are created.
+   * All instances share the same loaded calendars.
+   */
+  public LoadedHolidayCalendars() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Loads the holiday calendars from the specified files.
+   * <p>
+   * The calendars are parsed and then replace all previously loaded calendars.
+   * If an error occurs, the previously loaded calendars remain available.
+   *
+   * @param resources  the files to load
+   * @throws IllegalArgumentException if a file is invalid
+   * @throws UncheckedIOException if an IO error occurs
+   */
+  public static void load(List<ResourceLocator> resources) {
+    ArgChecker.noNulls(resources, "resources");
+    ImmutableList<ResourceLocator> list = ImmutableList.copyOf(resources);
+    STATE.set(State.parse(list, read(list)));
+    HolidayCalendars.clearCombinedCache();
+  }
+
+  /**
+   * Re-reads the files and replaces the calendars if any file has changed.
+   * <p>
+   * This is intended to be called periodically, for example by a scheduled executor.
+   * If an error occurs, the previously loaded calendars remain available.
+   *
+   * @return true if the calendars were replaced
+   * @throws IllegalArgumentException if a file is invalid
+   * @throws UncheckedIOException if an IO error occurs
+   */
+  public static boolean refresh() {
+    State current = STATE.get();
+    ImmutableList<byte[]> contents = read(current.resources);
+    if (current.isSameContent(contents)) {
+      return false;
+    }
+    if (!STATE.compareAndSet(current, State.parse(current.resources, contents))) {
+      return false;  // replaced by another thread
+    }
+    HolidayCalendars.clearCombinedCache();
+    return true;
+  }
+
+  /**
+   * Gets the files that the calendars are loaded from.
+   *
+   * @return the files
+   */
+  public static ImmutableList<ResourceLocator> getResources() {
+    return STATE.get().resources;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public HolidayCalendar lookup(String name) {
+    return STATE.get().calendars.get(name);
+  }
+
+  @Override
+  public ImmutableMap<String, HolidayCalendar> lookupAll() {
+    return STATE.get().calendars;
+  }
+
+  //-------------------------------------------------------------------------
+  // the default files on the classpath
+  static ImmutableList<ResourceLocator> defaultResources() {
+    return Stream.concat(
+        ResourceLocator.streamOfClasspathResources(DEFAULT_INI_RESOURCE),
+        ResourceLocator.streamOfClasspathResources(DEFAULT_CSV_RESOURCE))
+        .collect(Guavate.toImmutableList());
+  }
+
+  // loads the default files, logging errors
+  private static State loadDefault() {
+    try {
+      ImmutableList<ResourceLocator> resources = defaultResources();
+      return State.parse(resources, read(resources));
+
+    } catch (RuntimeException ex) {
+      // logging used because this is loaded in a static variable
+      Logger logger = Logger.getLogger(LoadedHolidayCalendars.class.getName());
+      logger.severe("Failed to load holiday calendar data: " + Throwables.getStackTraceAsString(ex));
+      return State.parse(ImmutableList.of(), ImmutableList.of());
+    }
+  }
+
+  // reads the content of each file
+  private static ImmutableList<byte[]> read(ImmutableList<ResourceLocator> resources) {
+    ImmutableList.Builder<byte[]> builder = ImmutableList.builder();
+    for (ResourceLocator resource : resources) {
+      try {
+        builder.add(resource.getByteSource().read());
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    }
+    return builder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The immutable set of loaded calendars.
+   */
+  private static final class State {
+    // the files
+    private final ImmutableList<ResourceLocator> resources;
+    // the content of each file
+    private final ImmutableList<byte[]> contents;
+    // the calendars
+    private final ImmutableMap<String, HolidayCalendar> calendars;
+
+    // create
+    private State(
+        ImmutableList<ResourceLocator> resources,
+        ImmutableList<byte[]> contents,
+        ImmutableMap<String, HolidayCalendar> calendars) {
+      this.resources = resources;
+      this.contents = contents;
+      this.calendars = calendars;
+    }
+
+    // checks if the content is unchanged
+    private boolean isSameContent(ImmutableList<byte[]> other) {
+      for (int i = 0; i < contents.size(); i++) {
+        if (!Arrays.equals(contents.get(i), other.get(i))) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    // parses the content of the files
+    private static State parse(ImmutableList<ResourceLocator> resources, ImmutableList<byte[]> contents) {
+      Map<String, Set<DayOfWeek>> weekends = new HashMap<>();
+      Map<String, List<LocalDate>> holidays = new LinkedHashMap<>();
+      for (int i = 0; i < resources.size(); i++) {
+        ResourceLocator resource = resources.get(i);
+        CharSource source = CharSource.wrap(new String(contents.get(i), StandardCharsets.UTF_8));
+        Map<String, List<LocalDate>> parsed = new LinkedHashMap<>();
+        try {
+          if (resource.getLocator().toLowerCase(Locale.ENGLISH).endsWith(".csv")) {
+            parseCsv(source, parsed);
+          } else {
+            parseIni(IniFile.of(source), weekends, parsed);
+          }
+        } catch (RuntimeException ex) {
+          throw new IllegalArgumentException("Invalid holiday calendar file: " + resource, ex);
+        }
+        for (String name : parsed.keySet()) {
+          ArgChecker.isFalse(holidays.containsKey(name), "Holiday calendar defined more than once: {}", name);
+        }
+        holidays.putAll(parsed);
+      }
+      ImmutableMap.Builder<String, HolidayCalendar> builder = ImmutableMap.builder();
+      for (Map.Entry<String, List<LocalDate>> entry : holidays.entrySet()) {
+        String name = entry.getKey();
+        Set<DayOfWeek> weekendDays = weekends.getOrDefault(name, EnumSet.of(SATURDAY, SUNDAY));
+        builder.put(name, ImmutableHolidayCalendar.of(name, entry.getValue(), weekendDays));
+      }
+      return new State(resources, contents, builder.build());
+    }
+
+    // parses a CSV file
+    private static void parseCsv(CharSource source, Map<String, List<LocalDate>> holidays) {
+      ImmutableList<String> lines;
+      try {
+        lines = source.readLines();
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+      Splitter splitter = Splitter.on(',').trimResults();
+      List<String> header = null;
+      int calendarColumn = -1;
+      int dateColumn = -1;
+      for (String line : lines) {
+        if (line.trim().isEmpty()) {
+          continue;
+        }
+        List<String> fields = splitter.splitToList(line);
+        if (header == null) {
+          header = fields;
+          calendarColumn = header.indexOf("Calendar");
+          dateColumn = header.indexOf("Date");
+          ArgChecker.isTrue(calendarColumn >= 0 && dateColumn >= 0, "Header must contain 'Calendar' and 'Date'");
+          continue;
+        }
+        ArgChecker.isTrue(fields.size() == header.size(), "Row does not match header: {}", line);
+        holidays.computeIfAbsent(fields.get(calendarColumn), name -> new ArrayList<>())
+            .add(LocalDate.parse(fields.get(dateColumn)));
+      }
+    }
+
+    // parses an INI file
+    private static void parseIni(
+        IniFile ini,
+        Map<String, Set<DayOfWeek>> weekends,
+        Map<String, List<LocalDate>> holidays) {
+
+      Splitter splitter = Splitter.on(',').trimResults().omitEmptyStrings();
+      for (String name : ini.keys()) {
+        PropertySet section = ini.getSection(name);
+        List<LocalDate> dates = new ArrayList<>();
+        for (String value : section.getValueList("holiday")) {
+          for (String str : splitter.split(value)) {
+            dates.add(LocalDate.parse(str));
+          }
+        }
+        if (section.contains("weekendDays")) {
+          Set<DayOfWeek> weekendDays = EnumSet.noneOf(DayOfWeek.class);
+          for (String str : splitter.split(section.getValue("weekendDays"))) {
+            weekendDays.add(DayOfWeek.valueOf(str.toUpperCase(Locale.ENGLISH)));
+          }
+          weekends.put(name, weekendDays);
+        }
+        holidays.put(name, dates);
+      }
+    }
+  }
+
+}
@@ -27,6 +27,18 @@ enum StandardBusinessDayConventions implements BusinessDayConvention {
       ArgChecker.notNull(calendar, "calendar");
       return date;
     }
+
+    @Override
+    public void adjustDates(LocalDate[] dates, HolidayCalendar calendar) {
+      ArgChecker.noNulls(dates, "dates");
+      ArgChecker.notNull(calendar, "calendar");
+    }
+
+    @Override
+    public void adjustEpochDays(int[] epochDays, HolidayCalendar calendar) {
+      ArgChecker.notNull(epochDays, "epochDays");
+      ArgChecker.notNull(calendar, "calendar");
+    }
   },
 
   // next business day
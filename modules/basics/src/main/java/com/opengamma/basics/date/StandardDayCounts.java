@@ -7,8 +7,10 @@ package com.opengamma.basics.date;
 
 import static com.opengamma.basics.date.LocalDateUtils.daysBetween;
 import static com.opengamma.basics.date.LocalDateUtils.doy;
+import static com.opengamma.basics.date.LocalDateUtils.toMonthDay;
 
 import java.time.LocalDate;
+import java.time.chrono.IsoChronology;
 
 import com.opengamma.basics.schedule.Frequency;
 import com.opengamma.collect.ArgChecker;
@@ -180,6 +182,14 @@ enum StandardDayCounts implements DayCount {
     public double calculateYearFraction(LocalDate firstDate, LocalDate secondDate, ScheduleInfo scheduleInfo) {
       return daysBetween(firstDate, secondDate) / 360d;
     }
+
+    @Override
+    void calculateYearFractions(
+        int[] firstEpochDays, int[] secondEpochDays, int secondOffset, ScheduleInfo info, double[] result) {
+      for (int i = 0; i < result.length; i++) {
+        result[i] = (secondEpochDays[i + secondOffset] - firstEpochDays[i]) / 360d;
+      }
+    }
   },
 
   // simple actual days / 364
@@ -188,6 +198,14 @@ enum StandardDayCounts implements DayCount {
     public double calculateYearFraction(LocalDate firstDate, LocalDate secondDate, ScheduleInfo scheduleInfo) {
       return daysBetween(firstDate, secondDate) / 364d;
     }
+
+    @Override
+    void calculateYearFractions(
+        int[] firstEpochDays, int[] secondEpochDays, int secondOffset, ScheduleInfo info, double[] result) {
+      for (int i = 0; i < result.length; i++) {
+        result[i] = (secondEpochDays[i + secondOffset] - firstEpochDays[i]) / 364d;
+      }
+    }
   },
 
   // simple actual days / 365
@@ -196,6 +214,14 @@ enum StandardDayCounts implements DayCount {
     public double calculateYearFraction(LocalDate firstDate, LocalDate secondDate, ScheduleInfo scheduleInfo) {
       return daysBetween(firstDate, secondDate) / 365d;
     }
+
+    @Override
+    void calculateYearFractions(
+        int[] firstEpochDays, int[] secondEpochDays, int secondOffset, ScheduleInfo info, double[] result) {
+      for (int i = 0; i < result.length; i++) {
+        result[i] = (secondEpochDays[i + secondOffset] - firstEpochDays[i]) / 365d;
+      }
+    }
   },
 
   // simple actual days / 365.25
@@ -204,6 +230,14 @@ enum StandardDayCounts implements DayCount {
     public double calculateYearFraction(LocalDate firstDate, LocalDate secondDate, ScheduleInfo scheduleInfo) {
       return daysBetween(firstDate, secondDate) / 365.25d;
     }
+
+    @Override
+    void calculateYearFractions(
+        int[] firstEpochDays, int[] secondEpochDays, int secondOffset, ScheduleInfo info, double[] result) {
+      for (int i = 0; i < result.length; i++) {
+        result[i] = (secondEpochDays[i + secondOffset] - firstEpochDays[i]) / 365.25d;
+      }
+    }
   },
 
   // no leaps / 365
@@ -237,6 +271,24 @@ enum StandardDayCounts implements DayCount {
           firstDate.getYear(), firstDate.getMonthValue(), d1,
           secondDate.getYear(), secondDate.getMonthValue(), d2);
     }
+
+    @Override
+    void calculateYearFractions(
+        int[] firstEpochDays, int[] secondEpochDays, int secondOffset, ScheduleInfo info, double[] result) {
+      for (int i = 0; i < result.length; i++) {
+        long monthDay1 = toMonthDay(firstEpochDays[i]);
+        long monthDay2 = toMonthDay(secondEpochDays[i + secondOffset]);
+        int d1 = dayOfMonth(monthDay1);
+        int d2 = dayOfMonth(monthDay2);
+        if (d1 == 31) {
+          d1 = 30;
+        }
+        if (d2 == 31 && d1 == 30) {
+          d2 = 30;
+        }
+        result[i] = thirty360(monthDay1 >> 5, d1, monthDay2 >> 5, d2);
+      }
+    }
   },
 
   // US thirty day months / 360
@@ -263,6 +315,32 @@ enum StandardDayCounts implements DayCount {
           firstDate.getYear(), firstDate.getMonthValue(), d1,
           secondDate.getYear(), secondDate.getMonthValue(), d2);
     }
+
+    @Override
+    void calculateYearFractions(
+        int[] firstEpochDays, int[] secondEpochDays, int secondOffset, ScheduleInfo info, double[] result) {
+      // query the schedule information once, and only if there are dates
+      boolean eom = result.length > 0 && info.isEndOfMonthConvention();
+      for (int i = 0; i < result.length; i++) {
+        long monthDay1 = toMonthDay(firstEpochDays[i]);
+        long monthDay2 = toMonthDay(secondEpochDays[i + secondOffset]);
+        int d1 = dayOfMonth(monthDay1);
+        int d2 = dayOfMonth(monthDay2);
+        if (eom && isLastDayOfFebruary(monthDay1)) {
+          if (isLastDayOfFebruary(monthDay2)) {
+            d2 = 30;
+          }
+          d1 = 30;
+        }
+        if (d1 == 31) {
+          d1 = 30;
+        }
+        if (d2 == 31 && d1 == 30) {
+          d2 = 30;
+        }
+        result[i] = thirty360(monthDay1 >> 5, d1, monthDay2 >> 5, d2);
+      }
+    }
   },
 
   // ISDA EU thirty day months / 360
@@ -283,6 +361,29 @@ enum StandardDayCounts implements DayCount {
           firstDate.getYear(), firstDate.getMonthValue(), d1,
           secondDate.getYear(), secondDate.getMonthValue(), d2);
     }
+
+    @Override
+    void calculateYearFractions(
+        int[] firstEpochDays, int[] secondEpochDays, int secondOffset, ScheduleInfo info, double[] result) {
+      // the schedule end date is only queried if a second date is the last day of February
+      long endEpochDay = Long.MIN_VALUE;
+      for (int i = 0; i < result.length; i++) {
+        long monthDay1 = toMonthDay(firstEpochDays[i]);
+        long monthDay2 = toMonthDay(secondEpochDays[i + secondOffset]);
+        int d1 = dayOfMonth(monthDay1);
+        int d2 = dayOfMonth(monthDay2);
+        if (d1 == 31 || isLastDayOfFebruary(monthDay1)) {
+          d1 = 30;
+        }
+        if (d2 != 31 && isLastDayOfFebruary(monthDay2) && endEpochDay == Long.MIN_VALUE) {
+          endEpochDay = info.getEndDate().toEpochDay();
+        }
+        if (d2 == 31 || (isLastDayOfFebruary(monthDay2) && secondEpochDays[i + secondOffset] != endEpochDay)) {
+          d2 = 30;
+        }
+        result[i] = thirty360(monthDay1 >> 5, d1, monthDay2 >> 5, d2);
+      }
+    }
   },
 
   // E thirty day months / 360
@@ -301,6 +402,18 @@ enum StandardDayCounts implements DayCount {
           firstDate.getYear(), firstDate.getMonthValue(), d1,
           secondDate.getYear(), secondDate.getMonthValue(), d2);
     }
+
+    @Override
+    void calculateYearFractions(
+        int[] firstEpochDays, int[] secondEpochDays, int secondOffset, ScheduleInfo info, double[] result) {
+      for (int i = 0; i < result.length; i++) {
+        long monthDay1 = toMonthDay(firstEpochDays[i]);
+        long monthDay2 = toMonthDay(secondEpochDays[i + secondOffset]);
+        int d1 = Math.min(dayOfMonth(monthDay1), 30);
+        int d2 = Math.min(dayOfMonth(monthDay2), 30);
+        result[i] = thirty360(monthDay1 >> 5, d1, monthDay2 >> 5, d2);
+      }
+    }
   },
 
   // E+ thirty day months / 360
@@ -322,6 +435,26 @@ enum StandardDayCounts implements DayCount {
           firstDate.getYear(), m1, d1,
           secondDate.getYear(), m2, d2);
     }
+
+    @Override
+    void calculateYearFractions(
+        int[] firstEpochDays, int[] secondEpochDays, int secondOffset, ScheduleInfo info, double[] result) {
+      for (int i = 0; i < result.length; i++) {
+        long monthDay1 = toMonthDay(firstEpochDays[i]);
+        long monthDay2 = toMonthDay(secondEpochDays[i + secondOffset]);
+        long month2 = monthDay2 >> 5;
+        int d1 = dayOfMonth(monthDay1);
+        int d2 = dayOfMonth(monthDay2);
+        if (d1 == 31) {
+          d1 = 30;
+        }
+        if (d2 == 31) {
+          d2 = 1;
+          month2++;  // month is expressed as year * 12 + month - 1, thus Dec to Jan is handled
+        }
+        result[i] = thirty360(monthDay1 >> 5, d1, month2, d2);
+      }
+    }
   };
 
   // name
@@ -337,6 +470,26 @@ enum StandardDayCounts implements DayCount {
     return (360 * (y2 - y1) + 30 * (m2 - m1) + (d2 - d1)) / 360d;
   }
 
+  // calculate using the standard 30/360 function, with each month expressed as year * 12 + month - 1
+  private static double thirty360(long month1, int d1, long month2, int d2) {
+    return (30 * (month2 - month1) + (d2 - d1)) / 360d;
+  }
+
+  // the day-of-month of a packed month-day from LocalDateUtils.toMonthDay()
+  private static int dayOfMonth(long monthDay) {
+    return (int) (monthDay & 31) + 1;
+  }
+
+  // checks if a packed month-day from LocalDateUtils.toMonthDay() is the last day of February
+  private static boolean isLastDayOfFebruary(long monthDay) {
+    long month = monthDay >> 5;
+    if (Math.floorMod(month, 12) != 1) {
+      return false;
+    }
+    int dom = dayOfMonth(monthDay);
+    return dom == 29 || (dom == 28 && !IsoChronology.INSTANCE.isLeapYear(Math.floorDiv(month, 12)));
+  }
+
   @Override
   public double yearFraction(LocalDate firstDate, LocalDate secondDate, ScheduleInfo scheduleInfo) {
     ArgChecker.notNull(firstDate, "firstDate");
@@ -363,6 +516,49 @@ enum StandardDayCounts implements DayCount {
   // calculate the year fraction, using validated inputs
   abstract double calculateYearFraction(LocalDate firstDate, LocalDate secondDate, ScheduleInfo scheduleInfo);
 
+  @Override
+  public double[] yearFractions(int[] firstEpochDays, int[] secondEpochDays, ScheduleInfo scheduleInfo) {
+    ArgChecker.notNull(firstEpochDays, "firstEpochDays");
+    ArgChecker.notNull(secondEpochDays, "secondEpochDays");
+    ArgChecker.notNull(scheduleInfo, "scheduleInfo");
+    ArgChecker.isTrue(firstEpochDays.length == secondEpochDays.length,
+        "Arrays must be the same length, but were {} and {}", firstEpochDays.length, secondEpochDays.length);
+    for (int i = 0; i < firstEpochDays.length; i++) {
+      if (secondEpochDays[i] < firstEpochDays[i]) {
+        throw new IllegalArgumentException("Dates must be in time-line order");
+      }
+    }
+    double[] result = new double[firstEpochDays.length];
+    calculateYearFractions(firstEpochDays, secondEpochDays, 0, scheduleInfo, result);
+    return result;
+  }
+
+  @Override
+  public double[] yearFractions(int[] boundaryEpochDays, ScheduleInfo scheduleInfo) {
+    ArgChecker.notNull(boundaryEpochDays, "boundaryEpochDays");
+    ArgChecker.notNull(scheduleInfo, "scheduleInfo");
+    for (int i = 1; i < boundaryEpochDays.length; i++) {
+      if (boundaryEpochDays[i] < boundaryEpochDays[i - 1]) {
+        throw new IllegalArgumentException("Dates must be in time-line order");
+      }
+    }
+    double[] result = new double[Math.max(boundaryEpochDays.length - 1, 0)];
+    calculateYearFractions(boundaryEpochDays, boundaryEpochDays, 1, scheduleInfo, result);
+    return result;
+  }
+
+  // calculate the year fractions into the result, using validated inputs
+  // element i of the result is from firstEpochDays[i] to secondEpochDays[i + secondOffset]
+  // overridden where the epoch days can be used directly, avoiding the creation of dates
+  void calculateYearFractions(
+      int[] firstEpochDays, int[] secondEpochDays, int secondOffset, ScheduleInfo info, double[] result) {
+    for (int i = 0; i < result.length; i++) {
+      LocalDate firstDate = LocalDate.ofEpochDay(firstEpochDays[i]);
+      LocalDate secondDate = LocalDate.ofEpochDay(secondEpochDays[i + secondOffset]);
+      result[i] = calculateYearFraction(firstDate, secondDate, info);
+    }
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public String getName() {
@@ -0,0 +1,409 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.basics.schedule;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.basics.date.DayCount;
+import com.opengamma.basics.date.DayCount.ScheduleInfo;
+import com.opengamma.collect.ArgChecker;
+
+/**
+ * A compact schedule of adjacent periods, with both unadjusted and adjusted dates.
+ * <p>
+ * This holds the same information as a {@link Schedule} where each period starts on the end date
+ * of the previous period. Adjacent periods share boundary dates, thus a schedule of n periods is held
+ * as two arrays of n + 1 epoch days, one for the unadjusted dates and one for the adjusted dates.
+ * Each {@link SchedulePeriod} is only created when requested, using {@link #getPeriod(int)}.
+ * <p>
+ * This form is suited to holding many long-dated schedules in memory.
+ * Use {@link #toSchedule()} to obtain the equivalent schedule.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class CompactSchedule
+    implements ScheduleInfo, Serializable {
+
+  /**
+   * Serialization version.
+   */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The unadjusted boundary dates, as epoch days, one more than the number of periods.
+   */
+  private final int[] unadjustedDates;
+  /**
+   * The adjusted boundary dates, as epoch days, one more than the number of periods.
+   */
+  private final int[] adjustedDates;
+  /**
+   * The periodic frequency used when building the schedule.
+   */
+  private final Frequency frequency;
+  /**
+   * The roll convention used when building the schedule.
+   */
+  private final RollConvention rollConvention;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a compact schedule from a schedule.
+   * <p>
+   * Each period in the schedule must start on the end date of the previous period,
+   * for both the unadjusted and adjusted dates.
+   *
+   * @param schedule  the schedule to convert
+   * @return the compact schedule
+   * @throws IllegalArgumentException if the periods are not adjacent
+   */
+  public static CompactSchedule of(Schedule schedule) {
+    ArgChecker.notNull(schedule, "schedule");
+    ImmutableList<SchedulePeriod> periods = schedule.getPeriods();
+    int size = periods.size();
+    int[] unadjusted = new int[size + 1];
+    int[] adjusted = new int[size + 1];
+    unadjusted[0] = toEpochDay(periods.get(0).getUnadjustedStartDate());
+    adjusted[0] = toEpochDay(periods.get(0).getStartDate());
+    for (int i = 0; i < size; i++) {
+      SchedulePeriod period = periods.get(i);
+      ArgChecker.isTrue(
+          unadjusted[i] == toEpochDay(period.getUnadjustedStartDate()) &&
+              adjusted[i] == toEpochDay(period.getStartDate()),
+          "Schedule periods must be adjacent to be held in compact form: {}", period);
+      unadjusted[i + 1] = toEpochDay(period.getUnadjustedEndDate());
+      adjusted[i + 1] = toEpochDay(period.getEndDate());
+    }
+    return new CompactSchedule(unadjusted, adjusted, schedule.getFrequency(), schedule.getRollConvention());
+  }
+
+  /**
+   * Obtains a compact schedule from lists of boundary dates.
+   * <p>
+   * The lists must be the same size, with at least two dates, and each list must be in ascending order.
+   *
+   * @param unadjustedDates  the unadjusted boundary dates
+   * @param adjustedDates  the adjusted boundary dates
+   * @param frequency  the periodic frequency used when building the schedule
+   * @param rollConvention  the roll convention used when building the schedule
+   * @return the compact schedule
+   * @throws IllegalArgumentException if the dates are invalid
+   */
+  public static CompactSchedule of(
+      List<LocalDate> unadjustedDates,
+      List<LocalDate> adjustedDates,
+      Frequency frequency,
+      RollConvention rollConvention) {
+
+    ArgChecker.noNulls(unadjustedDates, "unadjustedDates");
+    ArgChecker.noNulls(adjustedDates, "adjustedDates");
+    ArgChecker.isTrue(unadjustedDates.size() == adjustedDates.size(),
+        "Lists of dates are of different sizes - unadjusted: {}, adjusted: {}",
+        unadjustedDates.size(), adjustedDates.size());
+    ArgChecker.isTrue(unadjustedDates.size() >= 2, "Schedule must have at least two dates");
+    int[] unadjusted = toEpochDays(unadjustedDates);
+    int[] adjusted = toEpochDays(adjustedDates);
+    validateAscending(unadjusted, "unadjusted");
+    validateAscending(adjusted, "adjusted");
+    return new CompactSchedule(
+        unadjusted,
+        adjusted,
+        ArgChecker.notNull(frequency, "frequency"),
+        ArgChecker.notNull(rollConvention, "rollConvention"));
+  }
+
+  // converts the dates to epoch days
+  private static int[] toEpochDays(List<LocalDate> dates) {
+    int[] epochDays = new int[dates.size()];
+    for (int i = 0; i < epochDays.length; i++) {
+      epochDays[i] = toEpochDay(dates.get(i));
+    }
+    return epochDays;
+  }
+
+  // validates that the dates are in ascending order, so each period has a positive length
+  private static void validateAscending(int[] epochDays, String name) {
+    for (int i = 1; i < epochDays.length; i++) {
+      if (epochDays[i] <= epochDays[i - 1]) {
+        throw new IllegalArgumentException(
+            "Schedule " + name + " dates must be in ascending order: " + LocalDate.ofEpochDay(epochDays[i]));
+      }
+    }
+  }
+
+  // converts a date to an epoch day
+  private static int toEpochDay(LocalDate date) {
+    return Math.toIntExact(date.toEpochDay());
+  }
+
+  // creates an instance, the arrays are trusted
+  private CompactSchedule(
+      int[] unadjustedDates,
+      int[] adjustedDates,
+      Frequency frequency,
+      RollConvention rollConvention) {
+
+    this.unadjustedDates = unadjustedDates;
+    this.adjustedDates = adjustedDates;
+    this.frequency = frequency;
+    this.rollConvention = rollConvention;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of periods in the schedule.
+   * <p>
+   * This returns the number of periods, which will be at least one.
+   *
+   * @return the number of periods
+   */
+  public int size() {
+    return adjustedDates.length - 1;
+  }
+
+  /**
+   * Checks if this schedule represents a single 'Term' period.
+   * <p>
+   * A 'Term' schedule has one period.
+   *
+   * @return true if this is a 'Term' schedule
+   */
+  public boolean isTerm() {
+    return size() == 1;
+  }
+
+  /**
+   * Gets the periodic frequency used when building the schedule.
+   *
+   * @return the frequency
+   */
+  @Override
+  public Frequency getFrequency() {
+    return frequency;
+  }
+
+  /**
+   * Gets the roll convention used when building the schedule.
+   *
+   * @return the roll convention
+   */
+  public RollConvention getRollConvention() {
+    return rollConvention;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets a schedule period by index.
+   * <p>
+   * This creates the period from the boundary dates using a zero-based index.
+   *
+   * @param index  the zero-based period index
+   * @return the schedule period
+   * @throws IndexOutOfBoundsException if the index is invalid
+   */
+  public SchedulePeriod getPeriod(int index) {
+    if (index < 0 || index >= size()) {
+      throw new IndexOutOfBoundsException("Invalid period index: " + index);
+    }
+    return SchedulePeriod.of(
+        LocalDate.ofEpochDay(adjustedDates[index]),
+        LocalDate.ofEpochDay(adjustedDates[index + 1]),
+        LocalDate.ofEpochDay(unadjustedDates[index]),
+        LocalDate.ofEpochDay(unadjustedDates[index + 1]));
+  }
+
+  /**
+   * Gets the first schedule period.
+   *
+   * @return the first schedule period
+   */
+  public SchedulePeriod getFirstPeriod() {
+    return getPeriod(0);
+  }
+
+  /**
+   * Gets the last schedule period.
+   *
+   * @return the last schedule period
+   */
+  public SchedulePeriod getLastPeriod() {
+    return getPeriod(size() - 1);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the start date of the schedule.
+   * <p>
+   * The first date in the schedule, typically treated as inclusive.
+   * If the schedule adjusts for business days, then this is the adjusted date.
+   *
+   * @return the schedule start date
+   */
+  @Override
+  public LocalDate getStartDate() {
+    return LocalDate.ofEpochDay(adjustedDates[0]);
+  }
+
+  /**
+   * Gets the end date of the schedule.
+   * <p>
+   * The last date in the schedule, typically treated as exclusive.
+   * If the schedule adjusts for business days, then this is the adjusted date.
+   *
+   * @return the schedule end date
+   */
+  @Override
+  public LocalDate getEndDate() {
+    return LocalDate.ofEpochDay(adjustedDates[adjustedDates.length - 1]);
+  }
+
+  /**
+   * Checks if the end of month convention is in use.
+   * <p>
+   * If true then when building a schedule, dates will be at the end-of-month if the
+   * first date in the series is at the end-of-month.
+   *
+   * @return true if the end of month convention is in use
+   */
+  @Override
+  public boolean isEndOfMonthConvention() {
+    return rollConvention == RollConventions.EOM;
+  }
+
+  /**
+   * Finds the period end date given a date in the period.
+   * <p>
+   * The adjusted start and end dates of each period are used in the comparison.
+   * The start date is included, the end date is excluded.
+   *
+   * @param date  the date to find
+   * @return the end date of the period that includes the specified date
+   */
+  @Override
+  public LocalDate getPeriodEndDate(LocalDate date) {
+    ArgChecker.notNull(date, "date");
+    long epochDay = date.toEpochDay();
+    if (epochDay < adjustedDates[0] || epochDay >= adjustedDates[adjustedDates.length - 1]) {
+      throw new IllegalArgumentException("Date is not contained in any period");
+    }
+    // the boundaries are ascending, so find the first boundary after the date
+    int pos = Arrays.binarySearch(adjustedDates, (int) epochDay);
+    int end = pos >= 0 ? pos + 1 : -pos - 1;
+    return LocalDate.ofEpochDay(adjustedDates[end]);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the year fraction of each period using the specified day count.
+   * <p>
+   * The result contains one year fraction for each period, using the adjusted dates,
+   * with this schedule providing the schedule information.
+   * The boundary epoch days are passed directly to {@link DayCount#yearFractions(int[], ScheduleInfo)},
+   * thus no schedule periods are created and the dates are not copied.
+   *
+   * @param dayCount  the day count convention
+   * @return the year fractions, one for each period
+   * @throws UnsupportedOperationException if the year fraction cannot be obtained
+   */
+  public double[] yearFractions(DayCount dayCount) {
+    ArgChecker.notNull(dayCount, "dayCount");
+    return dayCount.yearFractions(adjustedDates, this);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the adjusted boundary dates as epoch days.
+   * <p>
+   * The array contains one more element than the number of periods, and must not be altered.
+   *
+   * @return the adjusted dates, as epoch days
+   */
+  int[] adjustedEpochDays() {
+    return adjustedDates;
+  }
+
+  /**
+   * Gets the unadjusted boundary dates as epoch days.
+   * <p>
+   * The array contains one more element than the number of periods, and must not be altered.
+   *
+   * @return the unadjusted dates, as epoch days
+   */
+  int[] unadjustedEpochDays() {
+    return unadjustedDates;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Converts this compact schedule to a schedule.
+   * <p>
+   * This creates each schedule period.
+   *
+   * @return the equivalent schedule
+   */
+  public Schedule toSchedule() {
+    ImmutableList.Builder<SchedulePeriod> periods = ImmutableList.builder();
+    for (int i = 0; i < size(); i++) {
+      periods.add(getPeriod(i));
+    }
+    return Schedule.builder()
+        .periods(periods.build())
+        .frequency(frequency)
+        .rollConvention(rollConvention)
+        .build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if this compact schedule is equal to another.
+   *
+   * @param obj  the other object, null returns false
+   * @return true if equal
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj instanceof CompactSchedule) {
+      CompactSchedule other = (CompactSchedule) obj;
+      return Arrays.equals(unadjustedDates, other.unadjustedDates) &&
+          Arrays.equals(adjustedDates, other.adjustedDates) &&
+          frequency.equals(other.frequency) &&
+          rollConvention.equals(other.rollConvention);
+    }
+    return false;
+  }
+
+  /**
+   * Returns a suitable hash code.
+   *
+   * @return the hash code
+   */
+  @Override
+  public int hashCode() {
+    int hash = Arrays.hashCode(unadjustedDates);
+    hash = hash * 31 + Arrays.hashCode(adjustedDates);
+    hash = hash * 31 + frequency.hashCode();
+    return hash * 31 + rollConvention.hashCode();
+  }
+
+  /**
+   * Returns a string describing the schedule.
+   *
+   * @return the descriptive string
+   */
+  @Override
+  public String toString() {
+    return "CompactSchedule[" + size() + " periods, " + getStartDate() + " to " + getEndDate() +
+        ", " + frequency + ", " + rollConvention + "]";
+  }
+
+}
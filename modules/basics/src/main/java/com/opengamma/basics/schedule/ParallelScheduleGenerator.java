@@ -0,0 +1,165 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.basics.schedule;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.collect.ArgChecker;
+import com.opengamma.collect.result.FailureReason;
+import com.opengamma.collect.result.Result;
+
+/**
+ * Creates schedules for many periodic schedule definitions in parallel.
+ * <p>
+ * A portfolio typically contains many legs, each with a {@link PeriodicSchedule} definition.
+ * This class creates the schedules for all the definitions at once, spreading the work
+ * across the threads of a {@link ForkJoinPool}.
+ * <p>
+ * Identical definitions, as determined by {@code equals}, are only created once,
+ * with each occurrence sharing the same result.
+ * A definition that is invalid results in a failure, without affecting the rest of the batch.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class ParallelScheduleGenerator {
+
+  /**
+   * The number of tasks to aim for per thread, allowing for work stealing.
+   */
+  private static final int TASKS_PER_THREAD = 8;
+
+  /**
+   * The pool to use.
+   */
+  private final ForkJoinPool pool;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance using the common fork-join pool.
+   *
+   * @return the generator
+   */
+  public static ParallelScheduleGenerator ofCommonPool() {
+    return new ParallelScheduleGenerator(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Obtains an instance using the specified fork-join pool.
+   *
+   * @param pool  the pool to run the work in
+   * @return the generator
+   */
+  public static ParallelScheduleGenerator of(ForkJoinPool pool) {
+    return new ParallelScheduleGenerator(ArgChecker.notNull(pool, "pool"));
+  }
+
+  // creates an instance
+  private ParallelScheduleGenerator(ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates the schedule for each definition.
+   * <p>
+   * The result list is in the same order as the definitions.
+   * Each result is either the schedule, as per {@link PeriodicSchedule#createSchedule()},
+   * or a failure. A {@link ScheduleException} results in a failure with the reason
+   * {@link FailureReason#INVALID_INPUT}, any other exception with the reason {@link FailureReason#ERROR}.
+   *
+   * @param definitions  the schedule definitions
+   * @return the results, one for each definition
+   */
+  public ImmutableList<Result<Schedule>> createSchedules(Collection<PeriodicSchedule> definitions) {
+    ArgChecker.noNulls(definitions, "definitions");
+    // deduplicate, retaining the order of first occurrence
+    ImmutableList<PeriodicSchedule> distinct = ImmutableSet.copyOf(definitions).asList();
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    Result<Schedule>[] results = new Result[distinct.size()];
+    int threshold = Math.max(1, distinct.size() / (pool.getParallelism() * TASKS_PER_THREAD));
+    pool.invoke(new CreateTask(distinct, results, 0, distinct.size(), threshold));
+    // map back to the input order
+    Map<PeriodicSchedule, Result<Schedule>> resultMap = new HashMap<>(distinct.size() * 2);
+    for (int i = 0; i < results.length; i++) {
+      resultMap.put(distinct.get(i), results[i]);
+    }
+    ImmutableList.Builder<Result<Schedule>> builder = ImmutableList.builder();
+    for (PeriodicSchedule definition : definitions) {
+      builder.add(resultMap.get(definition));
+    }
+    return builder.build();
+  }
+
+  // creates the schedule, capturing any failure
+  private static Result<Schedule> create(PeriodicSchedule definition) {
+    try {
+      return Result.success(definition.createSchedule());
+    } catch (ScheduleException ex) {
+      return Result.failure(FailureReason.INVALID_INPUT, ex);
+    } catch (RuntimeException ex) {
+      return Result.failure(ex);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a string describing the generator.
+   *
+   * @return the descriptive string
+   */
+  @Override
+  public String toString() {
+    return "ParallelScheduleGenerator[parallelism=" + pool.getParallelism() + "]";
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Task creating the schedules for a range of definitions, splitting in half until small enough.
+   */
+  private static final class CreateTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final ImmutableList<PeriodicSchedule> definitions;
+    private final Result<Schedule>[] results;
+    private final int from;
+    private final int to;
+    private final int threshold;
+
+    private CreateTask(
+        ImmutableList<PeriodicSchedule> definitions,
+        Result<Schedule>[] results,
+        int from,
+        int to,
+        int threshold) {
+
+      this.definitions = definitions;
+      this.results = results;
+      this.from = from;
+      this.to = to;
+      this.threshold = threshold;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= threshold) {
+        for (int i = from; i < to; i++) {
+          results[i] = create(definitions.get(i));
+        }
+      } else {
+        int mid = (from + to) >>> 1;
+        invokeAll(
+            new CreateTask(definitions, results, from, mid, threshold),
+            new CreateTask(definitions, results, mid, to, threshold));
+      }
+    }
+  }
+
+}
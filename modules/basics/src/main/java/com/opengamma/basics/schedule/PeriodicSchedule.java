@@ -5,9 +5,14 @@
  */
 package com.opengamma.basics.schedule;
 
+import static java.time.temporal.ChronoUnit.DAYS;
+import static java.time.temporal.ChronoUnit.MONTHS;
+
 import java.io.Serializable;
 import java.time.LocalDate;
+import java.time.Period;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -30,6 +35,7 @@ import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.primitives.Ints;
 import com.opengamma.basics.date.BusinessDayAdjustment;
 import com.opengamma.collect.ArgChecker;
 
@@ -351,7 +357,7 @@ public final class PeriodicSchedule
     List<LocalDate> unadj = generateUnadjustedDates();
     List<LocalDate> adj = applyBusinessDayAdjustment(unadj);
     RollConvention rollConv = getEffectiveRollConvention();
-    List<SchedulePeriod> periods = new ArrayList<>();
+    List<SchedulePeriod> periods = new ArrayList<>(unadj.size() - 1);
     try {
       // for performance, handle silly errors using exceptions
       for (int i = 0; i < unadj.size() - 1; i++) {
@@ -373,6 +379,32 @@ public final class PeriodicSchedule
         .build();
   }
 
+  /**
+   * Creates the schedule from the definition in compact form.
+   * <p>
+   * This creates the same schedule as {@link #createSchedule()}, but holds the boundary dates
+   * of the periods as epoch days, creating each period only when requested.
+   * This is suited to holding many long-dated schedules in memory.
+   * 
+   * @return the compact schedule
+   * @throws ScheduleException if the definition is invalid
+   */
+  public CompactSchedule createCompactSchedule() {
+    List<LocalDate> unadj = generateUnadjustedDates();
+    List<LocalDate> adj = applyBusinessDayAdjustment(unadj);
+    try {
+      return CompactSchedule.of(unadj, adj, frequency, getEffectiveRollConvention());
+    } catch (IllegalArgumentException ex) {
+      // check dates to throw a better exception for duplicate dates in schedule
+      createUnadjustedDates();
+      createAdjustedDates();
+      // unknown exception
+      ScheduleException se = new ScheduleException(this, "Schedule calculation resulted in invalid period");
+      se.initCause(ex);
+      throw se;
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates the list of unadjusted dates in the schedule.
@@ -447,20 +479,21 @@ public final class PeriodicSchedule
       throw new ScheduleException(
           this, "Date '{}' does not match roll convention '{}' when starting to roll backwards", end, rollConv);
     }
-    // generate
-    List<LocalDate> dates = new ArrayList<>();
-    dates.add(start);
+    // generate, in reverse order to avoid inserting at the front of the list
+    List<LocalDate> dates = new ArrayList<>(estimateNumberOfDates(start, end));
     dates.add(end);
     LocalDate temp = rollConv.previous(end, frequency);
     while (temp.isAfter(start)) {
-      dates.add(1, temp);
+      dates.add(temp);
       temp = rollConv.previous(temp, frequency);
     }
     // convert short stub to long stub, but only if we actually have a stub
     boolean stub = temp.equals(start) == false;
-    if (stub && stubConv.isLong() && dates.size() > 2) {
-      dates.remove(1);
+    if (stub && stubConv.isLong() && dates.size() > 1) {
+      dates.remove(dates.size() - 1);
     }
+    dates.add(start);
+    Collections.reverse(dates);
     return dates;
   }
 
@@ -472,7 +505,7 @@ public final class PeriodicSchedule
           this, "Date '{}' does not match roll convention '{}' when starting to roll forwards", start, rollConv);
     }
     // generate
-    List<LocalDate> dates = new ArrayList<>();
+    List<LocalDate> dates = new ArrayList<>(estimateNumberOfDates(start, end));
     dates.add(start);
     LocalDate temp = rollConv.next(start, frequency);
     while (temp.isBefore(end)) {
@@ -494,6 +527,17 @@ public final class PeriodicSchedule
     return dates;
   }
 
+  // estimates the number of dates in the schedule, so that the list is only allocated once
+  private int estimateNumberOfDates(LocalDate start, LocalDate end) {
+    Period period = frequency.getPeriod();
+    // a month is at least 28 days, thus the estimate is not less than the actual number of periods
+    long periods = frequency.isMonthBased() ?
+        MONTHS.between(start, end) / period.toTotalMonths() :
+        DAYS.between(start, end) / (period.toTotalMonths() * 28 + period.getDays());
+    // add the start and end dates, explicit stubs and a rounding margin
+    return Ints.saturatedCast(periods + 4);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates the list of adjusted dates in the schedule.
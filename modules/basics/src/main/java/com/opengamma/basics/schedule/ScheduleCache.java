@@ -0,0 +1,200 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.basics.schedule;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableList;
+import com.opengamma.collect.ArgChecker;
+
+/**
+ * A bounded cache of the schedules created from periodic schedule definitions.
+ * <p>
+ * A large portfolio typically contains many trades with identical {@link PeriodicSchedule} definitions.
+ * This cache creates the schedule, or the lists of dates, once for each distinct definition,
+ * thus identical definitions share the same immutable result.
+ * The definition is used as the key, matching by {@code equals}.
+ * <p>
+ * The cache is bounded, either by the number of results held, or by their total weight,
+ * where the weight is the number of periods or dates in each result.
+ * If the definition is invalid, the exception is thrown and nothing is cached.
+ * <p>
+ * The adjusted dates depend on the holiday calendars in effect when they were created.
+ * If the holiday calendars are replaced, the cache should be cleared.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class ScheduleCache {
+
+  /**
+   * The cache of schedules.
+   */
+  private final Cache<PeriodicSchedule, Schedule> schedules;
+  /**
+   * The cache of unadjusted dates.
+   */
+  private final Cache<PeriodicSchedule, ImmutableList<LocalDate>> unadjustedDates;
+  /**
+   * The cache of adjusted dates.
+   */
+  private final Cache<PeriodicSchedule, ImmutableList<LocalDate>> adjustedDates;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a cache holding up to the specified number of results.
+   * <p>
+   * The maximum applies separately to schedules, unadjusted dates and adjusted dates.
+   *
+   * @param maximumSize  the maximum number of results of each type
+   * @return the cache
+   */
+  public static ScheduleCache ofMaximumSize(long maximumSize) {
+    ArgChecker.notNegative(maximumSize, "maximumSize");
+    return new ScheduleCache(maximumSize, false);
+  }
+
+  /**
+   * Obtains a cache holding results up to the specified total weight.
+   * <p>
+   * The weight of a schedule is the number of periods, and the weight of a list of dates is its size.
+   * Weighting allows a few long-dated daily schedules to be held in the space of many quarterly schedules.
+   * The maximum applies separately to schedules, unadjusted dates and adjusted dates.
+   *
+   * @param maximumWeight  the maximum total weight of results of each type
+   * @return the cache
+   */
+  public static ScheduleCache ofMaximumWeight(long maximumWeight) {
+    ArgChecker.notNegative(maximumWeight, "maximumWeight");
+    return new ScheduleCache(maximumWeight, true);
+  }
+
+  // creates an instance
+  private ScheduleCache(long maximum, boolean weighted) {
+    this.schedules = buildCache(maximum, weighted, Schedule::size);
+    this.unadjustedDates = buildCache(maximum, weighted, List::size);
+    this.adjustedDates = buildCache(maximum, weighted, List::size);
+  }
+
+  // builds a single cache, recording statistics
+  private static <V> Cache<PeriodicSchedule, V> buildCache(long maximum, boolean weighted, ToIntFunction<V> weigher) {
+    CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().recordStats();
+    if (weighted) {
+      return builder
+          .maximumWeight(maximum)
+          .<PeriodicSchedule, V>weigher((definition, value) -> weigher.applyAsInt(value))
+          .build();
+    }
+    return builder.maximumSize(maximum).build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates the schedule from the definition, using the cache.
+   * <p>
+   * This returns the same result as {@link PeriodicSchedule#createSchedule()}.
+   *
+   * @param definition  the schedule definition
+   * @return the schedule
+   * @throws ScheduleException if the definition is invalid
+   */
+  public Schedule createSchedule(PeriodicSchedule definition) {
+    return lookup(schedules, definition, PeriodicSchedule::createSchedule);
+  }
+
+  /**
+   * Creates the list of unadjusted dates from the definition, using the cache.
+   * <p>
+   * This returns the same result as {@link PeriodicSchedule#createUnadjustedDates()}.
+   *
+   * @param definition  the schedule definition
+   * @return the schedule of unadjusted dates
+   * @throws ScheduleException if the definition is invalid
+   */
+  public ImmutableList<LocalDate> createUnadjustedDates(PeriodicSchedule definition) {
+    return lookup(unadjustedDates, definition, PeriodicSchedule::createUnadjustedDates);
+  }
+
+  /**
+   * Creates the list of adjusted dates from the definition, using the cache.
+   * <p>
+   * This returns the same result as {@link PeriodicSchedule#createAdjustedDates()}.
+   *
+   * @param definition  the schedule definition
+   * @return the schedule of dates adjusted to valid business days
+   * @throws ScheduleException if the definition is invalid
+   */
+  public ImmutableList<LocalDate> createAdjustedDates(PeriodicSchedule definition) {
+    return lookup(adjustedDates, definition, PeriodicSchedule::createAdjustedDates);
+  }
+
+  // finds the result in the cache, creating it if absent
+  // the result is created outside the cache so that exceptions are not wrapped
+  private static <V> V lookup(
+      Cache<PeriodicSchedule, V> cache,
+      PeriodicSchedule definition,
+      Function<PeriodicSchedule, V> creator) {
+
+    ArgChecker.notNull(definition, "definition");
+    V cached = cache.getIfPresent(definition);
+    if (cached != null) {
+      return cached;
+    }
+    V created = creator.apply(definition);
+    cached = cache.asMap().putIfAbsent(definition, created);
+    return (cached != null ? cached : created);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the statistics of the cache, combined across all types of result.
+   * <p>
+   * The statistics include the number of hits, misses and evictions.
+   *
+   * @return the statistics
+   */
+  public CacheStats getStats() {
+    return schedules.stats().plus(unadjustedDates.stats()).plus(adjustedDates.stats());
+  }
+
+  /**
+   * Gets the approximate number of results in the cache.
+   *
+   * @return the number of results
+   */
+  public long size() {
+    return schedules.size() + unadjustedDates.size() + adjustedDates.size();
+  }
+
+  /**
+   * Clears the cache.
+   * <p>
+   * This should be called if the holiday calendars are replaced.
+   * The statistics are not reset.
+   */
+  public void clear() {
+    schedules.invalidateAll();
+    unadjustedDates.invalidateAll();
+    adjustedDates.invalidateAll();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a string describing the cache.
+   *
+   * @return the descriptive string
+   */
+  @Override
+  public String toString() {
+    return "ScheduleCache[" + size() + " results]";
+  }
+
+}
@@ -34,6 +34,23 @@ public class BusinessDayAdjustmentTest {
     assertEquals(test.adjust(input), expected);
   }
 
+  public void test_adjust_array() {
+    BusinessDayAdjustment test = BusinessDayAdjustment.of(MODIFIED_FOLLOWING, HolidayCalendars.GBLO);
+    LocalDate[] dates = new LocalDate[1000];
+    int[] epochDays = new int[dates.length];
+    for (int i = 0; i < dates.length; i++) {
+      dates[i] = LocalDate.of(2014, 1, 1).plusDays(i);
+      epochDays[i] = (int) dates[i].toEpochDay();
+    }
+    LocalDate[] adjusted = dates.clone();
+    test.adjustDates(adjusted);
+    test.adjustEpochDays(epochDays);
+    for (int i = 0; i < dates.length; i++) {
+      assertEquals(adjusted[i], test.adjust(dates[i]));
+      assertEquals(epochDays[i], adjusted[i].toEpochDay());
+    }
+  }
+
   public void test_noAdjust_constant() {
     BusinessDayAdjustment test = BusinessDayAdjustment.NONE;
     assertEquals(test.getConvention(), BusinessDayConventions.NO_ADJUST);
@@ -175,6 +175,36 @@ public class BusinessDayConventionTest {
     assertEquals(convention.adjust(input, HolidayCalendars.SAT_SUN), expected);
   }
 
+  @Test(dataProvider = "convention")
+  public void test_convention_array(BusinessDayConvention convention, LocalDate input, LocalDate expected) {
+    HolidayCalendar immutableSatSun = ImmutableHolidayCalendar.of("Test", ImmutableList.of(TUE_2014_07_15), SATURDAY, SUNDAY)
+        .combineWith(HolidayCalendars.SAT_SUN);
+    LocalDate[] dates = {input, input.plusDays(1), input};
+    convention.adjustDates(dates, HolidayCalendars.SAT_SUN);
+    assertEquals(dates[0], expected);
+    assertEquals(dates[1], convention.adjust(input.plusDays(1), HolidayCalendars.SAT_SUN));
+    assertEquals(dates[2], expected);
+    int[] epochDays = {(int) input.toEpochDay()};
+    convention.adjustEpochDays(epochDays, HolidayCalendars.SAT_SUN);
+    assertEquals(epochDays[0], expected.toEpochDay());
+    // calendar with no holidays in the range of the test data
+    LocalDate[] dates2 = {input};
+    convention.adjustDates(dates2, immutableSatSun);
+    assertEquals(dates2[0], expected);
+    int[] epochDays2 = {(int) input.toEpochDay()};
+    convention.adjustEpochDays(epochDays2, immutableSatSun);
+    assertEquals(epochDays2[0], expected.toEpochDay());
+  }
+
+  @Test(dataProvider = "types")
+  public void test_array_null(BusinessDayConvention type) {
+    assertThrows(() -> type.adjustDates(null, HolidayCalendars.NO_HOLIDAYS), IllegalArgumentException.class);
+    assertThrows(() -> type.adjustDates(new LocalDate[] {null}, HolidayCalendars.NO_HOLIDAYS), IllegalArgumentException.class);
+    assertThrows(() -> type.adjustDates(new LocalDate[0], null), IllegalArgumentException.class);
+    assertThrows(() -> type.adjustEpochDays(null, HolidayCalendars.NO_HOLIDAYS), IllegalArgumentException.class);
+    assertThrows(() -> type.adjustEpochDays(new int[0], null), IllegalArgumentException.class);
+  }
+
   public void test_nearest() {
     HolidayCalendar cal = ImmutableHolidayCalendar.of("Test", ImmutableList.of(MON_2014_07_14), SATURDAY, SUNDAY);
     assertEquals(NEAREST.adjust(FRI_2014_07_11, cal), FRI_2014_07_11);
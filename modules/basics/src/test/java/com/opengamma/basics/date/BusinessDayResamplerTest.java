@@ -0,0 +1,135 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.basics.date;
+
+import static com.opengamma.basics.date.HolidayCalendars.GBLO;
+import static com.opengamma.basics.date.HolidayCalendars.SAT_SUN;
+import static com.opengamma.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.collect.TestHelper.date;
+import static java.time.DayOfWeek.FRIDAY;
+import static java.time.DayOfWeek.SATURDAY;
+import static java.time.DayOfWeek.SUNDAY;
+import static org.testng.Assert.assertEquals;
+
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.collect.timeseries.GapFill;
+import com.opengamma.collect.timeseries.LocalDateDoubleTimeSeries;
+
+/**
+ * Test {@link BusinessDayResampler}.
+ */
+@Test
+public class BusinessDayResamplerTest {
+
+  private static final HolidayCalendar CAL_2015 =
+      ImmutableHolidayCalendar.of("Test2015", ImmutableList.of(date(2015, 1, 1), date(2015, 12, 25)), SATURDAY, SUNDAY);
+
+  //-------------------------------------------------------------------------
+  public void test_daily_dates() {
+    // Good Friday and Easter Monday 2015
+    ImmutableList<LocalDate> test = BusinessDayResampler.daily(GBLO).dates(date(2015, 4, 1), date(2015, 4, 8));
+    assertEquals(test, ImmutableList.of(date(2015, 4, 1), date(2015, 4, 2), date(2015, 4, 7), date(2015, 4, 8)));
+  }
+
+  public void test_daily_dates_startOnHoliday() {
+    ImmutableList<LocalDate> test = BusinessDayResampler.daily(SAT_SUN).dates(date(2015, 1, 3), date(2015, 1, 4));
+    assertEquals(test, ImmutableList.of());
+  }
+
+  public void test_weekly_dates() {
+    // Good Friday 2015 adjusts to Thursday
+    ImmutableList<LocalDate> test =
+        BusinessDayResampler.weekly(GBLO, FRIDAY).dates(date(2015, 3, 25), date(2015, 4, 14));
+    assertEquals(test, ImmutableList.of(date(2015, 3, 27), date(2015, 4, 2), date(2015, 4, 10)));
+  }
+
+  public void test_weekly_dates_adjustsIntoRange() {
+    // Friday is Good Friday, adjusting to the end of the range
+    ImmutableList<LocalDate> test =
+        BusinessDayResampler.weekly(GBLO, FRIDAY).dates(date(2015, 3, 30), date(2015, 4, 2));
+    assertEquals(test, ImmutableList.of(date(2015, 4, 2)));
+  }
+
+  public void test_monthEnd_dates() {
+    // 2015-05-31 is a Sunday, 2015-08-31 is a bank holiday
+    ImmutableList<LocalDate> test = BusinessDayResampler.monthEnd(GBLO).dates(date(2015, 5, 15), date(2015, 8, 31));
+    assertEquals(test, ImmutableList.of(date(2015, 5, 29), date(2015, 6, 30), date(2015, 7, 31), date(2015, 8, 28)));
+  }
+
+  public void test_monthEnd_dates_startAfterMonthEnd() {
+    ImmutableList<LocalDate> test = BusinessDayResampler.monthEnd(SAT_SUN).dates(date(2015, 5, 30), date(2015, 6, 29));
+    assertEquals(test, ImmutableList.of());
+  }
+
+  public void test_dates_endOfCalendarRange() {
+    // the calendar range ends on Thursday 2015-12-31, the month and week grids end after it
+    assertEquals(BusinessDayResampler.daily(CAL_2015).dates(date(2015, 12, 28), date(2015, 12, 31)),
+        ImmutableList.of(date(2015, 12, 28), date(2015, 12, 29), date(2015, 12, 30), date(2015, 12, 31)));
+    assertEquals(BusinessDayResampler.daily(CAL_2015).dates(date(2015, 12, 25), date(2015, 12, 25)),
+        ImmutableList.of());
+    assertEquals(BusinessDayResampler.weekly(CAL_2015, FRIDAY).dates(date(2015, 12, 14), date(2015, 12, 31)),
+        ImmutableList.of(date(2015, 12, 18), date(2015, 12, 24), date(2015, 12, 31)));
+    assertEquals(BusinessDayResampler.monthEnd(CAL_2015).dates(date(2015, 11, 1), date(2015, 12, 30)),
+        ImmutableList.of(date(2015, 11, 30)));
+    assertEquals(BusinessDayResampler.monthEnd(CAL_2015).dates(date(2015, 11, 1), date(2015, 12, 31)),
+        ImmutableList.of(date(2015, 11, 30), date(2015, 12, 31)));
+  }
+
+  public void test_dates_invalid() {
+    assertThrowsIllegalArg(() -> BusinessDayResampler.daily(GBLO).dates(date(2015, 4, 2), date(2015, 4, 1)));
+    assertThrowsIllegalArg(() -> BusinessDayResampler.daily(null));
+    assertThrowsIllegalArg(() -> BusinessDayResampler.weekly(GBLO, null));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_resample_daily() {
+    LocalDateDoubleTimeSeries series = LocalDateDoubleTimeSeries.builder()
+        .put(date(2015, 4, 1), 1)
+        .put(date(2015, 4, 3), 3)  // holiday
+        .put(date(2015, 4, 8), 8)
+        .build();
+    LocalDateDoubleTimeSeries test = BusinessDayResampler.daily(GBLO).resample(series, GapFill.PREVIOUS_VALUE);
+    LocalDateDoubleTimeSeries expected = LocalDateDoubleTimeSeries.builder()
+        .put(date(2015, 4, 1), 1)
+        .put(date(2015, 4, 2), 1)
+        .put(date(2015, 4, 7), 3)
+        .put(date(2015, 4, 8), 8)
+        .build();
+    assertEquals(test, expected);
+  }
+
+  public void test_resample_monthEnd() {
+    LocalDateDoubleTimeSeries series = LocalDateDoubleTimeSeries.builder()
+        .put(date(2015, 5, 1), 1)
+        .put(date(2015, 5, 29), 2)
+        .put(date(2015, 6, 15), 3)
+        .put(date(2015, 7, 1), 4)
+        .build();
+    LocalDateDoubleTimeSeries test = BusinessDayResampler.monthEnd(GBLO).resample(series, GapFill.PREVIOUS_VALUE);
+    LocalDateDoubleTimeSeries expected = LocalDateDoubleTimeSeries.builder()
+        .put(date(2015, 5, 29), 2)
+        .put(date(2015, 6, 30), 3)
+        .build();
+    assertEquals(test, expected);
+  }
+
+  public void test_resample_empty() {
+    LocalDateDoubleTimeSeries empty = LocalDateDoubleTimeSeries.empty();
+    assertEquals(BusinessDayResampler.daily(GBLO).resample(empty, GapFill.LINEAR), empty);
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    assertEquals(BusinessDayResampler.daily(GBLO).toString(), "BusinessDayResampler[daily, GBLO]");
+    assertEquals(BusinessDayResampler.weekly(GBLO, FRIDAY).toString(), "BusinessDayResampler[weekly FRIDAY, GBLO]");
+    assertEquals(BusinessDayResampler.monthEnd(GBLO).toString(), "BusinessDayResampler[monthEnd, GBLO]");
+  }
+
+}
@@ -37,9 +37,13 @@ import java.time.LocalDate;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.basics.date.DayCount.ScheduleInfo;
 import com.opengamma.basics.schedule.Frequency;
+import com.opengamma.basics.schedule.RollConventions;
+import com.opengamma.basics.schedule.Schedule;
+import com.opengamma.basics.schedule.SchedulePeriod;
 
 /**
  * Test {@link DayCount}.
@@ -760,6 +764,130 @@ public class DayCountTest {
     assertThrows(() -> DayCount.of(null), IllegalArgumentException.class);
   }
 
+  //-------------------------------------------------------------------------
+  @Test(dataProvider = "types")
+  public void test_yearFractions_matchesYearFraction(DayCount type) {
+    // pairs of dates covering month-ends, leap days and year-ends, with a maturity on a leap day
+    int[] offsets = {0, 1, 27, 28, 29, 30, 31, 59, 90, 181, 365, 366, 731};
+    int start = (int) date(2011, 12, 1).toEpochDay();
+    int end = (int) date(2013, 3, 31).toEpochDay();
+    int size = (end - start + 1) * offsets.length;
+    int[] firstEpochDays = new int[size];
+    int[] secondEpochDays = new int[size];
+    for (int i = 0; i < size; i++) {
+      firstEpochDays[i] = start + i / offsets.length;
+      secondEpochDays[i] = firstEpochDays[i] + offsets[i % offsets.length];
+    }
+    LocalDate maturity = date(2012, 2, 29);
+    for (boolean eom : new boolean[] {false, true}) {
+      ScheduleInfo info = new Info(date(2011, 11, 30), maturity, maturity, eom, P3M);
+      double[] test = type.yearFractions(firstEpochDays, secondEpochDays, info);
+      assertEquals(test.length, size);
+      for (int i = 0; i < size; i++) {
+        LocalDate date1 = LocalDate.ofEpochDay(firstEpochDays[i]);
+        LocalDate date2 = LocalDate.ofEpochDay(secondEpochDays[i]);
+        assertEquals(test[i], type.yearFraction(date1, date2, info), TOLERANCE_ZERO, date1 + " " + date2);
+      }
+    }
+  }
+
+  @Test(dataProvider = "types")
+  public void test_yearFractions_boundariesMatchYearFraction(DayCount type) {
+    // boundaries stepping over month-ends, leap days and year-ends, with a maturity on a leap day
+    int[] steps = {1, 27, 28, 29, 30, 31, 59, 90, 2, 181};
+    int[] boundaryEpochDays = new int[101];
+    boundaryEpochDays[0] = (int) date(2011, 11, 30).toEpochDay();
+    for (int i = 1; i < boundaryEpochDays.length; i++) {
+      boundaryEpochDays[i] = boundaryEpochDays[i - 1] + steps[i % steps.length];
+    }
+    LocalDate maturity = date(2012, 2, 29);
+    for (boolean eom : new boolean[] {false, true}) {
+      ScheduleInfo info = new Info(date(2011, 11, 30), maturity, maturity, eom, P3M);
+      double[] test = type.yearFractions(boundaryEpochDays, info);
+      assertEquals(test.length, boundaryEpochDays.length - 1);
+      for (int i = 0; i < test.length; i++) {
+        LocalDate date1 = LocalDate.ofEpochDay(boundaryEpochDays[i]);
+        LocalDate date2 = LocalDate.ofEpochDay(boundaryEpochDays[i + 1]);
+        assertEquals(test[i], type.yearFraction(date1, date2, info), TOLERANCE_ZERO, date1 + " " + date2);
+      }
+    }
+  }
+
+  @Test(dataProvider = "types")
+  public void test_yearFractions_empty(DayCount type) {
+    ScheduleInfo info = new ScheduleInfo() {
+      @Override
+      public boolean isEndOfMonthConvention() {
+        throw new UnsupportedOperationException();
+      }
+    };
+    assertEquals(type.yearFractions(new int[0], new int[0], info).length, 0);
+    assertEquals(type.yearFractions(new int[0], info).length, 0);
+    assertEquals(type.yearFractions(new int[] {10}, info).length, 0);
+  }
+
+  @Test(dataProvider = "types")
+  public void test_yearFractions_invalid(DayCount type) {
+    int[] days = {0, 10};
+    ScheduleInfo info = DayCounts.SIMPLE_SCHEDULE_INFO;
+    assertThrows(() -> type.yearFractions(days, new int[] {10}, info), IllegalArgumentException.class);
+    assertThrows(() -> type.yearFractions(days, new int[] {10, 9}, info), IllegalArgumentException.class);
+    assertThrows(() -> type.yearFractions(null, days, info), IllegalArgumentException.class);
+    assertThrows(() -> type.yearFractions(days, null, info), IllegalArgumentException.class);
+    assertThrows(() -> type.yearFractions(days, days, null), IllegalArgumentException.class);
+    assertThrows(() -> type.yearFractions((Schedule) null), IllegalArgumentException.class);
+    assertThrows(() -> type.yearFractions(new int[] {0, 10, 9}, info), IllegalArgumentException.class);
+    assertThrows(() -> type.yearFractions(null, info), IllegalArgumentException.class);
+    assertThrows(() -> type.yearFractions(days, null), IllegalArgumentException.class);
+  }
+
+  public void test_yearFractions_30E360ISDA_endDateOnlyQueriedIfNeeded() {
+    int[] firstEpochDays = {(int) date(2012, 1, 31).toEpochDay(), (int) date(2012, 3, 31).toEpochDay()};
+    int[] secondEpochDays = {(int) date(2012, 2, 28).toEpochDay(), (int) date(2012, 4, 30).toEpochDay()};
+    double[] test = THIRTY_E_360_ISDA.yearFractions(firstEpochDays, secondEpochDays, new ScheduleInfo() {});
+    assertEquals(test[0], calc360(2012, 1, 30, 2012, 2, 28), TOLERANCE_ZERO);
+    assertEquals(test[1], calc360(2012, 3, 30, 2012, 4, 30), TOLERANCE_ZERO);
+  }
+
+  @Test(dataProvider = "types")
+  public void test_yearFractions_schedule(DayCount type) {
+    Schedule schedule = Schedule.builder()
+        .periods(ImmutableList.of(
+            SchedulePeriod.of(date(2011, 11, 30), date(2012, 2, 29)),
+            SchedulePeriod.of(date(2012, 2, 29), date(2012, 5, 31), date(2012, 2, 29), date(2012, 5, 30)),
+            SchedulePeriod.of(date(2012, 5, 31), date(2012, 8, 31), date(2012, 5, 30), date(2012, 8, 31))))
+        .frequency(P3M)
+        .rollConvention(RollConventions.EOM)
+        .build();
+    double[] test = type.yearFractions(schedule);
+    assertEquals(test.length, 3);
+    for (int i = 0; i < 3; i++) {
+      assertEquals(test[i], schedule.getPeriod(i).yearFraction(type, schedule), TOLERANCE_ZERO);
+    }
+  }
+
+  public void test_yearFractions_defaultMethod() {
+    DayCount dc = new DayCount() {
+      @Override
+      public double yearFraction(LocalDate firstDate, LocalDate secondDate, ScheduleInfo scheduleInfo) {
+        return (secondDate.toEpochDay() - firstDate.toEpochDay()) / 10d;
+      }
+
+      @Override
+      public String getName() {
+        return "";
+      }
+    };
+    double[] test = dc.yearFractions(new int[] {0, 5}, new int[] {10, 25}, DayCounts.SIMPLE_SCHEDULE_INFO);
+    assertEquals(test[0], 1d, TOLERANCE_ZERO);
+    assertEquals(test[1], 2d, TOLERANCE_ZERO);
+    assertThrows(() -> dc.yearFractions(new int[] {0}, new int[0], DayCounts.SIMPLE_SCHEDULE_INFO),
+        IllegalArgumentException.class);
+    double[] boundaries = dc.yearFractions(new int[] {0, 10, 30}, DayCounts.SIMPLE_SCHEDULE_INFO);
+    assertEquals(boundaries, new double[] {1d, 2d});
+    assertEquals(dc.yearFractions(new int[] {0}, DayCounts.SIMPLE_SCHEDULE_INFO).length, 0);
+  }
+
   //-------------------------------------------------------------------------
   public void test_relativeYearFraction_defaultMethod() {
     DayCount dc = new DayCount() {
@@ -8,15 +8,19 @@ package com.opengamma.basics.date;
 import static java.time.DayOfWeek.SATURDAY;
 import static java.time.DayOfWeek.SUNDAY;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.time.MonthDay;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import com.opengamma.collect.range.LocalDateRange;
+
 /**
  * Test {@code GlobalHolidayCalendars}.
  */
@@ -236,7 +240,7 @@ public class GlobalHolidayCalendarsTest {
   }
 
   //-------------------------------------------------------------------------
-  private static final HolidayCalendar GBLO = GlobalHolidayCalendars.generateLondon();
+  private static final ImmutableHolidayCalendar GBLO = GlobalHolidayCalendars.generateLondon();
 
   @DataProvider(name = "gblo")
   Object[][] data_gblo() {
@@ -278,7 +282,7 @@ public class GlobalHolidayCalendarsTest {
   }
 
   //-------------------------------------------------------------------------
-  private static final HolidayCalendar FRPA = GlobalHolidayCalendars.generateParis();
+  private static final ImmutableHolidayCalendar FRPA = GlobalHolidayCalendars.generateParis();
 
   @DataProvider(name = "frpa")
   Object[][] data_frpa() {
@@ -321,7 +325,7 @@ public class GlobalHolidayCalendarsTest {
   }
 
   //-------------------------------------------------------------------------
-  private static final HolidayCalendar CHZU = GlobalHolidayCalendars.generateZurich();
+  private static final ImmutableHolidayCalendar CHZU = GlobalHolidayCalendars.generateZurich();
 
   @DataProvider(name = "chzu")
   Object[][] data_chzu() {
@@ -351,7 +355,7 @@ public class GlobalHolidayCalendarsTest {
   }
 
   //-------------------------------------------------------------------------
-  private static final HolidayCalendar EUTA = GlobalHolidayCalendars.generateEuropeanTarget();
+  private static final ImmutableHolidayCalendar EUTA = GlobalHolidayCalendars.generateEuropeanTarget();
 
   @DataProvider(name = "euta")
   Object[][] data_euta() {
@@ -385,7 +389,7 @@ public class GlobalHolidayCalendarsTest {
   }
 
   //-------------------------------------------------------------------------
-  private static final HolidayCalendar USGS = GlobalHolidayCalendars.generateUsGovtSecurities();
+  private static final ImmutableHolidayCalendar USGS = GlobalHolidayCalendars.generateUsGovtSecurities();
 
   @DataProvider(name = "usgs")
   Object[][] data_usgs() {
@@ -425,7 +429,7 @@ public class GlobalHolidayCalendarsTest {
   }
 
   //-------------------------------------------------------------------------
-  private static final HolidayCalendar USNY = GlobalHolidayCalendars.generateUsNewYork();
+  private static final ImmutableHolidayCalendar USNY = GlobalHolidayCalendars.generateUsNewYork();
 
   @DataProvider(name = "usny")
   Object[][] data_usny() {
@@ -454,7 +458,7 @@ public class GlobalHolidayCalendarsTest {
   }
 
   //-------------------------------------------------------------------------
-  private static final HolidayCalendar NYFD = GlobalHolidayCalendars.generateNewYorkFed();
+  private static final ImmutableHolidayCalendar NYFD = GlobalHolidayCalendars.generateNewYorkFed();
 
   @DataProvider(name = "nyfd")
   Object[][] data_nyfd() {
@@ -494,7 +498,7 @@ public class GlobalHolidayCalendarsTest {
   }
 
   //-------------------------------------------------------------------------
-  private static final HolidayCalendar NYSE = GlobalHolidayCalendars.generateNewYorkStockExchange();
+  private static final ImmutableHolidayCalendar NYSE = GlobalHolidayCalendars.generateNewYorkStockExchange();
 
   @DataProvider(name = "nyse")
   Object[][] data_nyse() {
@@ -524,7 +528,7 @@ public class GlobalHolidayCalendarsTest {
   }
 
   //-------------------------------------------------------------------------
-  private static final HolidayCalendar JPTO = GlobalHolidayCalendars.generateTokyo();
+  private static final ImmutableHolidayCalendar JPTO = GlobalHolidayCalendars.generateTokyo();
 
   @DataProvider(name = "jpto")
   Object[][] data_jpto() {
@@ -570,6 +574,41 @@ public class GlobalHolidayCalendarsTest {
     }
   }
 
+  //-------------------------------------------------------------------------
+  @DataProvider(name = "generated")
+  Object[][] data_generated() {
+    return new Object[][] {
+        {GlobalHolidayCalendars.GBLO, GBLO},
+        {GlobalHolidayCalendars.FRPA, FRPA},
+        {GlobalHolidayCalendars.CHZU, CHZU},
+        {GlobalHolidayCalendars.EUTA, EUTA},
+        {GlobalHolidayCalendars.USGS, USGS},
+        {GlobalHolidayCalendars.USNY, USNY},
+        {GlobalHolidayCalendars.NYFD, NYFD},
+        {GlobalHolidayCalendars.NYSE, NYSE},
+        {GlobalHolidayCalendars.JPTO, JPTO},
+    };
+  }
+
+  @Test(dataProvider = "generated")
+  public void test_constant_matchesGenerated(HolidayCalendar constant, ImmutableHolidayCalendar generated) {
+    LocalDateRange range = generated.getRange();
+    assertEquals(constant.getName(), generated.getName());
+    for (LocalDate date = range.getStart(); date.isBefore(range.getEndExclusive()); date = date.plusDays(1)) {
+      assertEquals(constant.isHoliday(date), generated.isHoliday(date), date.toString());
+    }
+  }
+
+  @Test(dataProvider = "generated")
+  public void test_snapshot_matchesGenerated(HolidayCalendar constant, ImmutableHolidayCalendar generated) {
+    // if this fails, the rules have changed and the snapshot must be regenerated using HolidayCalendarSnapshot
+    ImmutableHolidayCalendar snapshot = HolidayCalendarSnapshot.load().get(generated.getName());
+    assertEquals(snapshot.getRange(), generated.getRange());
+    assertEquals(snapshot.getWeekendDays(), generated.getWeekendDays());
+    assertEquals(snapshot.getHolidays(), generated.getHolidays());
+    assertTrue(Arrays.equals(snapshot.lookupTable(), generated.lookupTable()));
+  }
+
   //-------------------------------------------------------------------------
   private static List<LocalDate> mds(int year, MonthDay... monthDays) {
     List<LocalDate> holidays = new ArrayList<>();
@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.basics.date;
+
+import static com.opengamma.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.collect.TestHelper.date;
+import static java.time.DayOfWeek.FRIDAY;
+import static java.time.DayOfWeek.SATURDAY;
+import static java.time.DayOfWeek.SUNDAY;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Test {@code HolidayCalendarSnapshot}.
+ */
+@Test
+public class HolidayCalendarSnapshotTest {
+
+  private static final ImmutableHolidayCalendar CAL1 = ImmutableHolidayCalendar.of(
+      "Test1", ImmutableList.of(date(2014, 1, 1), date(2015, 12, 25)), SATURDAY, SUNDAY);
+  private static final ImmutableHolidayCalendar CAL2 = ImmutableHolidayCalendar.of(
+      "Test2", ImmutableList.of(date(2013, 6, 3)), FRIDAY, FRIDAY);
+
+  //-------------------------------------------------------------------------
+  public void test_writeRead() {
+    byte[] bytes = HolidayCalendarSnapshot.write(ImmutableList.of(CAL1, CAL2));
+    ImmutableMap<String, ImmutableHolidayCalendar> test = HolidayCalendarSnapshot.read(bytes);
+    assertEquals(test.keySet().asList(), ImmutableList.of("Test1", "Test2"));
+    assertEquals(test.get("Test1").getHolidays(), CAL1.getHolidays());
+    assertEquals(test.get("Test1").getWeekendDays(), CAL1.getWeekendDays());
+    assertEquals(test.get("Test1").getRange(), CAL1.getRange());
+    assertTrue(Arrays.equals(test.get("Test1").lookupTable(), CAL1.lookupTable()));
+    assertEquals(test.get("Test2").getHolidays(), CAL2.getHolidays());
+    assertEquals(test.get("Test2").getWeekendDays(), CAL2.getWeekendDays());
+    assertEquals(test.get("Test2").getRange(), CAL2.getRange());
+  }
+
+  public void test_read_serialization() throws Exception {
+    // the holidays of a calendar read from a snapshot are derived when first requested, including on serialization
+    ImmutableHolidayCalendar cal = HolidayCalendarSnapshot.read(HolidayCalendarSnapshot.write(ImmutableList.of(CAL1)))
+        .get("Test1");
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(baos)) {
+      out.writeObject(cal);
+    }
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
+      ImmutableHolidayCalendar test = (ImmutableHolidayCalendar) in.readObject();
+      assertEquals(test.getHolidays(), CAL1.getHolidays());
+      assertEquals(test.getRange(), CAL1.getRange());
+      assertTrue(Arrays.equals(test.lookupTable(), CAL1.lookupTable()));
+    }
+    assertEquals(cal.getHolidays(), CAL1.getHolidays());
+  }
+
+  public void test_write_noHolidays() {
+    ImmutableHolidayCalendar cal = ImmutableHolidayCalendar.of("Empty", ImmutableList.of(), SATURDAY, SUNDAY);
+    assertThrowsIllegalArg(() -> HolidayCalendarSnapshot.write(ImmutableList.of(cal)));
+  }
+
+  public void test_read_invalid() {
+    byte[] bytes = HolidayCalendarSnapshot.write(ImmutableList.of(CAL1));
+    byte[] badMagic = bytes.clone();
+    badMagic[0] = 0;
+    assertThrowsIllegalArg(() -> HolidayCalendarSnapshot.read(badMagic));
+    byte[] badVersion = bytes.clone();
+    badVersion[7] = 99;
+    assertThrowsIllegalArg(() -> HolidayCalendarSnapshot.read(badVersion));
+    assertThrowsIllegalArg(() -> HolidayCalendarSnapshot.read(new byte[2]));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_load() {
+    ImmutableMap<String, ImmutableHolidayCalendar> test = HolidayCalendarSnapshot.load();
+    assertEquals(test.keySet(), ImmutableSet.of("GBLO", "FRPA", "CHZU", "EUTA", "USGS", "USNY", "NYFD", "NYSE", "JPTO"));
+    assertEquals(GlobalHolidayCalendars.GBLO, test.get("GBLO"));
+  }
+
+}
@@ -359,6 +359,12 @@ public class HolidayCalendarTest {
     assertEquals(test.shift(date, amount), expected);
   }
 
+  @Test(dataProvider = "shift")
+  public void test_shiftEpochDay(LocalDate date, int amount, LocalDate expected) {
+    HolidayCalendar test = new MockHolCal();
+    assertEquals(test.shiftEpochDay((int) date.toEpochDay(), amount), expected.toEpochDay());
+  }
+
   public void test_shift_null() {
     assertThrows(() -> new MockHolCal().shift(null, 1), IllegalArgumentException.class);
   }
@@ -394,6 +400,12 @@ public class HolidayCalendarTest {
     assertEquals(test.next(date), expectedNext);
   }
 
+  @Test(dataProvider = "next")
+  public void test_nextEpochDay(LocalDate date, LocalDate expectedNext) {
+    HolidayCalendar test = new MockHolCal();
+    assertEquals(test.nextEpochDay((int) date.toEpochDay()), expectedNext.toEpochDay());
+  }
+
   public void test_next_null() {
     assertThrows(() -> new MockHolCal().next(null), IllegalArgumentException.class);
   }
@@ -423,6 +435,12 @@ public class HolidayCalendarTest {
     assertEquals(test.nextOrSame(date), expectedNext);
   }
 
+  @Test(dataProvider = "nextOrSame")
+  public void test_nextOrSameEpochDay(LocalDate date, LocalDate expectedNext) {
+    HolidayCalendar test = new MockHolCal();
+    assertEquals(test.nextOrSameEpochDay((int) date.toEpochDay()), expectedNext.toEpochDay());
+  }
+
   public void test_nextOrSame_null() {
     assertThrows(() -> new MockHolCal().nextOrSame(null), IllegalArgumentException.class);
   }
@@ -452,6 +470,12 @@ public class HolidayCalendarTest {
     assertEquals(test.previous(date), expectedPrevious);
   }
 
+  @Test(dataProvider = "previous")
+  public void test_previousEpochDay(LocalDate date, LocalDate expectedPrevious) {
+    HolidayCalendar test = new MockHolCal();
+    assertEquals(test.previousEpochDay((int) date.toEpochDay()), expectedPrevious.toEpochDay());
+  }
+
   public void test_previous_null() {
     assertThrows(() -> new MockHolCal().previous(null), IllegalArgumentException.class);
   }
@@ -481,6 +505,12 @@ public class HolidayCalendarTest {
     assertEquals(test.previousOrSame(date), expectedPrevious);
   }
 
+  @Test(dataProvider = "previousOrSame")
+  public void test_previousOrSameEpochDay(LocalDate date, LocalDate expectedPrevious) {
+    HolidayCalendar test = new MockHolCal();
+    assertEquals(test.previousOrSameEpochDay((int) date.toEpochDay()), expectedPrevious.toEpochDay());
+  }
+
   public void test_previousOrSame_null() {
     assertThrows(() -> new MockHolCal().previousOrSame(null), IllegalArgumentException.class);
   }
@@ -641,6 +671,51 @@ public class HolidayCalendarTest {
     assertThrows(() -> new MockHolCal().combineWith(null), IllegalArgumentException.class);
   }
 
+  public void test_combineWith_shared() {
+    HolidayCalendar test = HolidayCalendars.GBLO.combineWith(HolidayCalendars.USNY);
+    assertEquals(test.getName(), "GBLO+USNY");
+    assertSame(HolidayCalendars.USNY.combineWith(HolidayCalendars.GBLO), test);
+    assertSame(HolidayCalendar.of("GBLO+USNY"), test);
+    assertSame(HolidayCalendar.of("USNY+GBLO"), test);
+    assertSame(HolidayCalendar.of("USNY+NoHolidays+GBLO+USNY"), test);
+    assertSame(test.combineWith(HolidayCalendars.GBLO), test);
+  }
+
+  public void test_combineWith_shared_afterClear() {
+    HolidayCalendar before = HolidayCalendar.of("GBLO+USNY");
+    HolidayCalendars.clearCombinedCache();
+    HolidayCalendar test = HolidayCalendar.of("USNY+GBLO");
+    // the cache is keyed by generation, so the combination is rebuilt and shared again
+    assertEquals(test == before, false);
+    assertEquals(test, before);
+    assertSame(HolidayCalendar.of("GBLO+USNY"), test);
+    assertSame(test.combineWith(HolidayCalendars.USNY), test);
+  }
+
+  public void test_combineWith_shared_threeCalendars() {
+    HolidayCalendar test = HolidayCalendars.USNY.combineWith(HolidayCalendars.EUTA).combineWith(HolidayCalendars.GBLO);
+    assertEquals(test.getName(), "EUTA+GBLO+USNY");
+    assertSame(HolidayCalendar.of("GBLO+USNY+EUTA"), test);
+    assertSame(HolidayCalendars.GBLO.combineWith(HolidayCalendars.EUTA.combineWith(HolidayCalendars.USNY)), test);
+  }
+
+  public void test_of_combined_single() {
+    assertSame(HolidayCalendar.of("GBLO+GBLO"), HolidayCalendars.GBLO);
+    assertSame(HolidayCalendar.of("NoHolidays+GBLO"), HolidayCalendars.GBLO);
+    assertSame(HolidayCalendar.of("NoHolidays+NoHolidays"), HolidayCalendars.NO_HOLIDAYS);
+  }
+
+  public void test_of_combined_notFound() {
+    assertThrows(() -> HolidayCalendar.of("GBLO+Rubbish"), IllegalArgumentException.class);
+  }
+
+  public void test_combineWith_notShared() {
+    HolidayCalendar base = new MockHolCal();
+    HolidayCalendar test = base.combineWith(HolidayCalendars.FRI_SAT);
+    assertEquals(test.getName(), "Mock+Fri/Sat");
+    assertEquals(test == base.combineWith(HolidayCalendars.FRI_SAT), false);
+  }
+
   //-------------------------------------------------------------------------
   public void test_extendedEnum() {
     assertEquals(HolidayCalendar.extendedEnum().lookupAll().get("NoHolidays"), HolidayCalendars.NO_HOLIDAYS);
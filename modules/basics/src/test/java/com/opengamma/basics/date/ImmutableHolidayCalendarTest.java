@@ -15,8 +15,10 @@ import static java.time.DayOfWeek.SATURDAY;
 import static java.time.DayOfWeek.SUNDAY;
 import static java.time.DayOfWeek.THURSDAY;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertSame;
 
+import java.lang.reflect.Field;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -357,6 +359,13 @@ public class ImmutableHolidayCalendarTest {
     assertThrowsIllegalArg(() -> test.isBusinessDay(LocalDate.of(2015, 1, 1)));
   }
 
+  public void test_isHolidayEpochDay_outOfRange() {
+    assertThrowsIllegalArg(() -> HOLCAL_MON_WED.isHolidayEpochDay((int) LocalDate.of(2013, 12, 31).toEpochDay()));
+    assertThrowsIllegalArg(() -> HOLCAL_MON_WED.isBusinessDayEpochDay((int) LocalDate.of(2015, 1, 1).toEpochDay()));
+    assertEquals(HOLCAL_SAT_SUN.isHolidayEpochDay((int) SAT_2014_07_12.toEpochDay()), true);
+    assertEquals(HOLCAL_SAT_SUN.isHolidayEpochDay((int) MON_2014_07_14.toEpochDay()), false);
+  }
+
   //-------------------------------------------------------------------------
   @DataProvider(name = "shift")
   static Object[][] data_shift() {
@@ -433,6 +442,11 @@ public class ImmutableHolidayCalendarTest {
     assertEquals(HOLCAL_MON_WED.shift(date, amount), expected);
   }
 
+  @Test(dataProvider = "shift")
+  public void test_shiftEpochDay(LocalDate date, int amount, LocalDate expected) {
+    assertEquals(HOLCAL_MON_WED.shiftEpochDay((int) date.toEpochDay(), amount), expected.toEpochDay());
+  }
+
   public void test_shift_SatSun() {
     assertEquals(HOLCAL_SAT_SUN.shift(SAT_2014_07_12, -2), THU_2014_07_10);
     assertEquals(HOLCAL_SAT_SUN.shift(SAT_2014_07_12, 2), TUE_2014_07_15);
@@ -448,6 +462,13 @@ public class ImmutableHolidayCalendarTest {
     assertThrowsIllegalArg(() -> HOLCAL_MON_WED.shift(LocalDate.MAX.minusDays(1), 1));
   }
 
+  public void test_shiftEpochDay_range() {
+    assertThrowsIllegalArg(() -> HOLCAL_MON_WED.shiftEpochDay((int) date(2010, 1, 1).toEpochDay(), 1));
+    assertThrowsIllegalArg(() -> HOLCAL_MON_WED.shiftEpochDay((int) date(2015, 1, 1).toEpochDay(), -1));
+    assertThrowsIllegalArg(() -> HOLCAL_MON_WED.shiftEpochDay(Integer.MIN_VALUE, 1));
+    assertThrowsIllegalArg(() -> HOLCAL_MON_WED.shiftEpochDay(Integer.MAX_VALUE, 1));
+  }
+
   @Test(dataProvider = "shift")
   public void test_adjustBy(LocalDate date, int amount, LocalDate expected) {
     assertEquals(date.with(HOLCAL_MON_WED.adjustBy(amount)), expected);
@@ -488,6 +509,11 @@ public class ImmutableHolidayCalendarTest {
     assertEquals(cal.next(date), expectedNext);
   }
 
+  @Test(dataProvider = "next")
+  public void test_nextEpochDay(LocalDate date, LocalDate expectedNext, HolidayCalendar cal) {
+    assertEquals(cal.nextEpochDay((int) date.toEpochDay()), expectedNext.toEpochDay());
+  }
+
   public void test_next_null() {
     assertThrowsIllegalArg(() -> HOLCAL_MON_WED.next(null));
   }
@@ -498,6 +524,11 @@ public class ImmutableHolidayCalendarTest {
     assertThrowsIllegalArg(() -> HOLCAL_MON_WED.next(LocalDate.MAX.minusDays(1)));
   }
 
+  public void test_nextEpochDay_range() {
+    assertThrowsIllegalArg(() -> HOLCAL_MON_WED.nextEpochDay((int) date(2010, 1, 1).toEpochDay()));
+    assertThrowsIllegalArg(() -> HOLCAL_MON_WED.nextEpochDay((int) date(2016, 1, 1).toEpochDay()));
+  }
+
   //-------------------------------------------------------------------------
   @DataProvider(name = "nextOrSame")
   static Object[][] data_nextOrSame() {
@@ -534,6 +565,11 @@ public class ImmutableHolidayCalendarTest {
     assertEquals(cal.nextOrSame(date), expectedNext);
   }
 
+  @Test(dataProvider = "nextOrSame")
+  public void test_nextOrSameEpochDay(LocalDate date, LocalDate expectedNext, HolidayCalendar cal) {
+    assertEquals(cal.nextOrSameEpochDay((int) date.toEpochDay()), expectedNext.toEpochDay());
+  }
+
   public void test_nextOrSame_null() {
     assertThrowsIllegalArg(() -> HOLCAL_MON_WED.nextOrSame(null));
   }
@@ -544,6 +580,11 @@ public class ImmutableHolidayCalendarTest {
     assertThrowsIllegalArg(() -> HOLCAL_MON_WED.nextOrSame(LocalDate.MAX));
   }
 
+  public void test_nextOrSameEpochDay_range() {
+    assertThrowsIllegalArg(() -> HOLCAL_MON_WED.nextOrSameEpochDay((int) date(2010, 1, 1).toEpochDay()));
+    assertThrowsIllegalArg(() -> HOLCAL_MON_WED.nextOrSameEpochDay((int) date(2016, 1, 1).toEpochDay()));
+  }
+
   //-------------------------------------------------------------------------
   @DataProvider(name = "previous")
   static Object[][] data_previous() {
@@ -579,6 +620,11 @@ public class ImmutableHolidayCalendarTest {
     assertEquals(cal.previous(date), expectedPrevious);
   }
 
+  @Test(dataProvider = "previous")
+  public void test_previousEpochDay(LocalDate date, LocalDate expectedPrevious, HolidayCalendar cal) {
+    assertEquals(cal.previousEpochDay((int) date.toEpochDay()), expectedPrevious.toEpochDay());
+  }
+
   public void test_previous_null() {
     assertThrowsIllegalArg(() -> HOLCAL_MON_WED.previous(null));
   }
@@ -589,6 +635,11 @@ public class ImmutableHolidayCalendarTest {
     assertThrowsIllegalArg(() -> HOLCAL_MON_WED.previous(LocalDate.MAX));
   }
 
+  public void test_previousEpochDay_range() {
+    assertThrowsIllegalArg(() -> HOLCAL_MON_WED.previousEpochDay((int) date(2010, 1, 1).toEpochDay()));
+    assertThrowsIllegalArg(() -> HOLCAL_MON_WED.previousEpochDay((int) date(2016, 1, 1).toEpochDay()));
+  }
+
   //-------------------------------------------------------------------------
   @DataProvider(name = "previousOrSame")
   static Object[][] data_previousOrSame() {
@@ -626,6 +677,11 @@ public class ImmutableHolidayCalendarTest {
     assertEquals(cal.previousOrSame(date), expectedPrevious);
   }
 
+  @Test(dataProvider = "previousOrSame")
+  public void test_previousOrSameEpochDay(LocalDate date, LocalDate expectedPrevious, HolidayCalendar cal) {
+    assertEquals(cal.previousOrSameEpochDay((int) date.toEpochDay()), expectedPrevious.toEpochDay());
+  }
+
   public void test_previousOrSame_null() {
     assertThrowsIllegalArg(() -> HOLCAL_MON_WED.previousOrSame(null));
   }
@@ -636,6 +692,11 @@ public class ImmutableHolidayCalendarTest {
     assertThrowsIllegalArg(() -> HOLCAL_MON_WED.previousOrSame(LocalDate.MAX));
   }
 
+  public void test_previousOrSameEpochDay_range() {
+    assertThrowsIllegalArg(() -> HOLCAL_MON_WED.previousOrSameEpochDay((int) date(2010, 1, 1).toEpochDay()));
+    assertThrowsIllegalArg(() -> HOLCAL_MON_WED.previousOrSameEpochDay((int) date(2016, 1, 1).toEpochDay()));
+  }
+
   //-------------------------------------------------------------------------
   @DataProvider(name = "nextSameOrLastInMonth")
   static Object[][] data_nextSameOrLastInMonth() {
@@ -780,6 +841,65 @@ public class ImmutableHolidayCalendarTest {
     assertThrowsIllegalArg(() -> HOLCAL_MON_WED.daysBetween(null));
   }
 
+  public void test_daysBetween_wholeRange() {
+    LocalDateRange range = HOLCAL_MON_WED.getRange();
+    assertEquals(HOLCAL_MON_WED.daysBetween(range), 259);
+    assertEquals(HOLCAL_MON_WED.daysBetween(range.getStart(), range.getStart()), 0);
+    assertEquals(HOLCAL_MON_WED.daysBetween(range.getEndExclusive(), range.getEndExclusive()), 0);
+  }
+
+  public void test_daysBetween_acrossMonthsAndYears() {
+    // Mon 2014-12-29 is a business day, Tue 2014-12-30 and Thu 2015-01-01 are holidays
+    assertEquals(HOLCAL_YEAR_END.daysBetween(MON_2014_12_29, WED_2014_12_31), 1);
+    assertEquals(HOLCAL_YEAR_END.daysBetween(MON_2014_12_29, THU_2015_01_01), 2);
+    assertEquals(HOLCAL_YEAR_END.daysBetween(MON_2014_12_29, LocalDate.of(2015, 1, 3)), 3);
+    assertEquals(HOLCAL_YEAR_END.daysBetween(LocalDate.of(2014, 11, 30), LocalDate.of(2015, 2, 2)), 43);
+  }
+
+  public void test_daysBetween_outOfRange() {
+    assertThrowsIllegalArg(() -> HOLCAL_MON_WED.daysBetween(LocalDate.of(2013, 12, 31), WED_2014_07_16));
+    assertThrowsIllegalArg(() -> HOLCAL_MON_WED.daysBetween(WED_2014_07_16, LocalDate.of(2015, 1, 2)));
+  }
+
+  public void test_daysBetween_noHolidays() {
+    assertEquals(HOLCAL_SAT_SUN.daysBetween(FRI_2014_07_11, TUE_2014_07_22), 7);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_adjust_array() {
+    LocalDate[] dates = {SUN_2014_07_13, MON_2014_07_14, THU_2014_07_10, WED_2014_07_16, MON_2014_12_29};
+    HOLCAL_MON_WED.adjustDates(dates, BusinessDayConventions.FOLLOWING);
+    assertEquals(dates, new LocalDate[] {TUE_2014_07_15, TUE_2014_07_15, THU_2014_07_10, THU_2014_07_17, MON_2014_12_29});
+  }
+
+  public void test_adjustEpochDays() {
+    LocalDate[] dates = {SUN_2014_07_13, MON_2014_07_14, THU_2014_07_10, WED_2014_07_16, MON_2014_12_29};
+    int[] epochDays = Arrays.stream(dates).mapToInt(d -> (int) d.toEpochDay()).toArray();
+    HOLCAL_MON_WED.adjustEpochDays(epochDays, BusinessDayConventions.PRECEDING);
+    LocalDate[] expected = {FRI_2014_07_11, FRI_2014_07_11, THU_2014_07_10, TUE_2014_07_15, MON_2014_12_29};
+    assertEquals(epochDays, Arrays.stream(expected).mapToInt(d -> (int) d.toEpochDay()).toArray());
+  }
+
+  public void test_adjust_array_noHolidays() {
+    LocalDate[] dates = {SUN_2014_07_13, MON_2014_07_14};
+    HOLCAL_SAT_SUN.adjustDates(dates, BusinessDayConventions.FOLLOWING);
+    assertEquals(dates, new LocalDate[] {MON_2014_07_14, MON_2014_07_14});
+    int[] epochDays = {(int) SUN_2014_07_13.toEpochDay()};
+    HOLCAL_SAT_SUN.adjustEpochDays(epochDays, BusinessDayConventions.FOLLOWING);
+    assertEquals(epochDays[0], MON_2014_07_14.toEpochDay());
+  }
+
+  public void test_adjust_array_outOfRange() {
+    assertThrowsIllegalArg(() -> HOLCAL_MON_WED.adjustDates(
+        new LocalDate[] {MON_2014_07_14, LocalDate.of(2015, 1, 1)}, BusinessDayConventions.FOLLOWING));
+    assertThrowsIllegalArg(() -> HOLCAL_MON_WED.adjustDates(
+        new LocalDate[] {LocalDate.of(2013, 12, 31)}, BusinessDayConventions.FOLLOWING));
+    assertThrowsIllegalArg(() -> HOLCAL_MON_WED.adjustEpochDays(
+        new int[] {(int) LocalDate.of(2015, 1, 1).toEpochDay()}, BusinessDayConventions.FOLLOWING));
+    assertThrowsIllegalArg(() -> HOLCAL_MON_WED.adjustEpochDays(
+        new int[] {(int) LocalDate.of(2013, 12, 31).toEpochDay()}, BusinessDayConventions.FOLLOWING));
+  }
+
   //-------------------------------------------------------------------------
   public void test_combineWith() {
     Iterable<LocalDate> holidays1 = Arrays.asList(WED_2014_07_16);
@@ -803,6 +923,88 @@ public class ImmutableHolidayCalendarTest {
     assertEquals(test.isHoliday(MON_2014_07_21), false);
   }
 
+  public void test_combineWith_holidaysOnWeekends() {
+    Iterable<LocalDate> holidays1 = Arrays.asList(WED_2014_07_16, SAT_2014_07_19);
+    ImmutableHolidayCalendar base1 = ImmutableHolidayCalendar.of("Test1", holidays1, SATURDAY, SUNDAY);
+    Iterable<LocalDate> holidays2 = Arrays.asList(MON_2014_07_14);
+    ImmutableHolidayCalendar base2 = ImmutableHolidayCalendar.of("Test2", holidays2, FRIDAY, SATURDAY);
+    HolidayCalendar test = base1.combineWith(base2);
+    assertEquals(test instanceof ImmutableHolidayCalendar, true);
+    ImmutableHolidayCalendar cal = (ImmutableHolidayCalendar) test;
+    // holidays falling on a weekend are retained, as each is a holiday of an input calendar
+    assertEquals(cal.getHolidays(), ImmutableSortedSet.of(MON_2014_07_14, WED_2014_07_16, SAT_2014_07_19));
+    assertEquals(cal.getWeekendDays(), ImmutableSet.of(FRIDAY, SATURDAY, SUNDAY));
+    assertEquals(cal.getRange(), RANGE_2014);
+    // the same as building from the properties
+    ImmutableHolidayCalendar rebuilt = ImmutableHolidayCalendar.of("Test", cal.getHolidays(), cal.getWeekendDays());
+    assertEquals(cal.getRange(), rebuilt.getRange());
+    assertEquals(cal.lookupTable(), rebuilt.lookupTable());
+  }
+
+  public void test_combineWith_lookupCalendarsDeriveHolidaysLazily() throws Exception {
+    ImmutableHolidayCalendar built1 = ImmutableHolidayCalendar.of(
+        "Test1", Arrays.asList(WED_2014_07_16, FRI_2014_07_18), SATURDAY, SUNDAY);
+    ImmutableHolidayCalendar built2 = ImmutableHolidayCalendar.of(
+        "Test2", Arrays.asList(MON_2014_07_14, THU_2015_01_01), FRIDAY, SATURDAY);
+    ImmutableHolidayCalendar base1 = ImmutableHolidayCalendar.ofLookup(
+        "Test1", built1.getWeekendDays(), 2014, built1.lookupTable());
+    ImmutableHolidayCalendar base2 = ImmutableHolidayCalendar.ofLookup(
+        "Test2", built2.getWeekendDays(), 2014, built2.lookupTable());
+    ImmutableHolidayCalendar test = (ImmutableHolidayCalendar) base1.combineWith(base2);
+    // only the lookup table and range are built, neither input derives its holidays
+    Field derived = ImmutableHolidayCalendar.class.getDeclaredField("derivedHolidays");
+    derived.setAccessible(true);
+    assertNull(derived.get(base1));
+    assertNull(derived.get(base2));
+    assertNull(derived.get(test));
+    assertEquals(test.getRange(), LocalDateRange.of(date(2014, 1, 1), date(2016, 1, 1)));
+    ImmutableHolidayCalendar expected = (ImmutableHolidayCalendar) built1.combineWith(built2);
+    assertEquals(test.lookupTable(), expected.lookupTable());
+    // the union of the holidays is derived when first requested, including those on a weekend of the other
+    assertEquals(
+        test.getHolidays(), ImmutableSortedSet.of(MON_2014_07_14, WED_2014_07_16, FRI_2014_07_18, THU_2015_01_01));
+    assertSame(test.getHolidays(), test.getHolidays());
+    assertSerialization(test);
+  }
+
+  public void test_combineWith_differentRanges() {
+    Iterable<LocalDate> holidays1 = Arrays.asList(WED_2014_07_16);
+    ImmutableHolidayCalendar base1 = ImmutableHolidayCalendar.of("Test1", holidays1, SATURDAY, SUNDAY);
+    Iterable<LocalDate> holidays2 = Arrays.asList(THU_2015_01_01);
+    ImmutableHolidayCalendar base2 = ImmutableHolidayCalendar.of("Test2", holidays2, FRIDAY, SATURDAY);
+    HolidayCalendar test = base1.combineWith(base2);
+    assertEquals(((ImmutableHolidayCalendar) test).getRange(), LocalDateRange.of(date(2014, 1, 1), date(2016, 1, 1)));
+    // weekends of each calendar apply outside its range
+    assertEquals(test.isHoliday(FRI_2014_07_11), true);
+    assertEquals(test.isHoliday(WED_2014_07_16), true);
+    assertEquals(test.isHoliday(THU_2015_01_01), true);
+    assertEquals(test.isHoliday(FRI_2015_01_02), true);
+    assertEquals(test.isHoliday(SAT_2015_01_03), true);
+    assertEquals(test.isHoliday(date(2015, 1, 4)), true);
+    assertEquals(test.isHoliday(MON_2015_01_05), false);
+  }
+
+  public void test_combineWith_otherFirst() {
+    Iterable<LocalDate> holidays = Arrays.asList(WED_2014_07_16);
+    ImmutableHolidayCalendar base = ImmutableHolidayCalendar.of("Test1", holidays, SATURDAY, SUNDAY);
+    HolidayCalendar test = HolidayCalendars.FRI_SAT.combineWith(base);
+    assertEquals(test instanceof ImmutableHolidayCalendar, true);
+    assertEquals(test.getName(), "Fri/Sat+Test1");
+    assertEquals(((ImmutableHolidayCalendar) test).getWeekendDays(), ImmutableSet.of(FRIDAY, SATURDAY, SUNDAY));
+    assertEquals(((ImmutableHolidayCalendar) test).getHolidays(), ImmutableSortedSet.of(WED_2014_07_16));
+    assertEquals(test.isHoliday(THU_2014_07_10), false);
+    assertEquals(test.isHoliday(FRI_2014_07_11), true);
+    assertEquals(test.isHoliday(WED_2014_07_16), true);
+    assertEquals(test.next(THU_2014_07_10), MON_2014_07_14);
+  }
+
+  public void test_combineWith_noHolidayDates() {
+    HolidayCalendar test = HOLCAL_SAT_SUN.combineWith(HolidayCalendars.FRI_SAT);
+    assertEquals(test instanceof HolidayCalendars.Combined, true);
+    assertEquals(test.isHoliday(FRI_2014_07_11), true);
+    assertEquals(test.isHoliday(MON_2014_07_14), false);
+  }
+
   public void test_combineWith_same() {
     Iterable<LocalDate> holidays = Arrays.asList(WED_2014_07_16);
     ImmutableHolidayCalendar base = ImmutableHolidayCalendar.of("Test1", holidays, SATURDAY, SUNDAY);
@@ -821,6 +1023,7 @@ public class ImmutableHolidayCalendarTest {
     Iterable<LocalDate> holidays = Arrays.asList(WED_2014_07_16);
     ImmutableHolidayCalendar base = ImmutableHolidayCalendar.of("Test1", holidays, SATURDAY, SUNDAY);
     HolidayCalendar test = base.combineWith(HolidayCalendars.FRI_SAT);
+    assertEquals(test instanceof ImmutableHolidayCalendar, true);
     assertEquals(test.getName(), "Test1+Fri/Sat");
     
     assertEquals(test.isHoliday(THU_2014_07_10), false);
@@ -864,6 +1067,54 @@ public class ImmutableHolidayCalendarTest {
         assertEquals(test.isHoliday(checkDate), dow == SATURDAY || dow == SUNDAY || set.contains(checkDate));
         checkDate = checkDate.plusDays(1);
       }
+      // check epoch-day methods against date methods
+      for (LocalDate queryDate = start.plusDays(10); queryDate.isBefore(end.minusDays(10)); queryDate = queryDate.plusDays(1)) {
+        int epochDay = (int) queryDate.toEpochDay();
+        assertEquals(test.isHolidayEpochDay(epochDay), test.isHoliday(queryDate));
+        assertEquals(test.isBusinessDayEpochDay(epochDay), test.isBusinessDay(queryDate));
+        assertEquals(test.nextOrSameEpochDay(epochDay), test.nextOrSame(queryDate).toEpochDay());
+        assertEquals(test.previousOrSameEpochDay(epochDay), test.previousOrSame(queryDate).toEpochDay());
+        assertEquals(test.shiftEpochDay(epochDay, 3), test.shift(queryDate, 3).toEpochDay());
+        assertEquals(test.shiftEpochDay(epochDay, -3), test.shift(queryDate, -3).toEpochDay());
+      }
+      // check business day count against simple algorithm
+      for (int j = 0; j < 20; j++) {
+        LocalDate rangeStart = start.plusDays(random.nextInt(3650));
+        LocalDate rangeEnd = rangeStart.plusDays(random.nextInt(400));
+        rangeEnd = (rangeEnd.isAfter(end) ? end : rangeEnd);
+        long expected = LocalDateRange.of(rangeStart, rangeEnd).stream()
+            .filter(d -> d.getDayOfWeek() != SATURDAY && d.getDayOfWeek() != SUNDAY && !set.contains(d))
+            .count();
+        assertEquals(test.daysBetween(rangeStart, rangeEnd), expected);
+      }
+    }
+  }
+
+  public void test_broadCheck_combineWith() {
+    LocalDate start = LocalDate.of(2010, 1, 1);
+    LocalDate end = LocalDate.of(2020, 1, 1);
+    Random random = new Random(547698);
+    for (int i = 0; i < 5; i++) {
+      // create sample holiday dates
+      SortedSet<LocalDate> set1 = new TreeSet<>();
+      SortedSet<LocalDate> set2 = new TreeSet<>();
+      for (LocalDate date = start; date.isBefore(end); date = date.plusDays(random.nextInt(10) + 1)) {
+        (random.nextBoolean() ? set1 : set2).add(date);
+      }
+      // check bitmap combination matches simple combination
+      ImmutableHolidayCalendar cal1 = ImmutableHolidayCalendar.of("TestBroadA" + i, set1, SATURDAY, SUNDAY);
+      ImmutableHolidayCalendar cal2 = ImmutableHolidayCalendar.of("TestBroadB" + i, set2, FRIDAY, SATURDAY);
+      HolidayCalendar test = cal1.combineWith(cal2);
+      HolidayCalendar expected = new HolidayCalendars.Combined(cal1, cal2);
+      for (LocalDate date = start; date.isBefore(end); date = date.plusDays(1)) {
+        assertEquals(test.isHoliday(date), expected.isHoliday(date));
+      }
+      // check the holidays are the union, matching the calendar built from the properties
+      ImmutableHolidayCalendar cal = (ImmutableHolidayCalendar) test;
+      ImmutableHolidayCalendar rebuilt = ImmutableHolidayCalendar.of("Test", cal.getHolidays(), cal.getWeekendDays());
+      assertEquals(cal.getHolidays().size(), set1.size() + set2.size());
+      assertEquals(cal.getRange(), rebuilt.getRange());
+      assertEquals(cal.lookupTable(), rebuilt.lookupTable());
     }
   }
 
@@ -0,0 +1,137 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.basics.date;
+
+import static com.opengamma.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.collect.TestHelper.date;
+import static java.time.DayOfWeek.FRIDAY;
+import static java.time.DayOfWeek.SATURDAY;
+import static java.time.DayOfWeek.SUNDAY;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.collect.io.ResourceLocator;
+
+/**
+ * Test {@code LoadedHolidayCalendars}.
+ */
+@Test(singleThreaded = true)
+public class LoadedHolidayCalendarsTest {
+
+  @AfterMethod
+  public void tearDown() {
+    LoadedHolidayCalendars.load(LoadedHolidayCalendars.defaultResources());
+  }
+
+  private static File write(String suffix, String content) throws IOException {
+    File file = File.createTempFile("LoadedHolidayCalendarsTest", suffix);
+    file.deleteOnExit();
+    Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    return file;
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_default() {
+    HolidayCalendar test = HolidayCalendar.of("XXTEST");
+    assertEquals(test.getName(), "XXTEST");
+    assertTrue(test.isHoliday(date(2015, 1, 1)));
+    assertTrue(test.isHoliday(date(2015, 4, 1)));
+    assertTrue(test.isHoliday(date(2015, 1, 2)));  // Friday
+    assertFalse(test.isHoliday(date(2015, 1, 4)));  // Sunday
+    assertEquals(((ImmutableHolidayCalendar) test).getWeekendDays(), ImmutableSet.of(FRIDAY, SATURDAY));
+  }
+
+  public void test_load_ini() throws IOException {
+    File file = write(".ini", "[XXINI]\nholiday = 2015-01-01\nholiday = 2015-12-25\n\n[XXEMPTY]\nweekendDays = SUNDAY\n");
+    LoadedHolidayCalendars.load(ImmutableList.of(ResourceLocator.ofFile(file)));
+    assertEquals(LoadedHolidayCalendars.getResources(), ImmutableList.of(ResourceLocator.ofFile(file)));
+    HolidayCalendar test = HolidayCalendar.of("XXINI");
+    assertTrue(test.isHoliday(date(2015, 12, 25)));
+    assertFalse(test.isHoliday(date(2015, 12, 24)));
+    assertEquals(((ImmutableHolidayCalendar) test).getWeekendDays(), ImmutableSet.of(SATURDAY, SUNDAY));
+    HolidayCalendar empty = HolidayCalendar.of("XXEMPTY");
+    assertTrue(empty.isHoliday(date(2015, 1, 4)));
+    assertFalse(empty.isHoliday(date(2015, 1, 3)));
+    // default calendars replaced
+    assertThrowsIllegalArg(() -> HolidayCalendar.of("XXTEST"));
+  }
+
+  public void test_load_csv() throws IOException {
+    File file = write(".csv", "Date,Calendar\n2015-01-01,XXCSV1\n2015-12-25,XXCSV1\n\n2015-07-04,XXCSV2\n");
+    LoadedHolidayCalendars.load(ImmutableList.of(ResourceLocator.ofFile(file)));
+    HolidayCalendar test1 = HolidayCalendar.of("XXCSV1");
+    assertEquals(((ImmutableHolidayCalendar) test1).getHolidays(), ImmutableSet.of(date(2015, 1, 1), date(2015, 12, 25)));
+    HolidayCalendar test2 = HolidayCalendar.of("XXCSV2");
+    assertEquals(((ImmutableHolidayCalendar) test2).getHolidays(), ImmutableSet.of(date(2015, 7, 4)));
+    assertEquals(((ImmutableHolidayCalendar) test2).getWeekendDays(), ImmutableSet.of(SATURDAY, SUNDAY));
+  }
+
+  public void test_load_invalid() throws IOException {
+    File badHeader = write(".csv", "Name,Date\nXXBAD,2015-01-01\n");
+    File badDate = write(".ini", "[XXBAD]\nholiday = 2015-13-01\n");
+    File duplicate = write(".csv", "Calendar,Date\nXXTEST,2015-01-01\n");
+    assertThrowsIllegalArg(() -> LoadedHolidayCalendars.load(ImmutableList.of(ResourceLocator.ofFile(badHeader))));
+    assertThrowsIllegalArg(() -> LoadedHolidayCalendars.load(ImmutableList.of(ResourceLocator.ofFile(badDate))));
+    assertThrowsIllegalArg(() -> LoadedHolidayCalendars.load(ImmutableList.<ResourceLocator>builder()
+        .addAll(LoadedHolidayCalendars.defaultResources())
+        .add(ResourceLocator.ofFile(duplicate))
+        .build()));
+    // previous calendars remain
+    assertEquals(HolidayCalendar.of("XXTEST").getName(), "XXTEST");
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_refresh() throws IOException {
+    File file = write(".csv", "Calendar,Date\nXXREFRESH,2015-01-01\n");
+    LoadedHolidayCalendars.load(ImmutableList.of(ResourceLocator.ofFile(file)));
+    HolidayCalendar before = HolidayCalendar.of("XXREFRESH");
+    HolidayCalendar combinedBefore = before.combineWith(HolidayCalendars.GBLO);
+    assertFalse(before.isHoliday(date(2015, 1, 2)));
+    // unchanged
+    assertFalse(LoadedHolidayCalendars.refresh());
+    assertSame(HolidayCalendar.of("XXREFRESH"), before);
+    // changed
+    Files.write(file.toPath(), "Calendar,Date\nXXREFRESH,2015-01-01\nXXREFRESH,2015-01-02\n".getBytes(StandardCharsets.UTF_8));
+    assertTrue(LoadedHolidayCalendars.refresh());
+    HolidayCalendar after = HolidayCalendar.of("XXREFRESH");
+    assertNotSame(after, before);
+    assertTrue(after.isHoliday(date(2015, 1, 2)));
+    assertFalse(before.isHoliday(date(2015, 1, 2)));
+    // combined calendars are rebuilt
+    HolidayCalendar combinedAfter = after.combineWith(HolidayCalendars.GBLO);
+    assertNotSame(combinedAfter, combinedBefore);
+    assertTrue(combinedAfter.isHoliday(date(2015, 1, 2)));
+  }
+
+  public void test_refresh_invalid() throws IOException {
+    File file = write(".csv", "Calendar,Date\nXXREFRESH,2015-01-01\n");
+    LoadedHolidayCalendars.load(ImmutableList.of(ResourceLocator.ofFile(file)));
+    Files.write(file.toPath(), "Calendar,Date\nXXREFRESH,2015-01-32\n".getBytes(StandardCharsets.UTF_8));
+    assertThrowsIllegalArg(() -> LoadedHolidayCalendars.refresh());
+    assertTrue(HolidayCalendar.of("XXREFRESH").isHoliday(date(2015, 1, 1)));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_extendedEnum() {
+    assertTrue(HolidayCalendars.ENUM_LOOKUP.lookupAll().containsKey("XXTEST"));
+    assertTrue(HolidayCalendars.ENUM_LOOKUP.lookupAll().containsKey("GBLO"));
+    assertThrowsIllegalArg(() -> HolidayCalendar.of("Rubbish"));
+  }
+
+}
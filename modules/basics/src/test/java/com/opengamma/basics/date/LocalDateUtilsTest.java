@@ -75,6 +75,21 @@ public class LocalDateUtilsTest {
     }
   }
 
+  public void test_toMonthDay() {
+    for (long epochDay = -800_000; epochDay < 800_000; epochDay += 7) {
+      LocalDate date = LocalDate.ofEpochDay(epochDay);
+      long expected = ((date.getYear() * 12L + date.getMonthValue() - 1) << 5) | (date.getDayOfMonth() - 1);
+      assertEquals(LocalDateUtils.toMonthDay(epochDay), expected);
+    }
+  }
+
+  public void test_toEpochDay() {
+    for (long epochDay = -800_000; epochDay < 800_000; epochDay += 7) {
+      LocalDate date = LocalDate.ofEpochDay(epochDay);
+      assertEquals(LocalDateUtils.toEpochDay(date.getYear(), date.getMonthValue(), date.getDayOfMonth()), epochDay);
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void coverage() {
     assertUtilityClass(LocalDateUtils.class);
@@ -0,0 +1,178 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.basics.schedule;
+
+import static com.opengamma.basics.schedule.Frequency.P1M;
+import static com.opengamma.basics.schedule.RollConventions.DAY_17;
+import static com.opengamma.collect.TestHelper.assertSerialization;
+import static com.opengamma.collect.TestHelper.assertThrows;
+import static com.opengamma.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.collect.TestHelper.date;
+import static java.time.Month.AUGUST;
+import static java.time.Month.JULY;
+import static java.time.Month.OCTOBER;
+import static java.time.Month.SEPTEMBER;
+import static org.testng.Assert.assertEquals;
+
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.basics.date.BusinessDayAdjustment;
+import com.opengamma.basics.date.BusinessDayConventions;
+import com.opengamma.basics.date.DayCount;
+import com.opengamma.basics.date.HolidayCalendars;
+
+/**
+ * Test {@link CompactSchedule}.
+ */
+@Test
+public class CompactScheduleTest {
+
+  private static final LocalDate JUL_04 = date(2014, JULY, 4);
+  private static final LocalDate JUL_17 = date(2014, JULY, 17);
+  private static final LocalDate AUG_17 = date(2014, AUGUST, 17);
+  private static final LocalDate AUG_18 = date(2014, AUGUST, 18);
+  private static final LocalDate SEP_17 = date(2014, SEPTEMBER, 17);
+  private static final LocalDate OCT_17 = date(2014, OCTOBER, 17);
+
+  private static final SchedulePeriod P1_STUB = SchedulePeriod.of(JUL_04, JUL_17);
+  private static final SchedulePeriod P2_NORMAL = SchedulePeriod.of(JUL_17, AUG_18, JUL_17, AUG_17);
+  private static final SchedulePeriod P3_NORMAL = SchedulePeriod.of(AUG_18, SEP_17, AUG_17, SEP_17);
+  private static final SchedulePeriod P4_NORMAL = SchedulePeriod.of(SEP_17, OCT_17);
+  private static final Schedule SCHEDULE = Schedule.builder()
+      .periods(ImmutableList.of(P1_STUB, P2_NORMAL, P3_NORMAL))
+      .frequency(P1M)
+      .rollConvention(DAY_17)
+      .build();
+
+  //-------------------------------------------------------------------------
+  public void test_of_schedule() {
+    CompactSchedule test = CompactSchedule.of(SCHEDULE);
+    assertEquals(test.size(), 3);
+    assertEquals(test.isTerm(), false);
+    assertEquals(test.getFrequency(), P1M);
+    assertEquals(test.getRollConvention(), DAY_17);
+    assertEquals(test.isEndOfMonthConvention(), false);
+    assertEquals(test.getPeriod(0), P1_STUB);
+    assertEquals(test.getPeriod(1), P2_NORMAL);
+    assertEquals(test.getPeriod(2), P3_NORMAL);
+    assertEquals(test.getFirstPeriod(), P1_STUB);
+    assertEquals(test.getLastPeriod(), P3_NORMAL);
+    assertEquals(test.getStartDate(), JUL_04);
+    assertEquals(test.getEndDate(), SEP_17);
+    assertEquals(test.toSchedule(), SCHEDULE);
+    assertThrows(() -> test.getPeriod(-1), IndexOutOfBoundsException.class);
+    assertThrows(() -> test.getPeriod(3), IndexOutOfBoundsException.class);
+  }
+
+  public void test_of_schedule_term() {
+    CompactSchedule test = CompactSchedule.of(Schedule.ofTerm(P1_STUB));
+    assertEquals(test.size(), 1);
+    assertEquals(test.isTerm(), true);
+    assertEquals(test.getFrequency(), Frequency.TERM);
+    assertEquals(test.getRollConvention(), RollConventions.NONE);
+    assertEquals(test.getPeriod(0), P1_STUB);
+  }
+
+  public void test_of_schedule_notAdjacent() {
+    Schedule schedule = Schedule.builder()
+        .periods(ImmutableList.of(P1_STUB, P3_NORMAL))
+        .frequency(P1M)
+        .rollConvention(DAY_17)
+        .build();
+    assertThrowsIllegalArg(() -> CompactSchedule.of(schedule));
+    assertThrowsIllegalArg(() -> CompactSchedule.of(null));
+  }
+
+  public void test_of_dates() {
+    CompactSchedule test = CompactSchedule.of(
+        ImmutableList.of(JUL_04, JUL_17, AUG_17, SEP_17),
+        ImmutableList.of(JUL_04, JUL_17, AUG_18, SEP_17),
+        P1M,
+        DAY_17);
+    assertEquals(test, CompactSchedule.of(SCHEDULE));
+  }
+
+  public void test_of_dates_invalid() {
+    ImmutableList<LocalDate> dates = ImmutableList.of(JUL_04, JUL_17);
+    assertThrowsIllegalArg(() -> CompactSchedule.of(dates, ImmutableList.of(JUL_04, JUL_17, AUG_17), P1M, DAY_17));
+    assertThrowsIllegalArg(() -> CompactSchedule.of(ImmutableList.of(JUL_04), ImmutableList.of(JUL_04), P1M, DAY_17));
+    assertThrowsIllegalArg(() -> CompactSchedule.of(dates, ImmutableList.of(JUL_17, JUL_04), P1M, DAY_17));
+    assertThrowsIllegalArg(() -> CompactSchedule.of(ImmutableList.of(JUL_04, JUL_04), dates, P1M, DAY_17));
+    assertThrowsIllegalArg(() -> CompactSchedule.of(dates, dates, null, DAY_17));
+    assertThrowsIllegalArg(() -> CompactSchedule.of(dates, dates, P1M, null));
+    assertThrowsIllegalArg(() -> CompactSchedule.of(null, dates, P1M, DAY_17));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_getPeriodEndDate() {
+    CompactSchedule test = CompactSchedule.of(SCHEDULE);
+    assertEquals(test.getPeriodEndDate(JUL_04), JUL_17);
+    assertEquals(test.getPeriodEndDate(JUL_17.minusDays(1)), JUL_17);
+    assertEquals(test.getPeriodEndDate(JUL_17), AUG_18);
+    assertEquals(test.getPeriodEndDate(AUG_17), AUG_18);
+    assertEquals(test.getPeriodEndDate(AUG_18), SEP_17);
+    assertEquals(test.getPeriodEndDate(SEP_17.minusDays(1)), SEP_17);
+    assertThrowsIllegalArg(() -> test.getPeriodEndDate(JUL_04.minusDays(1)));
+    assertThrowsIllegalArg(() -> test.getPeriodEndDate(SEP_17));
+  }
+
+  public void test_getPeriodEndDate_matchesSchedule() {
+    for (LocalDate date = JUL_04; date.isBefore(SEP_17); date = date.plusDays(1)) {
+      assertEquals(CompactSchedule.of(SCHEDULE).getPeriodEndDate(date), SCHEDULE.getPeriodEndDate(date));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_yearFractions() {
+    CompactSchedule test = CompactSchedule.of(SCHEDULE);
+    for (DayCount dayCount : DayCount.extendedEnum().lookupAll().values()) {
+      double[] fractions = test.yearFractions(dayCount);
+      assertEquals(fractions.length, 3);
+      for (int i = 0; i < 3; i++) {
+        assertEquals(fractions[i], test.getPeriod(i).yearFraction(dayCount, SCHEDULE), 0d);
+      }
+    }
+    assertThrowsIllegalArg(() -> test.yearFractions(null));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_createCompactSchedule_longDated() {
+    PeriodicSchedule defn = PeriodicSchedule.of(
+        date(2015, 1, 5), date(2045, 1, 5), Frequency.P1D,
+        BusinessDayAdjustment.of(BusinessDayConventions.FOLLOWING, HolidayCalendars.NO_HOLIDAYS),
+        StubConvention.SHORT_INITIAL, false);
+    CompactSchedule test = defn.createCompactSchedule();
+    assertEquals(test.size(), 10958);
+    assertEquals(test.adjustedEpochDays().length, 10959);
+    assertEquals(test.toSchedule(), defn.createSchedule());
+    assertEquals(CompactSchedule.of(defn.createSchedule()), test);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_equalsHashCodeToString() {
+    CompactSchedule test = CompactSchedule.of(SCHEDULE);
+    CompactSchedule other = CompactSchedule.of(Schedule.builder()
+        .periods(ImmutableList.of(P4_NORMAL))
+        .frequency(P1M)
+        .rollConvention(DAY_17)
+        .build());
+    assertEquals(test.equals(test), true);
+    assertEquals(test.equals(CompactSchedule.of(SCHEDULE)), true);
+    assertEquals(test.equals(other), false);
+    assertEquals(test.equals(null), false);
+    assertEquals(test.equals(""), false);
+    assertEquals(test.hashCode(), CompactSchedule.of(SCHEDULE).hashCode());
+    assertEquals(test.toString(), "CompactSchedule[3 periods, 2014-07-04 to 2014-09-17, P1M, Day17]");
+  }
+
+  public void test_serialization() {
+    assertSerialization(CompactSchedule.of(SCHEDULE));
+  }
+
+}
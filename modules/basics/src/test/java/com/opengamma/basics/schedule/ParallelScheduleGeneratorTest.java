@@ -0,0 +1,142 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.basics.schedule;
+
+import static com.opengamma.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.collect.TestHelper.date;
+import static java.time.DayOfWeek.SATURDAY;
+import static java.time.DayOfWeek.SUNDAY;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.basics.date.BusinessDayAdjustment;
+import com.opengamma.basics.date.BusinessDayConventions;
+import com.opengamma.basics.date.HolidayCalendars;
+import com.opengamma.basics.date.ImmutableHolidayCalendar;
+import com.opengamma.collect.result.FailureReason;
+import com.opengamma.collect.result.Result;
+
+/**
+ * Test {@link ParallelScheduleGenerator}.
+ */
+@Test
+public class ParallelScheduleGeneratorTest {
+
+  private static final BusinessDayAdjustment FOLLOWING_GBLO =
+      BusinessDayAdjustment.of(BusinessDayConventions.FOLLOWING, HolidayCalendars.GBLO);
+  // a calendar that can only be queried in 2015
+  private static final BusinessDayAdjustment FOLLOWING_2015 = BusinessDayAdjustment.of(
+      BusinessDayConventions.FOLLOWING,
+      ImmutableHolidayCalendar.of("Test2015", ImmutableList.of(date(2015, 12, 25)), SATURDAY, SUNDAY));
+  private static final PeriodicSchedule SEMI_ANNUAL = PeriodicSchedule.of(
+      date(2016, 3, 15), date(2026, 3, 15), Frequency.P6M, FOLLOWING_GBLO, StubConvention.SHORT_FINAL, false);
+  private static final PeriodicSchedule MONTHLY = PeriodicSchedule.of(
+      date(2015, 1, 5), date(2020, 1, 5), Frequency.P1M, FOLLOWING_GBLO, StubConvention.SHORT_INITIAL, false);
+  // the roll convention does not match the start date, so generating the schedule throws ScheduleException
+  private static final PeriodicSchedule BAD_ROLL = PeriodicSchedule.builder()
+      .startDate(date(2016, 3, 17))
+      .endDate(date(2016, 9, 17))
+      .frequency(Frequency.P3M)
+      .businessDayAdjustment(FOLLOWING_GBLO)
+      .stubConvention(StubConvention.SHORT_FINAL)
+      .rollConvention(RollConventions.DAY_11)
+      .build();
+  // the dates are outside the range of the calendar, so adjusting throws IllegalArgumentException
+  private static final PeriodicSchedule OUTSIDE_CALENDAR = PeriodicSchedule.of(
+      date(2015, 6, 15), date(2017, 6, 15), Frequency.P6M, FOLLOWING_2015, StubConvention.SHORT_INITIAL, false);
+
+  //-------------------------------------------------------------------------
+  public void test_createSchedules() {
+    ParallelScheduleGenerator test = ParallelScheduleGenerator.ofCommonPool();
+    List<PeriodicSchedule> definitions = Arrays.asList(SEMI_ANNUAL, BAD_ROLL, MONTHLY, SEMI_ANNUAL);
+    ImmutableList<Result<Schedule>> results = test.createSchedules(definitions);
+    assertEquals(results.size(), 4);
+    assertEquals(results.get(0).getValue(), SEMI_ANNUAL.createSchedule());
+    assertEquals(results.get(1).isSuccess(), false);
+    assertEquals(results.get(1).getFailure().getReason(), FailureReason.INVALID_INPUT);
+    assertEquals(results.get(2).getValue(), MONTHLY.createSchedule());
+    assertSame(results.get(3), results.get(0));
+  }
+
+  public void test_createSchedules_equalInstances() {
+    // distinct instances that are equal share the result of the first occurrence
+    PeriodicSchedule copy1 = SEMI_ANNUAL.toBuilder().build();
+    PeriodicSchedule copy2 = PeriodicSchedule.of(
+        date(2016, 3, 15), date(2026, 3, 15), Frequency.P6M, FOLLOWING_GBLO, StubConvention.SHORT_FINAL, false);
+    assertNotSame(copy1, SEMI_ANNUAL);
+    assertNotSame(copy2, SEMI_ANNUAL);
+    ParallelScheduleGenerator test = ParallelScheduleGenerator.ofCommonPool();
+    ImmutableList<Result<Schedule>> results = test.createSchedules(Arrays.asList(copy1, MONTHLY, SEMI_ANNUAL, copy2));
+    assertEquals(results.size(), 4);
+    assertEquals(results.get(0).getValue(), SEMI_ANNUAL.createSchedule());
+    assertEquals(results.get(1).getValue(), MONTHLY.createSchedule());
+    assertSame(results.get(2), results.get(0));
+    assertSame(results.get(3), results.get(0));
+  }
+
+  public void test_createSchedules_error() {
+    // an exception other than ScheduleException is an error, not invalid input
+    ParallelScheduleGenerator test = ParallelScheduleGenerator.ofCommonPool();
+    ImmutableList<Result<Schedule>> results = test.createSchedules(Arrays.asList(OUTSIDE_CALENDAR, MONTHLY, BAD_ROLL));
+    assertEquals(results.size(), 3);
+    assertEquals(results.get(0).isSuccess(), false);
+    assertEquals(results.get(0).getFailure().getReason(), FailureReason.ERROR);
+    assertEquals(results.get(1).getValue(), MONTHLY.createSchedule());
+    assertEquals(results.get(2).getFailure().getReason(), FailureReason.INVALID_INPUT);
+  }
+
+  public void test_createSchedules_large() {
+    List<PeriodicSchedule> definitions = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      LocalDate start = date(2015, 1, 5).plusDays(i % 500);
+      definitions.add(MONTHLY.toBuilder().startDate(start).endDate(start.plusYears(5)).build());
+    }
+    ForkJoinPool pool = new ForkJoinPool(4);
+    ImmutableList<Result<Schedule>> results;
+    try {
+      results = ParallelScheduleGenerator.of(pool).createSchedules(definitions);
+    } finally {
+      pool.shutdown();
+    }
+    assertEquals(results.size(), 2000);
+    for (int i = 0; i < 2000; i++) {
+      assertTrue(results.get(i).isSuccess());
+      assertEquals(results.get(i).getValue(), definitions.get(i).createSchedule());
+    }
+    assertSame(results.get(500), results.get(0));
+  }
+
+  public void test_createSchedules_empty() {
+    ParallelScheduleGenerator test = ParallelScheduleGenerator.ofCommonPool();
+    assertEquals(test.createSchedules(ImmutableList.of()), ImmutableList.of());
+  }
+
+  public void test_invalid() {
+    ParallelScheduleGenerator test = ParallelScheduleGenerator.ofCommonPool();
+    assertThrowsIllegalArg(() -> test.createSchedules(null));
+    assertThrowsIllegalArg(() -> test.createSchedules(Arrays.asList(SEMI_ANNUAL, null)));
+    assertThrowsIllegalArg(() -> ParallelScheduleGenerator.of(null));
+  }
+
+  public void test_toString() {
+    ForkJoinPool pool = new ForkJoinPool(2);
+    ParallelScheduleGenerator test = ParallelScheduleGenerator.of(pool);
+    assertEquals(test.toString(), "ParallelScheduleGenerator[parallelism=2]");
+    pool.shutdown();
+  }
+
+}
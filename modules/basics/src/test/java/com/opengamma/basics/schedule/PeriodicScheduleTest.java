@@ -386,6 +386,7 @@ public class PeriodicScheduleTest {
     }
     assertEquals(test.getFrequency(), freq);
     assertEquals(test.getRollConvention(), defn.getEffectiveRollConvention());
+    assertEquals(defn.createCompactSchedule().toSchedule(), test);
   }
 
   @Test(dataProvider = "generation")
@@ -445,6 +446,40 @@ public class PeriodicScheduleTest {
     assertEquals(test.createAdjustedDates(), ImmutableList.of(date(2014, 10, 3), date(2015, 1, 5), date(2015, 4, 3)));
   }
 
+  //-------------------------------------------------------------------------
+  public void test_longDated_daily_backwards() {
+    PeriodicSchedule defn = PeriodicSchedule.builder()
+        .startDate(date(2015, 1, 5))
+        .endDate(date(2045, 1, 5))
+        .frequency(Frequency.P1D)
+        .businessDayAdjustment(BusinessDayAdjustment.NONE)
+        .stubConvention(SHORT_INITIAL)
+        .build();
+    ImmutableList<LocalDate> test = defn.createUnadjustedDates();
+    assertEquals(test.size(), 10959);
+    assertEquals(test.get(0), date(2015, 1, 5));
+    assertEquals(test.get(1), date(2015, 1, 6));
+    assertEquals(test.get(10958), date(2045, 1, 5));
+    assertEquals(defn.createSchedule().getPeriods().size(), 10958);
+  }
+
+  public void test_longDated_weekly_backwardsLongStub() {
+    // 2015-01-06 is a Tuesday, the end date a Monday, thus the initial stub is six days
+    PeriodicSchedule defn = PeriodicSchedule.builder()
+        .startDate(date(2015, 1, 6))
+        .endDate(date(2045, 1, 2))
+        .frequency(Frequency.P1W)
+        .businessDayAdjustment(BusinessDayAdjustment.NONE)
+        .stubConvention(LONG_INITIAL)
+        .build();
+    ImmutableList<LocalDate> test = defn.createUnadjustedDates();
+    assertEquals(test.get(0), date(2015, 1, 6));
+    assertEquals(test.get(1), date(2015, 1, 19));
+    assertEquals(test.get(2), date(2015, 1, 26));
+    assertEquals(test.get(test.size() - 1), date(2045, 1, 2));
+    assertEquals(test.size(), 1565);
+  }
+
   //-------------------------------------------------------------------------
   @Test(expectedExceptions = ScheduleException.class)
   public void test_none_badStub() {
@@ -628,6 +663,21 @@ public class PeriodicScheduleTest {
     defn.createSchedule();
   }
 
+  @Test(expectedExceptions = ScheduleException.class, expectedExceptionsMessageRegExp = ".*duplicate adjusted dates.*")
+  public void test_emptyWhenAdjusted_twoPeriods_createCompactSchedule() {
+    PeriodicSchedule defn = PeriodicSchedule.builder()
+        .startDate(date(2015, 5, 27))
+        .endDate(date(2015, 5, 31))
+        .frequency(Frequency.ofDays(2))
+        .businessDayAdjustment(BDA)
+        .stubConvention(STUB_NONE)
+        .rollConvention(null)
+        .firstRegularStartDate(null)
+        .lastRegularEndDate(null)
+        .build();
+    defn.createCompactSchedule();
+  }
+
   @Test(
       expectedExceptions = ScheduleException.class,
       expectedExceptionsMessageRegExp = "Schedule calculation resulted in invalid period")
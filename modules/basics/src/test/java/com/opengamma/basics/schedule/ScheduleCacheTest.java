@@ -0,0 +1,108 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.basics.schedule;
+
+import static com.opengamma.collect.TestHelper.assertThrows;
+import static com.opengamma.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableList;
+import com.opengamma.basics.date.BusinessDayAdjustment;
+import com.opengamma.basics.date.BusinessDayConventions;
+import com.opengamma.basics.date.HolidayCalendars;
+
+/**
+ * Test {@link ScheduleCache}.
+ */
+@Test
+public class ScheduleCacheTest {
+
+  private static final BusinessDayAdjustment BDA =
+      BusinessDayAdjustment.of(BusinessDayConventions.MODIFIED_FOLLOWING, HolidayCalendars.SAT_SUN);
+  private static final PeriodicSchedule QUARTERLY = PeriodicSchedule.of(
+      date(2015, 1, 5), date(2025, 1, 5), Frequency.P3M, BDA, StubConvention.SHORT_INITIAL, false);
+  private static final PeriodicSchedule DAILY = PeriodicSchedule.of(
+      date(2015, 1, 5), date(2016, 1, 5), Frequency.P1D,
+      BusinessDayAdjustment.NONE, StubConvention.SHORT_INITIAL, false);
+  private static final PeriodicSchedule INVALID = PeriodicSchedule.builder()
+      .startDate(date(2014, 6, 4))
+      .endDate(date(2014, 9, 17))
+      .frequency(Frequency.P1M)
+      .businessDayAdjustment(BDA)
+      .stubConvention(StubConvention.NONE)
+      .rollConvention(RollConventions.DAY_4)
+      .build();
+
+  //-------------------------------------------------------------------------
+  public void test_createSchedule() {
+    ScheduleCache test = ScheduleCache.ofMaximumSize(10);
+    Schedule schedule = test.createSchedule(QUARTERLY);
+    assertEquals(schedule, QUARTERLY.createSchedule());
+    // an equal definition shares the result
+    PeriodicSchedule copy = QUARTERLY.toBuilder().build();
+    assertSame(test.createSchedule(copy), schedule);
+    CacheStats stats = test.getStats();
+    assertEquals(stats.hitCount(), 1);
+    assertEquals(stats.missCount(), 1);
+    assertEquals(test.size(), 1);
+  }
+
+  public void test_createDates() {
+    ScheduleCache test = ScheduleCache.ofMaximumSize(10);
+    ImmutableList<LocalDate> unadjusted = test.createUnadjustedDates(QUARTERLY);
+    ImmutableList<LocalDate> adjusted = test.createAdjustedDates(QUARTERLY);
+    assertEquals(unadjusted, QUARTERLY.createUnadjustedDates());
+    assertEquals(adjusted, QUARTERLY.createAdjustedDates());
+    assertSame(test.createUnadjustedDates(QUARTERLY), unadjusted);
+    assertSame(test.createAdjustedDates(QUARTERLY), adjusted);
+    assertEquals(test.getStats().hitCount(), 2);
+    assertEquals(test.getStats().missCount(), 2);
+    assertEquals(test.size(), 2);
+    test.clear();
+    assertEquals(test.size(), 0);
+    assertEquals(test.toString(), "ScheduleCache[0 results]");
+  }
+
+  public void test_invalid() {
+    ScheduleCache test = ScheduleCache.ofMaximumSize(10);
+    assertThrows(() -> test.createSchedule(INVALID), ScheduleException.class);
+    assertThrows(() -> test.createUnadjustedDates(INVALID), ScheduleException.class);
+    assertThrows(() -> test.createAdjustedDates(INVALID), ScheduleException.class);
+    assertEquals(test.size(), 0);
+    assertThrowsIllegalArg(() -> test.createSchedule(null));
+    assertThrowsIllegalArg(() -> ScheduleCache.ofMaximumSize(-1));
+    assertThrowsIllegalArg(() -> ScheduleCache.ofMaximumWeight(-1));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_evictionBySize() {
+    ScheduleCache test = ScheduleCache.ofMaximumSize(1);
+    test.createSchedule(QUARTERLY);
+    test.createSchedule(DAILY);
+    assertEquals(test.size(), 1);
+    assertEquals(test.getStats().evictionCount(), 1);
+  }
+
+  public void test_evictionByWeight() {
+    // each daily schedule has 365 periods, thus only a few fit
+    ScheduleCache test = ScheduleCache.ofMaximumWeight(2000);
+    for (int i = 0; i < 10; i++) {
+      Schedule daily = test.createSchedule(DAILY.toBuilder().startDate(DAILY.getStartDate().plusDays(i)).build());
+      assertEquals(daily.size(), 365 - i);
+    }
+    assertTrue(test.size() < 6);
+    assertTrue(test.getStats().evictionCount() > 4);
+  }
+
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ * 
+ * Please see distribution for license.
+ */
+package com.opengamma.benchmarks;
+
+import static com.opengamma.basics.currency.Currency.AUD;
+import static com.opengamma.basics.currency.Currency.CHF;
+import static com.opengamma.basics.currency.Currency.EUR;
+import static com.opengamma.basics.currency.Currency.GBP;
+import static com.opengamma.basics.currency.Currency.JPY;
+import static com.opengamma.basics.currency.Currency.USD;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.basics.currency.CurrencyAmount;
+import com.opengamma.basics.currency.FxMatrix;
+import com.opengamma.basics.currency.MultiCurrencyAmount;
+
+/**
+ * Benchmarks {@link FxMatrix} and {@link MultiCurrencyAmount}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CurrencyBenchmark {
+
+  private FxMatrix matrix;
+  private CurrencyAmount gbpAmount;
+  private MultiCurrencyAmount multiAmount1;
+  private MultiCurrencyAmount multiAmount2;
+
+  @Setup
+  public void setUp() {
+    matrix = FxMatrix.builder()
+        .addRate(GBP, USD, 1.55)
+        .addRate(EUR, USD, 1.12)
+        .addRate(USD, JPY, 120.5)
+        .addRate(USD, CHF, 0.97)
+        .addRate(AUD, USD, 0.72)
+        .build();
+    gbpAmount = CurrencyAmount.of(GBP, 1_000_000);
+    multiAmount1 = MultiCurrencyAmount.of(
+        CurrencyAmount.of(GBP, 1_000),
+        CurrencyAmount.of(USD, 2_000),
+        CurrencyAmount.of(EUR, 3_000),
+        CurrencyAmount.of(JPY, 400_000));
+    multiAmount2 = MultiCurrencyAmount.of(
+        CurrencyAmount.of(USD, 5_000),
+        CurrencyAmount.of(CHF, 6_000),
+        CurrencyAmount.of(AUD, 7_000));
+  }
+
+  //-------------------------------------------------------------------------
+  @Benchmark
+  public double getRate() {
+    return matrix.getRate(GBP, JPY);
+  }
+
+  @Benchmark
+  public CurrencyAmount convertCurrencyAmount() {
+    return matrix.convert(gbpAmount, JPY);
+  }
+
+  @Benchmark
+  public CurrencyAmount convertMultiCurrencyAmount() {
+    return matrix.convert(multiAmount1, USD);
+  }
+
+  //-------------------------------------------------------------------------
+  @Benchmark
+  public MultiCurrencyAmount plusCurrencyAmount() {
+    return multiAmount1.plus(gbpAmount);
+  }
+
+  @Benchmark
+  public MultiCurrencyAmount plusMultiCurrencyAmount() {
+    return multiAmount1.plus(multiAmount2);
+  }
+
+}
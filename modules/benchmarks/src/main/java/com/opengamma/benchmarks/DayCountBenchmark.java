@@ -0,0 +1,78 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ * 
+ * Please see distribution for license.
+ */
+package com.opengamma.benchmarks;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.opengamma.basics.date.DayCount;
+
+/**
+ * Benchmarks {@link DayCount}.
+ * <p>
+ * Each invocation calculates the year fraction of a block of quarterly periods.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DayCountBenchmark {
+
+  /**
+   * The number of periods in each invocation.
+   */
+  private static final int PERIOD_COUNT = 120;
+
+  /**
+   * The day count to benchmark.
+   */
+  @Param({"Act/360", "Act/365F", "Act/Act ISDA", "30/360 ISDA", "30E/360", "NL/365"})
+  private String dayCountName;
+
+  private DayCount dayCount;
+  private LocalDate[] dates;
+
+  @Setup
+  public void setUp() {
+    dayCount = DayCount.of(dayCountName);
+    dates = new LocalDate[PERIOD_COUNT + 1];
+    LocalDate base = LocalDate.of(2015, 1, 31);
+    for (int i = 0; i <= PERIOD_COUNT; i++) {
+      dates[i] = base.plusMonths(i * 3);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Benchmark
+  public void yearFraction(Blackhole bh) {
+    for (int i = 0; i < PERIOD_COUNT; i++) {
+      bh.consume(dayCount.yearFraction(dates[i], dates[i + 1]));
+    }
+  }
+
+  @Benchmark
+  public void relativeYearFraction(Blackhole bh) {
+    for (int i = 0; i < PERIOD_COUNT; i++) {
+      bh.consume(dayCount.relativeYearFraction(dates[i + 1], dates[i]));
+    }
+  }
+
+}
@@ -0,0 +1,126 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ * 
+ * Please see distribution for license.
+ */
+package com.opengamma.benchmarks;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.opengamma.basics.date.HolidayCalendar;
+
+/**
+ * Benchmarks {@link HolidayCalendar}.
+ * <p>
+ * Each invocation queries a block of dates spread over ten years, to avoid
+ * measuring a single branch-predicted path through the calendar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HolidayCalendarBenchmark {
+
+  /**
+   * The number of dates queried in each invocation.
+   */
+  private static final int DATE_COUNT = 1024;
+
+  /**
+   * The calendar to benchmark.
+   */
+  @Param({"GBLO", "USNY", "GBLO+USNY+EUTA"})
+  private String calendarName;
+
+  private HolidayCalendar calendar;
+  private LocalDate[] dates;
+
+  @Setup
+  public void setUp() {
+    calendar = HolidayCalendar.of(calendarName);
+    dates = new LocalDate[DATE_COUNT];
+    LocalDate base = LocalDate.of(2015, 1, 1);
+    for (int i = 0; i < DATE_COUNT; i++) {
+      dates[i] = base.plusDays((i * 37) % 3650);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Benchmark
+  public void isHoliday(Blackhole bh) {
+    for (LocalDate date : dates) {
+      bh.consume(calendar.isHoliday(date));
+    }
+  }
+
+  @Benchmark
+  public void next(Blackhole bh) {
+    for (LocalDate date : dates) {
+      bh.consume(calendar.next(date));
+    }
+  }
+
+  @Benchmark
+  public void nextOrSame(Blackhole bh) {
+    for (LocalDate date : dates) {
+      bh.consume(calendar.nextOrSame(date));
+    }
+  }
+
+  @Benchmark
+  public void previous(Blackhole bh) {
+    for (LocalDate date : dates) {
+      bh.consume(calendar.previous(date));
+    }
+  }
+
+  @Benchmark
+  public void shiftForward2(Blackhole bh) {
+    for (LocalDate date : dates) {
+      bh.consume(calendar.shift(date, 2));
+    }
+  }
+
+  @Benchmark
+  public void shiftBackward2(Blackhole bh) {
+    for (LocalDate date : dates) {
+      bh.consume(calendar.shift(date, -2));
+    }
+  }
+
+  @Benchmark
+  public void shiftForward20(Blackhole bh) {
+    for (LocalDate date : dates) {
+      bh.consume(calendar.shift(date, 20));
+    }
+  }
+
+  @Benchmark
+  public void nextSameOrLastInMonth(Blackhole bh) {
+    for (LocalDate date : dates) {
+      bh.consume(calendar.nextSameOrLastInMonth(date));
+    }
+  }
+
+  @Benchmark
+  public int daysBetween30Years() {
+    return calendar.daysBetween(LocalDate.of(2015, 1, 1), LocalDate.of(2045, 1, 1));
+  }
+
+}
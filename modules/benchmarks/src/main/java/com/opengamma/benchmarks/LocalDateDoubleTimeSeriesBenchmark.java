@@ -0,0 +1,131 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ * 
+ * Please see distribution for license.
+ */
+package com.opengamma.benchmarks;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.opengamma.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+
+/**
+ * Benchmarks {@link LocalDateDoubleTimeSeries}.
+ * <p>
+ * The 'dense' series has a value for every weekday over 20 years.
+ * The 'sparse' series has a value for one day in ten over the same period.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocalDateDoubleTimeSeriesBenchmark {
+
+  private static final LocalDate START = LocalDate.of(1995, 1, 2);
+  private static final LocalDate END = LocalDate.of(2015, 1, 2);
+
+  /**
+   * The density of the series.
+   */
+  @Param({"dense", "sparse"})
+  private String density;
+
+  private LocalDateDoubleTimeSeries series;
+  private LocalDateDoubleTimeSeries otherSeries;
+  private LocalDate[] lookupDates;
+
+  @Setup
+  public void setUp() {
+    int step = density.equals("dense") ? 1 : 10;
+    series = create(step, 0);
+    otherSeries = create(step, 3);
+    lookupDates = new LocalDate[1024];
+    for (int i = 0; i < lookupDates.length; i++) {
+      lookupDates[i] = START.plusDays((i * 7) % 7300);
+    }
+  }
+
+  // creates a series of weekday points
+  private static LocalDateDoubleTimeSeries create(int step, int offset) {
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    int i = 0;
+    for (LocalDate date = START.plusDays(offset); date.isBefore(END); date = date.plusDays(step)) {
+      if (date.getDayOfWeek() != DayOfWeek.SATURDAY && date.getDayOfWeek() != DayOfWeek.SUNDAY) {
+        builder.put(date, 100d + (i++ % 17));
+      }
+    }
+    return builder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  @Benchmark
+  public LocalDateDoubleTimeSeries build() {
+    return series.toBuilder().build();
+  }
+
+  @Benchmark
+  public int size() {
+    return series.size();
+  }
+
+  @Benchmark
+  public void get(Blackhole bh) {
+    for (LocalDate date : lookupDates) {
+      bh.consume(series.get(date));
+    }
+  }
+
+  @Benchmark
+  public LocalDate getLatestDate() {
+    return series.getLatestDate();
+  }
+
+  @Benchmark
+  public LocalDateDoubleTimeSeries subSeries() {
+    return series.subSeries(LocalDate.of(2005, 1, 1), LocalDate.of(2006, 1, 1));
+  }
+
+  @Benchmark
+  public LocalDateDoubleTimeSeries tailSeries() {
+    return series.tailSeries(250);
+  }
+
+  @Benchmark
+  public LocalDateDoubleTimeSeries mapValues() {
+    return series.mapValues(v -> v * 2);
+  }
+
+  @Benchmark
+  public LocalDateDoubleTimeSeries combineWith() {
+    return series.combineWith(otherSeries, (a, b) -> a - b);
+  }
+
+  @Benchmark
+  public double sumValues() {
+    return series.values().sum();
+  }
+
+  @Benchmark
+  public void forEach(Blackhole bh) {
+    series.forEach((date, value) -> bh.consume(value));
+  }
+
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ * 
+ * Please see distribution for license.
+ */
+package com.opengamma.benchmarks;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.basics.date.BusinessDayAdjustment;
+import com.opengamma.basics.date.BusinessDayConventions;
+import com.opengamma.basics.date.HolidayCalendars;
+import com.opengamma.basics.schedule.Frequency;
+import com.opengamma.basics.schedule.PeriodicSchedule;
+import com.opengamma.basics.schedule.RollConventions;
+import com.opengamma.basics.schedule.Schedule;
+import com.opengamma.basics.schedule.StubConvention;
+
+/**
+ * Benchmarks {@link PeriodicSchedule}.
+ * <p>
+ * The schedules are 30 years long, rolling backwards with a short initial stub,
+ * which is the most common case for swap legs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PeriodicScheduleBenchmark {
+
+  /**
+   * The frequency of the schedule.
+   */
+  @Param({"P1D", "P1W", "P1M", "P3M", "P12M"})
+  private String frequency;
+
+  private PeriodicSchedule definition;
+
+  @Setup
+  public void setUp() {
+    BusinessDayAdjustment bda = BusinessDayAdjustment.of(
+        BusinessDayConventions.MODIFIED_FOLLOWING,
+        HolidayCalendars.GBLO.combineWith(HolidayCalendars.USNY));
+    definition = PeriodicSchedule.builder()
+        .startDate(LocalDate.of(2015, 3, 17))
+        .endDate(LocalDate.of(2045, 3, 17))
+        .frequency(Frequency.parse(frequency))
+        .businessDayAdjustment(bda)
+        .stubConvention(StubConvention.SHORT_INITIAL)
+        .rollConvention(RollConventions.NONE)
+        .build();
+  }
+
+  //-------------------------------------------------------------------------
+  @Benchmark
+  public Schedule createSchedule() {
+    return definition.createSchedule();
+  }
+
+  @Benchmark
+  public ImmutableList<LocalDate> createUnadjustedDates() {
+    return definition.createUnadjustedDates();
+  }
+
+  @Benchmark
+  public ImmutableList<LocalDate> createAdjustedDates() {
+    return definition.createAdjustedDates();
+  }
+
+}
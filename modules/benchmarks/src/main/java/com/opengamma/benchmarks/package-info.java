@@ -0,0 +1,12 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ * 
+ * Please see distribution for license.
+ */
+
+/**
+ * JMH benchmarks for OpenGamma Commons.
+ * <p>
+ * Run using {@code java -jar target/benchmarks.jar}.
+ */
+package com.opengamma.benchmarks;
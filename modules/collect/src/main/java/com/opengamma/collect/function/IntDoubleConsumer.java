@@ -0,0 +1,44 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.collect.function;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * An operation consuming two arguments - one {@code int} and one {@code double}.
+ * <p>
+ * This takes two primitive arguments and returns no result, avoiding boxing.
+ *
+ * @see BiConsumer
+ */
+@FunctionalInterface
+public interface IntDoubleConsumer {
+
+  /**
+   * Performs the operation.
+   *
+   * @param intValue  the first argument
+   * @param doubleValue  the second argument
+   */
+  void accept(int intValue, double doubleValue);
+
+  /**
+   * Returns a new consumer that performs this operation followed by the other operation.
+   *
+   * @param other  the operation to perform after this one
+   * @return the combined consumer
+   * @throws NullPointerException if the other consumer is null
+   */
+  default IntDoubleConsumer andThen(IntDoubleConsumer other) {
+    Objects.requireNonNull(other);
+    return (intValue, doubleValue) -> {
+      accept(intValue, doubleValue);
+      other.accept(intValue, doubleValue);
+    };
+  }
+
+}
@@ -0,0 +1,214 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.collect.timeseries;
+
+import java.util.Arrays;
+import java.util.function.DoubleBinaryOperator;
+
+import com.opengamma.collect.ArgChecker;
+
+/**
+ * Arithmetic operations applied in bulk to the values of a time-series.
+ * <p>
+ * Each operation is applied to whole arrays in a simple loop, avoiding a function call per point.
+ * Where an input is NaN, representing a missing value, the result is NaN.
+ */
+enum BulkOperation implements DoubleBinaryOperator {
+
+  /**
+   * Addition.
+   */
+  PLUS {
+    @Override
+    public double applyAsDouble(double left, double right) {
+      return left + right;
+    }
+
+    @Override
+    void apply(double[] left, int leftFrom, double right, double[] result, int length) {
+      for (int i = 0; i < length; i++) {
+        result[i] = left[leftFrom + i] + right;
+      }
+    }
+
+    @Override
+    void apply(double[] left, int leftFrom, double[] right, int rightFrom, double[] result, int length) {
+      for (int i = 0; i < length; i++) {
+        result[i] = left[leftFrom + i] + right[rightFrom + i];
+      }
+    }
+  },
+  /**
+   * Subtraction.
+   */
+  MINUS {
+    @Override
+    public double applyAsDouble(double left, double right) {
+      return left - right;
+    }
+
+    @Override
+    void apply(double[] left, int leftFrom, double right, double[] result, int length) {
+      for (int i = 0; i < length; i++) {
+        result[i] = left[leftFrom + i] - right;
+      }
+    }
+
+    @Override
+    void apply(double[] left, int leftFrom, double[] right, int rightFrom, double[] result, int length) {
+      for (int i = 0; i < length; i++) {
+        result[i] = left[leftFrom + i] - right[rightFrom + i];
+      }
+    }
+  },
+  /**
+   * Multiplication.
+   */
+  MULTIPLY {
+    @Override
+    public double applyAsDouble(double left, double right) {
+      return left * right;
+    }
+
+    @Override
+    void apply(double[] left, int leftFrom, double right, double[] result, int length) {
+      for (int i = 0; i < length; i++) {
+        result[i] = left[leftFrom + i] * right;
+      }
+    }
+
+    @Override
+    void apply(double[] left, int leftFrom, double[] right, int rightFrom, double[] result, int length) {
+      for (int i = 0; i < length; i++) {
+        result[i] = left[leftFrom + i] * right[rightFrom + i];
+      }
+    }
+  },
+  /**
+   * Division.
+   */
+  DIVIDE {
+    @Override
+    public double applyAsDouble(double left, double right) {
+      return left / right;
+    }
+
+    @Override
+    void apply(double[] left, int leftFrom, double right, double[] result, int length) {
+      for (int i = 0; i < length; i++) {
+        result[i] = left[leftFrom + i] / right;
+      }
+    }
+
+    @Override
+    void apply(double[] left, int leftFrom, double[] right, int rightFrom, double[] result, int length) {
+      for (int i = 0; i < length; i++) {
+        result[i] = left[leftFrom + i] / right[rightFrom + i];
+      }
+    }
+  };
+
+  //-------------------------------------------------------------------------
+  /**
+   * Applies the operation to part of an array and a scalar.
+   *
+   * @param left  the left array
+   * @param leftFrom  the first index to use in the left array
+   * @param right  the right scalar
+   * @param result  the array to store the result in, from index zero
+   * @param length  the number of elements to process
+   */
+  abstract void apply(double[] left, int leftFrom, double right, double[] result, int length);
+
+  /**
+   * Applies the operation to parts of two arrays.
+   *
+   * @param left  the left array
+   * @param leftFrom  the first index to use in the left array
+   * @param right  the right array
+   * @param rightFrom  the first index to use in the right array
+   * @param result  the array to store the result in, from index zero
+   * @param length  the number of elements to process
+   */
+  abstract void apply(double[] left, int leftFrom, double[] right, int rightFrom, double[] result, int length);
+
+  //-------------------------------------------------------------------------
+  /**
+   * Applies the operation to each value of a time-series and a scalar.
+   *
+   * @param series  the time-series
+   * @param amount  the scalar
+   * @return the resulting time-series, with the same dates
+   */
+  LocalDateDoubleTimeSeries apply(LocalDateDoubleTimeSeries series, double amount) {
+    if (series instanceof SparseLocalDateDoubleTimeSeries) {
+      return ((SparseLocalDateDoubleTimeSeries) series).apply(this, amount);
+    }
+    if (series instanceof DenseLocalDateDoubleTimeSeries) {
+      return ((DenseLocalDateDoubleTimeSeries) series).apply(this, amount);
+    }
+    double[] values = series.values().toArray();
+    apply(values, 0, amount, values, values.length);
+    return LocalDateDoubleTimeSeriesBuilder.withValues(series, values);
+  }
+
+  /**
+   * Applies the operation to the values of two time-series on the dates in common.
+   *
+   * @param series  the left time-series
+   * @param other  the right time-series
+   * @return the resulting time-series, containing the dates in common
+   */
+  LocalDateDoubleTimeSeries apply(LocalDateDoubleTimeSeries series, LocalDateDoubleTimeSeries other) {
+    ArgChecker.notNull(other, "other");
+    if (series instanceof SparseLocalDateDoubleTimeSeries && other instanceof SparseLocalDateDoubleTimeSeries) {
+      return ((SparseLocalDateDoubleTimeSeries) series).apply(this, (SparseLocalDateDoubleTimeSeries) other);
+    }
+    if (series instanceof DenseLocalDateDoubleTimeSeries && other instanceof DenseLocalDateDoubleTimeSeries) {
+      return ((DenseLocalDateDoubleTimeSeries) series).apply(this, (DenseLocalDateDoubleTimeSeries) other);
+    }
+    return series.combineWith(other, this);
+  }
+
+  /**
+   * Calculates the returns of a time-series.
+   *
+   * @param series  the time-series
+   * @param lag  the number of points between the values compared, one or greater
+   * @param log  true for log returns, false for simple returns
+   * @return the time-series of returns, without the first points
+   */
+  static LocalDateDoubleTimeSeries returns(LocalDateDoubleTimeSeries series, int lag, boolean log) {
+    ArgChecker.notNegativeOrZero(lag, "lag");
+    int[] dates = LocalDateDoubleTimeSeriesBuilder.epochDays(series);
+    double[] values = series.values().toArray();
+    int size = values.length - lag;
+    if (size <= 0) {
+      return LocalDateDoubleTimeSeries.empty();
+    }
+    double[] result = new double[size];
+    DIVIDE.apply(values, lag, values, 0, result, size);
+    if (log) {
+      for (int i = 0; i < size; i++) {
+        result[i] = Math.log(result[i]);
+      }
+    } else {
+      MINUS.apply(result, 0, 1d, result, size);
+    }
+    checkNotNaN(result, size);
+    return LocalDateDoubleTimeSeriesBuilder.createSorted(Arrays.copyOfRange(dates, lag, lag + size), result, size);
+  }
+
+  // checks that the values do not contain NaN
+  static void checkNotNaN(double[] values, int size) {
+    for (int i = 0; i < size; i++) {
+      if (Double.isNaN(values[i])) {
+        throw new IllegalArgumentException("NaN is not allowed as a value");
+      }
+    }
+  }
+
+}
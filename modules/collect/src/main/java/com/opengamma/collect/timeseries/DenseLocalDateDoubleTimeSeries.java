@@ -15,10 +15,10 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.OptionalDouble;
 import java.util.Set;
+import java.util.function.DoubleBinaryOperator;
 import java.util.function.DoubleUnaryOperator;
 import java.util.function.ObjDoubleConsumer;
 import java.util.stream.DoubleStream;
-import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.joda.beans.Bean;
@@ -37,6 +37,7 @@ import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 
 import com.google.common.collect.Ordering;
 import com.opengamma.collect.ArgChecker;
+import com.opengamma.collect.function.IntDoubleConsumer;
 import com.opengamma.collect.function.ObjDoublePredicate;
 
 /**
@@ -47,6 +48,9 @@ import com.opengamma.collect.function.ObjDoublePredicate;
  * choice for the data.
  * <p>
  * This implementation uses arrays internally.
+ * <p>
+ * Sub-series are views onto part of the points array of this series, thus do not copy the data.
+ * When serialized, a view is compacted to contain only its own points.
  */
 @BeanDefinition(builderScope = "private")
 class DenseLocalDateDoubleTimeSeries
@@ -176,7 +180,7 @@ class DenseLocalDateDoubleTimeSeries
    * The date for each value is calculated using the position
    * in the array and the start date.
    */
-  @PropertyDefinition(get = "private", validate = "notNull")
+  @PropertyDefinition(get = "manual", validate = "notNull")
   private final double[] points;
 
   /**
@@ -185,6 +189,31 @@ class DenseLocalDateDoubleTimeSeries
    */
   @PropertyDefinition(get = "private", validate = "notNull")
   private final DenseTimeSeriesCalculation dateCalculation;
+  /**
+   * The index in the points array of the start date.
+   */
+  private final transient int offset;
+  /**
+   * The number of elements of the points array in the series.
+   */
+  private final transient int length;
+  /**
+   * The number of valid points, derived from the points array.
+   */
+  private final transient int size;
+  /**
+   * The index in the points array of the first valid point, -1 if empty.
+   */
+  private final transient int firstIndex;
+  /**
+   * The index in the points array of the last valid point, -1 if empty.
+   */
+  private final transient int lastIndex;
+  /**
+   * The cumulative count of valid points, shared with views of the same points array.
+   * Element i is the number of valid points before index i, null until first needed.
+   */
+  private transient volatile int[] validCounts;
 
   /**
    * Package protected factory method intended to be called
@@ -209,6 +238,48 @@ class DenseLocalDateDoubleTimeSeries
     return new DenseLocalDateDoubleTimeSeries(startDate, points, dateCalculation, true);
   }
 
+  /**
+   * Package protected factory method intended to be called
+   * by the {@link LocalDateDoubleTimeSeriesBuilder} with arrays
+   * that are already sorted.
+   *
+   * @param dates  the sorted dates, as epoch days
+   * @param values  the values
+   * @param size  the number of points to use from the arrays
+   * @param dateCalculation  the date calculation method to be used
+   * @return a new time-series
+   */
+  static LocalDateDoubleTimeSeries ofSorted(
+      int[] dates,
+      double[] values,
+      int size,
+      DenseTimeSeriesCalculation dateCalculation) {
+
+    // positions are calculated from the epoch days, avoiding LocalDate
+    boolean skipWeekends = (dateCalculation == DenseTimeSeriesCalculation.SKIP_WEEKENDS);
+    int start = skipWeekends ? weekdayIndex(dates[0]) : dates[0];
+    int end = skipWeekends ? weekdayIndex(dates[size - 1]) : dates[size - 1];
+    double[] points = new double[end - start + 1];
+    Arrays.fill(points, Double.NaN);
+    for (int i = 0; i < size; i++) {
+      int position = (skipWeekends ? weekdayIndex(dates[i]) : dates[i]) - start;
+      points[position] = values[i];
+    }
+    return new DenseLocalDateDoubleTimeSeries(LocalDate.ofEpochDay(dates[0]), points, dateCalculation, true);
+  }
+
+  // the number of weekdays from the Monday before the epoch to the specified weekday
+  private static int weekdayIndex(int epochDay) {
+    // 1970-01-01 was a Thursday, thus offset by 3 to make weeks start on Monday
+    int shifted = epochDay + 3;
+    return Math.floorDiv(shifted, 7) * 5 + Math.floorMod(shifted, 7);
+  }
+
+  // the epoch day of the weekday, the inverse of weekdayIndex(int)
+  private static int epochDayOfWeekdayIndex(int weekdayIndex) {
+    return Math.floorDiv(weekdayIndex, 5) * 7 + Math.floorMod(weekdayIndex, 5) - 3;
+  }
+
   // Private constructor, the trusted flag indicates whether the
   // points array should be cloned. If trusted, it will not be cloned.
   private DenseLocalDateDoubleTimeSeries(
@@ -217,10 +288,53 @@ class DenseLocalDateDoubleTimeSeries
       DenseTimeSeriesCalculation dateCalculation,
       boolean trusted) {
 
+    ArgChecker.notNull(startDate, "startDate");
     ArgChecker.notNull(points, "points");
-    this.startDate = ArgChecker.notNull(startDate, "startDate");
+    ArgChecker.notNull(dateCalculation, "dateCalculation");
+    this.startDate = startDate;
     this.points = trusted ? points : points.clone();
-    this.dateCalculation = ArgChecker.notNull(dateCalculation, "dateCalculation");
+    this.offset = 0;
+    this.length = points.length;
+    this.dateCalculation = dateCalculation;
+    // derive the cached state in a single pass
+    int count = 0;
+    int first = -1;
+    int last = -1;
+    for (int i = 0; i < length; i++) {
+      if (isValidPoint(this.points[i])) {
+        if (first < 0) {
+          first = i;
+        }
+        last = i;
+        count++;
+      }
+    }
+    this.size = count;
+    this.firstIndex = first;
+    this.lastIndex = last;
+  }
+
+  // Private constructor viewing part of the points array, without validation
+  // the start date is the date of the point at the offset
+  // the cached state is derived from the shared valid counts by binary search, not by scanning the view
+  private DenseLocalDateDoubleTimeSeries(
+      LocalDate startDate,
+      double[] points,
+      int offset,
+      int length,
+      DenseTimeSeriesCalculation dateCalculation,
+      int[] validCounts) {
+
+    this.startDate = startDate;
+    this.points = points;
+    this.offset = offset;
+    this.length = length;
+    this.dateCalculation = dateCalculation;
+    this.validCounts = validCounts;
+    int before = validCounts[offset];
+    this.size = validCounts[offset + length] - before;
+    this.firstIndex = (size == 0 ? -1 : findValidIndex(validCounts, offset, offset + length, before + 1));
+    this.lastIndex = (size == 0 ? -1 : findValidIndex(validCounts, offset, offset + length, before + size));
   }
 
   @ImmutableConstructor
@@ -231,14 +345,63 @@ class DenseLocalDateDoubleTimeSeries
     this(startDate, points, dateCalculation, false);
   }
 
+  // serialize only the points in the view
+  private Object writeReplace() {
+    return isView() ? new DenseLocalDateDoubleTimeSeries(startDate, getPoints(), dateCalculation, true) : this;
+  }
+
+  // derives the transient state after deserialization
+  private Object readResolve() {
+    return new DenseLocalDateDoubleTimeSeries(startDate, points, dateCalculation, true);
+  }
+
+  // checks if this is a view onto part of the points array
+  private boolean isView() {
+    return offset != 0 || length != points.length;
+  }
+
+  // gets the cumulative count of valid points, calculated once and shared with all views
+  private int[] validCounts() {
+    int[] counts = validCounts;
+    if (counts == null) {
+      counts = new int[points.length + 1];
+      for (int i = 0; i < points.length; i++) {
+        counts[i + 1] = counts[i] + (isValidPoint(points[i]) ? 1 : 0);
+      }
+      validCounts = counts;
+    }
+    return counts;
+  }
+
+  // finds the index of the point with the specified cumulative count, between from and to
+  // the counts never decrease, so this is the last index before the first count at least the target
+  private static int findValidIndex(int[] validCounts, int from, int to, int target) {
+    int low = from + 1;
+    int high = to;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (validCounts[mid] < target) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low - 1;
+  }
+
+  // gets the points in the series, manual getter as the array may be shared
+  private double[] getPoints() {
+    return Arrays.copyOfRange(points, offset, offset + length);
+  }
+
   @Override
   public boolean isEmpty() {
-    return !validIndices().findFirst().isPresent();
+    return size == 0;
   }
 
   @Override
   public int size() {
-    return (int) validIndices().count();
+    return size;
   }
 
   @Override
@@ -248,22 +411,26 @@ class DenseLocalDateDoubleTimeSeries
 
   @Override
   public OptionalDouble get(LocalDate date) {
-    if (!isEmpty() && !date.isBefore(startDate) && dateCalculation.allowsDate(date)) {
-      int position = dateCalculation.calculatePosition(startDate, date);
-      if (position < points.length) {
-        double value = points[position];
-        if (isValidPoint(value)) {
-          return OptionalDouble.of(value);
-        }
+    double value = getOrNaN(date);
+    return isValidPoint(value) ? OptionalDouble.of(value) : OptionalDouble.empty();
+  }
+
+  // gets the value for the date, NaN if not present
+  double getOrNaN(LocalDate date) {
+    if (size != 0 && !date.isBefore(startDate) && dateCalculation.allowsDate(date)) {
+      int position = offset + dateCalculation.calculatePosition(startDate, date);
+      if (position <= lastIndex) {
+        return points[position];
       }
     }
-    return OptionalDouble.empty();
+    return Double.NaN;
   }
 
   @Override
   public Stream<LocalDateDoublePoint> stream() {
-    return validIndices()
-        .mapToObj(this::generatePointForPosition);
+    int[] indices = validIndexArray();
+    return TimeSeriesSpliterator.stream(indices, fromPosition(indices), toPosition(indices),
+        this::generatePointForPosition);
   }
 
   @Override
@@ -289,11 +456,10 @@ class DenseLocalDateDoubleTimeSeries
     int startIndex = dateCalculation.calculatePosition(startDate, resolvedStart);
     int endIndex = dateCalculation.calculatePosition(startDate, endExclusive);
 
+    int viewStart = Math.max(0, startIndex);
+    int viewLength = Math.max(0, Math.min(length, endIndex) - viewStart);
     return new DenseLocalDateDoubleTimeSeries(
-        resolvedStart,
-        Arrays.copyOfRange(points, Math.max(0, startIndex), Math.min(points.length, endIndex)),
-        dateCalculation,
-        true);
+        resolvedStart, points, offset + viewStart, viewLength, dateCalculation, validCounts());
   }
 
   @Override
@@ -309,17 +475,19 @@ class DenseLocalDateDoubleTimeSeries
 
     int endPosition = findHeadPoints(numPoints);
 
-    return new DenseLocalDateDoubleTimeSeries(startDate, Arrays.copyOf(points, endPosition), dateCalculation);
+    return new DenseLocalDateDoubleTimeSeries(
+        startDate, points, offset, endPosition - offset, dateCalculation, validCounts());
   }
 
   private int findHeadPoints(int required) {
 
-    // Take enough points that aren't NaN
+    // Take points up to the next point that isn't NaN
     // else we need the entire series
-    return validIndices()
-        .skip(required)
-        .findFirst()
-        .orElse(points.length);
+    if (required == size) {
+      return offset + length;
+    }
+    int[] counts = validCounts();
+    return findValidIndex(counts, offset, offset + length, counts[offset] + required + 1);
   }
 
   @Override
@@ -336,24 +504,16 @@ class DenseLocalDateDoubleTimeSeries
 
     return new DenseLocalDateDoubleTimeSeries(
         calculateDateFromPosition(startPoint),
-        Arrays.copyOfRange(points, startPoint, points.length),
-        dateCalculation);
+        points,
+        startPoint,
+        offset + length - startPoint,
+        dateCalculation,
+        validCounts());
   }
 
   private int findTailPoints(int required) {
-    return reversedValidIndices()
-        .skip(required - 1)
-        .findFirst()
-        .orElse(0);
-  }
-
-  private IntStream reversedValidIndices() {
-    // As there is no way of constructing an IntStream from
-    // n to m where n > m, we go from -n to m and then
-    // take the additive inverse (sigh!)
-    return IntStream.rangeClosed(1 - points.length, 0)
-        .map(i -> -i)
-        .filter(this::isValidIndex);
+    int[] counts = validCounts();
+    return findValidIndex(counts, offset, offset + length, counts[offset + length] - required + 1);
   }
 
   private LocalDateDoublePoint generatePointForPosition(int i) {
@@ -362,18 +522,44 @@ class DenseLocalDateDoubleTimeSeries
 
   @Override
   public DoubleStream values() {
-    return Arrays.stream(points).filter(this::isValidPoint);
+    int[] indices = validIndexArray();
+    return TimeSeriesSpliterator.doubleStream(indices, fromPosition(indices), toPosition(indices), i -> points[i]);
   }
 
   @Override
   public Stream<LocalDate> dates() {
-    return validIndices()
-        .mapToObj(this::calculateDateFromPosition);
+    int[] indices = validIndexArray();
+    return TimeSeriesSpliterator.stream(indices, fromPosition(indices), toPosition(indices),
+        this::calculateDateFromPosition);
+  }
+
+  // the indices in the points array of the valid points, null if there are no gaps
+  // this allows streams to know the exact size of any part of the series
+  private int[] validIndexArray() {
+    if (size == 0) {
+      return new int[0];
+    }
+    if (lastIndex - firstIndex + 1 == size) {
+      return null;
+    }
+    int[] indices = new int[size];
+    int count = 0;
+    for (int i = firstIndex; i <= lastIndex; i++) {
+      if (isValidIndex(i)) {
+        indices[count++] = i;
+      }
+    }
+    return indices;
+  }
+
+  // the first position to stream, where the indices are from validIndexArray()
+  private int fromPosition(int[] indices) {
+    return indices == null ? firstIndex : 0;
   }
 
-  private IntStream validIndices() {
-    return IntStream.range(0, points.length)
-        .filter(this::isValidIndex);
+  // the last position to stream, exclusive, where the indices are from validIndexArray()
+  private int toPosition(int[] indices) {
+    return indices == null ? lastIndex + 1 : size;
   }
 
   @Override
@@ -387,9 +573,111 @@ class DenseLocalDateDoubleTimeSeries
     return new LocalDateDoubleTimeSeriesBuilder(filteredPoints).build();
   }
 
+  @Override
+  public LocalDateDoubleTimeSeries combineWith(LocalDateDoubleTimeSeries other, DoubleBinaryOperator mapper) {
+    ArgChecker.notNull(other, "other");
+    ArgChecker.notNull(mapper, "mapper");
+    if (other instanceof SparseLocalDateDoubleTimeSeries) {
+      // the sparse series drives the merge, so swap the arguments back
+      return other.combineWith(this, (otherValue, value) -> mapper.applyAsDouble(value, otherValue));
+    }
+    if (other instanceof DenseLocalDateDoubleTimeSeries) {
+      return combineWithDense((DenseLocalDateDoubleTimeSeries) other, mapper);
+    }
+    return LocalDateDoubleTimeSeries.super.combineWith(other, mapper);
+  }
+
+  // both series are dense, so query the other directly by date
+  private LocalDateDoubleTimeSeries combineWithDense(DenseLocalDateDoubleTimeSeries other, DoubleBinaryOperator mapper) {
+    int maxSize = Math.min(size, other.size);
+    int[] resDates = new int[maxSize];
+    double[] resValues = new double[maxSize];
+    int resCount = 0;
+    for (int i = firstIndex; i <= lastIndex && resCount < maxSize; i++) {
+      if (isValidIndex(i)) {
+        LocalDate date = calculateDateFromPosition(i);
+        double otherValue = other.getOrNaN(date);
+        if (isValidPoint(otherValue)) {
+          double value = mapper.applyAsDouble(points[i], otherValue);
+          if (!isValidPoint(value)) {
+            throw new IllegalArgumentException("NaN is not allowed as a value");
+          }
+          resDates[resCount] = Math.toIntExact(date.toEpochDay());
+          resValues[resCount] = value;
+          resCount++;
+        }
+      }
+    }
+    return LocalDateDoubleTimeSeriesBuilder.createSorted(resDates, resValues, resCount);
+  }
+
+  // applies the operation to each point, missing points remain NaN
+  DenseLocalDateDoubleTimeSeries apply(BulkOperation operation, double amount) {
+    double[] result = new double[length];
+    operation.apply(points, offset, amount, result, length);
+    DenseLocalDateDoubleTimeSeries series =
+        new DenseLocalDateDoubleTimeSeries(startDate, result, dateCalculation, true);
+    if (series.size != size) {
+      throw new IllegalArgumentException("NaN is not allowed as a value");
+    }
+    return series;
+  }
+
+  // applies the operation to the points where the series overlap, missing points in either remain NaN
+  LocalDateDoubleTimeSeries apply(BulkOperation operation, DenseLocalDateDoubleTimeSeries other) {
+    if (dateCalculation != other.dateCalculation) {
+      return combineWith(other, operation);
+    }
+    if (size == 0 || other.size == 0) {
+      return LocalDateDoubleTimeSeries.empty();
+    }
+    // align the points arrays on the later start date
+    LocalDate start = Ordering.natural().max(startDate, other.startDate);
+    int from = offset + dateCalculation.calculatePosition(startDate, start);
+    int otherFrom = other.offset + dateCalculation.calculatePosition(other.startDate, start);
+    int count = Math.min(lastIndex + 1 - from, other.lastIndex + 1 - otherFrom);
+    if (count <= 0) {
+      return LocalDateDoubleTimeSeries.empty();
+    }
+    double[] result = new double[count];
+    operation.apply(points, from, other.points, otherFrom, result, count);
+    int first = -1;
+    int last = -1;
+    for (int i = 0; i < count; i++) {
+      if (isValidPoint(result[i])) {
+        first = first < 0 ? i : first;
+        last = i;
+      } else if (isValidPoint(points[from + i]) && isValidPoint(other.points[otherFrom + i])) {
+        throw new IllegalArgumentException("NaN is not allowed as a value");
+      }
+    }
+    if (first < 0) {
+      return LocalDateDoubleTimeSeries.empty();
+    }
+    return new DenseLocalDateDoubleTimeSeries(
+        dateCalculation.calculateDateFromPosition(start, first),
+        Arrays.copyOfRange(result, first, last + 1),
+        dateCalculation,
+        true);
+  }
+
+  // creates a time-series with the same dates and new values, one for each valid point in order
+  DenseLocalDateDoubleTimeSeries withValues(double[] newValues) {
+    double[] newPoints = new double[length];
+    Arrays.fill(newPoints, Double.NaN);
+    int index = 0;
+    for (int i = firstIndex; i <= lastIndex && index < newValues.length; i++) {
+      if (isValidIndex(i)) {
+        newPoints[i - offset] = newValues[index++];
+      }
+    }
+    return new DenseLocalDateDoubleTimeSeries(startDate, newPoints, dateCalculation, true);
+  }
+
   @Override
   public LocalDateDoubleTimeSeries mapValues(DoubleUnaryOperator mapper) {
-    DoubleStream values = DoubleStream.of(points).map(d -> isValidPoint(d) ? applyMapper(mapper, d) : d);
+    DoubleStream values = Arrays.stream(points, offset, offset + length)
+        .map(d -> isValidPoint(d) ? applyMapper(mapper, d) : d);
     return new DenseLocalDateDoubleTimeSeries(startDate, values.toArray(), dateCalculation, true);
   }
 
@@ -411,8 +699,29 @@ class DenseLocalDateDoubleTimeSeries
 
   @Override
   public void forEach(ObjDoubleConsumer<LocalDate> action) {
-    validIndices().forEach(i ->
-        action.accept(calculateDateFromPosition(i), points[i]));
+    ArgChecker.notNull(action, "action");
+    for (int i = firstIndex; i <= lastIndex && size != 0; i++) {
+      if (isValidIndex(i)) {
+        action.accept(calculateDateFromPosition(i), points[i]);
+      }
+    }
+  }
+
+  @Override
+  public void forEachEpochDay(IntDoubleConsumer action) {
+    ArgChecker.notNull(action, "action");
+    if (size == 0) {
+      return;
+    }
+    // the epoch day, or weekday index, is calculated directly from the index, avoiding LocalDate
+    boolean skipWeekends = (dateCalculation == DenseTimeSeriesCalculation.SKIP_WEEKENDS);
+    int startEpochDay = Math.toIntExact(startDate.toEpochDay());
+    int base = (skipWeekends ? weekdayIndex(startEpochDay) : startEpochDay) - offset;
+    for (int i = firstIndex; i <= lastIndex; i++) {
+      if (isValidIndex(i)) {
+        action.accept(skipWeekends ? epochDayOfWeekdayIndex(base + i) : base + i, points[i]);
+      }
+    }
   }
 
   @Override
@@ -420,26 +729,40 @@ class DenseLocalDateDoubleTimeSeries
     return new LocalDateDoubleTimeSeriesBuilder(stream());
   }
 
+  @Override
+  public LocalDate getEarliestDate() {
+    if (size == 0) {
+      throw new NoSuchElementException("Unable to return earliest date, time-series is empty");
+    }
+    return calculateDateFromPosition(firstIndex);
+  }
+
+  @Override
+  public double getEarliestValue() {
+    if (size == 0) {
+      throw new NoSuchElementException("Unable to return earliest value, time-series is empty");
+    }
+    return points[firstIndex];
+  }
+
   @Override
   public LocalDate getLatestDate() {
-    return reversedValidIndices()
-        .mapToObj(this::calculateDateFromPosition)
-        .findFirst()
-        .orElseThrow(() ->
-            new NoSuchElementException("Unable to return latest date, time-series is empty"));
+    if (size == 0) {
+      throw new NoSuchElementException("Unable to return latest date, time-series is empty");
+    }
+    return calculateDateFromPosition(lastIndex);
   }
 
   @Override
   public double getLatestValue() {
-    return reversedValidIndices()
-        .mapToDouble(i -> points[i])
-        .findFirst()
-        .orElseThrow(() ->
-            new NoSuchElementException("Unable to return latest value, time-series is empty"));
+    if (size == 0) {
+      throw new NoSuchElementException("Unable to return latest value, time-series is empty");
+    }
+    return points[lastIndex];
   }
 
   private LocalDate calculateDateFromPosition(int i) {
-    return dateCalculation.calculateDateFromPosition(startDate, i);
+    return dateCalculation.calculateDateFromPosition(startDate, i - offset);
   }
 
   // Sufficient for the moment, in the future we may need to
@@ -448,6 +771,73 @@ class DenseLocalDateDoubleTimeSeries
     return date.get(DAY_OF_WEEK) > 5;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if this time-series is equal to another time-series.
+   * <p>
+   * Compares this {@code LocalDateDoubleTimeSeries} with another ensuring
+   * that the start date, points and date calculation are the same.
+   * The points are compared in place, thus views are not copied.
+   *
+   * @param obj  the object to check, null returns false
+   * @return true if this is equal to the other date
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj instanceof DenseLocalDateDoubleTimeSeries) {
+      DenseLocalDateDoubleTimeSeries other = (DenseLocalDateDoubleTimeSeries) obj;
+      if (!startDate.equals(other.startDate) || length != other.length ||
+          !dateCalculation.equals(other.dateCalculation)) {
+        return false;
+      }
+      for (int i = 0; i < length; i++) {
+        if (Double.doubleToLongBits(points[offset + i]) != Double.doubleToLongBits(other.points[other.offset + i])) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * A hash code for this time-series.
+   *
+   * @return a suitable hash code
+   */
+  @Override
+  public int hashCode() {
+    // matches the hash code of the array of the points in the series
+    int pointsHash = 1;
+    for (int i = offset; i < offset + length; i++) {
+      pointsHash = 31 * pointsHash + Double.hashCode(points[i]);
+    }
+    int hash = getClass().hashCode();
+    hash = hash * 31 + startDate.hashCode();
+    hash = hash * 31 + pointsHash;
+    hash = hash * 31 + dateCalculation.hashCode();
+    return hash;
+  }
+
+  /**
+   * Returns a string representation of the time-series.
+   *
+   * @return the string
+   */
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(128 + length * 8);
+    buf.append("DenseLocalDateDoubleTimeSeries{startDate=").append(startDate).append(", points=[");
+    for (int i = offset; i < offset + length; i++) {
+      buf.append(i == offset ? "" : ", ").append(points[i]);
+    }
+    buf.append("], dateCalculation=").append(dateCalculation).append('}');
+    return buf.toString();
+  }
+
   //------------------------- AUTOGENERATED START -------------------------
   ///CLOVER:OFF
   /**
@@ -493,16 +883,6 @@ class DenseLocalDateDoubleTimeSeries
     return startDate;
   }
 
-  //-----------------------------------------------------------------------
-  /**
-   * Gets the values in the series.
-   * The date for each value is calculated using the position
-   * in the array and the start date.
-   * @return the value of the property, not null
-   */
-  private double[] getPoints() {
-    return (points != null ? points.clone() : null);
-  }
 
   //-----------------------------------------------------------------------
   /**
@@ -514,49 +894,6 @@ class DenseLocalDateDoubleTimeSeries
     return dateCalculation;
   }
 
-  //-----------------------------------------------------------------------
-  @Override
-  public boolean equals(Object obj) {
-    if (obj == this) {
-      return true;
-    }
-    if (obj != null && obj.getClass() == this.getClass()) {
-      DenseLocalDateDoubleTimeSeries other = (DenseLocalDateDoubleTimeSeries) obj;
-      return JodaBeanUtils.equal(getStartDate(), other.getStartDate()) &&
-          JodaBeanUtils.equal(getPoints(), other.getPoints()) &&
-          JodaBeanUtils.equal(getDateCalculation(), other.getDateCalculation());
-    }
-    return false;
-  }
-
-  @Override
-  public int hashCode() {
-    int hash = getClass().hashCode();
-    hash = hash * 31 + JodaBeanUtils.hashCode(getStartDate());
-    hash = hash * 31 + JodaBeanUtils.hashCode(getPoints());
-    hash = hash * 31 + JodaBeanUtils.hashCode(getDateCalculation());
-    return hash;
-  }
-
-  @Override
-  public String toString() {
-    StringBuilder buf = new StringBuilder(128);
-    buf.append("DenseLocalDateDoubleTimeSeries{");
-    int len = buf.length();
-    toString(buf);
-    if (buf.length() > len) {
-      buf.setLength(buf.length() - 2);
-    }
-    buf.append('}');
-    return buf.toString();
-  }
-
-  protected void toString(StringBuilder buf) {
-    buf.append("startDate").append('=').append(JodaBeanUtils.toString(getStartDate())).append(',').append(' ');
-    buf.append("points").append('=').append(JodaBeanUtils.toString(getPoints())).append(',').append(' ');
-    buf.append("dateCalculation").append('=').append(JodaBeanUtils.toString(getDateCalculation())).append(',').append(' ');
-  }
-
   //-----------------------------------------------------------------------
   /**
    * The meta-bean for {@code DenseLocalDateDoubleTimeSeries}.
@@ -0,0 +1,36 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.collect.timeseries;
+
+import java.util.List;
+
+/**
+ * The method used to fill gaps when resampling a time-series.
+ * <p>
+ * When a time-series is resampled onto a set of dates, some of the dates may not
+ * have a value in the original series. This defines how the value for those dates is obtained.
+ *
+ * @see LocalDateDoubleTimeSeries#resample(List, GapFill)
+ */
+public enum GapFill {
+
+  /**
+   * The value from the latest earlier date is used.
+   * Dates before the first date of the series are omitted.
+   */
+  PREVIOUS_VALUE,
+  /**
+   * The value is linearly interpolated by date between the values either side.
+   * Dates before the first date or after the last date of the series are omitted.
+   */
+  LINEAR,
+  /**
+   * No value is filled.
+   * As {@link Double#NaN} is not a valid value, dates without a value are omitted.
+   */
+  NONE;
+
+}
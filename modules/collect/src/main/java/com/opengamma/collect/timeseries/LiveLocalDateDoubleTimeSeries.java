@@ -0,0 +1,163 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.collect.timeseries;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import com.opengamma.collect.ArgChecker;
+
+/**
+ * A time-series that grows as new points are appended, such as intraday fixings.
+ * <p>
+ * New points are added to the end of the series using {@link #append(LocalDate, double)}.
+ * Readers obtain an immutable {@link LocalDateDoubleTimeSeries} using {@link #snapshot()},
+ * which views the points appended so far without copying them.
+ * <p>
+ * Points are held in primitive arrays which are never altered below the current size.
+ * When full, the arrays are copied to larger arrays, leaving the old arrays in place
+ * for existing snapshots. The size is published through a volatile field after each point
+ * is written, thus readers always see a consistent series without locking.
+ * <p>
+ * This class is thread-safe for a single writer and many readers.
+ * Calls to {@code append} must not be made by more than one thread at a time.
+ */
+public final class LiveLocalDateDoubleTimeSeries {
+
+  /**
+   * The initial capacity.
+   */
+  private static final int INITIAL_CAPACITY = 64;
+
+  /**
+   * The arrays holding the points, replaced when more space is needed.
+   */
+  private volatile Data data;
+  /**
+   * The number of points, written after the point is stored.
+   */
+  private volatile int size;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an empty live time-series.
+   */
+  public LiveLocalDateDoubleTimeSeries() {
+    this.data = new Data(new int[INITIAL_CAPACITY], new double[INITIAL_CAPACITY]);
+  }
+
+  /**
+   * Creates a live time-series starting from the specified history.
+   * <p>
+   * The history is copied once, with points appended after the latest date in the history.
+   *
+   * @param history  the time-series to start from
+   * @return the live time-series
+   */
+  public static LiveLocalDateDoubleTimeSeries of(LocalDateDoubleTimeSeries history) {
+    ArgChecker.notNull(history, "history");
+    LiveLocalDateDoubleTimeSeries live = new LiveLocalDateDoubleTimeSeries();
+    int historySize = history.size();
+    int capacity = Math.max(INITIAL_CAPACITY, historySize + historySize / 2);
+    int[] dates = Arrays.copyOf(LocalDateDoubleTimeSeriesBuilder.epochDays(history), capacity);
+    double[] values = Arrays.copyOf(history.values().toArray(), capacity);
+    live.data = new Data(dates, values);
+    live.size = historySize;
+    return live;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Appends a point to the end of the series.
+   * <p>
+   * The date must be after the latest date in the series.
+   * This method must only be called by one thread at a time.
+   *
+   * @param date  the date of the point
+   * @param value  the value of the point
+   * @throws IllegalArgumentException if the date is not after the latest date, or the value is NaN
+   */
+  public void append(LocalDate date, double value) {
+    ArgChecker.notNull(date, "date");
+    ArgChecker.isFalse(Double.isNaN(value), "NaN is not allowed as a value");
+    int epochDay = Math.toIntExact(date.toEpochDay());
+    int index = size;
+    Data current = data;
+    ArgChecker.isTrue(index == 0 || epochDay > current.dates[index - 1],
+        "Date must be after the latest date in the series: {}", date);
+    if (index == current.dates.length) {
+      // copy to larger arrays, existing snapshots retain the old arrays
+      int capacity = index + (index >> 1);
+      current = new Data(Arrays.copyOf(current.dates, capacity), Arrays.copyOf(current.values, capacity));
+      data = current;
+    }
+    current.dates[index] = epochDay;
+    current.values[index] = value;
+    // publish the point
+    size = index + 1;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of points in the series.
+   *
+   * @return the number of points
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Obtains an immutable snapshot of the series.
+   * <p>
+   * The snapshot contains the points appended before this method was called.
+   * It views the arrays of this series, thus creating it does not copy the points.
+   * Later appends do not affect the snapshot.
+   *
+   * @return the snapshot
+   */
+  public LocalDateDoubleTimeSeries snapshot() {
+    // read the size before the arrays, so the arrays contain at least that many points
+    int currentSize = size;
+    if (currentSize == 0) {
+      return LocalDateDoubleTimeSeries.empty();
+    }
+    Data current = data;
+    return new MappedLocalDateDoubleTimeSeries(
+        IntBuffer.wrap(current.dates), DoubleBuffer.wrap(current.values), currentSize);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a string describing the series.
+   *
+   * @return the descriptive string
+   */
+  @Override
+  public String toString() {
+    return "LiveLocalDateDoubleTimeSeries[" + size + " points]";
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The arrays of dates and values, which have the same length.
+   */
+  private static final class Data {
+    // the dates, as epoch days
+    private final int[] dates;
+    // the values
+    private final double[] values;
+
+    // create
+    private Data(int[] dates, double[] values) {
+      this.dates = dates;
+      this.values = values;
+    }
+  }
+
+}
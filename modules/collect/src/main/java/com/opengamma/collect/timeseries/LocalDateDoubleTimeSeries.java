@@ -8,6 +8,8 @@ package com.opengamma.collect.timeseries;
 import static java.util.stream.Collectors.partitioningBy;
 
 import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.OptionalDouble;
@@ -22,6 +24,7 @@ import java.util.stream.Stream;
 import org.joda.beans.ImmutableBean;
 
 import com.opengamma.collect.ArgChecker;
+import com.opengamma.collect.function.IntDoubleConsumer;
 import com.opengamma.collect.function.ObjDoublePredicate;
 import com.opengamma.collect.tuple.Pair;
 
@@ -216,6 +219,7 @@ public interface LocalDateDoubleTimeSeries extends ImmutableBean {
    * Returns a stream over the points of this time-series.
    * <p>
    * This provides access to the entire time-series.
+   * Where possible, the stream knows its size, thus is suitable for use in parallel.
    *
    * @return a stream over the points of this time-series
    */
@@ -254,6 +258,22 @@ public interface LocalDateDoubleTimeSeries extends ImmutableBean {
    */
   public abstract void forEach(ObjDoubleConsumer<LocalDate> action);
 
+  /**
+   * Applies an action to each pair in the time series, passing the date as an epoch day.
+   * <p>
+   * The date is passed as the value of {@link LocalDate#toEpochDay()}, avoiding the creation
+   * of an object for each point. This is the most efficient way to visit a large time-series.
+   * <pre>
+   *   base.forEachEpochDay((epochDay, value) -> System.out.println(epochDay + "=" + value));
+   * </pre>
+   *
+   * @param action  the action to be applied to each pair
+   */
+  public default void forEachEpochDay(IntDoubleConsumer action) {
+    ArgChecker.notNull(action, "action");
+    forEach((date, value) -> action.accept(Math.toIntExact(date.toEpochDay()), value));
+  }
+
   /**
    * Applies an operation to each value in the time series.
    * <p>
@@ -344,6 +364,246 @@ public interface LocalDateDoubleTimeSeries extends ImmutableBean {
     return partition((obj, value) -> predicate.test(value));
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a time-series with the specified amount added to each value.
+   * <p>
+   * The result has the same dates as this series.
+   *
+   * @param amount  the amount to add
+   * @return the resulting time-series
+   * @throws IllegalArgumentException if the result would contain NaN
+   */
+  public default LocalDateDoubleTimeSeries plus(double amount) {
+    return BulkOperation.PLUS.apply(this, amount);
+  }
+
+  /**
+   * Returns a time-series with the values of another series added to the values of this series.
+   * <p>
+   * The result contains the dates in common between the two series.
+   * This is equivalent to {@code combineWith(other, (a, b) -> a + b)} but operates on the values in bulk.
+   *
+   * @param other  the time-series to add
+   * @return the resulting time-series
+   * @throws IllegalArgumentException if the result would contain NaN
+   */
+  public default LocalDateDoubleTimeSeries plus(LocalDateDoubleTimeSeries other) {
+    return BulkOperation.PLUS.apply(this, other);
+  }
+
+  /**
+   * Returns a time-series with the specified amount subtracted from each value.
+   * <p>
+   * The result has the same dates as this series.
+   *
+   * @param amount  the amount to subtract
+   * @return the resulting time-series
+   * @throws IllegalArgumentException if the result would contain NaN
+   */
+  public default LocalDateDoubleTimeSeries minus(double amount) {
+    return BulkOperation.MINUS.apply(this, amount);
+  }
+
+  /**
+   * Returns a time-series with the values of another series subtracted from the values of this series.
+   * <p>
+   * The result contains the dates in common between the two series.
+   * This is equivalent to {@code combineWith(other, (a, b) -> a - b)} but operates on the values in bulk.
+   *
+   * @param other  the time-series to subtract
+   * @return the resulting time-series
+   * @throws IllegalArgumentException if the result would contain NaN
+   */
+  public default LocalDateDoubleTimeSeries minus(LocalDateDoubleTimeSeries other) {
+    return BulkOperation.MINUS.apply(this, other);
+  }
+
+  /**
+   * Returns a time-series with each value multiplied by the specified factor.
+   * <p>
+   * The result has the same dates as this series.
+   *
+   * @param factor  the factor to multiply by
+   * @return the resulting time-series
+   * @throws IllegalArgumentException if the result would contain NaN
+   */
+  public default LocalDateDoubleTimeSeries multipliedBy(double factor) {
+    return BulkOperation.MULTIPLY.apply(this, factor);
+  }
+
+  /**
+   * Returns a time-series with the values of this series multiplied by the values of another series.
+   * <p>
+   * The result contains the dates in common between the two series.
+   * This is equivalent to {@code combineWith(other, (a, b) -> a * b)} but operates on the values in bulk.
+   *
+   * @param other  the time-series to multiply by
+   * @return the resulting time-series
+   * @throws IllegalArgumentException if the result would contain NaN
+   */
+  public default LocalDateDoubleTimeSeries multipliedBy(LocalDateDoubleTimeSeries other) {
+    return BulkOperation.MULTIPLY.apply(this, other);
+  }
+
+  /**
+   * Returns a time-series with each value divided by the specified divisor.
+   * <p>
+   * The result has the same dates as this series.
+   *
+   * @param divisor  the divisor to divide by
+   * @return the resulting time-series
+   * @throws IllegalArgumentException if the result would contain NaN
+   */
+  public default LocalDateDoubleTimeSeries dividedBy(double divisor) {
+    return BulkOperation.DIVIDE.apply(this, divisor);
+  }
+
+  /**
+   * Returns a time-series with the values of this series divided by the values of another series.
+   * <p>
+   * The result contains the dates in common between the two series.
+   * This is equivalent to {@code combineWith(other, (a, b) -> a / b)} but operates on the values in bulk.
+   *
+   * @param other  the time-series to divide by
+   * @return the resulting time-series
+   * @throws IllegalArgumentException if the result would contain NaN
+   */
+  public default LocalDateDoubleTimeSeries dividedBy(LocalDateDoubleTimeSeries other) {
+    return BulkOperation.DIVIDE.apply(this, other);
+  }
+
+  /**
+   * Calculates the simple returns of this time-series.
+   * <p>
+   * The return for each point is its value divided by the value the specified number
+   * of points earlier, minus one. The first points, which have no earlier value, are omitted.
+   *
+   * @param lag  the number of points between the values compared, one or greater
+   * @return the time-series of returns
+   * @throws IllegalArgumentException if the result would contain NaN
+   */
+  public default LocalDateDoubleTimeSeries returns(int lag) {
+    return BulkOperation.returns(this, lag, false);
+  }
+
+  /**
+   * Calculates the log returns of this time-series.
+   * <p>
+   * The return for each point is the natural logarithm of its value divided by the value
+   * the specified number of points earlier. The first points, which have no earlier value, are omitted.
+   *
+   * @param lag  the number of points between the values compared, one or greater
+   * @return the time-series of log returns
+   * @throws IllegalArgumentException if the result would contain NaN
+   */
+  public default LocalDateDoubleTimeSeries logReturns(int lag) {
+    return BulkOperation.returns(this, lag, true);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Resamples this time-series onto the specified dates.
+   * <p>
+   * The result contains a point for each of the specified dates that has a value in this
+   * series or that can be filled using the gap fill method.
+   * Dates that cannot be filled are omitted.
+   * <p>
+   * The dates are typically obtained from a business day calendar.
+   *
+   * @param dates  the dates to resample onto, in ascending order without duplicates
+   * @param fill  the method used to fill dates that are not in this series
+   * @return the resampled time-series
+   * @throws IllegalArgumentException if the dates are not in ascending order
+   */
+  public default LocalDateDoubleTimeSeries resample(List<LocalDate> dates, GapFill fill) {
+    ArgChecker.noNulls(dates, "dates");
+    ArgChecker.notNull(fill, "fill");
+    int[] targets = new int[dates.size()];
+    for (int i = 0; i < targets.length; i++) {
+      targets[i] = Math.toIntExact(dates.get(i).toEpochDay());
+      ArgChecker.isTrue(i == 0 || targets[i] > targets[i - 1], "Dates must be in ascending order: {}", dates.get(i));
+    }
+    return LocalDateDoubleTimeSeriesBuilder.resample(this, targets, fill);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a rolling window of a fixed number of points, used to calculate statistics.
+   * <p>
+   * Each window contains the specified number of points, ending with the point itself.
+   * The statistics only contain the dates that have a full window.
+   *
+   * @param points  the number of points in the window, one or greater
+   * @return the rolling window
+   */
+  public default RollingWindow rolling(int points) {
+    return RollingWindow.ofPoints(this, points);
+  }
+
+  /**
+   * Obtains a rolling window of a calendar period, used to calculate statistics.
+   * <p>
+   * Each window contains the points whose date is after the date of the point minus
+   * the period, up to and including the point itself.
+   *
+   * @param period  the period of the window, positive
+   * @return the rolling window
+   */
+  public default RollingWindow rolling(Period period) {
+    return RollingWindow.ofPeriod(this, period);
+  }
+
+  /**
+   * Calculates the exponentially weighted moving average.
+   * <p>
+   * The first value is the first value of this series. Each subsequent value is
+   * {@code decay * previousAverage + (1 - decay) * value}.
+   * The result has the same dates as this series.
+   *
+   * @param decay  the decay factor, from zero inclusive to one exclusive
+   * @return the time-series of the moving average
+   */
+  public default LocalDateDoubleTimeSeries ewma(double decay) {
+    ArgChecker.isTrue(
+        ArgChecker.isInRangeExcludingHigh(0d, 1d, decay), "Decay must be from zero to one exclusive: {}", decay);
+    double[] result = values().toArray();
+    for (int i = 1; i < result.length; i++) {
+      result[i] = decay * result[i - 1] + (1 - decay) * result[i];
+    }
+    return LocalDateDoubleTimeSeriesBuilder.withValues(this, result);
+  }
+
+  /**
+   * Calculates the cumulative sum.
+   * <p>
+   * The result has the same dates as this series.
+   *
+   * @return the time-series of the sum of the values up to and including each date
+   */
+  public default LocalDateDoubleTimeSeries cumulativeSum() {
+    double[] result = values().toArray();
+    for (int i = 1; i < result.length; i++) {
+      result[i] += result[i - 1];
+    }
+    return LocalDateDoubleTimeSeriesBuilder.withValues(this, result);
+  }
+
+  /**
+   * Calculates the cumulative product.
+   * <p>
+   * The result has the same dates as this series.
+   *
+   * @return the time-series of the product of the values up to and including each date
+   */
+  public default LocalDateDoubleTimeSeries cumulativeProduct() {
+    double[] result = values().toArray();
+    for (int i = 1; i < result.length; i++) {
+      result[i] *= result[i - 1];
+    }
+    return LocalDateDoubleTimeSeriesBuilder.withValues(this, result);
+  }
+
   /**
    * Return a builder populated with the values from this series.
    *
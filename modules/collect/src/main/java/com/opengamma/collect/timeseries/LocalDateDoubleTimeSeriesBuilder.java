@@ -9,14 +9,12 @@ import static com.opengamma.collect.timeseries.DenseLocalDateDoubleTimeSeries.De
 import static com.opengamma.collect.timeseries.DenseLocalDateDoubleTimeSeries.DenseTimeSeriesCalculation.SKIP_WEEKENDS;
 
 import java.time.LocalDate;
-import java.time.temporal.ChronoField;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.OptionalDouble;
-import java.util.SortedMap;
-import java.util.TreeMap;
 import java.util.stream.Stream;
 
 import com.opengamma.collect.ArgChecker;
@@ -28,6 +26,10 @@ import com.opengamma.collect.ArgChecker;
  * Entries can be added to the builder in any order.
  * If a date is duplicated it will overwrite an earlier entry.
  * <p>
+ * The entries are held in primitive arrays, with dates stored as epoch days.
+ * When entries are added in ascending date order, each addition is a simple append.
+ * Otherwise, the entries are sorted and duplicates removed when next queried or built.
+ * <p>
  * Use {@link LocalDateDoubleTimeSeries#builder()} to create an instance.
  */
 public final class LocalDateDoubleTimeSeriesBuilder {
@@ -39,9 +41,26 @@ public final class LocalDateDoubleTimeSeriesBuilder {
   private static final double DENSITY_THRESHOLD = 0.7;
 
   /**
-   * The entries for the time-series.
+   * The initial capacity of the arrays.
    */
-  private final SortedMap<LocalDate, Double> entries = new TreeMap<>();
+  private static final int INITIAL_CAPACITY = 16;
+
+  /**
+   * The dates of the entries, as epoch days, in the order they were added.
+   */
+  private int[] dates = new int[INITIAL_CAPACITY];
+  /**
+   * The values of the entries, at the index matching the date.
+   */
+  private double[] values = new double[INITIAL_CAPACITY];
+  /**
+   * The number of entries.
+   */
+  private int size;
+  /**
+   * Whether the entries are sorted by date without duplicates.
+   */
+  private boolean sorted = true;
 
   /**
    * Keep track of whether we have weekends in the data.
@@ -62,10 +81,11 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    * <p>
    * Use {@link LocalDateDoubleTimeSeries#toBuilder()}.
    * 
-   * @param dates  the dates to initialize with
+   * @param dates  the dates to initialize with, as epoch days
    * @param values  the values to initialize with
    */
-  LocalDateDoubleTimeSeriesBuilder(LocalDate[] dates, double[] values) {
+  LocalDateDoubleTimeSeriesBuilder(int[] dates, double[] values) {
+    ensureCapacity(dates.length);
     for (int i = 0; i < dates.length; i++) {
       put(dates[i], values[i]);
     }
@@ -94,8 +114,14 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    * @return the value associated with the date, optional empty if the date is not present
    */
   public OptionalDouble get(LocalDate date) {
-    Double value = entries.get(date);
-    return (value != null ? OptionalDouble.of(value) : OptionalDouble.empty());
+    ArgChecker.notNull(date, "date");
+    long epochDay = date.toEpochDay();
+    if (epochDay < Integer.MIN_VALUE || epochDay > Integer.MAX_VALUE) {
+      return OptionalDouble.empty();  // cannot have been put
+    }
+    sort();
+    int position = Arrays.binarySearch(dates, 0, size, (int) epochDay);
+    return (position >= 0 ? OptionalDouble.of(values[position]) : OptionalDouble.empty());
   }
 
   //-------------------------------------------------------------------------
@@ -109,11 +135,74 @@ public final class LocalDateDoubleTimeSeriesBuilder {
   public LocalDateDoubleTimeSeriesBuilder put(LocalDate date, double value) {
     ArgChecker.notNull(date, "date");
     ArgChecker.isFalse(Double.isNaN(value), "NaN is not allowed as a value");
-    entries.put(date, value);
-    if (!containsWeekends && date.get(ChronoField.DAY_OF_WEEK) > 5) {
+    put(Math.toIntExact(date.toEpochDay()), value);
+    return this;
+  }
+
+  // adds an entry, appending in the common case of dates in ascending order
+  private void put(int epochDay, double value) {
+    if (size > 0 && sorted) {
+      int last = dates[size - 1];
+      if (epochDay == last) {
+        values[size - 1] = value;
+        return;
+      }
+      sorted = epochDay > last;
+    }
+    ensureCapacity(size + 1);
+    dates[size] = epochDay;
+    values[size] = value;
+    size++;
+    if (!containsWeekends && isWeekend(epochDay)) {
       containsWeekends = true;
     }
-    return this;
+  }
+
+  // checks if the epoch day is a Saturday or Sunday
+  private static boolean isWeekend(int epochDay) {
+    // 1970-01-01 was a Thursday, so Saturday and Sunday are 2 and 3
+    int dayOfWeek = Math.floorMod(epochDay, 7);
+    return dayOfWeek == 2 || dayOfWeek == 3;
+  }
+
+  // grows the arrays if necessary
+  private void ensureCapacity(int required) {
+    if (required > dates.length) {
+      int capacity = Math.max(required, dates.length + (dates.length >> 1));
+      dates = Arrays.copyOf(dates, capacity);
+      values = Arrays.copyOf(values, capacity);
+    }
+  }
+
+  // sorts the entries by date, retaining the last entry added for each date
+  private void sort() {
+    if (sorted) {
+      return;
+    }
+    // sort by date, then by order of addition
+    long[] keys = new long[size];
+    for (int i = 0; i < size; i++) {
+      keys[i] = (((long) dates[i]) << 32) | i;
+    }
+    Arrays.sort(keys);
+    int[] sortedDates = new int[Math.max(size, INITIAL_CAPACITY)];
+    double[] sortedValues = new double[sortedDates.length];
+    int count = 0;
+    for (int i = 0; i < size; i++) {
+      int epochDay = (int) (keys[i] >> 32);
+      double value = values[(int) keys[i]];
+      if (count > 0 && sortedDates[count - 1] == epochDay) {
+        sortedValues[count - 1] = value;
+      } else {
+        sortedDates[count] = epochDay;
+        sortedValues[count] = value;
+        count++;
+      }
+    }
+    dates = sortedDates;
+    values = sortedValues;
+    size = count;
+    sorted = true;
   }
 
   /**
@@ -146,6 +235,7 @@ public final class LocalDateDoubleTimeSeriesBuilder {
     ArgChecker.noNulls(values, "values");
     ArgChecker.isTrue(dates.size() == values.size(),
         "Arrays are of different sizes - dates: {}, values: {}", dates.size(), values.size());
+    ensureCapacity(size + dates.size());
     Iterator<LocalDate> itDate = dates.iterator();
     Iterator<Double> itValue = values.iterator();
     for (int i = 0; i < dates.size(); i++) {
@@ -194,8 +284,10 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    */
   public LocalDateDoubleTimeSeriesBuilder putAll(LocalDateDoubleTimeSeriesBuilder other) {
     ArgChecker.notNull(other, "other");
-    entries.putAll(other.entries);
-    containsWeekends = containsWeekends || other.containsWeekends;
+    ensureCapacity(size + other.size);
+    for (int i = 0; i < other.size; i++) {
+      put(other.dates[i], other.values[i]);
+    }
     return this;
   }
 
@@ -214,51 +306,146 @@ public final class LocalDateDoubleTimeSeriesBuilder {
   }
 
   //-------------------------------------------------------------------------
-
   /**
-   * Build the time-series from the builder.
+   * Creates a time-series from arrays of epoch days and values that are already sorted.
+   * <p>
+   * This is intended for operations that produce their results in date order,
+   * avoiding the need to sort the points.
+   * The dates must be in ascending order without duplicates and the values must not be NaN.
+   * Only the first {@code size} elements of each array are used.
+   * The arrays may be used directly by the result, thus must not be altered.
    *
-   * @return a time-series containing the entries from the builder
+   * @param dates  the sorted dates, as epoch days
+   * @param values  the values
+   * @param size  the number of points
+   * @return the time-series
    */
-  public LocalDateDoubleTimeSeries build() {
-
-    if (entries.isEmpty()) {
+  static LocalDateDoubleTimeSeries createSorted(int[] dates, double[] values, int size) {
+    if (size == 0) {
       return LocalDateDoubleTimeSeries.empty();
     }
+    boolean weekends = false;
+    for (int i = 0; i < size && !weekends; i++) {
+      weekends = isWeekend(dates[i]);
+    }
+    return createSorted(dates, values, size, weekends);
+  }
 
-    // Depending on how dense the data is, judge which type of time series
-    // is the best fit
-    return density() > DENSITY_THRESHOLD ?
-        createDenseSeries() :
-        createSparseSeries();
+  /**
+   * Gets the dates of a time-series as epoch days.
+   * <p>
+   * The array may be shared with the time-series, thus must not be altered.
+   *
+   * @param series  the time-series
+   * @return the dates, as epoch days
+   */
+  static int[] epochDays(LocalDateDoubleTimeSeries series) {
+    if (series instanceof SparseLocalDateDoubleTimeSeries) {
+      return ((SparseLocalDateDoubleTimeSeries) series).epochDays();
+    }
+    return series.dates().mapToInt(date -> Math.toIntExact(date.toEpochDay())).toArray();
   }
 
-  private LocalDateDoubleTimeSeries createDenseSeries() {
-    return DenseLocalDateDoubleTimeSeries.of(
-        entries.firstKey(),
-        entries.lastKey(),
-        streamEntries(),
-        determineCalculation());
+  /**
+   * Creates a time-series with the same dates as another and the specified values.
+   * <p>
+   * The values are in date order, one for each point in the time-series.
+   * Where possible the result shares the date index of the input.
+   *
+   * @param series  the time-series providing the dates
+   * @param values  the new values, which must not be NaN
+   * @return the time-series
+   */
+  static LocalDateDoubleTimeSeries withValues(LocalDateDoubleTimeSeries series, double[] values) {
+    ArgChecker.isTrue(values.length == series.size(),
+        "Arrays are of different sizes - dates: {}, values: {}", series.size(), values.length);
+    for (double value : values) {
+      ArgChecker.isFalse(Double.isNaN(value), "NaN is not allowed as a value");
+    }
+    if (series instanceof SparseLocalDateDoubleTimeSeries) {
+      return ((SparseLocalDateDoubleTimeSeries) series).withValues(values);
+    }
+    if (series instanceof DenseLocalDateDoubleTimeSeries) {
+      return ((DenseLocalDateDoubleTimeSeries) series).withValues(values);
+    }
+    return createSorted(epochDays(series), values, values.length);
   }
 
-  private SparseLocalDateDoubleTimeSeries createSparseSeries() {
-    return SparseLocalDateDoubleTimeSeries.of(entries.keySet(), entries.values());
+  /**
+   * Resamples a time-series onto the specified dates.
+   * <p>
+   * The series and the dates are walked together in a single pass.
+   *
+   * @param series  the time-series to resample
+   * @param targets  the dates to resample onto, as epoch days in ascending order
+   * @param fill  the method used to fill dates not in the series
+   * @return the resampled time-series
+   */
+  static LocalDateDoubleTimeSeries resample(LocalDateDoubleTimeSeries series, int[] targets, GapFill fill) {
+    int[] dates = epochDays(series);
+    double[] values = series.values().toArray();
+    int[] resDates = new int[targets.length];
+    double[] resValues = new double[targets.length];
+    int resCount = 0;
+    // the number of points in the series on or before the target
+    int pos = 0;
+    for (int target : targets) {
+      while (pos < dates.length && dates[pos] <= target) {
+        pos++;
+      }
+      double value;
+      if (pos > 0 && dates[pos - 1] == target) {
+        value = values[pos - 1];
+      } else if (fill == GapFill.PREVIOUS_VALUE && pos > 0) {
+        value = values[pos - 1];
+      } else if (fill == GapFill.LINEAR && pos > 0 && pos < dates.length) {
+        double weight = (target - dates[pos - 1]) / (double) (dates[pos] - dates[pos - 1]);
+        value = values[pos - 1] + weight * (values[pos] - values[pos - 1]);
+      } else {
+        continue;
+      }
+      resDates[resCount] = target;
+      resValues[resCount] = value;
+      resCount++;
+    }
+    return createSorted(resDates, resValues, resCount);
   }
 
-  private Stream<LocalDateDoublePoint> streamEntries() {
-    return entries.entrySet()
-        .stream()
-        .map(e -> LocalDateDoublePoint.of(e.getKey(), e.getValue()));
+  // creates the time-series, choosing the implementation based on density
+  private static LocalDateDoubleTimeSeries createSorted(int[] dates, double[] values, int size, boolean weekends) {
+    DenseLocalDateDoubleTimeSeries.DenseTimeSeriesCalculation calculation = weekends ? INCLUDE_WEEKENDS : SKIP_WEEKENDS;
+    LocalDate first = LocalDate.ofEpochDay(dates[0]);
+    LocalDate last = LocalDate.ofEpochDay(dates[size - 1]);
+    return density(calculation, first, last, size) > DENSITY_THRESHOLD ?
+        DenseLocalDateDoubleTimeSeries.ofSorted(dates, values, size, calculation) :
+        SparseLocalDateDoubleTimeSeries.ofSorted(dates, values, size);
   }
 
-  private DenseLocalDateDoubleTimeSeries.DenseTimeSeriesCalculation determineCalculation() {
-    return containsWeekends ? INCLUDE_WEEKENDS : SKIP_WEEKENDS;
+  //-------------------------------------------------------------------------
+  /**
+   * Build the time-series from the builder.
+   *
+   * @return a time-series containing the entries from the builder
+   */
+  public LocalDateDoubleTimeSeries build() {
+    if (size == 0) {
+      return LocalDateDoubleTimeSeries.empty();
+    }
+    sort();
+    // Depending on how dense the data is, judge which type of time series
+    // is the best fit, copying as the builder may be reused
+    return createSorted(Arrays.copyOf(dates, size), Arrays.copyOf(values, size), size, containsWeekends);
   }
 
-  private double density() {
+  private static double density(
+      DenseLocalDateDoubleTimeSeries.DenseTimeSeriesCalculation calculation,
+      LocalDate first,
+      LocalDate last,
+      int size) {
+
     // We can use the calculators to work out range size
-    double rangeSize = determineCalculation().calculatePosition(entries.firstKey(), entries.lastKey()) + 1;
-    return entries.size() / rangeSize;
+    double rangeSize = calculation.calculatePosition(first, last) + 1;
+    return size / rangeSize;
   }
 
 }
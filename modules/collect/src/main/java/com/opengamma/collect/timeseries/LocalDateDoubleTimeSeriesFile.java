@@ -0,0 +1,310 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.collect.timeseries;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.collect.ArgChecker;
+import com.opengamma.collect.Messages;
+
+/**
+ * A binary file of named time-series, accessed by memory-mapping.
+ * <p>
+ * The file holds many {@link LocalDateDoubleTimeSeries}, each identified by a name.
+ * Use {@link #write(Path, Map)} to create a file and {@link #of(Path)} to open it.
+ * <p>
+ * When opened, the file is mapped into memory and only the index is read.
+ * Each time-series reads its dates and values directly from the mapped file,
+ * thus opening a history does not copy the data onto the heap.
+ * Queries by date and sub-series are performed against the mapped data.
+ * <p>
+ * The format is a header of magic number, version and series count, followed by an index
+ * containing the name, number of points and data offset of each series.
+ * The data for each series is a column of epoch days followed by a column of values,
+ * each aligned to eight bytes.
+ * The file must not be altered while it is open.
+ */
+public final class LocalDateDoubleTimeSeriesFile {
+
+  /**
+   * The magic number at the start of the file, 'OGTS'.
+   */
+  private static final int MAGIC = 0x4F475453;
+  /**
+   * The version of the format.
+   */
+  private static final int VERSION = 1;
+
+  /**
+   * The file.
+   */
+  private final Path file;
+  /**
+   * The time-series, keyed by name.
+   */
+  private final ImmutableMap<String, LocalDateDoubleTimeSeries> series;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Opens a file of time-series.
+   * <p>
+   * The file is mapped into memory and the index is read.
+   * The file must have been created by {@link #write(Path, Map)}.
+   *
+   * @param file  the file to open
+   * @return the opened file
+   * @throws UncheckedIOException if an IO error occurs
+   * @throws IllegalArgumentException if the file is invalid
+   */
+  public static LocalDateDoubleTimeSeriesFile of(Path file) {
+    ArgChecker.notNull(file, "file");
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long fileSize = channel.size();
+      ArgChecker.isTrue(fileSize <= Integer.MAX_VALUE, "Time-series file too large to map: {}", file);
+      MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+      return new LocalDateDoubleTimeSeriesFile(file, parse(buf, file));
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  // parses the index, creating a view for each series
+  private static ImmutableMap<String, LocalDateDoubleTimeSeries> parse(ByteBuffer buf, Path file) {
+    ArgChecker.isTrue(buf.limit() >= 12 && buf.getInt() == MAGIC, "Invalid time-series file: {}", file);
+    ArgChecker.isTrue(buf.getInt() == VERSION, "Unsupported time-series file version: {}", file);
+    int count = buf.getInt();
+    ArgChecker.isTrue(count >= 0, "Invalid time-series file, bad series count: {}", file);
+    ImmutableMap.Builder<String, LocalDateDoubleTimeSeries> builder = ImmutableMap.builder();
+    try {
+      for (int i = 0; i < count; i++) {
+        byte[] nameBytes = new byte[buf.getShort() & 0xFFFF];
+        buf.get(nameBytes);
+        String name = new String(nameBytes, StandardCharsets.UTF_8);
+        int size = buf.getInt();
+        long datesOffset = buf.getLong();
+        long valuesOffset = valuesOffset(datesOffset, size);
+        ArgChecker.isTrue(size >= 0 && datesOffset >= 0 && valuesOffset + size * 8L <= buf.limit(),
+            "Invalid time-series file, bad index entry for '{}': {}", name, file);
+        builder.put(name, new MappedLocalDateDoubleTimeSeries(
+            slice(buf, (int) datesOffset, size * 4).asIntBuffer(),
+            slice(buf, (int) valuesOffset, size * 8).asDoubleBuffer()));
+      }
+    } catch (BufferUnderflowException ex) {
+      // the index extends beyond the end of the file
+      throw new IllegalArgumentException(Messages.format("Invalid time-series file, truncated index: {}", file), ex);
+    }
+    return builder.build();
+  }
+
+  // obtains part of the buffer, without altering the original
+  private static ByteBuffer slice(ByteBuffer buf, int offset, int length) {
+    ByteBuffer dup = buf.duplicate();
+    dup.position(offset);
+    dup.limit(offset + length);
+    return dup.slice();
+  }
+
+  // the offset of the values column, aligned to eight bytes
+  private static long valuesOffset(long datesOffset, int size) {
+    return align(datesOffset + size * 4L);
+  }
+
+  // checks if the date can be stored as an int epoch day
+  private static boolean isStorable(LocalDate date) {
+    long epochDay = date.toEpochDay();
+    return epochDay >= Integer.MIN_VALUE && epochDay <= Integer.MAX_VALUE;
+  }
+
+  // aligns the offset to eight bytes
+  private static long align(long offset) {
+    return (offset + 7) & ~7L;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes a file of time-series.
+   * <p>
+   * The file is replaced if it exists.
+   * The series are written in the iteration order of the map.
+   *
+   * @param file  the file to write
+   * @param series  the time-series to write, keyed by name
+   * @throws IllegalArgumentException if a name is too long or a date cannot be stored as an int epoch day
+   * @throws UncheckedIOException if an IO error occurs
+   */
+  public static void write(Path file, Map<String, ? extends LocalDateDoubleTimeSeries> series) {
+    ArgChecker.notNull(file, "file");
+    ArgChecker.noNulls(series, "series");
+    // calculate the index
+    List<byte[]> names = new ArrayList<>(series.size());
+    long headerSize = 12;
+    for (Map.Entry<String, ? extends LocalDateDoubleTimeSeries> entry : series.entrySet()) {
+      String name = entry.getKey();
+      byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+      ArgChecker.isTrue(nameBytes.length <= 0xFFFF, "Time-series name too long: {}", name);
+      LocalDateDoubleTimeSeries ts = entry.getValue();
+      if (!ts.isEmpty()) {
+        // dates are ascending, so checking the ends checks them all
+        ArgChecker.isTrue(
+            isStorable(ts.getEarliestDate()) && isStorable(ts.getLatestDate()),
+            "Time-series has dates that cannot be stored: {}", name);
+      }
+      names.add(nameBytes);
+      headerSize += 2 + nameBytes.length + 4 + 8;
+    }
+    long[] offsets = new long[series.size()];
+    long offset = align(headerSize);
+    int index = 0;
+    for (LocalDateDoubleTimeSeries ts : series.values()) {
+      offsets[index++] = offset;
+      offset = align(valuesOffset(offset, ts.size()) + ts.size() * 8L);
+    }
+    // write the header and data
+    try (OutputStream os = Files.newOutputStream(file)) {
+      CountingOutput out = new CountingOutput(new BufferedOutputStream(os));
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(series.size());
+      index = 0;
+      for (LocalDateDoubleTimeSeries ts : series.values()) {
+        out.writeShort(names.get(index).length);
+        out.write(names.get(index));
+        out.writeInt(ts.size());
+        out.writeLong(offsets[index]);
+        index++;
+      }
+      index = 0;
+      for (LocalDateDoubleTimeSeries ts : series.values()) {
+        out.pad(offsets[index++]);
+        ts.forEach((date, value) -> out.writeIntUnchecked(Math.toIntExact(date.toEpochDay())));
+        out.pad(valuesOffset(out.count(), 0));
+        ts.forEach((date, value) -> out.writeDoubleUnchecked(value));
+      }
+      out.flush();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Output stream that tracks the position.
+   */
+  private static final class CountingOutput extends DataOutputStream {
+    CountingOutput(OutputStream out) {
+      super(out);
+    }
+
+    // the number of bytes written
+    long count() {
+      return written;
+    }
+
+    // writes zeroes up to the offset
+    void pad(long offset) throws IOException {
+      while (written < offset) {
+        writeByte(0);
+      }
+    }
+
+    // writes an int from a lambda
+    void writeIntUnchecked(int value) {
+      try {
+        writeInt(value);
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    }
+
+    // writes a double from a lambda
+    void writeDoubleUnchecked(double value) {
+      try {
+        writeDouble(value);
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Restricted constructor.
+   *
+   * @param file  the file
+   * @param series  the time-series
+   */
+  private LocalDateDoubleTimeSeriesFile(Path file, ImmutableMap<String, LocalDateDoubleTimeSeries> series) {
+    this.file = file;
+    this.series = series;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the names of the time-series in the file.
+   *
+   * @return the names, in the order they were written
+   */
+  public ImmutableSet<String> getNames() {
+    return series.keySet();
+  }
+
+  /**
+   * Checks if the file contains a time-series with the specified name.
+   *
+   * @param name  the name to check
+   * @return true if the file contains the time-series
+   */
+  public boolean contains(String name) {
+    return series.containsKey(name);
+  }
+
+  /**
+   * Gets a time-series by name.
+   * <p>
+   * The returned time-series reads its data from the mapped file.
+   *
+   * @param name  the name of the time-series
+   * @return the time-series
+   * @throws IllegalArgumentException if the name is not found
+   */
+  public LocalDateDoubleTimeSeries get(String name) {
+    ArgChecker.notNull(name, "name");
+    LocalDateDoubleTimeSeries ts = series.get(name);
+    if (ts == null) {
+      throw new IllegalArgumentException("Unknown time-series: " + name);
+    }
+    return ts;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a string describing the file.
+   *
+   * @return the descriptive string
+   */
+  @Override
+  public String toString() {
+    return "LocalDateDoubleTimeSeriesFile[" + file + ", " + series.size() + " series]";
+  }
+
+}
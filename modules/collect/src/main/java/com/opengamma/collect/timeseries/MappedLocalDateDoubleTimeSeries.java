@@ -0,0 +1,708 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.collect.timeseries;
+
+import java.io.Serializable;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.ObjDoubleConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.Stream;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.ImmutableConstructor;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectFieldsBeanBuilder;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+
+import com.opengamma.collect.ArgChecker;
+import com.opengamma.collect.function.IntDoubleConsumer;
+import com.opengamma.collect.function.ObjDoublePredicate;
+
+/**
+ * An immutable implementation of {@code LocalDateDoubleTimeSeries} backed by buffers,
+ * such as views onto a memory-mapped file.
+ * <p>
+ * The dates and values are read directly from the buffers, one
+ * holding the dates as epoch days and one holding the values.
+ * No data is copied to the heap when the series is opened, or by {@link #get(LocalDate)},
+ * {@link #subSeries(LocalDate, LocalDate)}, {@link #headSeries(int)} or {@link #tailSeries(int)}.
+ * Operations that create new values, such as {@link #mapValues(DoubleUnaryOperator)},
+ * copy the data to a heap-based series first.
+ * <p>
+ * Instances are created by {@link LocalDateDoubleTimeSeriesFile} and as snapshots
+ * of {@link LiveLocalDateDoubleTimeSeries}. The data in the buffers must not change.
+ * When serialized, the data is copied to a heap-based series.
+ */
+@BeanDefinition(builderScope = "private")
+final class MappedLocalDateDoubleTimeSeries
+    implements ImmutableBean, Serializable, LocalDateDoubleTimeSeries {
+
+  /**
+   * The dates in the series, expressed as epoch days, ordered from earliest to latest.
+   * Only absolute get methods are used, thus the buffer is safe to share between threads.
+   */
+  @PropertyDefinition(get = "private", validate = "notNull")
+  private final IntBuffer dates;
+  /**
+   * The values in the series, at the index matching the date.
+   * Only absolute get methods are used, thus the buffer is safe to share between threads.
+   */
+  @PropertyDefinition(get = "private", validate = "notNull")
+  private final DoubleBuffer values;
+  /**
+   * The index in the buffers of the first point in the series.
+   */
+  @PropertyDefinition(get = "private")
+  private final int start;
+  /**
+   * The number of points in the series.
+   */
+  @PropertyDefinition(get = "private")
+  private final int size;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance.
+   * <p>
+   * The buffers must contain the same number of elements, with the dates sorted
+   * and the values not NaN. The order of the dates and the values are not checked.
+   *
+   * @param dates  the dates, as epoch days
+   * @param values  the values
+   */
+  MappedLocalDateDoubleTimeSeries(IntBuffer dates, DoubleBuffer values) {
+    this(dates, values, 0, dates.capacity());
+  }
+
+  /**
+   * Creates an instance viewing the start of the buffers.
+   * <p>
+   * The buffers must contain the same number of elements, with the dates sorted
+   * and the values not NaN up to the specified size.
+   *
+   * @param dates  the dates, as epoch days
+   * @param values  the values
+   * @param size  the number of points
+   */
+  MappedLocalDateDoubleTimeSeries(IntBuffer dates, DoubleBuffer values, int size) {
+    this(dates, values, 0, size);
+  }
+
+  /**
+   * Creates an instance viewing part of the buffers.
+   *
+   * @param dates  the dates, as epoch days
+   * @param values  the values
+   * @param start  the index of the first point
+   * @param size  the number of points
+   */
+  @ImmutableConstructor
+  private MappedLocalDateDoubleTimeSeries(IntBuffer dates, DoubleBuffer values, int start, int size) {
+    ArgChecker.notNull(dates, "dates");
+    ArgChecker.notNull(values, "values");
+    ArgChecker.isTrue(dates.capacity() == values.capacity(),
+        "Buffers are of different sizes - dates: {}, values: {}", dates.capacity(), values.capacity());
+    ArgChecker.isTrue(start >= 0 && size >= 0 && start + size <= dates.capacity(),
+        "Invalid view of buffers, start: {}, size: {}", start, size);
+    this.dates = dates;
+    this.values = values;
+    this.start = start;
+    this.size = size;
+  }
+
+  // creates a view of the points from startPos inclusive to endPos exclusive, relative to this view
+  private LocalDateDoubleTimeSeries view(int startPos, int endPos) {
+    if (startPos >= endPos) {
+      return LocalDateDoubleTimeSeries.empty();
+    }
+    if (startPos == 0 && endPos == size) {
+      return this;
+    }
+    return new MappedLocalDateDoubleTimeSeries(dates, values, start + startPos, endPos - startPos);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public boolean containsDate(LocalDate date) {
+    return findDatePosition(date) >= 0;
+  }
+
+  @Override
+  public OptionalDouble get(LocalDate date) {
+    int position = findDatePosition(date);
+    return (position >= 0 ? OptionalDouble.of(valueAt(position)) : OptionalDouble.empty());
+  }
+
+  // binary search of the mapped dates, result as per Arrays.binarySearch relative to this view
+  private int findDatePosition(LocalDate date) {
+    ArgChecker.notNull(date, "date");
+    long key = date.toEpochDay();  // compared as a long, so dates outside the int range are never found
+    int low = 0;
+    int high = size - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int midVal = epochDayAt(mid);
+      if (midVal < key) {
+        low = mid + 1;
+      } else if (midVal > key) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -(low + 1);
+  }
+
+  // the epoch day at the position in this view
+  private int epochDayAt(int position) {
+    return dates.get(start + position);
+  }
+
+  // the value at the position in this view
+  private double valueAt(int position) {
+    return values.get(start + position);
+  }
+
+  // the date at the position in this view
+  private LocalDate dateAt(int position) {
+    return LocalDate.ofEpochDay(epochDayAt(position));
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDate getEarliestDate() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return earliest, time-series is empty");
+    }
+    return dateAt(0);
+  }
+
+  @Override
+  public double getEarliestValue() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return earliest, time-series is empty");
+    }
+    return valueAt(0);
+  }
+
+  @Override
+  public LocalDate getLatestDate() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return latest, time-series is empty");
+    }
+    return dateAt(size - 1);
+  }
+
+  @Override
+  public double getLatestValue() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return latest, time-series is empty");
+    }
+    return valueAt(size - 1);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDateDoubleTimeSeries subSeries(LocalDate startInclusive, LocalDate endExclusive) {
+    ArgChecker.notNull(startInclusive, "startInclusive");
+    ArgChecker.notNull(endExclusive, "endExclusive");
+    if (endExclusive.isBefore(startInclusive)) {
+      throw new IllegalArgumentException(
+          "Invalid sub series, end before start: " + startInclusive + " to " + endExclusive);
+    }
+    // where in the buffer would start/end be (whether or not it's actually in the series)
+    int startPos = findDatePosition(startInclusive);
+    startPos = startPos >= 0 ? startPos : -startPos - 1;
+    int endPos = findDatePosition(endExclusive);
+    endPos = endPos >= 0 ? endPos : -endPos - 1;
+    return view(startPos, endPos);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries headSeries(int numPoints) {
+    ArgChecker.notNegative(numPoints, "numPoints");
+    return view(0, Math.min(numPoints, size));
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries tailSeries(int numPoints) {
+    ArgChecker.notNegative(numPoints, "numPoints");
+    return view(Math.max(size - numPoints, 0), size);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Stream<LocalDateDoublePoint> stream() {
+    return TimeSeriesSpliterator.stream(null, 0, size, i -> LocalDateDoublePoint.of(dateAt(i), valueAt(i)));
+  }
+
+  @Override
+  public Stream<LocalDate> dates() {
+    return TimeSeriesSpliterator.stream(null, 0, size, this::dateAt);
+  }
+
+  @Override
+  public DoubleStream values() {
+    return TimeSeriesSpliterator.doubleStream(null, 0, size, this::valueAt);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void forEach(ObjDoubleConsumer<LocalDate> action) {
+    ArgChecker.notNull(action, "action");
+    for (int i = 0; i < size; i++) {
+      action.accept(dateAt(i), valueAt(i));
+    }
+  }
+
+  @Override
+  public void forEachEpochDay(IntDoubleConsumer action) {
+    ArgChecker.notNull(action, "action");
+    for (int i = 0; i < size; i++) {
+      action.accept(epochDayAt(i), valueAt(i));
+    }
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries mapValues(DoubleUnaryOperator mapper) {
+    return toHeap().mapValues(mapper);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries filter(ObjDoublePredicate<LocalDate> predicate) {
+    return toHeap().filter(predicate);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries combineWith(LocalDateDoubleTimeSeries other, DoubleBinaryOperator mapper) {
+    return toHeap().combineWith(other, mapper);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeriesBuilder toBuilder() {
+    return toHeap().toBuilder();
+  }
+
+  /**
+   * Copies the mapped data to a heap-based time-series.
+   *
+   * @return the heap-based time-series
+   */
+  LocalDateDoubleTimeSeries toHeap() {
+    int[] datesArray = new int[size];
+    double[] valuesArray = new double[size];
+    for (int i = 0; i < size; i++) {
+      datesArray[i] = epochDayAt(i);
+      valuesArray[i] = valueAt(i);
+    }
+    return LocalDateDoubleTimeSeriesBuilder.createSorted(datesArray, valuesArray, size);
+  }
+
+  // serialize the data, not the mapping
+  private Object writeReplace() {
+    return toHeap();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if this time-series is equal to another time-series.
+   * <p>
+   * Compares this time-series with another mapped time-series ensuring
+   * that the dates and values are the same.
+   *
+   * @param obj  the object to check, null returns false
+   * @return true if this is equal to the other date
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj instanceof MappedLocalDateDoubleTimeSeries) {
+      MappedLocalDateDoubleTimeSeries other = (MappedLocalDateDoubleTimeSeries) obj;
+      if (size != other.size) {
+        return false;
+      }
+      for (int i = 0; i < size; i++) {
+        if (epochDayAt(i) != other.epochDayAt(i) ||
+            Double.doubleToLongBits(valueAt(i)) != Double.doubleToLongBits(other.valueAt(i))) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * A hash code for this time-series.
+   *
+   * @return a suitable hash code
+   */
+  @Override
+  public int hashCode() {
+    int hash = 1;
+    for (int i = 0; i < size; i++) {
+      hash = 31 * hash + epochDayAt(i);
+      hash = 31 * hash + Double.hashCode(valueAt(i));
+    }
+    return hash;
+  }
+
+  /**
+   * Returns a string representation of the time-series.
+   *
+   * @return the string
+   */
+  @Override
+  public String toString() {
+    return stream()
+        .map(LocalDateDoublePoint::toString)
+        .collect(Collectors.joining(", ", "[", "]"));
+  }
+
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code MappedLocalDateDoubleTimeSeries}.
+   * @return the meta-bean, not null
+   */
+  public static MappedLocalDateDoubleTimeSeries.Meta meta() {
+    return MappedLocalDateDoubleTimeSeries.Meta.INSTANCE;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(MappedLocalDateDoubleTimeSeries.Meta.INSTANCE);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  @Override
+  public MappedLocalDateDoubleTimeSeries.Meta metaBean() {
+    return MappedLocalDateDoubleTimeSeries.Meta.INSTANCE;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the dates in the series, expressed as epoch days, ordered from earliest to latest.
+   * Only absolute get methods are used, thus the buffer is safe to share between threads.
+   * @return the value of the property, not null
+   */
+  private IntBuffer getDates() {
+    return dates;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the values in the series, at the index matching the date.
+   * Only absolute get methods are used, thus the buffer is safe to share between threads.
+   * @return the value of the property, not null
+   */
+  private DoubleBuffer getValues() {
+    return values;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the index in the buffers of the first point in the series.
+   * @return the value of the property
+   */
+  private int getStart() {
+    return start;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the number of points in the series.
+   * @return the value of the property
+   */
+  private int getSize() {
+    return size;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code MappedLocalDateDoubleTimeSeries}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code dates} property.
+     */
+    private final MetaProperty<IntBuffer> dates = DirectMetaProperty.ofImmutable(
+        this, "dates", MappedLocalDateDoubleTimeSeries.class, IntBuffer.class);
+    /**
+     * The meta-property for the {@code values} property.
+     */
+    private final MetaProperty<DoubleBuffer> values = DirectMetaProperty.ofImmutable(
+        this, "values", MappedLocalDateDoubleTimeSeries.class, DoubleBuffer.class);
+    /**
+     * The meta-property for the {@code start} property.
+     */
+    private final MetaProperty<Integer> start = DirectMetaProperty.ofImmutable(
+        this, "start", MappedLocalDateDoubleTimeSeries.class, Integer.TYPE);
+    /**
+     * The meta-property for the {@code size} property.
+     */
+    private final MetaProperty<Integer> size = DirectMetaProperty.ofImmutable(
+        this, "size", MappedLocalDateDoubleTimeSeries.class, Integer.TYPE);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "dates",
+        "values",
+        "start",
+        "size");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 95356549:  // dates
+          return dates;
+        case -823812830:  // values
+          return values;
+        case 109757538:  // start
+          return start;
+        case 3530753:  // size
+          return size;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends MappedLocalDateDoubleTimeSeries> builder() {
+      return new MappedLocalDateDoubleTimeSeries.Builder();
+    }
+
+    @Override
+    public Class<? extends MappedLocalDateDoubleTimeSeries> beanType() {
+      return MappedLocalDateDoubleTimeSeries.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code dates} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<IntBuffer> dates() {
+      return dates;
+    }
+
+    /**
+     * The meta-property for the {@code values} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<DoubleBuffer> values() {
+      return values;
+    }
+
+    /**
+     * The meta-property for the {@code start} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Integer> start() {
+      return start;
+    }
+
+    /**
+     * The meta-property for the {@code size} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Integer> size() {
+      return size;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case 95356549:  // dates
+          return ((MappedLocalDateDoubleTimeSeries) bean).getDates();
+        case -823812830:  // values
+          return ((MappedLocalDateDoubleTimeSeries) bean).getValues();
+        case 109757538:  // start
+          return ((MappedLocalDateDoubleTimeSeries) bean).getStart();
+        case 3530753:  // size
+          return ((MappedLocalDateDoubleTimeSeries) bean).getSize();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code MappedLocalDateDoubleTimeSeries}.
+   */
+  private static final class Builder extends DirectFieldsBeanBuilder<MappedLocalDateDoubleTimeSeries> {
+
+    private IntBuffer dates;
+    private DoubleBuffer values;
+    private int start;
+    private int size;
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 95356549:  // dates
+          return dates;
+        case -823812830:  // values
+          return values;
+        case 109757538:  // start
+          return start;
+        case 3530753:  // size
+          return size;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case 95356549:  // dates
+          this.dates = (IntBuffer) newValue;
+          break;
+        case -823812830:  // values
+          this.values = (DoubleBuffer) newValue;
+          break;
+        case 109757538:  // start
+          this.start = (Integer) newValue;
+          break;
+        case 3530753:  // size
+          this.size = (Integer) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public Builder set(MetaProperty<?> property, Object value) {
+      super.set(property, value);
+      return this;
+    }
+
+    @Override
+    public Builder setString(String propertyName, String value) {
+      setString(meta().metaProperty(propertyName), value);
+      return this;
+    }
+
+    @Override
+    public Builder setString(MetaProperty<?> property, String value) {
+      super.setString(property, value);
+      return this;
+    }
+
+    @Override
+    public Builder setAll(Map<String, ? extends Object> propertyValueMap) {
+      super.setAll(propertyValueMap);
+      return this;
+    }
+
+    @Override
+    public MappedLocalDateDoubleTimeSeries build() {
+      return new MappedLocalDateDoubleTimeSeries(
+          dates,
+          values,
+          start,
+          size);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(160);
+      buf.append("MappedLocalDateDoubleTimeSeries.Builder{");
+      buf.append("dates").append('=').append(JodaBeanUtils.toString(dates)).append(',').append(' ');
+      buf.append("values").append('=').append(JodaBeanUtils.toString(values)).append(',').append(' ');
+      buf.append("start").append('=').append(JodaBeanUtils.toString(start)).append(',').append(' ');
+      buf.append("size").append('=').append(JodaBeanUtils.toString(size));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
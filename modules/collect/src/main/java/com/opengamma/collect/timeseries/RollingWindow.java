@@ -0,0 +1,349 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.collect.timeseries;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+import com.opengamma.collect.ArgChecker;
+
+/**
+ * A rolling window over a time-series, used to calculate statistics.
+ * <p>
+ * Use {@link LocalDateDoubleTimeSeries#rolling(int)} or {@link LocalDateDoubleTimeSeries#rolling(Period)}
+ * to create an instance. Each statistic is calculated in a single pass over the values,
+ * producing a time-series with the value of the statistic for the window ending on each date.
+ * <p>
+ * A window defined by a number of points contains that number of points, ending with
+ * the point itself. Only points with a full window have a value in the result.
+ * <p>
+ * A window defined by a period contains the points whose date is after the date of
+ * the point minus the period, up to and including the point itself.
+ * For example, a period of one month ending 2015-03-15 covers 2015-02-16 to 2015-03-15 inclusive.
+ * Every point has a value in the result, except for {@link #variance()} which requires two points.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class RollingWindow {
+
+  /**
+   * The underlying time-series.
+   */
+  private final LocalDateDoubleTimeSeries series;
+  /**
+   * The dates of the series, as epoch days.
+   */
+  private final int[] dates;
+  /**
+   * The values of the series.
+   */
+  private final double[] values;
+  /**
+   * The index of the first point in the window ending at each point.
+   */
+  private final int[] starts;
+  /**
+   * The index of the first point with a full window.
+   */
+  private final int first;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates a window of a fixed number of points.
+   *
+   * @param series  the time-series
+   * @param points  the number of points in the window, one or greater
+   * @return the window
+   */
+  static RollingWindow ofPoints(LocalDateDoubleTimeSeries series, int points) {
+    ArgChecker.notNull(series, "series");
+    ArgChecker.notNegativeOrZero(points, "points");
+    int size = series.size();
+    int[] starts = new int[size];
+    for (int i = 0; i < size; i++) {
+      starts[i] = Math.max(i - points + 1, 0);
+    }
+    return new RollingWindow(series, starts, Math.min(points - 1, size));
+  }
+
+  /**
+   * Creates a window of a calendar period.
+   *
+   * @param series  the time-series
+   * @param period  the period of the window, positive
+   * @return the window
+   */
+  static RollingWindow ofPeriod(LocalDateDoubleTimeSeries series, Period period) {
+    ArgChecker.notNull(series, "series");
+    ArgChecker.notNull(period, "period");
+    ArgChecker.isFalse(period.isZero() || period.isNegative(), "Period must be positive: {}", period);
+    int[] dates = LocalDateDoubleTimeSeriesBuilder.epochDays(series);
+    int[] starts = new int[dates.length];
+    // the start of the window moves forward as the end does
+    int start = 0;
+    for (int i = 0; i < dates.length; i++) {
+      long windowStart = LocalDate.ofEpochDay(dates[i]).minus(period).toEpochDay();
+      while (dates[start] <= windowStart) {
+        start++;
+      }
+      starts[i] = start;
+    }
+    return new RollingWindow(series, dates, starts, 0);
+  }
+
+  // creates an instance
+  private RollingWindow(LocalDateDoubleTimeSeries series, int[] starts, int first) {
+    this(series, LocalDateDoubleTimeSeriesBuilder.epochDays(series), starts, first);
+  }
+
+  // creates an instance
+  private RollingWindow(LocalDateDoubleTimeSeries series, int[] dates, int[] starts, int first) {
+    this.series = series;
+    this.dates = dates;
+    this.values = series.values().toArray();
+    this.starts = starts;
+    this.first = first;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the rolling sum.
+   *
+   * @return the time-series of the sum of the window ending at each date
+   * @throws IllegalArgumentException if a window contains both positive and negative infinity
+   */
+  public LocalDateDoubleTimeSeries sum() {
+    return result(sums(false));
+  }
+
+  /**
+   * Calculates the rolling mean.
+   *
+   * @return the time-series of the mean of the window ending at each date
+   * @throws IllegalArgumentException if a window contains both positive and negative infinity
+   */
+  public LocalDateDoubleTimeSeries mean() {
+    return result(sums(true));
+  }
+
+  // calculates the sum or mean of the window ending at each point
+  // the window sum is recalculated once every point present at the last recalculation has left,
+  // so the rounding error of removing points cannot accumulate along the series
+  private double[] sums(boolean mean) {
+    double[] result = new double[values.length];
+    WindowSum sum = new WindowSum();
+    int lo = 0;
+    int recalculated = -1;
+    for (int i = 0; i < values.length; i++) {
+      sum.add(values[i]);
+      while (lo < starts[i]) {
+        sum.remove(values[lo++]);
+      }
+      if (lo > recalculated) {
+        sum.reset();
+        for (int j = lo; j <= i; j++) {
+          sum.add(values[j]);
+        }
+        recalculated = i;
+      }
+      result[i] = mean ? sum.value() / (i - lo + 1) : sum.value();
+    }
+    return result;
+  }
+
+  /**
+   * Calculates the rolling sample variance.
+   * <p>
+   * The variance is the sum of squared deviations from the mean divided by one less than
+   * the number of points. Dates where the window contains less than two points are omitted.
+   *
+   * @return the time-series of the variance of the window ending at each date
+   * @throws IllegalArgumentException if a window of two or more points contains an infinite value
+   */
+  public LocalDateDoubleTimeSeries variance() {
+    double[] result = new double[values.length];
+    boolean[] include = new boolean[values.length];
+    // the mean and sum of squared deviations are updated as each point is added and removed (Welford)
+    // they are recalculated once every point present at the last recalculation has left, or if not finite
+    int count = 0;
+    double mean = 0;
+    double sumSq = 0;
+    int lo = 0;
+    int recalculated = -1;
+    for (int i = 0; i < values.length; i++) {
+      double x = values[i];
+      count++;
+      double delta = x - mean;
+      mean += delta / count;
+      sumSq += delta * (x - mean);
+      while (lo < starts[i]) {
+        double old = values[lo++];
+        count--;
+        delta = old - mean;
+        mean -= delta / count;
+        sumSq -= delta * (old - mean);
+      }
+      if (lo > recalculated || !Double.isFinite(sumSq)) {
+        WindowSum sum = new WindowSum();
+        for (int j = lo; j <= i; j++) {
+          sum.add(values[j]);
+        }
+        mean = sum.value() / count;
+        sumSq = 0;
+        for (int j = lo; j <= i; j++) {
+          sumSq += (values[j] - mean) * (values[j] - mean);
+        }
+        recalculated = i;
+      }
+      if (count > 1) {
+        result[i] = Math.max(sumSq / (count - 1), 0d);
+        include[i] = true;
+      }
+    }
+    return result(result, include);
+  }
+
+  /**
+   * Calculates the rolling minimum.
+   *
+   * @return the time-series of the minimum of the window ending at each date
+   */
+  public LocalDateDoubleTimeSeries min() {
+    return extreme(true);
+  }
+
+  /**
+   * Calculates the rolling maximum.
+   *
+   * @return the time-series of the maximum of the window ending at each date
+   */
+  public LocalDateDoubleTimeSeries max() {
+    return extreme(false);
+  }
+
+  // calculates the minimum or maximum using a deque of the indices of candidate points
+  private LocalDateDoubleTimeSeries extreme(boolean min) {
+    double[] result = new double[values.length];
+    int[] deque = new int[values.length];
+    int head = 0;
+    int tail = 0;
+    for (int i = 0; i < values.length; i++) {
+      // remove candidates superseded by the new point
+      while (tail > head && (min ? values[deque[tail - 1]] >= values[i] : values[deque[tail - 1]] <= values[i])) {
+        tail--;
+      }
+      deque[tail++] = i;
+      // remove candidates that have left the window
+      while (deque[head] < starts[i]) {
+        head++;
+      }
+      result[i] = values[deque[head]];
+    }
+    return result(result);
+  }
+
+  //-------------------------------------------------------------------------
+  // creates the result, omitting dates without a full window
+  private LocalDateDoubleTimeSeries result(double[] result) {
+    if (first == 0) {
+      return LocalDateDoubleTimeSeriesBuilder.withValues(series, result);
+    }
+    int size = values.length - first;
+    int[] resDates = new int[size];
+    double[] resValues = new double[size];
+    System.arraycopy(dates, first, resDates, 0, size);
+    System.arraycopy(result, first, resValues, 0, size);
+    BulkOperation.checkNotNaN(resValues, size);
+    return LocalDateDoubleTimeSeriesBuilder.createSorted(resDates, resValues, size);
+  }
+
+  // creates the result, omitting dates without a full window or that are excluded
+  private LocalDateDoubleTimeSeries result(double[] result, boolean[] include) {
+    int[] resDates = new int[values.length];
+    double[] resValues = new double[values.length];
+    int resCount = 0;
+    for (int i = first; i < values.length; i++) {
+      if (include[i]) {
+        resDates[resCount] = dates[i];
+        resValues[resCount] = result[i];
+        resCount++;
+      }
+    }
+    BulkOperation.checkNotNaN(resValues, resCount);
+    return LocalDateDoubleTimeSeriesBuilder.createSorted(resDates, resValues, resCount);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The sum of the values in a window, allowing values to be added and removed.
+   * <p>
+   * The finite values are summed with Neumaier compensation, so that adding and then removing
+   * a large value does not lose the small values. Infinite values are counted rather than summed,
+   * so that removing one restores the finite sum rather than leaving NaN.
+   */
+  private static final class WindowSum {
+    private double sum;
+    private double compensation;
+    private int positiveInfinities;
+    private int negativeInfinities;
+
+    // adds a value to the window
+    private void add(double value) {
+      if (value == Double.POSITIVE_INFINITY) {
+        positiveInfinities++;
+      } else if (value == Double.NEGATIVE_INFINITY) {
+        negativeInfinities++;
+      } else {
+        addFinite(value);
+      }
+    }
+
+    // removes a value that was previously added to the window
+    private void remove(double value) {
+      if (value == Double.POSITIVE_INFINITY) {
+        positiveInfinities--;
+      } else if (value == Double.NEGATIVE_INFINITY) {
+        negativeInfinities--;
+      } else {
+        addFinite(-value);
+      }
+    }
+
+    // adds a finite value, capturing the low-order bits lost from the sum
+    private void addFinite(double value) {
+      double total = sum + value;
+      if (Math.abs(sum) >= Math.abs(value)) {
+        compensation += (sum - total) + value;
+      } else {
+        compensation += (value - total) + sum;
+      }
+      sum = total;
+    }
+
+    // empties the window
+    private void reset() {
+      sum = 0;
+      compensation = 0;
+      positiveInfinities = 0;
+      negativeInfinities = 0;
+    }
+
+    // the sum of the window, NaN if it contains both positive and negative infinity
+    private double value() {
+      if (positiveInfinities > 0) {
+        return negativeInfinities > 0 ? Double.NaN : Double.POSITIVE_INFINITY;
+      }
+      return negativeInfinities > 0 ? Double.NEGATIVE_INFINITY : sum + compensation;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "RollingWindow[" + series.size() + " points]";
+  }
+
+}
@@ -5,6 +5,11 @@
  */
 package com.opengamma.collect.timeseries;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -13,11 +18,11 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.OptionalDouble;
 import java.util.Set;
+import java.util.function.DoubleBinaryOperator;
 import java.util.function.DoubleUnaryOperator;
 import java.util.function.ObjDoubleConsumer;
 import java.util.stream.Collectors;
 import java.util.stream.DoubleStream;
-import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.joda.beans.Bean;
@@ -36,6 +41,8 @@ import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 
 import com.google.common.primitives.Doubles;
 import com.opengamma.collect.ArgChecker;
+import com.opengamma.collect.Messages;
+import com.opengamma.collect.function.IntDoubleConsumer;
 import com.opengamma.collect.function.ObjDoublePredicate;
 
 /**
@@ -46,20 +53,28 @@ import com.opengamma.collect.function.ObjDoublePredicate;
  * to be a better choice for the data.
  * <p>
  * This implementation uses arrays internally.
+ * The dates are stored as epoch days, with {@code LocalDate} only
+ * created when requested.
+ * <p>
+ * Sub-series are views onto part of the arrays of this series, thus do not copy the data.
+ * When serialized, a view is compacted to contain only its own points.
+ * The Java serialized form holds the dates as an array of {@code LocalDate},
+ * thus is unchanged from when the dates were stored that way.
  */
 @BeanDefinition(builderScope = "private")
 final class SparseLocalDateDoubleTimeSeries
     implements ImmutableBean, Serializable, LocalDateDoubleTimeSeries {
 
   static final LocalDateDoubleTimeSeries EMPTY_SERIES =
-      new SparseLocalDateDoubleTimeSeries(new LocalDate[0], new double[0]);
+      new SparseLocalDateDoubleTimeSeries(new int[0], new double[0], true);
 
   /**
    * The dates in the series.
    * The dates are ordered from earliest to latest.
+   * They are held as epoch days, with {@code LocalDate} used by the property.
    */
-  @PropertyDefinition(get = "manual", validate = "notNull")
-  private final LocalDate[] dates;
+  @PropertyDefinition(get = "manual", type = "LocalDate[]", validate = "notNull")
+  private final int[] dates;
 
   /**
    * The values in the series.
@@ -67,6 +82,26 @@ final class SparseLocalDateDoubleTimeSeries
    */
   @PropertyDefinition(get = "manual", validate = "notNull")
   private final double[] values;
+  /**
+   * The index in the arrays of the first point in the series.
+   */
+  private final transient int start;
+  /**
+   * The index in the arrays after the last point in the series.
+   */
+  private final transient int end;
+  /**
+   * The series created when deserializing, only set on the instance that is discarded by readResolve().
+   */
+  private transient SparseLocalDateDoubleTimeSeries deserialized;
+  /**
+   * The serialized form, which holds the dates as an array of {@code LocalDate}.
+   * This is the same as the form used when the dates were stored as {@code LocalDate}.
+   */
+  private static final ObjectStreamField[] serialPersistentFields = {
+      new ObjectStreamField("dates", LocalDate[].class),
+      new ObjectStreamField("values", double[].class),
+  };
 
   //-------------------------------------------------------------------------
 
@@ -82,61 +117,106 @@ final class SparseLocalDateDoubleTimeSeries
   static SparseLocalDateDoubleTimeSeries of(Collection<LocalDate> dates, Collection<Double> values) {
     ArgChecker.noNulls(dates, "dates");
     ArgChecker.noNulls(values, "values");
-    LocalDate[] datesArray = dates.toArray(new LocalDate[dates.size()]);
+    int[] datesArray = dates.stream().mapToInt(date -> toEpochDay(date)).toArray();
     double[] valuesArray = Doubles.toArray(values);
     validate(datesArray, valuesArray);
     return createUnsafe(datesArray, valuesArray);
   }
 
+  /**
+   * Obtains a time-series from arrays of epoch days and values that are already sorted.
+   * <p>
+   * Only the first {@code size} elements of each array are used.
+   * The arrays are assigned directly if they have the correct size, thus must be safe to use.
+   *
+   * @param dates  the sorted dates, as epoch days
+   * @param values  the values
+   * @param size  the number of points
+   * @return the time-series
+   */
+  static SparseLocalDateDoubleTimeSeries ofSorted(int[] dates, double[] values, int size) {
+    if (size == dates.length && size == values.length) {
+      return createUnsafe(dates, values);
+    }
+    return createUnsafe(Arrays.copyOf(dates, size), Arrays.copyOf(values, size));
+  }
+
   // creates time-series by directly assigning the input arrays
   // must only be called when safe to do so
-  private static SparseLocalDateDoubleTimeSeries createUnsafe(LocalDate[] dates, double[] values) {
+  private static SparseLocalDateDoubleTimeSeries createUnsafe(int[] dates, double[] values) {
     return new SparseLocalDateDoubleTimeSeries(dates, values, true);
   }
 
   // validates the arrays are same length and in order
-  private static void validate(LocalDate[] dates, double[] values) {
+  private static void validate(int[] dates, double[] values) {
     ArgChecker.isTrue(dates.length == values.length,
         "Arrays are of different sizes - dates: {}, values: {}", dates.length, values.length);
-    LocalDate maxDate = LocalDate.MIN;
-    for (LocalDate date : dates) {
-      ArgChecker.isTrue(date.isAfter(maxDate),
-          "Dates must be in ascending order but: {} is not after: {}", date, maxDate);
-      maxDate = date;
+    for (int i = 1; i < dates.length; i++) {
+      if (dates[i] <= dates[i - 1]) {
+        throw new IllegalArgumentException(Messages.format(
+            "Dates must be in ascending order but: {} is not after: {}", toDate(dates[i]), toDate(dates[i - 1])));
+      }
     }
   }
 
+  // converts a date to an epoch day, throwing ArithmeticException if it cannot be stored
+  private static int toEpochDay(LocalDate date) {
+    return Math.toIntExact(date.toEpochDay());
+  }
+
+  // converts an epoch day to a date
+  private static LocalDate toDate(int epochDay) {
+    return LocalDate.ofEpochDay(epochDay);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance, validating the supplied arrays.
    * <p>
-   * The arrays are cloned as this constructor is called from Joda-Beans.
+   * The values are cloned as this constructor is called from Joda-Beans.
    *
    * @param dates  the dates
    * @param values  the values
    */
   @ImmutableConstructor
   private SparseLocalDateDoubleTimeSeries(LocalDate[] dates, double[] values) {
-    ArgChecker.noNulls(dates, "dates");
+    ArgChecker.notNull(dates, "dates");
     ArgChecker.notNull(values, "values");
-    validate(dates, values);
-    this.dates = dates.clone();
+    int[] epochDays = toEpochDays(dates);
+    validate(epochDays, values);
+    this.dates = epochDays;
     this.values = values.clone();
+    this.start = 0;
+    this.end = epochDays.length;
   }
 
   /**
    * Creates an instance without validating the supplied arrays.
    *
-   * @param dates  the dates
+   * @param dates  the dates, as epoch days
    * @param values  the values
    * @param trusted  flag to distinguish constructor
    */
-  private SparseLocalDateDoubleTimeSeries(LocalDate[] dates, double[] values, boolean trusted) {
+  private SparseLocalDateDoubleTimeSeries(int[] dates, double[] values, boolean trusted) {
     // constructor exists to avoid clones where possible
     // because Joda-Beans owns the main constructor, this one has a weird flag
     // use createUnsafe() instead of calling this directly
+    this(dates, values, 0, dates.length);
+  }
+
+  /**
+   * Creates an instance viewing part of the supplied arrays, without validation.
+   *
+   * @param dates  the dates, as epoch days
+   * @param values  the values
+   * @param start  the index of the first point
+   * @param end  the index after the last point
+   */
+  private SparseLocalDateDoubleTimeSeries(int[] dates, double[] values, int start, int end) {
     this.dates = dates;
     this.values = values;
+    this.start = start;
+    this.end = end;
   }
 
   /**
@@ -146,8 +226,67 @@ final class SparseLocalDateDoubleTimeSeries
    * @param value  the value
    */
   private SparseLocalDateDoubleTimeSeries(LocalDate date, double value) {
-    dates = new LocalDate[] {ArgChecker.notNull(date, "date")};
+    dates = new int[] {toEpochDay(ArgChecker.notNull(date, "date"))};
     values = new double[] {value};
+    start = 0;
+    end = 1;
+  }
+
+  // creates a view of the points from startPos inclusive to endPos exclusive, as indices in the arrays
+  private LocalDateDoubleTimeSeries view(int startPos, int endPos) {
+    if (startPos >= endPos) {
+      return EMPTY_SERIES;
+    }
+    if (startPos == start && endPos == end) {
+      return this;
+    }
+    return new SparseLocalDateDoubleTimeSeries(dates, values, startPos, endPos);
+  }
+
+  // checks if this is a view onto part of the arrays
+  private boolean isView() {
+    return start != 0 || end != dates.length;
+  }
+
+  // writes the serialized form, an array of LocalDate and an array of double
+  // only the points in the view are written
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    ObjectOutputStream.PutField fields = out.putFields();
+    fields.put("dates", getDates());
+    fields.put("values", getValues());
+    out.writeFields();
+  }
+
+  // reads the serialized form, creating the series to be returned by readResolve()
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    ObjectInputStream.GetField fields = in.readFields();
+    LocalDate[] serializedDates = (LocalDate[]) fields.get("dates", null);
+    double[] serializedValues = (double[]) fields.get("values", null);
+    if (serializedDates == null || serializedValues == null) {
+      throw new InvalidObjectException("Dates and values must not be null");
+    }
+    try {
+      deserialized = new SparseLocalDateDoubleTimeSeries(serializedDates, serializedValues);
+    } catch (IllegalArgumentException ex) {
+      InvalidObjectException ioe = new InvalidObjectException(ex.getMessage());
+      ioe.initCause(ex);
+      throw ioe;
+    }
+  }
+
+  // returns the series created by readObject()
+  private Object readResolve() {
+    return deserialized;
+  }
+
+  // converts dates to epoch days
+  private static int[] toEpochDays(LocalDate[] dates) {
+    ArgChecker.noNulls(dates, "dates");
+    int[] epochDays = new int[dates.length];
+    for (int i = 0; i < dates.length; i++) {
+      epochDays[i] = toEpochDay(dates[i]);
+    }
+    return epochDays;
   }
 
   //-----------------------------------------------------------------------
@@ -157,7 +296,11 @@ final class SparseLocalDateDoubleTimeSeries
    * @return the value of the property, not null
    */
   private LocalDate[] getDates() {
-    return dates.clone();
+    LocalDate[] result = new LocalDate[end - start];
+    for (int i = start; i < end; i++) {
+      result[i - start] = toDate(dates[i]);
+    }
+    return result;
   }
 
   /**
@@ -166,18 +309,18 @@ final class SparseLocalDateDoubleTimeSeries
    * @return the value of the property, not null
    */
   private double[] getValues() {
-    return values.clone();
+    return Arrays.copyOfRange(values, start, end);
   }
 
   //-------------------------------------------------------------------------
   @Override
   public int size() {
-    return dates.length;
+    return end - start;
   }
 
   @Override
   public boolean isEmpty() {
-    return dates.length == 0;
+    return end == start;
   }
 
   @Override
@@ -191,18 +334,42 @@ final class SparseLocalDateDoubleTimeSeries
     return (position >= 0 ? OptionalDouble.of(values[position]) : OptionalDouble.empty());
   }
 
+  // binary search of the dates, result as per Arrays.binarySearch using indices in the arrays
+  // dates that cannot be stored are never present, and sort before or after all stored dates
   private int findDatePosition(LocalDate date) {
-    return Arrays.binarySearch(dates, date);
+    long epochDay = date.toEpochDay();
+    if (epochDay < Integer.MIN_VALUE) {
+      return -(start + 1);
+    }
+    if (epochDay > Integer.MAX_VALUE) {
+      return -(end + 1);
+    }
+    return Arrays.binarySearch(dates, start, end, (int) epochDay);
   }
 
   //-------------------------------------------------------------------------
+  @Override
+  public LocalDate getEarliestDate() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return earliest, time-series is empty");
+    }
+    return toDate(dates[start]);
+  }
+
+  @Override
+  public double getEarliestValue() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return earliest, time-series is empty");
+    }
+    return values[start];
+  }
 
   @Override
   public LocalDate getLatestDate() {
     if (isEmpty()) {
       throw new NoSuchElementException("Unable to return latest, time-series is empty");
     }
-    return dates[dates.length - 1];
+    return toDate(dates[end - 1]);
   }
 
   @Override
@@ -210,7 +377,7 @@ final class SparseLocalDateDoubleTimeSeries
     if (isEmpty()) {
       throw new NoSuchElementException("Unable to return latest, time-series is empty");
     }
-    return values[values.length - 1];
+    return values[end - 1];
   }
 
   //-------------------------------------------------------------------------
@@ -227,14 +394,11 @@ final class SparseLocalDateDoubleTimeSeries
       return EMPTY_SERIES;
     }
     // where in the array would start/end be (whether or not it's actually in the series)
-    int startPos = Arrays.binarySearch(dates, startInclusive);
+    int startPos = findDatePosition(startInclusive);
     startPos = startPos >= 0 ? startPos : -startPos - 1;
-    int endPos = Arrays.binarySearch(dates, endExclusive);
+    int endPos = findDatePosition(endExclusive);
     endPos = endPos >= 0 ? endPos : -endPos - 1;
-    // create sub-series
-    LocalDate[] timesArray = Arrays.copyOfRange(dates, startPos, endPos);
-    double[] valuesArray = Arrays.copyOfRange(values, startPos, endPos);
-    return createUnsafe(timesArray, valuesArray);
+    return view(startPos, endPos);
   }
 
   @Override
@@ -245,9 +409,7 @@ final class SparseLocalDateDoubleTimeSeries
     } else if (numPoints >= size()) {
       return this;
     }
-    LocalDate[] datesArray = Arrays.copyOfRange(dates, 0, numPoints);
-    double[] valuesArray = Arrays.copyOfRange(values, 0, numPoints);
-    return createUnsafe(datesArray, valuesArray);
+    return view(start, start + numPoints);
   }
 
   @Override
@@ -258,32 +420,38 @@ final class SparseLocalDateDoubleTimeSeries
     } else if (numPoints >= size()) {
       return this;
     }
-    LocalDate[] datesArray = Arrays.copyOfRange(dates, size() - numPoints, size());
-    double[] valuesArray = Arrays.copyOfRange(values, size() - numPoints, size());
-    return createUnsafe(datesArray, valuesArray);
+    return view(end - numPoints, end);
   }
 
   //-------------------------------------------------------------------------
   @Override
   public Stream<LocalDateDoublePoint> stream() {
-    return IntStream.range(0, size()).mapToObj(i -> LocalDateDoublePoint.of(dates[i], values[i]));
+    return TimeSeriesSpliterator.stream(null, start, end, i -> LocalDateDoublePoint.of(toDate(dates[i]), values[i]));
   }
 
   @Override
   public Stream<LocalDate> dates() {
-    return Stream.of(dates);
+    return TimeSeriesSpliterator.stream(null, start, end, i -> toDate(dates[i]));
   }
 
   @Override
   public DoubleStream values() {
-    return DoubleStream.of(values);
+    return Arrays.stream(values, start, end);
   }
 
   //-------------------------------------------------------------------------
   @Override
   public void forEach(ObjDoubleConsumer<LocalDate> action) {
     ArgChecker.notNull(action, "action");
-    for (int i = 0; i < size(); i++) {
+    for (int i = start; i < end; i++) {
+      action.accept(toDate(dates[i]), values[i]);
+    }
+  }
+
+  @Override
+  public void forEachEpochDay(IntDoubleConsumer action) {
+    ArgChecker.notNull(action, "action");
+    for (int i = start; i < end; i++) {
       action.accept(dates[i], values[i]);
     }
   }
@@ -291,18 +459,18 @@ final class SparseLocalDateDoubleTimeSeries
   @Override
   public LocalDateDoubleTimeSeries mapValues(DoubleUnaryOperator mapper) {
     ArgChecker.notNull(mapper, "mapper");
-    return createUnsafe(dates, DoubleStream.of(values).map(mapper).toArray());
+    return createUnsafe(epochDays(), Arrays.stream(values, start, end).map(mapper).toArray());
   }
 
   @Override
   public LocalDateDoubleTimeSeries filter(ObjDoublePredicate<LocalDate> predicate) {
     ArgChecker.notNull(predicate, "predicate");
     // build up result in arrays keeping track of count of retained dates
-    LocalDate[] resDates = new LocalDate[size()];
+    int[] resDates = new int[size()];
     double[] resValues = new double[size()];
     int resCount = 0;
-    for (int i = 0; i < size(); i++) {
-      if (predicate.test(dates[i], values[i])) {
+    for (int i = start; i < end; i++) {
+      if (predicate.test(toDate(dates[i]), values[i])) {
         resDates[resCount] = dates[i];
         resValues[resCount] = values[i];
         resCount++;
@@ -311,10 +479,115 @@ final class SparseLocalDateDoubleTimeSeries
     return createUnsafe(Arrays.copyOf(resDates, resCount), Arrays.copyOf(resValues, resCount));
   }
 
+  @Override
+  public LocalDateDoubleTimeSeries combineWith(LocalDateDoubleTimeSeries other, DoubleBinaryOperator mapper) {
+    ArgChecker.notNull(other, "other");
+    ArgChecker.notNull(mapper, "mapper");
+    if (other instanceof SparseLocalDateDoubleTimeSeries) {
+      return combineWithSparse((SparseLocalDateDoubleTimeSeries) other, mapper);
+    }
+    if (other instanceof DenseLocalDateDoubleTimeSeries) {
+      return combineWithDense((DenseLocalDateDoubleTimeSeries) other, mapper);
+    }
+    return LocalDateDoubleTimeSeries.super.combineWith(other, mapper);
+  }
+
+  // both series are sorted, so walk them together
+  private LocalDateDoubleTimeSeries combineWithSparse(SparseLocalDateDoubleTimeSeries other, DoubleBinaryOperator mapper) {
+    int maxSize = Math.min(size(), other.size());
+    int[] resDates = new int[maxSize];
+    double[] resValues = new double[maxSize];
+    int resCount = 0;
+    int i = start;
+    int j = other.start;
+    while (i < end && j < other.end) {
+      if (dates[i] < other.dates[j]) {
+        i++;
+      } else if (dates[i] > other.dates[j]) {
+        j++;
+      } else {
+        resDates[resCount] = dates[i];
+        resValues[resCount] = combineValues(mapper, values[i], other.values[j]);
+        resCount++;
+        i++;
+        j++;
+      }
+    }
+    return LocalDateDoubleTimeSeriesBuilder.createSorted(resDates, resValues, resCount);
+  }
+
+  // the dense series can be queried directly by date
+  private LocalDateDoubleTimeSeries combineWithDense(DenseLocalDateDoubleTimeSeries other, DoubleBinaryOperator mapper) {
+    int[] resDates = new int[size()];
+    double[] resValues = new double[size()];
+    int resCount = 0;
+    for (int i = start; i < end; i++) {
+      double otherValue = other.getOrNaN(toDate(dates[i]));
+      if (!Double.isNaN(otherValue)) {
+        resDates[resCount] = dates[i];
+        resValues[resCount] = combineValues(mapper, values[i], otherValue);
+        resCount++;
+      }
+    }
+    return LocalDateDoubleTimeSeriesBuilder.createSorted(resDates, resValues, resCount);
+  }
+
+  // applies the mapper, rejecting NaN
+  private static double combineValues(DoubleBinaryOperator mapper, double value1, double value2) {
+    double value = mapper.applyAsDouble(value1, value2);
+    ArgChecker.isFalse(Double.isNaN(value), "NaN is not allowed as a value");
+    return value;
+  }
+
+  // applies the operation to each value, sharing the dates array
+  SparseLocalDateDoubleTimeSeries apply(BulkOperation operation, double amount) {
+    double[] result = new double[size()];
+    operation.apply(values, start, amount, result, result.length);
+    BulkOperation.checkNotNaN(result, result.length);
+    return createUnsafe(epochDays(), result);
+  }
+
+  // applies the operation to the values of both series, directly if the dates are the same
+  LocalDateDoubleTimeSeries apply(BulkOperation operation, SparseLocalDateDoubleTimeSeries other) {
+    if (!sameDates(other)) {
+      return combineWithSparse(other, operation);
+    }
+    double[] result = new double[size()];
+    operation.apply(values, start, other.values, other.start, result, result.length);
+    BulkOperation.checkNotNaN(result, result.length);
+    return createUnsafe(epochDays(), result);
+  }
+
+  // checks if the dates of the two series are the same
+  private boolean sameDates(SparseLocalDateDoubleTimeSeries other) {
+    if (size() != other.size()) {
+      return false;
+    }
+    if (dates == other.dates && start == other.start) {
+      return true;
+    }
+    for (int i = 0; i < size(); i++) {
+      if (dates[start + i] != other.dates[other.start + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // gets the dates as epoch days, the array may be shared so must not be altered
+  int[] epochDays() {
+    return isView() ? Arrays.copyOfRange(dates, start, end) : dates;
+  }
+
+  // creates a time-series with the same dates and new values, sharing the dates array
+  SparseLocalDateDoubleTimeSeries withValues(double[] newValues) {
+    return createUnsafe(epochDays(), newValues);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public LocalDateDoubleTimeSeriesBuilder toBuilder() {
-    return new LocalDateDoubleTimeSeriesBuilder(dates, values);
+    return new LocalDateDoubleTimeSeriesBuilder(Arrays.copyOfRange(dates, start, end), getValues());
   }
 
   //-------------------------------------------------------------------------
@@ -334,7 +607,15 @@ final class SparseLocalDateDoubleTimeSeries
     }
     if (obj instanceof SparseLocalDateDoubleTimeSeries) {
       SparseLocalDateDoubleTimeSeries other = (SparseLocalDateDoubleTimeSeries) obj;
-      return Arrays.equals(dates, other.dates) && Arrays.equals(values, other.values);
+      if (!sameDates(other)) {
+        return false;
+      }
+      for (int i = 0; i < size(); i++) {
+        if (Double.doubleToLongBits(values[start + i]) != Double.doubleToLongBits(other.values[other.start + i])) {
+          return false;
+        }
+      }
+      return true;
     }
     return false;
   }
@@ -346,7 +627,14 @@ final class SparseLocalDateDoubleTimeSeries
    */
   @Override
   public int hashCode() {
-    return 31 * Arrays.hashCode(dates) + Arrays.hashCode(values);
+    // matches the hash code of the arrays of the points in the series
+    int datesHash = 1;
+    int valuesHash = 1;
+    for (int i = start; i < end; i++) {
+      datesHash = 31 * datesHash + dates[i];
+      valuesHash = 31 * valuesHash + Double.hashCode(values[i]);
+    }
+    return 31 * datesHash + valuesHash;
   }
 
   /**
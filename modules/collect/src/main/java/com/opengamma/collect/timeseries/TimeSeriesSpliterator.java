@@ -0,0 +1,192 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.collect.timeseries;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntToDoubleFunction;
+import java.util.stream.DoubleStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A spliterator over the points of a time-series held in arrays.
+ * <p>
+ * The spliterator covers a range of positions, each of which is mapped to an index in the arrays
+ * of the time-series. Where the time-series has gaps, the indices of the valid points are supplied,
+ * otherwise the position is the index. As the number of points in every range is known exactly,
+ * the spliterator reports {@code SIZED} and {@code SUBSIZED}, and splits evenly for parallel streams.
+ * The time-series is immutable, so the spliterator also reports {@code IMMUTABLE} and {@code ORDERED}.
+ */
+abstract class TimeSeriesSpliterator {
+
+  /**
+   * The characteristics reported.
+   */
+  private static final int CHARACTERISTICS =
+      Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.NONNULL;
+
+  /**
+   * The indices of the points, null if the position is the index.
+   */
+  final int[] indices;
+  /**
+   * The next position, inclusive.
+   */
+  int from;
+  /**
+   * The last position, exclusive.
+   */
+  final int to;
+
+  /**
+   * Creates an instance.
+   *
+   * @param indices  the indices of the points, null if the position is the index
+   * @param from  the first position, inclusive
+   * @param to  the last position, exclusive
+   */
+  TimeSeriesSpliterator(int[] indices, int from, int to) {
+    this.indices = indices;
+    this.from = from;
+    this.to = to;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates a stream of objects, one for each point.
+   *
+   * @param <T>  the type of the object
+   * @param indices  the indices of the points, null if the position is the index
+   * @param from  the first position, inclusive
+   * @param to  the last position, exclusive
+   * @param mapper  the function converting an index in the arrays to an object
+   * @return the stream
+   */
+  static <T> Stream<T> stream(int[] indices, int from, int to, IntFunction<T> mapper) {
+    return StreamSupport.stream(new ObjSpliterator<>(indices, from, to, mapper), false);
+  }
+
+  /**
+   * Creates a stream of values, one for each point.
+   *
+   * @param indices  the indices of the points, null if the position is the index
+   * @param from  the first position, inclusive
+   * @param to  the last position, exclusive
+   * @param mapper  the function converting an index in the arrays to a value
+   * @return the stream
+   */
+  static DoubleStream doubleStream(int[] indices, int from, int to, IntToDoubleFunction mapper) {
+    return StreamSupport.doubleStream(new DoubleSpliterator(indices, from, to, mapper), false);
+  }
+
+  //-------------------------------------------------------------------------
+  // gets the index in the arrays of the position
+  final int index(int position) {
+    return indices == null ? position : indices[position];
+  }
+
+  // finds the position to split at, -1 if too small to split
+  final int splitPosition() {
+    int mid = (from + to) >>> 1;
+    return mid > from ? mid : -1;
+  }
+
+  public final long estimateSize() {
+    return to - from;
+  }
+
+  public final int characteristics() {
+    return CHARACTERISTICS;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Spliterator of objects.
+   */
+  static final class ObjSpliterator<T> extends TimeSeriesSpliterator implements Spliterator<T> {
+    private final IntFunction<T> mapper;
+
+    ObjSpliterator(int[] indices, int from, int to, IntFunction<T> mapper) {
+      super(indices, from, to);
+      this.mapper = mapper;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+      if (from < to) {
+        action.accept(mapper.apply(index(from++)));
+        return true;
+      }
+      return false;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+      int end = to;
+      for (int i = from; i < end; i++) {
+        action.accept(mapper.apply(index(i)));
+      }
+      from = end;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+      int mid = splitPosition();
+      if (mid < 0) {
+        return null;
+      }
+      Spliterator<T> prefix = new ObjSpliterator<>(indices, from, mid, mapper);
+      from = mid;
+      return prefix;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Spliterator of primitive values.
+   */
+  static final class DoubleSpliterator extends TimeSeriesSpliterator implements Spliterator.OfDouble {
+    private final IntToDoubleFunction mapper;
+
+    DoubleSpliterator(int[] indices, int from, int to, IntToDoubleFunction mapper) {
+      super(indices, from, to);
+      this.mapper = mapper;
+    }
+
+    @Override
+    public boolean tryAdvance(DoubleConsumer action) {
+      if (from < to) {
+        action.accept(mapper.applyAsDouble(index(from++)));
+        return true;
+      }
+      return false;
+    }
+
+    @Override
+    public void forEachRemaining(DoubleConsumer action) {
+      int end = to;
+      for (int i = from; i < end; i++) {
+        action.accept(mapper.applyAsDouble(index(i)));
+      }
+      from = end;
+    }
+
+    @Override
+    public Spliterator.OfDouble trySplit() {
+      int mid = splitPosition();
+      if (mid < 0) {
+        return null;
+      }
+      Spliterator.OfDouble prefix = new DoubleSpliterator(indices, from, mid, mapper);
+      from = mid;
+      return prefix;
+    }
+  }
+
+}
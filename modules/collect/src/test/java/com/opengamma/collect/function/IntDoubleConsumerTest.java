@@ -0,0 +1,34 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.collect.function;
+
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test IntDoubleConsumer.
+ */
+@Test
+public class IntDoubleConsumerTest {
+
+  public void test_andThen() {
+    StringBuilder buf = new StringBuilder();
+    IntDoubleConsumer fn1 = (a, b) -> buf.append(a).append('=').append(b);
+    IntDoubleConsumer fn2 = fn1.andThen((a, b) -> buf.append(';'));
+    fn1.accept(2, 3.2d);
+    assertEquals(buf.toString(), "2=3.2");
+    fn2.accept(3, 1.5d);
+    assertEquals(buf.toString(), "2=3.23=1.5;");
+  }
+
+  @Test(expectedExceptions = NullPointerException.class)
+  public void test_andThen_null() {
+    IntDoubleConsumer fn1 = (a, b) -> {};
+    fn1.andThen(null);
+  }
+
+}
@@ -0,0 +1,157 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.collect.timeseries;
+
+import static com.opengamma.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link BulkOperation} via the methods on {@link LocalDateDoubleTimeSeries}.
+ */
+@Test
+public class BulkOperationTest {
+
+  private static final double TOLERANCE = 1e-12;
+  // dense, Monday 2015-01-05 to Monday 2015-01-12 with a gap on Thursday
+  private static final LocalDateDoubleTimeSeries DENSE = LocalDateDoubleTimeSeries.builder()
+      .put(date(2015, 1, 5), 10)
+      .put(date(2015, 1, 6), 11)
+      .put(date(2015, 1, 7), 12)
+      .put(date(2015, 1, 9), 14)
+      .put(date(2015, 1, 12), 15)
+      .build();
+  // dense, Wednesday 2015-01-07 to Tuesday 2015-01-13
+  private static final LocalDateDoubleTimeSeries DENSE2 = LocalDateDoubleTimeSeries.builder()
+      .put(date(2015, 1, 7), 2)
+      .put(date(2015, 1, 8), 3)
+      .put(date(2015, 1, 9), 4)
+      .put(date(2015, 1, 12), 5)
+      .put(date(2015, 1, 13), 6)
+      .build();
+  private static final LocalDateDoubleTimeSeries SPARSE = LocalDateDoubleTimeSeries.builder()
+      .put(date(2010, 1, 1), 10)
+      .put(date(2012, 1, 1), 20)
+      .put(date(2015, 1, 7), 40)
+      .build();
+
+  //-------------------------------------------------------------------------
+  public void test_scalar_dense() {
+    assertTrue(DENSE instanceof DenseLocalDateDoubleTimeSeries);
+    assertEquals(DENSE.plus(1), DENSE.mapValues(v -> v + 1));
+    assertEquals(DENSE.minus(1), DENSE.mapValues(v -> v - 1));
+    assertEquals(DENSE.multipliedBy(2), DENSE.mapValues(v -> v * 2));
+    assertEquals(DENSE.dividedBy(2), DENSE.mapValues(v -> v / 2));
+  }
+
+  public void test_scalar_sparse() {
+    assertTrue(SPARSE instanceof SparseLocalDateDoubleTimeSeries);
+    assertEquals(SPARSE.plus(1), SPARSE.mapValues(v -> v + 1));
+    assertEquals(SPARSE.minus(1), SPARSE.mapValues(v -> v - 1));
+    assertEquals(SPARSE.multipliedBy(2), SPARSE.mapValues(v -> v * 2));
+    assertEquals(SPARSE.dividedBy(2), SPARSE.mapValues(v -> v / 2));
+  }
+
+  public void test_scalar_sharesDates() {
+    SparseLocalDateDoubleTimeSeries test = (SparseLocalDateDoubleTimeSeries) SPARSE.plus(1);
+    assertSame(test.epochDays(), ((SparseLocalDateDoubleTimeSeries) SPARSE).epochDays());
+  }
+
+  public void test_scalar_nan() {
+    LocalDateDoubleTimeSeries infinite = DENSE.dividedBy(0);
+    assertEquals(infinite.size(), DENSE.size());
+    assertThrowsIllegalArg(() -> infinite.multipliedBy(0));
+    assertThrowsIllegalArg(() -> SPARSE.dividedBy(0).multipliedBy(0));
+    assertThrowsIllegalArg(() -> SPARSE.plus(Double.NaN));
+  }
+
+  public void test_scalar_empty() {
+    LocalDateDoubleTimeSeries empty = LocalDateDoubleTimeSeries.empty();
+    assertEquals(empty.plus(1), empty);
+    assertEquals(empty.plus(empty), empty);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_series_dense() {
+    // dates in common are 7th, 9th and 12th
+    LocalDateDoubleTimeSeries expected = LocalDateDoubleTimeSeries.builder()
+        .put(date(2015, 1, 7), 14)
+        .put(date(2015, 1, 9), 18)
+        .put(date(2015, 1, 12), 20)
+        .build();
+    assertEquals(DENSE.plus(DENSE2), expected);
+    assertEquals(DENSE.plus(DENSE2), DENSE.combineWith(DENSE2, Double::sum));
+    assertEquals(DENSE2.plus(DENSE), expected);
+    assertEquals(DENSE.minus(DENSE2), DENSE.combineWith(DENSE2, (a, b) -> a - b));
+    assertEquals(DENSE.multipliedBy(DENSE2), DENSE.combineWith(DENSE2, (a, b) -> a * b));
+    assertEquals(DENSE.dividedBy(DENSE2), DENSE.combineWith(DENSE2, (a, b) -> a / b));
+  }
+
+  public void test_series_denseNoOverlap() {
+    LocalDateDoubleTimeSeries later = LocalDateDoubleTimeSeries.builder()
+        .put(date(2015, 2, 2), 1)
+        .put(date(2015, 2, 3), 2)
+        .build();
+    assertEquals(DENSE.plus(later), LocalDateDoubleTimeSeries.empty());
+    assertEquals(later.plus(DENSE), LocalDateDoubleTimeSeries.empty());
+  }
+
+  public void test_series_sparse() {
+    LocalDateDoubleTimeSeries sameDates = SPARSE.multipliedBy(3);
+    assertEquals(SPARSE.plus(sameDates), SPARSE.multipliedBy(4));
+    LocalDateDoubleTimeSeries otherDates = LocalDateDoubleTimeSeries.builder()
+        .put(date(2011, 1, 1), 1)
+        .put(date(2012, 1, 1), 2)
+        .build();
+    assertEquals(SPARSE.minus(otherDates), LocalDateDoubleTimeSeries.of(date(2012, 1, 1), 18));
+  }
+
+  public void test_series_mixed() {
+    assertEquals(SPARSE.dividedBy(DENSE), LocalDateDoubleTimeSeries.of(date(2015, 1, 7), 40d / 12));
+    assertEquals(DENSE.dividedBy(SPARSE), LocalDateDoubleTimeSeries.of(date(2015, 1, 7), 12d / 40));
+  }
+
+  public void test_series_nan() {
+    LocalDateDoubleTimeSeries infinite = DENSE2.dividedBy(0);
+    assertThrowsIllegalArg(() -> infinite.minus(infinite));
+    assertThrowsIllegalArg(() -> DENSE.plus((LocalDateDoubleTimeSeries) null));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_returns() {
+    LocalDateDoubleTimeSeries test = DENSE.returns(1);
+    assertEquals(test.dates().toArray(), DENSE.tailSeries(4).dates().toArray());
+    double[] values = test.values().toArray();
+    assertEquals(values[0], 11d / 10 - 1, TOLERANCE);
+    assertEquals(values[3], 15d / 14 - 1, TOLERANCE);
+  }
+
+  public void test_returns_lag() {
+    LocalDateDoubleTimeSeries test = SPARSE.returns(2);
+    assertEquals(test, LocalDateDoubleTimeSeries.of(date(2015, 1, 7), 3));
+    assertEquals(SPARSE.returns(3), LocalDateDoubleTimeSeries.empty());
+    assertEquals(SPARSE.returns(4), LocalDateDoubleTimeSeries.empty());
+    assertThrowsIllegalArg(() -> SPARSE.returns(0));
+  }
+
+  public void test_logReturns() {
+    LocalDateDoubleTimeSeries test = SPARSE.logReturns(1);
+    assertEquals(test.dates().toArray(), new LocalDate[] {date(2012, 1, 1), date(2015, 1, 7)});
+    assertEquals(test.values().toArray(), new double[] {Math.log(2), Math.log(2)});
+    LocalDateDoubleTimeSeries negative = LocalDateDoubleTimeSeries.builder()
+        .put(date(2015, 1, 5), 1)
+        .put(date(2015, 1, 6), -1)
+        .build();
+    assertThrowsIllegalArg(() -> negative.logReturns(1));
+  }
+
+}
@@ -13,7 +13,13 @@ import static com.opengamma.collect.timeseries.DenseLocalDateDoubleTimeSeries.De
 import static com.opengamma.collect.timeseries.LocalDateDoubleTimeSeries.empty;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.fail;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collection;
@@ -22,6 +28,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.OptionalDouble;
+import java.util.Spliterator;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
@@ -504,6 +511,120 @@ public class DenseLocalDateDoubleTimeSeriesTest {
     base.tailSeries(-1);
   }
 
+  //-------------------------------------------------------------------------
+  public void test_views() {
+    LocalDateDoubleTimeSeries base = LocalDateDoubleTimeSeries.builder().putAll(DATES_2015_1_WEEK, VALUES_1_WEEK).build();
+    LocalDateDoubleTimeSeries test = base.tailSeries(4).headSeries(3);
+    LocalDateDoubleTimeSeries expected = LocalDateDoubleTimeSeries.builder()
+        .putAll(DATES_2015_1_WEEK.subList(1, 4), VALUES_1_WEEK.subList(1, 4))
+        .build();
+    assertEquals(test, expected);
+    assertEquals(test.hashCode(), expected.hashCode());
+    assertEquals(test.size(), 3);
+    assertEquals(test.getEarliestDate(), DATE_2015_01_06);
+    assertEquals(test.getLatestValue(), 13d);
+    assertEquals(test.get(DATE_2015_01_05), OptionalDouble.empty());
+    assertEquals(test.get(DATE_2015_01_09), OptionalDouble.empty());
+    assertEquals(test.subSeries(DATE_2015_01_07, DATE_2015_01_12).values().toArray(), new double[] {12d, 13d});
+    assertEquals(test.mapValues(v -> v * 2), expected.mapValues(v -> v * 2));
+    assertEquals(test.plus(test), expected.multipliedBy(2));
+    assertEquals(test.plus(base), expected.multipliedBy(2));
+    assertEquals(test.toBuilder().build(), expected);
+    assertEquals(test.toString(), expected.toString());
+  }
+
+  public void test_views_withGaps() {
+    // every third weekday missing, so the views must locate the valid points
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    LocalDate date = DATE_2015_01_05;
+    for (int i = 0; i < 300; i++, date = date.plusDays(1)) {
+      if (i % 3 != 2) {
+        builder.put(date, i);
+      }
+    }
+    LocalDateDoubleTimeSeries base = builder.build();
+    List<LocalDateDoublePoint> points = base.stream().collect(Guavate.toImmutableList());
+    for (int n = 1; n <= points.size(); n += 7) {
+      LocalDateDoubleTimeSeries head = base.headSeries(n);
+      LocalDateDoubleTimeSeries tail = base.tailSeries(n);
+      assertEquals(head.size(), n);
+      assertEquals(head.stream().collect(Guavate.toImmutableList()), points.subList(0, n));
+      assertEquals(tail.size(), n);
+      assertEquals(tail.stream().collect(Guavate.toImmutableList()), points.subList(points.size() - n, points.size()));
+      LocalDateDoubleTimeSeries sub =
+          base.subSeries(points.get(n - 1).getDate(), points.get(points.size() - 1).getDate());
+      assertEquals(sub.size(), points.size() - n);
+      assertEquals(sub.getEarliestDate(), points.get(n - 1).getDate());
+      assertEquals(sub.getLatestDate(), points.get(points.size() - 2).getDate());
+      assertEquals(sub.tailSeries(1).getLatestDate(), points.get(points.size() - 2).getDate());
+      assertEquals(sub.headSeries(1).getEarliestDate(), points.get(n - 1).getDate());
+    }
+    LocalDateDoubleTimeSeries gap = base.subSeries(DATE_2015_01_05.plusDays(2), DATE_2015_01_05.plusDays(3));
+    assertEquals(gap.isEmpty(), true);
+  }
+
+  public void test_views_serialization() {
+    LocalDateDoubleTimeSeries base = LocalDateDoubleTimeSeries.builder().putAll(DATES_2015_1_WEEK, VALUES_1_WEEK).build();
+    TestHelper.assertSerialization(base.subSeries(DATE_2015_01_06, DATE_2015_01_08));
+    TestHelper.assertSerialization(base.tailSeries(1));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_stream_parallel() {
+    // a Friday to Monday series with a gap, thus using the indices of the valid points
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    LocalDate date = DATE_2015_01_02;
+    for (int i = 0; i < 1000; i++) {
+      if (i != 3) {
+        builder.put(date, i);
+      }
+      date = date.plusDays(date.getDayOfWeek() == DayOfWeek.FRIDAY ? 3 : 1);
+    }
+    LocalDateDoubleTimeSeries test = builder.build();
+    assertEquals(test.getClass(), DenseLocalDateDoubleTimeSeries.class);
+    assertEquals(test.size(), 999);
+    assertEquals(test.stream().parallel().toArray(), test.stream().toArray());
+    assertEquals(test.dates().parallel().toArray(), test.dates().toArray());
+    assertEquals(test.values().parallel().toArray(), test.values().toArray());
+    assertEquals(test.values().parallel().sum(), 999 * 1000 / 2 - 3, TOLERANCE);
+    Spliterator<LocalDateDoublePoint> spliterator = test.stream().spliterator();
+    assertEquals(spliterator.getExactSizeIfKnown(), 999);
+    assertEquals(spliterator.hasCharacteristics(Spliterator.SUBSIZED | Spliterator.IMMUTABLE), true);
+    assertEquals(spliterator.trySplit().getExactSizeIfKnown(), 499);
+    assertEquals(spliterator.getExactSizeIfKnown(), 500);
+    assertEquals(test.subSeries(DATE_2015_01_05, DATE_2015_01_07).values().toArray(), new double[] {1d, 2d});
+    assertEquals(empty().values().parallel().count(), 0);
+  }
+
+  public void test_forEachEpochDay() {
+    LocalDateDoubleTimeSeries test = LocalDateDoubleTimeSeries.builder()
+        .put(DATE_2015_01_02, 10)  // Friday
+        .put(DATE_2015_01_05, 11)  // Monday
+        .put(DATE_2015_01_07, 13)
+        .put(DATE_2015_01_12, 16)  // Monday
+        .build();
+    Map<LocalDate, Double> expected = new HashMap<>();
+    test.forEach(expected::put);
+    Map<LocalDate, Double> result = new HashMap<>();
+    test.tailSeries(4).forEachEpochDay((epochDay, value) -> result.put(LocalDate.ofEpochDay(epochDay), value));
+    assertEquals(result, expected);
+    result.clear();
+    test.tailSeries(2).forEachEpochDay((epochDay, value) -> result.put(LocalDate.ofEpochDay(epochDay), value));
+    assertEquals(result, ImmutableMap.of(DATE_2015_01_07, 13d, DATE_2015_01_12, 16d));
+    empty().forEachEpochDay((epochDay, value) -> fail());
+  }
+
+  public void test_forEachEpochDay_includeWeekends() {
+    LocalDateDoubleTimeSeries test = LocalDateDoubleTimeSeries.builder()
+        .put(DATE_2015_01_03, 10)  // Saturday
+        .put(DATE_2015_01_04, 11)
+        .put(DATE_2015_01_06, 13)
+        .build();
+    Map<LocalDate, Double> result = new HashMap<>();
+    test.forEachEpochDay((epochDay, value) -> result.put(LocalDate.ofEpochDay(epochDay), value));
+    assertEquals(result, ImmutableMap.of(DATE_2015_01_03, 10d, DATE_2015_01_04, 11d, DATE_2015_01_06, 13d));
+  }
+
   //-------------------------------------------------------------------------
   public void test_stream() {
 
@@ -637,6 +758,36 @@ public class DenseLocalDateDoubleTimeSeriesTest {
     assertEquals(combined.get(DATE_2015_01_09), OptionalDouble.of(15.4));
   }
 
+  public void test_combineWith_denseAndSparse() {
+    LocalDateDoubleTimeSeries dense = LocalDateDoubleTimeSeries.builder().putAll(DATES_2015_1_WEEK, VALUES_1_WEEK).build();
+    LocalDateDoubleTimeSeries sparse = LocalDateDoubleTimeSeries.builder()
+        .put(DATE_2015_01_02, 1d)
+        .put(DATE_2015_01_06, 2d)
+        .put(DATE_2015_01_09, 3d)
+        .put(date(2015, 3, 2), 4d)
+        .build();
+    assertEquals(dense.getClass(), DenseLocalDateDoubleTimeSeries.class);
+    assertEquals(sparse.getClass(), SparseLocalDateDoubleTimeSeries.class);
+
+    LocalDateDoubleTimeSeries expected = LocalDateDoubleTimeSeries.builder()
+        .put(DATE_2015_01_06, 9d)
+        .put(DATE_2015_01_09, 11d)
+        .build();
+    assertEquals(dense.combineWith(sparse, (l, r) -> l - r), expected);
+    assertEquals(sparse.combineWith(dense, (l, r) -> r - l), expected);
+  }
+
+  public void test_combineWith_resultIsDense() {
+    LocalDateDoubleTimeSeries series1 = LocalDateDoubleTimeSeries.builder().putAll(DATES_2015_1_WEEK, VALUES_1_WEEK).build();
+    LocalDateDoubleTimeSeries series2 = LocalDateDoubleTimeSeries.builder()
+        .putAll(DATES_2015_1_WEEK, VALUES_1_WEEK)
+        .put(DATE_2015_01_12, 15d)
+        .build();
+    LocalDateDoubleTimeSeries test = series1.combineWith(series2, (l, r) -> l * r);
+    assertEquals(test, LocalDateDoubleTimeSeries.builder().putAll(DATES_2015_1_WEEK, values(100, 121, 144, 169, 196)).build());
+    assertEquals(test.getClass(), DenseLocalDateDoubleTimeSeries.class);
+  }
+
   //-------------------------------------------------------------------------
   public void test_mapValues_addConstantToSeries() {
 
@@ -758,6 +909,46 @@ public class DenseLocalDateDoubleTimeSeriesTest {
     assertThat(ts.get(dt(2015, 1, 7))).hasValue(14d);
   }
 
+  //-------------------------------------------------------------------------
+  public void test_sizeAndGet_withGaps() {
+    LocalDateDoubleTimeSeries test = DenseLocalDateDoubleTimeSeries.of(
+        DATE_2015_01_05, DATE_2015_01_09,
+        Stream.of(
+            LocalDateDoublePoint.of(DATE_2015_01_06, 6d),
+            LocalDateDoublePoint.of(DATE_2015_01_08, 8d)),
+        SKIP_WEEKENDS);
+    assertEquals(test.size(), 2);
+    assertEquals(test.isEmpty(), false);
+    assertEquals(test.get(DATE_2015_01_05), OptionalDouble.empty());
+    assertEquals(test.get(DATE_2015_01_06), OptionalDouble.of(6d));
+    assertEquals(test.get(DATE_2015_01_07), OptionalDouble.empty());
+    assertEquals(test.get(DATE_2015_01_08), OptionalDouble.of(8d));
+    assertEquals(test.get(DATE_2015_01_09), OptionalDouble.empty());
+    assertEquals(test.get(DATE_2015_01_12), OptionalDouble.empty());
+    assertEquals(test.getEarliestDate(), DATE_2015_01_06);
+    assertEquals(test.getLatestDate(), DATE_2015_01_08);
+    assertEquals(test.headSeries(1).dates().toArray(), new LocalDate[] {DATE_2015_01_06});
+    assertEquals(test.tailSeries(1).dates().toArray(), new LocalDate[] {DATE_2015_01_08});
+  }
+
+  public void test_serialization() throws Exception {
+    LocalDateDoubleTimeSeries test = LocalDateDoubleTimeSeries.builder()
+        .putAll(DATES_2015_1_WEEK, VALUES_1_WEEK)
+        .build();
+    TestHelper.assertSerialization(test);
+    // the cached state is rebuilt on deserialization
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(baos)) {
+      out.writeObject(test);
+    }
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
+      LocalDateDoubleTimeSeries result = (LocalDateDoubleTimeSeries) in.readObject();
+      assertEquals(result.size(), 5);
+      assertEquals(result.getLatestDate(), DATE_2015_01_09);
+      assertEquals(result.get(DATE_2015_01_07), OptionalDouble.of(12d));
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void test_coverage() {
     TestHelper.coverImmutableBean(
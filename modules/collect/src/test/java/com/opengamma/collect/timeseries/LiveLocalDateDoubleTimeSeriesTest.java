@@ -0,0 +1,146 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.collect.timeseries;
+
+import static com.opengamma.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.LocalDate;
+import java.util.OptionalDouble;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link LiveLocalDateDoubleTimeSeries}.
+ */
+@Test
+public class LiveLocalDateDoubleTimeSeriesTest {
+
+  private static final LocalDate DATE_2015_01_05 = date(2015, 1, 5);
+  private static final LocalDate DATE_2015_01_06 = date(2015, 1, 6);
+  private static final LocalDate DATE_2015_01_07 = date(2015, 1, 7);
+
+  //-------------------------------------------------------------------------
+  public void test_empty() {
+    LiveLocalDateDoubleTimeSeries test = new LiveLocalDateDoubleTimeSeries();
+    assertEquals(test.size(), 0);
+    assertEquals(test.snapshot(), LocalDateDoubleTimeSeries.empty());
+    assertEquals(test.toString(), "LiveLocalDateDoubleTimeSeries[0 points]");
+  }
+
+  public void test_append() {
+    LiveLocalDateDoubleTimeSeries test = new LiveLocalDateDoubleTimeSeries();
+    test.append(DATE_2015_01_05, 1d);
+    test.append(DATE_2015_01_07, 3d);
+    assertEquals(test.size(), 2);
+    LocalDateDoubleTimeSeries snapshot = test.snapshot();
+    assertEquals(snapshot.size(), 2);
+    assertEquals(snapshot.get(DATE_2015_01_05), OptionalDouble.of(1d));
+    assertEquals(snapshot.get(DATE_2015_01_06), OptionalDouble.empty());
+    assertEquals(snapshot.getLatestValue(), 3d);
+  }
+
+  public void test_append_invalid() {
+    LiveLocalDateDoubleTimeSeries test = new LiveLocalDateDoubleTimeSeries();
+    test.append(DATE_2015_01_06, 1d);
+    assertThrowsIllegalArg(() -> test.append(DATE_2015_01_06, 2d));
+    assertThrowsIllegalArg(() -> test.append(DATE_2015_01_05, 2d));
+    assertThrowsIllegalArg(() -> test.append(DATE_2015_01_07, Double.NaN));
+    assertThrowsIllegalArg(() -> test.append(null, 2d));
+    assertEquals(test.size(), 1);
+  }
+
+  public void test_of_history() {
+    LocalDateDoubleTimeSeries history = LocalDateDoubleTimeSeries.builder()
+        .put(DATE_2015_01_05, 1d)
+        .put(DATE_2015_01_06, 2d)
+        .build();
+    LiveLocalDateDoubleTimeSeries test = LiveLocalDateDoubleTimeSeries.of(history);
+    assertEquals(test.size(), 2);
+    test.append(DATE_2015_01_07, 3d);
+    assertThrowsIllegalArg(() -> test.append(DATE_2015_01_06, 3d));
+    LocalDateDoubleTimeSeries expected = history.toBuilder().put(DATE_2015_01_07, 3d).build();
+    assertEquals(test.snapshot().toBuilder().build(), expected);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_snapshot_unaffectedByAppend() {
+    LiveLocalDateDoubleTimeSeries test = new LiveLocalDateDoubleTimeSeries();
+    LocalDate date = DATE_2015_01_05;
+    test.append(date, 0d);
+    LocalDateDoubleTimeSeries snapshot = test.snapshot();
+    // append enough to grow the arrays several times
+    for (int i = 1; i < 1000; i++) {
+      date = date.plusDays(1);
+      test.append(date, i);
+    }
+    assertEquals(snapshot.size(), 1);
+    assertEquals(snapshot.getLatestDate(), DATE_2015_01_05);
+    LocalDateDoubleTimeSeries snapshot2 = test.snapshot();
+    assertEquals(snapshot2.size(), 1000);
+    assertEquals(snapshot2.getLatestDate(), date);
+    assertEquals(snapshot2.getLatestValue(), 999d);
+    assertEquals(snapshot2.tailSeries(2).getEarliestValue(), 998d);
+  }
+
+  public void test_snapshot_serialization() throws Exception {
+    LiveLocalDateDoubleTimeSeries test = new LiveLocalDateDoubleTimeSeries();
+    test.append(DATE_2015_01_05, 1d);
+    test.append(DATE_2015_01_06, 2d);
+    LocalDateDoubleTimeSeries snapshot = test.snapshot();
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+      oos.writeObject(snapshot);
+    }
+    try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
+      Object read = ois.readObject();
+      assertEquals(read, snapshot.toBuilder().build());
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_concurrentReaders() throws Exception {
+    int count = 20_000;
+    LiveLocalDateDoubleTimeSeries test = new LiveLocalDateDoubleTimeSeries();
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<?> reader = executor.submit(() -> {
+        int lastSize = 0;
+        while (lastSize < count) {
+          LocalDateDoubleTimeSeries snapshot = test.snapshot();
+          int size = snapshot.size();
+          assertTrue(size >= lastSize);
+          if (size > 0) {
+            // the value of each point is its index
+            assertEquals(snapshot.getLatestValue(), size - 1d);
+            assertEquals(snapshot.getLatestDate(), DATE_2015_01_05.plusDays(size - 1));
+          }
+          lastSize = size;
+        }
+        return null;
+      });
+      LocalDate date = DATE_2015_01_05;
+      for (int i = 0; i < count; i++) {
+        test.append(date, i);
+        date = date.plusDays(1);
+      }
+      reader.get(30, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+}
@@ -12,6 +12,9 @@ import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.OptionalDouble;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 import org.testng.annotations.Test;
 
@@ -41,6 +44,22 @@ public class LocalDateDoubleTimeSeriesBuilderTest {
     assertEquals(test.get(date(2015, 1, 1)), OptionalDouble.empty());
   }
 
+  public void test_get_dateOutsideStorableRange() {
+    LocalDateDoubleTimeSeriesBuilder test = LocalDateDoubleTimeSeries.builder()
+        .put(LocalDate.ofEpochDay(Integer.MIN_VALUE), 1)
+        .put(LocalDate.ofEpochDay(Integer.MAX_VALUE), 2);
+
+    assertEquals(test.get(LocalDate.ofEpochDay(Integer.MAX_VALUE)), OptionalDouble.of(2d));
+    assertEquals(test.get(LocalDate.ofEpochDay(Integer.MIN_VALUE - 1L)), OptionalDouble.empty());
+    assertEquals(test.get(LocalDate.ofEpochDay(Integer.MAX_VALUE + 1L)), OptionalDouble.empty());
+    assertEquals(test.get(LocalDate.MAX), OptionalDouble.empty());
+  }
+
+  @Test(expectedExceptions = ArithmeticException.class)
+  public void test_put_dateOutsideStorableRange() {
+    LocalDateDoubleTimeSeries.builder().put(LocalDate.ofEpochDay(Integer.MAX_VALUE + 1L), 1);
+  }
+
   //-------------------------------------------------------------------------
   public void test_putAll_collections() {
     Collection<LocalDate> dates = Arrays.asList(date(2013, 1, 1), date(2014, 1, 1));
@@ -115,6 +134,64 @@ public class LocalDateDoubleTimeSeriesBuilderTest {
     assertEquals(test.get(date(2014, 1, 1)), OptionalDouble.of(14d));
   }
 
+  public void test_duplicatesOutOfOrderGetOverwritten() {
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder()
+        .put(date(2012, 1, 1), 1)
+        .put(date(2013, 1, 1), 2)
+        .put(date(2012, 1, 1), 3)
+        .put(date(2014, 1, 1), 4)
+        .put(date(2012, 1, 1), 5)
+        .put(date(2013, 1, 1), 6);
+    assertEquals(builder.get(date(2012, 1, 1)), OptionalDouble.of(5d));
+
+    LocalDateDoubleTimeSeries test = builder.put(date(2011, 1, 1), 7).build();
+    assertEquals(test.dates().toArray(), new LocalDate[] {
+        date(2011, 1, 1), date(2012, 1, 1), date(2013, 1, 1), date(2014, 1, 1)});
+    assertEquals(test.values().toArray(), new double[] {7, 5, 6, 4});
+  }
+
+  public void test_matchesSortedMap() {
+    Random random = new Random(1);
+    SortedMap<LocalDate, Double> expected = new TreeMap<>();
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    LocalDate base = date(2015, 1, 1);
+    for (int i = 0; i < 2000; i++) {
+      // mostly ascending, with some earlier dates and duplicates
+      LocalDate date = base.plusDays(i % 7 == 0 ? random.nextInt(i + 1) : i);
+      double value = random.nextDouble();
+      expected.put(date, value);
+      builder.put(date, value);
+    }
+    LocalDateDoubleTimeSeries test = builder.build();
+    assertEquals(test.dates().toArray(), expected.keySet().toArray());
+    assertEquals(test.values().toArray(), Doubles.toArray(expected.values()));
+  }
+
+  public void test_buildTwice() {
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder()
+        .put(date(2015, 1, 5), 1)
+        .put(date(2015, 1, 6), 2);
+    LocalDateDoubleTimeSeries first = builder.build();
+    LocalDateDoubleTimeSeries second = builder.put(date(2015, 1, 6), 3).build();
+    assertEquals(first.get(date(2015, 1, 6)), OptionalDouble.of(2d));
+    assertEquals(second.get(date(2015, 1, 6)), OptionalDouble.of(3d));
+  }
+
+  public void test_denseSkipWeekendsAcrossWeeks() {
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    for (LocalDate date = date(2014, 12, 24); date.isBefore(date(2015, 2, 1)); date = date.plusDays(1)) {
+      if (date.getDayOfWeek().getValue() < 6) {
+        builder.put(date, date.getDayOfMonth());
+      }
+    }
+    LocalDateDoubleTimeSeries test = builder.build();
+    assertEquals(test.getClass(), DenseLocalDateDoubleTimeSeries.class);
+    assertEquals(test.get(date(2015, 1, 2)), OptionalDouble.of(2d));
+    assertEquals(test.get(date(2015, 1, 5)), OptionalDouble.of(5d));
+    assertEquals(test.get(date(2015, 1, 30)), OptionalDouble.of(30d));
+    assertEquals(test, builder.build());
+  }
+
   public void test_useBuilderToAlterSeries() {
     LocalDateDoubleTimeSeries base = LocalDateDoubleTimeSeries.builder()
         .put(date(2014, 1, 1), 14)
@@ -0,0 +1,201 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.collect.timeseries;
+
+import static com.opengamma.collect.TestHelper.assertThrows;
+import static com.opengamma.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.collect.TestHelper.date;
+import static com.opengamma.collect.timeseries.DenseLocalDateDoubleTimeSeries.DenseTimeSeriesCalculation.INCLUDE_WEEKENDS;
+import static java.util.stream.Collectors.toList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.OptionalDouble;
+
+import org.joda.beans.BeanBuilder;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.collect.TestHelper;
+
+/**
+ * Test {@code LocalDateDoubleTimeSeriesFile} and {@code MappedLocalDateDoubleTimeSeries}.
+ */
+@Test
+public class LocalDateDoubleTimeSeriesFileTest {
+
+  private static final LocalDateDoubleTimeSeries SPARSE = LocalDateDoubleTimeSeries.builder()
+      .put(date(2010, 1, 1), 1d)
+      .put(date(2011, 1, 1), 2d)
+      .put(date(2012, 1, 1), 3d)
+      .put(date(2013, 1, 1), 4d)
+      .build();
+  private static final LocalDateDoubleTimeSeries DENSE = LocalDateDoubleTimeSeries.builder()
+      .put(date(2015, 1, 5), 10d)
+      .put(date(2015, 1, 6), 11d)
+      .put(date(2015, 1, 8), 13d)
+      .build();
+
+  private static Path write() throws IOException {
+    File file = File.createTempFile("LocalDateDoubleTimeSeriesFileTest", ".bin");
+    file.deleteOnExit();
+    LocalDateDoubleTimeSeriesFile.write(file.toPath(), ImmutableMap.of(
+        "SPARSE", SPARSE,
+        "EMPTY", LocalDateDoubleTimeSeries.empty(),
+        "DENSE", DENSE));
+    return file.toPath();
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_writeOpen() throws IOException {
+    LocalDateDoubleTimeSeriesFile test = LocalDateDoubleTimeSeriesFile.of(write());
+    assertEquals(test.getNames(), ImmutableSet.of("SPARSE", "EMPTY", "DENSE"));
+    assertTrue(test.contains("SPARSE"));
+    assertFalse(test.contains("OTHER"));
+    assertEquals(test.get("SPARSE").stream().collect(toList()), SPARSE.stream().collect(toList()));
+    assertEquals(test.get("DENSE").stream().collect(toList()), DENSE.stream().collect(toList()));
+    assertEquals(test.get("EMPTY").isEmpty(), true);
+    assertThrowsIllegalArg(() -> test.get("OTHER"));
+    assertTrue(test.toString().contains("3 series"));
+  }
+
+  public void test_open_invalid() throws IOException {
+    File file = File.createTempFile("LocalDateDoubleTimeSeriesFileTest", ".bin");
+    file.deleteOnExit();
+    Files.write(file.toPath(), new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+    assertThrowsIllegalArg(() -> LocalDateDoubleTimeSeriesFile.of(file.toPath()));
+    // truncated data
+    byte[] bytes = Files.readAllBytes(write());
+    Files.write(file.toPath(), Arrays.copyOf(bytes, bytes.length - 8));
+    assertThrowsIllegalArg(() -> LocalDateDoubleTimeSeriesFile.of(file.toPath()));
+  }
+
+  public void test_open_truncatedIndex() throws IOException {
+    File file = File.createTempFile("LocalDateDoubleTimeSeriesFileTest", ".bin");
+    file.deleteOnExit();
+    String invalid = "Invalid time-series file.*";
+    byte[] bytes = Files.readAllBytes(write());
+    // every truncation within the index, including part way through a name, size or offset
+    for (int length = 12; length < 40; length++) {
+      Files.write(file.toPath(), Arrays.copyOf(bytes, length));
+      assertThrows(() -> LocalDateDoubleTimeSeriesFile.of(file.toPath()), IllegalArgumentException.class, invalid);
+    }
+    // a count larger than the index
+    byte[] badCount = bytes.clone();
+    badCount[11] = 100;
+    Files.write(file.toPath(), badCount);
+    assertThrows(() -> LocalDateDoubleTimeSeriesFile.of(file.toPath()), IllegalArgumentException.class, invalid);
+    // a negative count
+    byte[] negativeCount = bytes.clone();
+    negativeCount[8] = (byte) 0x80;
+    Files.write(file.toPath(), negativeCount);
+    assertThrows(() -> LocalDateDoubleTimeSeriesFile.of(file.toPath()), IllegalArgumentException.class, invalid);
+  }
+
+  public void test_write_dateOutsideStorableRange() throws IOException {
+    File file = File.createTempFile("LocalDateDoubleTimeSeriesFileTest", ".bin");
+    file.deleteOnExit();
+    BeanBuilder<? extends DenseLocalDateDoubleTimeSeries> builder = DenseLocalDateDoubleTimeSeries.meta().builder();
+    builder.set("startDate", LocalDate.ofEpochDay(Integer.MAX_VALUE));
+    builder.set("points", new double[] {1d, 2d});
+    builder.set("dateCalculation", INCLUDE_WEEKENDS);
+    LocalDateDoubleTimeSeries series = builder.build();
+    assertThrows(
+        () -> LocalDateDoubleTimeSeriesFile.write(file.toPath(), ImmutableMap.of("SPARSE", SPARSE, "BAD", series)),
+        IllegalArgumentException.class,
+        ".*cannot be stored: BAD");
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_mapped_query() throws IOException {
+    LocalDateDoubleTimeSeries test = LocalDateDoubleTimeSeriesFile.of(write()).get("SPARSE");
+    assertEquals(test.size(), 4);
+    assertEquals(test.get(date(2011, 1, 1)), OptionalDouble.of(2d));
+    assertEquals(test.get(date(2011, 1, 2)), OptionalDouble.empty());
+    assertEquals(test.get(date(2009, 1, 1)), OptionalDouble.empty());
+    assertEquals(test.get(date(2014, 1, 1)), OptionalDouble.empty());
+    assertEquals(test.get(LocalDate.ofEpochDay(Integer.MIN_VALUE - 1L)), OptionalDouble.empty());
+    assertEquals(test.get(LocalDate.MAX), OptionalDouble.empty());
+    assertTrue(test.containsDate(date(2013, 1, 1)));
+    assertEquals(test.getEarliestDate(), date(2010, 1, 1));
+    assertEquals(test.getEarliestValue(), 1d);
+    assertEquals(test.getLatestDate(), date(2013, 1, 1));
+    assertEquals(test.getLatestValue(), 4d);
+    assertEquals(test.values().toArray(), new double[] {1d, 2d, 3d, 4d});
+  }
+
+  public void test_mapped_subSeries() throws IOException {
+    LocalDateDoubleTimeSeries test = LocalDateDoubleTimeSeriesFile.of(write()).get("SPARSE");
+    LocalDateDoubleTimeSeries sub = test.subSeries(date(2010, 6, 1), date(2013, 1, 1));
+    assertEquals(sub.getClass(), MappedLocalDateDoubleTimeSeries.class);
+    assertEquals(sub.size(), 2);
+    assertEquals(sub.getEarliestDate(), date(2011, 1, 1));
+    assertEquals(sub.getLatestDate(), date(2012, 1, 1));
+    assertEquals(sub.get(date(2010, 1, 1)), OptionalDouble.empty());
+    assertEquals(sub.get(date(2012, 1, 1)), OptionalDouble.of(3d));
+    assertEquals(sub.headSeries(1).getLatestValue(), 2d);
+    assertEquals(sub.tailSeries(1).getLatestValue(), 3d);
+    assertSame(test.subSeries(date(2000, 1, 1), date(2020, 1, 1)), test);
+    assertSame(test.subSeries(LocalDate.MIN, LocalDate.MAX), test);
+    assertEquals(test.subSeries(date(2020, 1, 1), date(2020, 1, 1)).isEmpty(), true);
+    assertSame(test.headSeries(10), test);
+    assertEquals(test.headSeries(0).isEmpty(), true);
+    assertEquals(test.tailSeries(2).dates().collect(toList()), SPARSE.tailSeries(2).dates().collect(toList()));
+    assertThrowsIllegalArg(() -> test.subSeries(date(2011, 1, 2), date(2011, 1, 1)));
+  }
+
+  public void test_mapped_operations() throws IOException {
+    LocalDateDoubleTimeSeriesFile file = LocalDateDoubleTimeSeriesFile.of(write());
+    LocalDateDoubleTimeSeries test = file.get("SPARSE");
+    assertEquals(test.mapValues(v -> v * 2), SPARSE.mapValues(v -> v * 2));
+    assertEquals(test.filter((d, v) -> v > 2), SPARSE.filter((d, v) -> v > 2));
+    assertEquals(test.combineWith(SPARSE, (a, b) -> a + b), SPARSE.mapValues(v -> v * 2));
+    assertEquals(test.toBuilder().build(), SPARSE);
+    assertEquals(file.get("DENSE").toBuilder().build(), DENSE);
+  }
+
+  public void test_mapped_equalsHashCode() throws IOException {
+    LocalDateDoubleTimeSeries test1 = LocalDateDoubleTimeSeriesFile.of(write()).get("SPARSE");
+    LocalDateDoubleTimeSeries test2 = LocalDateDoubleTimeSeriesFile.of(write()).get("SPARSE");
+    LocalDateDoubleTimeSeries other = LocalDateDoubleTimeSeriesFile.of(write()).get("DENSE");
+    assertEquals(test1, test2);
+    assertEquals(test1.hashCode(), test2.hashCode());
+    assertFalse(test1.equals(other));
+    assertFalse(test1.equals(test1.headSeries(3)));
+    assertFalse(test1.equals(SPARSE));
+    assertEquals(test1.toString(), SPARSE.toString());
+  }
+
+  public void test_mapped_serialization() throws Exception {
+    LocalDateDoubleTimeSeries test = LocalDateDoubleTimeSeriesFile.of(write()).get("DENSE");
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(baos)) {
+      out.writeObject(test);
+    }
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
+      assertEquals(in.readObject(), DENSE);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() throws IOException {
+    TestHelper.coverImmutableBean(LocalDateDoubleTimeSeriesFile.of(write()).get("SPARSE"));
+  }
+
+}
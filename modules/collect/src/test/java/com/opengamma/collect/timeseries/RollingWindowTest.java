@@ -0,0 +1,270 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.collect.timeseries;
+
+import static com.opengamma.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.DoubleStream;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link RollingWindow}.
+ */
+@Test
+public class RollingWindowTest {
+
+  private static final double TOLERANCE = 1e-10;
+  private static final LocalDate DATE_2015_01_05 = date(2015, 1, 5);
+  private static final LocalDateDoubleTimeSeries SERIES = LocalDateDoubleTimeSeries.builder()
+      .put(date(2015, 1, 5), 3)
+      .put(date(2015, 1, 6), 1)
+      .put(date(2015, 1, 7), 4)
+      .put(date(2015, 1, 8), 1)
+      .put(date(2015, 1, 9), 5)
+      .put(date(2015, 1, 12), 9)
+      .build();
+
+  //-------------------------------------------------------------------------
+  public void test_points_sum() {
+    LocalDateDoubleTimeSeries test = SERIES.rolling(3).sum();
+    LocalDateDoubleTimeSeries expected = LocalDateDoubleTimeSeries.builder()
+        .put(date(2015, 1, 7), 8)
+        .put(date(2015, 1, 8), 6)
+        .put(date(2015, 1, 9), 10)
+        .put(date(2015, 1, 12), 15)
+        .build();
+    assertEquals(test, expected);
+  }
+
+  public void test_points_mean() {
+    LocalDateDoubleTimeSeries test = SERIES.rolling(2).mean();
+    assertEquals(test.size(), 5);
+    assertEquals(test.getEarliestDate(), date(2015, 1, 6));
+    assertEquals(test.get(date(2015, 1, 6)).getAsDouble(), 2d, TOLERANCE);
+    assertEquals(test.get(date(2015, 1, 12)).getAsDouble(), 7d, TOLERANCE);
+  }
+
+  public void test_points_minMax() {
+    LocalDateDoubleTimeSeries min = SERIES.rolling(3).min();
+    LocalDateDoubleTimeSeries max = SERIES.rolling(3).max();
+    assertEquals(min.values().toArray(), new double[] {1, 1, 1, 1});
+    assertEquals(max.values().toArray(), new double[] {4, 4, 5, 9});
+  }
+
+  public void test_points_variance() {
+    LocalDateDoubleTimeSeries test = SERIES.rolling(3).variance();
+    assertEquals(test.size(), 4);
+    // 3, 1, 4 has mean 8/3
+    double expected = (Math.pow(3 - 8d / 3, 2) + Math.pow(1 - 8d / 3, 2) + Math.pow(4 - 8d / 3, 2)) / 2;
+    assertEquals(test.get(date(2015, 1, 7)).getAsDouble(), expected, TOLERANCE);
+  }
+
+  public void test_points_one() {
+    assertEquals(SERIES.rolling(1).sum(), SERIES);
+    assertEquals(SERIES.rolling(1).min(), SERIES);
+    assertEquals(SERIES.rolling(1).variance(), LocalDateDoubleTimeSeries.empty());
+  }
+
+  public void test_points_largerThanSeries() {
+    assertEquals(SERIES.rolling(10).sum(), LocalDateDoubleTimeSeries.empty());
+    assertEquals(SERIES.rolling(10).max(), LocalDateDoubleTimeSeries.empty());
+  }
+
+  public void test_points_invalid() {
+    assertThrowsIllegalArg(() -> SERIES.rolling(0));
+    assertThrowsIllegalArg(() -> SERIES.rolling(-1));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_period_sum() {
+    // window of one week covers the previous five weekdays
+    LocalDateDoubleTimeSeries test = SERIES.rolling(Period.ofWeeks(1)).sum();
+    assertEquals(test.size(), SERIES.size());
+    assertEquals(test.values().toArray(), new double[] {3, 4, 8, 9, 14, 20});
+  }
+
+  public void test_period_shortWindow() {
+    // window of two days
+    LocalDateDoubleTimeSeries test = SERIES.rolling(Period.ofDays(2)).sum();
+    assertEquals(test.values().toArray(), new double[] {3, 4, 5, 5, 6, 9});
+    LocalDateDoubleTimeSeries variance = SERIES.rolling(Period.ofDays(2)).variance();
+    assertEquals(variance.size(), 4);
+    assertEquals(variance.getEarliestDate(), date(2015, 1, 6));
+    assertEquals(variance.getLatestDate(), date(2015, 1, 9));
+  }
+
+  public void test_period_invalid() {
+    assertThrowsIllegalArg(() -> SERIES.rolling((Period) null));
+    assertThrowsIllegalArg(() -> SERIES.rolling(Period.ZERO));
+    assertThrowsIllegalArg(() -> SERIES.rolling(Period.ofDays(-1)));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_empty() {
+    LocalDateDoubleTimeSeries empty = LocalDateDoubleTimeSeries.empty();
+    assertEquals(empty.rolling(3).mean(), empty);
+    assertEquals(empty.rolling(Period.ofDays(3)).max(), empty);
+    assertEquals(empty.rolling(Period.ofDays(3)).variance(), empty);
+  }
+
+  public void test_matchesNaive() {
+    Random random = new Random(1);
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    LocalDate date = DATE_2015_01_05;
+    for (int i = 0; i < 200; i++) {
+      date = date.plusDays(1 + random.nextInt(4));
+      builder.put(date, 100 + random.nextGaussian());
+    }
+    LocalDateDoubleTimeSeries series = builder.build();
+    Period period = Period.ofDays(10);
+    assertNaive(series, series.rolling(period).sum(), period, values -> stream(values).sum());
+    assertNaive(series, series.rolling(period).mean(), period, values -> mean(values));
+    assertNaive(series, series.rolling(period).min(), period, values -> stream(values).min().getAsDouble());
+    assertNaive(series, series.rolling(period).max(), period, values -> stream(values).max().getAsDouble());
+    assertNaive(series, series.rolling(period).variance(), period, values -> {
+      double mean = mean(values);
+      return values.stream().mapToDouble(d -> (d - mean) * (d - mean)).sum() / (values.size() - 1);
+    });
+  }
+
+  public void test_largeValueLeavesWindow() {
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    LocalDate date = DATE_2015_01_05;
+    for (int i = 0; i < 20; i++) {
+      builder.put(date.plusDays(i), i == 5 ? 1e20 : 1d);
+    }
+    LocalDateDoubleTimeSeries series = builder.build();
+    assertEquals(series.rolling(3).sum().getLatestValue(), 3d);
+    assertEquals(series.rolling(3).mean().getLatestValue(), 1d);
+    assertEquals(series.rolling(3).variance().getLatestValue(), 0d);
+    assertEquals(series.rolling(Period.ofDays(3)).mean().getLatestValue(), 1d);
+  }
+
+  public void test_drifting() {
+    // a trending series, where updating the sums leaves rounding errors behind
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    LocalDate date = DATE_2015_01_05;
+    for (int i = 0; i < 200_000; i++) {
+      builder.put(date.plusDays(i), i * 1e4 + (i % 3) * 0.1);
+    }
+    LocalDateDoubleTimeSeries series = builder.build();
+    double[] values = series.values().toArray();
+    double[] sums = series.rolling(10).sum().values().toArray();
+    double[] means = series.rolling(10).mean().values().toArray();
+    double[] variances = series.rolling(10).variance().values().toArray();
+    for (int i = 9; i < values.length; i += 997) {
+      double sum = 0;
+      for (int j = i - 9; j <= i; j++) {
+        sum += values[j];
+      }
+      double mean = sum / 10;
+      double sumSq = 0;
+      for (int j = i - 9; j <= i; j++) {
+        sumSq += (values[j] - mean) * (values[j] - mean);
+      }
+      assertEquals(sums[i - 9], sum, Math.abs(sum) * 1e-14);
+      assertEquals(means[i - 9], mean, Math.abs(mean) * 1e-14);
+      assertEquals(variances[i - 9], sumSq / 9, sumSq / 9 * 1e-9);
+    }
+  }
+
+  public void test_infinity() {
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    LocalDate date = DATE_2015_01_05;
+    for (int i = 0; i < 10; i++) {
+      builder.put(date.plusDays(i), i == 3 ? Double.POSITIVE_INFINITY : i);
+    }
+    LocalDateDoubleTimeSeries series = builder.build();
+    // the infinite value leaving the window does not lose the dates
+    double inf = Double.POSITIVE_INFINITY;
+    LocalDateDoubleTimeSeries sum = series.rolling(2).sum();
+    assertEquals(sum.size(), 9);
+    assertEquals(sum.values().toArray(), new double[] {1, 3, inf, inf, 9, 11, 13, 15, 17});
+    assertEquals(series.rolling(Period.ofDays(2)).sum().size(), 10);
+    assertEquals(series.rolling(Period.ofDays(2)).sum().getLatestValue(), 17d);
+    // the variance of a window containing infinity is undefined
+    assertThrowsIllegalArg(() -> series.rolling(2).variance());
+    // positive and negative infinity in the same window has no sum
+    LocalDateDoubleTimeSeries both = LocalDateDoubleTimeSeries.builder()
+        .put(date, Double.POSITIVE_INFINITY)
+        .put(date.plusDays(1), Double.NEGATIVE_INFINITY)
+        .put(date.plusDays(2), 1)
+        .build();
+    assertThrowsIllegalArg(() -> both.rolling(2).sum());
+    assertThrowsIllegalArg(() -> both.rolling(Period.ofDays(2)).sum());
+    assertEquals(both.rolling(1).sum(), both);
+  }
+
+  private static DoubleStream stream(List<Double> values) {
+    return values.stream().mapToDouble(d -> d);
+  }
+
+  private static double mean(List<Double> values) {
+    return stream(values).average().getAsDouble();
+  }
+
+  private void assertNaive(
+      LocalDateDoubleTimeSeries series,
+      LocalDateDoubleTimeSeries result,
+      Period period,
+      ToDoubleFunction<List<Double>> fn) {
+
+    result.forEach((date, value) -> {
+      List<Double> window = new ArrayList<>();
+      series.subSeries(date.minus(period).plusDays(1), date.plusDays(1)).forEach((d, v) -> window.add(v));
+      assertEquals(value, fn.applyAsDouble(window), TOLERANCE);
+    });
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_ewma() {
+    LocalDateDoubleTimeSeries test = SERIES.ewma(0.5);
+    assertEquals(test.size(), SERIES.size());
+    assertEquals(test.values().toArray(), new double[] {3, 2, 3, 2, 3.5, 6.25});
+    assertEquals(SERIES.ewma(0), SERIES);
+    assertThrowsIllegalArg(() -> SERIES.ewma(1));
+    assertThrowsIllegalArg(() -> SERIES.ewma(-0.1));
+  }
+
+  public void test_cumulativeSum() {
+    LocalDateDoubleTimeSeries test = SERIES.cumulativeSum();
+    assertEquals(test.dates().toArray(), SERIES.dates().toArray());
+    assertEquals(test.values().toArray(), new double[] {3, 4, 8, 9, 14, 23});
+  }
+
+  public void test_cumulativeProduct() {
+    LocalDateDoubleTimeSeries test = SERIES.cumulativeProduct();
+    assertEquals(test.dates().toArray(), SERIES.dates().toArray());
+    assertEquals(test.values().toArray(), new double[] {3, 3, 12, 12, 60, 540});
+  }
+
+  public void test_cumulative_sparse() {
+    LocalDateDoubleTimeSeries sparse = LocalDateDoubleTimeSeries.builder()
+        .put(date(2010, 1, 1), 2)
+        .put(date(2012, 1, 1), 3)
+        .build();
+    assertEquals(sparse.cumulativeSum(), LocalDateDoubleTimeSeries.builder()
+        .put(date(2010, 1, 1), 2)
+        .put(date(2012, 1, 1), 5)
+        .build());
+    assertEquals(LocalDateDoubleTimeSeries.empty().cumulativeProduct(), LocalDateDoubleTimeSeries.empty());
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    assertEquals(SERIES.rolling(2).toString(), "RollingWindow[6 points]");
+  }
+
+}
@@ -6,24 +6,31 @@
 package com.opengamma.collect.timeseries;
 
 import static com.opengamma.collect.CollectProjectAssertions.assertThat;
+import static com.opengamma.collect.TestHelper.assertThrowsIllegalArg;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotEquals;
 
+import java.io.ByteArrayInputStream;
+import java.io.ObjectInputStream;
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.OptionalDouble;
+import java.util.Spliterator;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.joda.beans.BeanBuilder;
+import org.joda.beans.ser.JodaBeanSer;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.primitives.Doubles;
 import com.opengamma.collect.TestHelper;
 import com.opengamma.collect.tuple.Pair;
@@ -224,6 +231,24 @@ public class SparseLocalDateDoubleTimeSeriesTest {
     assertEquals(points[2], LocalDateDoublePoint.of(DATE_2012_01_01, 4d));
   }
 
+  public void test_immutableViaBeanBuilder_unordered() {
+    LocalDate[] dates = {DATE_2011_01_01, DATE_2010_01_01};
+    double[] values = {6, 5};
+    BeanBuilder<? extends LocalDateDoubleTimeSeries> builder = SparseLocalDateDoubleTimeSeries.meta().builder();
+    builder.set("dates", dates);
+    builder.set("values", values);
+    assertThrowsIllegalArg(() -> builder.build());
+  }
+
+  public void test_datesCreatedOnRequest() {
+    LocalDateDoubleTimeSeries test = LocalDateDoubleTimeSeries.builder().putAll(DATES_2010_14, VALUES_10_14).build();
+    assertEquals(test.dates().toArray(), DATES_2010_14.toArray());
+    assertEquals(test.getEarliestDate(), DATE_2010_01_01);
+    assertEquals(test.getEarliestValue(), 10d, TOLERANCE);
+    assertEquals(test.get(date(2010, 1, 2)), OptionalDouble.empty());
+    assertEquals(test.get(DATE_2013_01_01), OptionalDouble.of(13d));
+  }
+
   public void test_immutableDatesViaBeanGet() {
     LocalDateDoubleTimeSeries test = LocalDateDoubleTimeSeries.builder().putAll(DATES_2010_12, VALUES_10_12).build();
     LocalDate[] array = (LocalDate[]) test.property("dates").get();
@@ -308,6 +333,29 @@ public class SparseLocalDateDoubleTimeSeriesTest {
     base.subSeries(date(2011, 1, 2), DATE_2011_01_01);
   }
 
+  public void test_subSeries_datesOutsideStorableRange() {
+    LocalDate first = LocalDate.ofEpochDay(Integer.MIN_VALUE);
+    LocalDate last = LocalDate.ofEpochDay(Integer.MAX_VALUE);
+    LocalDate beforeFirst = LocalDate.ofEpochDay(Integer.MIN_VALUE - 1L);
+    LocalDate afterLast = LocalDate.ofEpochDay(Integer.MAX_VALUE + 1L);
+    SparseLocalDateDoubleTimeSeries base =
+        SparseLocalDateDoubleTimeSeries.of(dates(first, DATE_2011_01_01, last), values(10, 11, 12));
+    assertEquals(base.containsDate(beforeFirst), false);
+    assertEquals(base.containsDate(afterLast), false);
+    assertEquals(base.get(beforeFirst), OptionalDouble.empty());
+    assertEquals(base.get(afterLast), OptionalDouble.empty());
+    assertEquals(base.get(last), OptionalDouble.of(12));
+    assertEquals(base.subSeries(LocalDate.MIN, LocalDate.MAX), base);
+    assertEquals(base.subSeries(LocalDate.MIN, last).values().toArray(), new double[] {10, 11});
+    assertEquals(base.subSeries(afterLast, LocalDate.MAX).size(), 0);
+    assertEquals(base.subSeries(LocalDate.MIN, beforeFirst).size(), 0);
+  }
+
+  @Test(expectedExceptions = ArithmeticException.class)
+  public void test_of_dateOutsideStorableRange() {
+    SparseLocalDateDoubleTimeSeries.of(dates(DATE_2011_01_01, LocalDate.MAX), values(10, 11));
+  }
+
   //-------------------------------------------------------------------------
   @DataProvider(name = "headSeries")
   Object[][] data_headSeries() {
@@ -388,6 +436,87 @@ public class SparseLocalDateDoubleTimeSeriesTest {
     base.tailSeries(-1);
   }
 
+  //-------------------------------------------------------------------------
+  public void test_views() {
+    LocalDateDoubleTimeSeries base = LocalDateDoubleTimeSeries.builder().putAll(DATES_2010_14, VALUES_10_14).build();
+    LocalDateDoubleTimeSeries test = base.tailSeries(4).headSeries(3);
+    LocalDateDoubleTimeSeries expected = LocalDateDoubleTimeSeries.builder()
+        .putAll(DATES_2010_14.subList(1, 4), VALUES_10_14.subList(1, 4))
+        .build();
+    assertEquals(test, expected);
+    assertEquals(test.hashCode(), expected.hashCode());
+    assertEquals(test.size(), 3);
+    assertEquals(test.getEarliestDate(), DATE_2011_01_01);
+    assertEquals(test.getLatestValue(), 13d);
+    assertEquals(test.get(DATE_2010_01_01), OptionalDouble.empty());
+    assertEquals(test.get(DATE_2014_01_01), OptionalDouble.empty());
+    assertEquals(test.subSeries(DATE_2012_01_01, DATE_2014_01_01).values().toArray(), new double[] {12d, 13d});
+    assertEquals(test.mapValues(v -> v * 2), expected.mapValues(v -> v * 2));
+    assertEquals(test.plus(test), expected.multipliedBy(2));
+    assertEquals(test.toBuilder().build(), expected);
+  }
+
+  public void test_views_serialization() {
+    LocalDateDoubleTimeSeries base = LocalDateDoubleTimeSeries.builder().putAll(DATES_2010_14, VALUES_10_14).build();
+    TestHelper.assertSerialization(base.subSeries(DATE_2011_01_01, DATE_2013_01_01));
+    TestHelper.assertSerialization(base.tailSeries(1));
+  }
+
+  // the forms written when the dates were stored as an array of LocalDate
+  private static final String OLD_JAVA_FORM =
+      "rO0ABXNyAEBjb20ub3BlbmdhbW1hLmNvbGxlY3QudGltZXNlcmllcy5TcGFyc2VMb2NhbERhdGVEb3VibGVUaW1lU2VyaWVzAAAAAAAAAAEC" +
+      "AAJbAAVkYXRlc3QAFltMamF2YS90aW1lL0xvY2FsRGF0ZTtbAAZ2YWx1ZXN0AAJbRHhwdXIAFltMamF2YS50aW1lLkxvY2FsRGF0ZTtyls2Q" +
+      "zSlwnwIAAHhwAAAAA3NyAA1qYXZhLnRpbWUuU2VylV2EuhsiSLIMAAB4cHcHAwAAB9oBAXhzcQB+AAZ3BwMAAAfbBgF4c3EAfgAGdwcDAAAH" +
+      "3AwfeHVyAAJbRD6mjBSrY1oeAgAAeHAAAAADP/gAAAAAAABABAAAAAAAAEAMAAAAAAAA";
+  private static final String OLD_JSON_FORM =
+      "{\"@bean\":\"com.opengamma.collect.timeseries.SparseLocalDateDoubleTimeSeries\"," +
+      "\"dates\":{\"@meta\":\"java.time.LocalDate[]\",\"value\":[\"2010-01-01\",\"2011-06-01\",\"2012-12-31\"]}," +
+      "\"values\":\"1.5,2.5,3.5\"}";
+
+  public void test_serialization_earlierForm() throws Exception {
+    LocalDateDoubleTimeSeries expected = LocalDateDoubleTimeSeries.builder()
+        .put(LocalDate.of(2010, 1, 1), 1.5)
+        .put(LocalDate.of(2011, 6, 1), 2.5)
+        .put(LocalDate.of(2012, 12, 31), 3.5)
+        .build();
+    assertEquals(expected.getClass(), SparseLocalDateDoubleTimeSeries.class);
+    byte[] bytes = Base64.getDecoder().decode(OLD_JAVA_FORM);
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+      assertEquals(in.readObject(), expected);
+    }
+    assertEquals(JodaBeanSer.COMPACT.jsonReader().read(OLD_JSON_FORM), expected);
+    // the dates are still written as LocalDate
+    String json = JodaBeanSer.COMPACT.jsonWriter().write(expected);
+    assertEquals(json.contains("\"2011-06-01\""), true);
+    assertEquals(JodaBeanSer.COMPACT.jsonReader().read(json), expected);
+    TestHelper.assertSerialization(expected);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_stream_parallel() {
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    for (int i = 0; i < 1000; i++) {
+      builder.put(DATE_2010_01_01.plusDays(i * 7), i);
+    }
+    LocalDateDoubleTimeSeries test = builder.build();
+    assertEquals(test.getClass(), SparseLocalDateDoubleTimeSeries.class);
+    assertEquals(test.stream().parallel().toArray(), test.stream().toArray());
+    assertEquals(test.dates().parallel().toArray(), test.dates().toArray());
+    assertEquals(test.values().parallel().sum(), 999 * 1000 / 2, TOLERANCE);
+    Spliterator<LocalDate> spliterator = test.tailSeries(10).dates().spliterator();
+    assertEquals(spliterator.getExactSizeIfKnown(), 10);
+    assertEquals(spliterator.hasCharacteristics(Spliterator.SUBSIZED | Spliterator.IMMUTABLE), true);
+    assertEquals(spliterator.trySplit().getExactSizeIfKnown(), 5);
+  }
+
+  public void test_forEachEpochDay() {
+    LocalDateDoubleTimeSeries base = LocalDateDoubleTimeSeries.builder().putAll(DATES_2010_14, VALUES_10_14).build();
+    Map<LocalDate, Double> result = new HashMap<>();
+    base.tailSeries(2).forEachEpochDay((epochDay, value) -> result.put(LocalDate.ofEpochDay(epochDay), value));
+    assertEquals(result, ImmutableMap.of(DATE_2013_01_01, 13d, DATE_2014_01_01, 14d));
+    assertThrowsIllegalArg(() -> base.forEachEpochDay(null));
+  }
+
   //-------------------------------------------------------------------------
   public void test_stream() {
     LocalDateDoubleTimeSeries base = LocalDateDoubleTimeSeries.builder().putAll(DATES_2010_12, VALUES_10_12).build();
@@ -490,6 +619,14 @@ public class SparseLocalDateDoubleTimeSeriesTest {
     assertEquals(combined.get(DATE_2014_01_01), OptionalDouble.of(15.4));
   }
 
+  public void test_combineWith_argumentOrder() {
+    LocalDateDoubleTimeSeries series1 = LocalDateDoubleTimeSeries.builder().putAll(DATES_2010_14, VALUES_10_14).build();
+    LocalDateDoubleTimeSeries series2 = LocalDateDoubleTimeSeries.builder().putAll(DATES_2010_12, values(1, 2, 3)).build();
+    LocalDateDoubleTimeSeries test = series1.combineWith(series2, (l, r) -> l - r);
+    assertEquals(test, LocalDateDoubleTimeSeries.builder().putAll(DATES_2010_12, values(9, 9, 9)).build());
+    assertThrowsIllegalArg(() -> series1.combineWith(series2, (l, r) -> Double.NaN));
+  }
+
   //-------------------------------------------------------------------------
   public void test_mapValues_addConstantToSeries() {
     LocalDateDoubleTimeSeries base = LocalDateDoubleTimeSeries.builder().putAll(DATES_2010_14, VALUES_10_14).build();
@@ -609,6 +746,46 @@ public class SparseLocalDateDoubleTimeSeriesTest {
     assertThat(extreme.get(DATE_2014_01_01)).hasValue(14);
   }
 
+  //-------------------------------------------------------------------------
+  public void test_resample() {
+    LocalDateDoubleTimeSeries series = LocalDateDoubleTimeSeries.builder()
+        .put(DATE_2010_01_01, 10)
+        .put(DATE_2012_01_01, 12)
+        .put(DATE_2013_01_01, 16)
+        .build();
+    List<LocalDate> grid = dates(DATE_2010_06_01, DATE_2011_01_01, DATE_2012_01_01, DATE_2012_06_01, DATE_2014_01_01);
+
+    LocalDateDoubleTimeSeries previous = series.resample(grid, GapFill.PREVIOUS_VALUE);
+    assertEquals(previous, LocalDateDoubleTimeSeries.builder()
+        .putAll(grid, values(10, 10, 12, 12, 16))
+        .build());
+
+    LocalDateDoubleTimeSeries linear = series.resample(grid, GapFill.LINEAR);
+    assertEquals(linear.dates().toArray(),
+        new Object[] {DATE_2010_06_01, DATE_2011_01_01, DATE_2012_01_01, DATE_2012_06_01});
+    assertEquals(linear.get(DATE_2011_01_01).getAsDouble(), 10d + 2d * 365 / 730, TOLERANCE);
+    assertEquals(linear.get(DATE_2012_06_01).getAsDouble(), 12d + 4d * 152 / 366, TOLERANCE);
+
+    LocalDateDoubleTimeSeries none = series.resample(grid, GapFill.NONE);
+    assertEquals(none, LocalDateDoubleTimeSeries.of(DATE_2012_01_01, 12));
+  }
+
+  public void test_resample_beforeStart() {
+    LocalDateDoubleTimeSeries series = LocalDateDoubleTimeSeries.of(DATE_2012_01_01, 12);
+    assertEquals(series.resample(dates(DATE_2011_01_01), GapFill.PREVIOUS_VALUE), LocalDateDoubleTimeSeries.empty());
+    assertEquals(series.resample(dates(DATE_2011_01_01), GapFill.LINEAR), LocalDateDoubleTimeSeries.empty());
+    assertEquals(LocalDateDoubleTimeSeries.empty().resample(dates(DATE_2011_01_01), GapFill.PREVIOUS_VALUE),
+        LocalDateDoubleTimeSeries.empty());
+  }
+
+  public void test_resample_invalid() {
+    LocalDateDoubleTimeSeries series = LocalDateDoubleTimeSeries.of(DATE_2012_01_01, 12);
+    assertThrowsIllegalArg(() -> series.resample(dates(DATE_2012_01_01, DATE_2011_01_01), GapFill.NONE));
+    assertThrowsIllegalArg(() -> series.resample(dates(DATE_2012_01_01, DATE_2012_01_01), GapFill.NONE));
+    assertThrowsIllegalArg(() -> series.resample(null, GapFill.NONE));
+    assertThrowsIllegalArg(() -> series.resample(dates(DATE_2012_01_01), null));
+  }
+
   //-------------------------------------------------------------------------
   public void test_coverage() {
     TestHelper.coverImmutableBean(LocalDateDoubleTimeSeries.of(DATE_2014_01_01, 1d));